@@ -0,0 +1,114 @@
+package com.example.spring.benchmark;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.entity.User;
+import com.example.spring.entity.UserStatus;
+import com.example.spring.repository.UserRepository;
+import com.example.spring.security.JwtAuthFilter;
+import com.example.spring.security.JwtService;
+import com.example.spring.security.UserStatusCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthFilter 요청당 비용 비교
+ *
+ * - baselineNewParserPerCall: 기존 방식 (요청마다 JwtParser 생성 + 서명 검증)
+ * - reusedParser: 파서 재사용, 서명 검증은 매번
+ * - cachedParseClaims: JwtService.parseClaims (검증 결과 캐시 적중)
+ * - filterPerRequest: 필터 전체 (claims 캐시 + 사용자 상태 캐시, DB 없음)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=JwtAuthFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private SecretKey key;
+    private JwtParser parser;
+    private JwtService jwtService;
+    private JwtAuthFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        AppProperties props = new AppProperties();
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+        jwtService = new JwtService(SECRET, 30, 14, props);
+        filter = new JwtAuthFilter(jwtService, new UserStatusCache(activeUserRepository(), props));
+        token = jwtService.generateAccessToken(1L, "bench@example.com", (byte) 0);
+    }
+
+    @Benchmark
+    public Claims baselineNewParserPerCall() {
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Claims reusedParser() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims cachedParseClaims() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public Object filterPerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lectures");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /** findById만 응답하는 UserRepository (항상 ACTIVE 사용자) */
+    static UserRepository activeUserRepository() {
+        User user = User.builder()
+                .userEmail("bench@example.com")
+                .userPw("x")
+                .userName("bench")
+                .userNickname("bench")
+                .userRole((byte) 0)
+                .userStatus(UserStatus.ACTIVE)
+                .build();
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if ("findById".equals(method.getName())) return Optional.of(user);
+                    if ("hashCode".equals(method.getName())) return System.identityHashCode(proxy);
+                    if ("equals".equals(method.getName())) return proxy == args[0];
+                    if ("toString".equals(method.getName())) return "UserRepository(benchmark)";
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
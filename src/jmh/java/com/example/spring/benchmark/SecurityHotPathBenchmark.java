@@ -0,0 +1,138 @@
+package com.example.spring.benchmark;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.security.JwtService;
+import com.example.spring.security.OriginCsrfFilter;
+import com.example.spring.security.VideoSignedUrlService;
+import com.example.spring.util.TokenHash;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 실행되는 보안 경로 기준 수치
+ *
+ * - JwtService: access 토큰 발급 / refresh 토큰 검증(캐시 없음) / access 토큰 검증(캐시 적중)
+ * - VideoSignedUrlService: 서명 생성 / 서명 검증
+ * - TokenHash.sha256Hex: refresh 토큰 해시 (로그인/재발급/로그아웃마다)
+ * - OriginCsrfFilter: Origin 헤더 / Referer 추출 / 거부 경로
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=SecurityHotPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityHotPathBenchmark {
+
+    private static final String ALLOWED_ORIGIN = "http://localhost:5173";
+
+    private JwtService jwtService;
+    private VideoSignedUrlService signedUrlService;
+    private OriginCsrfFilter originCsrfFilter;
+
+    private String accessToken;
+    private String refreshToken;
+    private long expires;
+    private String signature;
+
+    @Setup
+    public void setUp() {
+        AppProperties props = new AppProperties();
+        props.getSignedUrl().setSecret("benchmark-signed-url-secret-0123456789");
+        props.getSecurity().setAllowedOrigins(List.of("https://lms.example.com", ALLOWED_ORIGIN));
+
+        jwtService = new JwtService(JwtAuthFilterBenchmark.SECRET, 30, 14, props);
+        signedUrlService = new VideoSignedUrlService(props);
+        originCsrfFilter = new OriginCsrfFilter(props);
+
+        accessToken = jwtService.generateAccessToken(1L, "bench@example.com", (byte) 0);
+        refreshToken = jwtService.generateRefreshToken(1L);
+        expires = signedUrlService.computeExpiresEpochSeconds() + 3600;
+        signature = signedUrlService.createSignature(42L, 1L, "STUDENT", expires);
+    }
+
+    // =========================================================
+    // JWT
+    // =========================================================
+
+    @Benchmark
+    public String jwtGenerateAccessToken() {
+        return jwtService.generateAccessToken(1L, "bench@example.com", (byte) 0);
+    }
+
+    @Benchmark
+    public Claims jwtParseRefreshToken() {
+        return jwtService.parseClaims(refreshToken);
+    }
+
+    @Benchmark
+    public Claims jwtParseAccessTokenCached() {
+        return jwtService.parseClaims(accessToken);
+    }
+
+    // =========================================================
+    // Signed URL
+    // =========================================================
+
+    @Benchmark
+    public String signedUrlCreateSignature() {
+        return signedUrlService.createSignature(42L, 1L, "STUDENT", expires);
+    }
+
+    @Benchmark
+    public void signedUrlValidate() {
+        signedUrlService.validateOrThrow(42L, 1L, "STUDENT", expires, signature);
+    }
+
+    // =========================================================
+    // Hash
+    // =========================================================
+
+    @Benchmark
+    public String tokenHashSha256Hex() {
+        return TokenHash.sha256Hex(refreshToken);
+    }
+
+    // =========================================================
+    // Origin/Referer 검증
+    // =========================================================
+
+    @Benchmark
+    public int originHeaderAllowed() throws Exception {
+        MockHttpServletRequest request = refreshRequest();
+        request.addHeader("Origin", ALLOWED_ORIGIN);
+        return runOriginFilter(request);
+    }
+
+    @Benchmark
+    public int originFromReferer() throws Exception {
+        MockHttpServletRequest request = refreshRequest();
+        request.addHeader("Referer", ALLOWED_ORIGIN + "/login?next=%2Fmy");
+        return runOriginFilter(request);
+    }
+
+    @Benchmark
+    public int originRejected() throws Exception {
+        MockHttpServletRequest request = refreshRequest();
+        request.addHeader("Origin", "https://evil.example.net");
+        return runOriginFilter(request);
+    }
+
+    private static MockHttpServletRequest refreshRequest() {
+        return new MockHttpServletRequest("POST", "/api/auth/refresh");
+    }
+
+    private int runOriginFilter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        originCsrfFilter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
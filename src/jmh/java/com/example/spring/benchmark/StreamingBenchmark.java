@@ -0,0 +1,162 @@
+package com.example.spring.benchmark;
+
+import com.example.spring.storage.VideoFileSender;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 영상 구간 전송 경로별 처리량/할당 비교 (응답 본문은 버림)
+ *
+ * - resourceRegion: ResourceRegion + ResourceRegionHttpMessageConverter (기존 방식, InputStream → 힙 버퍼 복사)
+ * - videoFileSender: VideoFileSender.send, sendfile 미지원 (transferTo → Channels.newChannel(OutputStream))
+ * - sendfileAttributes: VideoFileSender.send, sendfile 지원 (요청 속성만 세팅, 실제 전송은 커넥터)
+ * - transferToFileChannel: 대상이 진짜 채널일 때의 transferTo (/dev/null, 커널 복사 상한 참고용)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=StreamingBenchmark -Pjmh.profilers=gc
+ * (gc 프로파일러의 gc.alloc.rate.norm = 요청당 할당 바이트)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamingBenchmark {
+
+    /** 요청 구간 크기 (플레이어 Range 요청 1MB 청크 / 큰 구간) */
+    @Param({"1048576", "8388608"})
+    public int rangeBytes;
+
+    private Path file;
+    private VideoFileSender sender;
+    private ResourceRegionHttpMessageConverter converter;
+    private FileSystemResource resource;
+    private FileChannel devNull;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("stream-bench", ".mp4");
+        byte[] block = new byte[1 << 20];
+        new Random(42).nextBytes(block);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            // 구간 시작을 파일 중간에 두기 위해 요청 구간 + 1MB
+            for (int written = 0; written < rangeBytes + block.length; written += block.length) {
+                out.write(block);
+            }
+        }
+        sender = new VideoFileSender();
+        converter = new ResourceRegionHttpMessageConverter();
+        resource = new FileSystemResource(file);
+        devNull = FileChannel.open(Paths.get("/dev/null"), StandardOpenOption.WRITE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        devNull.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long resourceRegion() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        HttpOutputMessage message = new HttpOutputMessage() {
+            private final HttpHeaders headers = new HttpHeaders();
+
+            @Override
+            public OutputStream getBody() {
+                return out;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+        converter.write(new ResourceRegion(resource, 4096, rangeBytes), MediaType.APPLICATION_OCTET_STREAM, message);
+        return out.count;
+    }
+
+    @Benchmark
+    public long videoFileSender() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/videos/1/stream");
+        DiscardingResponse response = new DiscardingResponse();
+        sender.send(request, response, file, 4096, rangeBytes);
+        return response.out.count;
+    }
+
+    @Benchmark
+    public Object sendfileAttributes() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/videos/1/stream");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        sender.send(request, new MockHttpServletResponse(), file, 4096, rangeBytes);
+        return request.getAttribute("org.apache.tomcat.sendfile.end");
+    }
+
+    @Benchmark
+    public long transferToFileChannel() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            VideoFileSender.transfer(channel, 4096, rangeBytes, devNull);
+        }
+        return rangeBytes;
+    }
+
+    // =========================================================
+    // 본문을 버리는 응답 (MockHttpServletResponse의 내부 버퍼 복사가 결과를 가리지 않도록)
+    // =========================================================
+
+    static final class CountingOutputStream extends ServletOutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    }
+
+    static final class DiscardingResponse extends HttpServletResponseWrapper {
+        final CountingOutputStream out = new CountingOutputStream();
+
+        DiscardingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.spring.benchmark;
+
+import com.example.spring.util.TokenHash;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TokenHash 이전/이후 비교 (gc 프로파일러로 할당량도 확인)
+ *
+ * - legacy: 호출마다 MessageDigest.getInstance + 바이트마다 String.format
+ * - current: 스레드별 digest/버퍼 + hex 테이블
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=TokenHashBenchmark -Pjmh.profilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenHashBenchmark {
+
+    private String token;
+    private byte[] tokenBytes;
+
+    @Setup
+    public void setUp() {
+        // refresh 토큰과 비슷한 길이의 JWT 형태 문자열
+        token = "eyJhbGciOiJIUzI1NiJ9."
+                + "eyJzdWIiOiIxIiwidHlwIjoicmVmcmVzaCIsImp0aSI6IjdmMmM5YjVlLTQxZjMtNGE2Zi05YjJhLTFjNWU4ZDNhN2IwMSIsImlhdCI6MTc2MDAwMDAwMCwiZXhwIjoxNzYxMjA5NjAwfQ."
+                + "Qm9ndXNTaWduYXR1cmVGb3JCZW5jaG1hcmtPbmx5MDEyMzQ1Njc4OQ";
+        tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String legacy() throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        byte[] dig = md.digest(token.getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder();
+        for (byte b : dig) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String current() {
+        return TokenHash.sha256Hex(token);
+    }
+
+    @Benchmark
+    public String currentBytes() {
+        return TokenHash.sha256Hex(tokenBytes);
+    }
+}
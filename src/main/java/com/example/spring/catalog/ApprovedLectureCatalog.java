@@ -0,0 +1,239 @@
+package com.example.spring.catalog;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.dto.LectureListItemDTO;
+import com.example.spring.entity.LectureStatus;
+import com.example.spring.repository.LectureRepository;
+import com.example.spring.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 승인(APPROVED) 강의 카드 목록의 메모리 스냅샷.
+ *
+ * 학생 카탈로그가 요청마다 Lecture + User(강사) + LectureVideo 조인을 하지 않게 한다.
+ * - 스냅샷은 불변 (전체 목록 / 언어별 목록 / id 색인, lectureId desc), 변경 시 새로 만들어 교체 (copy-on-write)
+ * - LectureService의 승인/반려/비활성화/수정/영상 변경/삭제, MediaPipeline 분석 결과는 커밋 후 해당 강의만 다시 조회해 반영
+ * - 다른 인스턴스의 변경이나 강사 닉네임 변경은 주기 재생성(1분)으로 반영
+ * - 생성 전(기동 직후)이나 app.cache.approved-catalog-enabled=false면 isReady()=false → 기존 쿼리 사용
+ */
+@Slf4j
+@Component
+public class ApprovedLectureCatalog {
+
+    private static final Comparator<LectureListItemDTO> NEWEST_FIRST =
+            Comparator.comparing(LectureListItemDTO::lectureId).reversed();
+
+    private final LectureRepository lectureRepository;
+    private final TransactionTemplate readTx;
+    private final boolean enabled;
+
+    private volatile Snapshot snapshot;
+    private volatile LocalDateTime lastRebuiltAt;
+
+    /** 재생성 도중 개별 반영된 강의 (재생성 결과가 덮어쓰지 않도록 교체 후 다시 반영) */
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    public ApprovedLectureCatalog(LectureRepository lectureRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  AppProperties props) {
+        this.lectureRepository = lectureRepository;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        // 커밋 직후(afterCommit)에도 호출되므로 항상 새 트랜잭션
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = props.getCache().isApprovedCatalogEnabled();
+    }
+
+    // =========================================================
+    // 조회
+    // =========================================================
+
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    /**
+     * 승인 강의 카드 (lectureId desc, 불변 목록)
+     * @param language null이면 전체, 아니면 대소문자 무시 일치
+     */
+    public List<LectureListItemDTO> list(String language) {
+        Snapshot s = snapshot;
+        if (!enabled || s == null) return List.of();
+        served.increment();
+        if (language == null) return s.all();
+        return s.byLanguage().getOrDefault(language.toLowerCase(Locale.ROOT), List.of());
+    }
+
+    /** 승인 강의 카드 하나 (없으면 null) */
+    public LectureListItemDTO get(Long lectureId) {
+        Snapshot s = snapshot;
+        return (s == null || lectureId == null) ? null : s.byId().get(lectureId);
+    }
+
+    // =========================================================
+    // 변경 반영 (커밋 후 해당 강의만 다시 조회)
+    // =========================================================
+
+    /** 강의/영상 변경 후 호출 (트랜잭션 안이면 커밋 후 실행) */
+    public void refresh(Long lectureId) {
+        if (!enabled || lectureId == null) return;
+        AfterCommit.run(() -> reload(List.of(lectureId)));
+    }
+
+    /** 여러 강의를 한 번에 바꾼 경우 (조회 1회, 스냅샷 교체 1회) */
+    public void refreshAll(Collection<Long> lectureIds) {
+        if (!enabled || lectureIds == null || lectureIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(lectureIds);
+        AfterCommit.run(() -> reload(ids));
+    }
+
+    private void reload(List<Long> lectureIds) {
+        if (snapshot == null && !rebuilding.get()) return;
+        if (rebuilding.get()) touchedDuringRebuild.addAll(lectureIds);
+        try {
+            List<LectureListItemDTO> rows = readTx.execute(status ->
+                    lectureRepository.approvedLectureCardItemsByIds(LectureStatus.APPROVED, lectureIds));
+            Map<Long, LectureListItemDTO> found = new HashMap<>();
+            if (rows != null) {
+                for (LectureListItemDTO row : rows) found.put(row.lectureId(), row);
+            }
+            apply(lectureIds, found);
+            refreshes.add(lectureIds.size());
+        } catch (Exception e) {
+            // 다음 주기 재생성에서 맞춰짐
+            log.warn("approved catalog refresh failed: lectureIds={}", lectureIds, e);
+        }
+    }
+
+    /** found에 없는 id는 스냅샷에서 제거 (승인 해제/삭제) */
+    private synchronized void apply(List<Long> lectureIds, Map<Long, LectureListItemDTO> found) {
+        Snapshot s = snapshot;
+        if (s == null) return;
+        Map<Long, LectureListItemDTO> next = new HashMap<>(s.byId());
+        boolean changed = false;
+        for (Long id : lectureIds) {
+            LectureListItemDTO item = found.get(id);
+            if (item == null) {
+                changed |= next.remove(id) != null;
+            } else {
+                next.put(id, item);
+                changed = true;
+            }
+        }
+        if (changed) snapshot = Snapshot.of(next.values());
+    }
+
+    // =========================================================
+    // 생성
+    // =========================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelay = 60_000L, fixedDelay = 60_000L)
+    public void rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) return;
+        long start = System.nanoTime();
+        try {
+            touchedDuringRebuild.clear();
+            List<LectureListItemDTO> rows = readTx.execute(status ->
+                    lectureRepository.approvedLectureCardItemsAll(LectureStatus.APPROVED));
+            Snapshot next = Snapshot.of(rows == null ? List.of() : rows);
+
+            synchronized (this) {
+                snapshot = next;
+            }
+            lastRebuiltAt = LocalDateTime.now();
+
+            // 조회 이후 커밋된 개별 변경을 다시 반영
+            rebuilding.set(false);
+            List<Long> touched = List.copyOf(touchedDuringRebuild);
+            touchedDuringRebuild.clear();
+            if (!touched.isEmpty()) reload(touched);
+
+            log.debug("approved catalog rebuilt: lectures={}, durationMs={}",
+                    next.all().size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("approved catalog rebuild failed (previous snapshot stays active)", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // =========================================================
+    // 지표
+    // =========================================================
+
+    public Stats stats() {
+        Snapshot s = snapshot;
+        return new Stats(
+                isReady(),
+                s == null ? 0 : s.all().size(),
+                s == null ? 0 : s.byLanguage().size(),
+                served.sum(),
+                refreshes.sum(),
+                lastRebuiltAt
+        );
+    }
+
+    public record Stats(
+            boolean ready,
+            int lectures,
+            int languages,
+            long served,
+            long refreshes,
+            LocalDateTime lastRebuiltAt
+    ) {
+    }
+
+    /** 불변 스냅샷 */
+    private record Snapshot(
+            List<LectureListItemDTO> all,
+            Map<String, List<LectureListItemDTO>> byLanguage,
+            Map<Long, LectureListItemDTO> byId
+    ) {
+        static Snapshot of(Collection<LectureListItemDTO> items) {
+            Map<Long, LectureListItemDTO> byId = new HashMap<>();
+            for (LectureListItemDTO item : items) byId.put(item.lectureId(), item);
+
+            List<LectureListItemDTO> sorted = new ArrayList<>(byId.values());
+            sorted.sort(NEWEST_FIRST);
+
+            Map<String, List<LectureListItemDTO>> grouped = new HashMap<>();
+            for (LectureListItemDTO item : sorted) {
+                String lang = item.language() == null ? "" : item.language().toLowerCase(Locale.ROOT);
+                grouped.computeIfAbsent(lang, k -> new ArrayList<>()).add(item);
+            }
+
+            Map<String, List<LectureListItemDTO>> byLanguage = new HashMap<>();
+            grouped.forEach((lang, list) -> byLanguage.put(lang, List.copyOf(list)));
+            return new Snapshot(List.copyOf(sorted), Map.copyOf(byLanguage), Map.copyOf(byId));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.spring.catalog;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.entity.EnrollmentStatus;
+import com.example.spring.repository.EnrollmentRepository;
+import com.example.spring.util.AfterCommit;
+import com.example.spring.util.TtlCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 사용자별 "현재 수강중"(CANCELED 제외) 강의 id 캐시 (userId → 정렬된 long[]).
+ *
+ * 카탈로그 enrolling 필터를 메모리 스냅샷 위에서 처리할 때 사용 (id당 8바이트, 이진 탐색).
+ * - 수강 신청/취소 시 EnrollmentService에서 evict 호출
+ * - TTL은 다른 인스턴스의 변경 반영용
+ */
+@Component
+public class EnrolledLectureIds {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final TtlCache<Long, long[]> cache;
+
+    public EnrolledLectureIds(EnrollmentRepository enrollmentRepository, AppProperties props) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.cache = new TtlCache<>(
+                "enrolledLectureIds",
+                props.getCache().getEnrolledIdsTtlSeconds() * 1000L,
+                props.getCache().getEnrolledIdsMaxSize()
+        );
+    }
+
+    /** 정렬된 수강중 강의 id (수정 금지) */
+    public long[] activeLectureIds(Long userId) {
+        if (userId == null) return new long[0];
+        return cache.get(userId, this::load);
+    }
+
+    public boolean contains(long[] sortedIds, Long lectureId) {
+        return lectureId != null && Arrays.binarySearch(sortedIds, lectureId) >= 0;
+    }
+
+    /** 즉시 + 커밋 이후 한 번 더 제거 */
+    public void evict(Long userId) {
+        if (userId == null) return;
+        cache.invalidate(userId);
+        AfterCommit.run(() -> cache.invalidate(userId));
+    }
+
+    public TtlCache.Stats stats() {
+        return cache.stats();
+    }
+
+    private long[] load(Long userId) {
+        List<Long> ids = enrollmentRepository.findActiveLectureIdsByUserId(userId, EnrollmentStatus.CANCELED);
+        long[] out = new long[ids.size()];
+        for (int i = 0; i < out.length; i++) out[i] = ids.get(i);
+        Arrays.sort(out);
+        return out;
+    }
+}
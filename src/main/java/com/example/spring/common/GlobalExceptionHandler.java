@@ -61,6 +61,14 @@ public class GlobalExceptionHandler {
                 .body(body(HttpStatus.UNAUTHORIZED, "이메일 또는 비밀번호가 올바르지 않습니다.", req));
     }
 
+    // 429 (속도 제한)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponseDTO> tooManyRequests(TooManyRequestsException e, HttpServletRequest req) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(body(HttpStatus.TOO_MANY_REQUESTS, e.getMessage(), req));
+    }
+
     // 400 (@Valid 검증 실패)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDTO> validation(MethodArgumentNotValidException e, HttpServletRequest req) {
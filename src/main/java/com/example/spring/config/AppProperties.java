@@ -1,5 +1,7 @@
 package com.example.spring.config;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
@@ -23,6 +25,12 @@ public class AppProperties {
     private final Upload upload = new Upload();
     private final Youtube youtube = new Youtube();
     private final SignedUrl signedUrl = new SignedUrl();
+    private final Cache cache = new Cache();
+    private final Media media = new Media();
+    private final Mail mail = new Mail();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Password password = new Password();
+    private final Search search = new Search();
 
     @Getter @Setter
     public static class Cookie {
@@ -40,6 +48,27 @@ public class AppProperties {
          * - CSRF 완화용(브라우저가 자동으로 쿠키를 보내는 것을 악용하는 시나리오 차단)
          */
         private List<String> allowedOrigins = new ArrayList<>(List.of("http://localhost:5173"));
+
+        /** refresh 토큰 정리 배치에서 트랜잭션 하나로 지우는 최대 행 수 */
+        @Min(100)
+        @Max(10_000)
+        private int refreshCleanupBatchSize = 1000;
+
+        /**
+         * 폐기된 refresh 토큰 보관 시간(시간)
+         * - 이 기간 안에 재사용되면 리플레이로 탐지해 전체 세션 폐기, 이후에는 "등록되지 않은 토큰"으로 거부
+         */
+        @Min(1)
+        private long refreshRevokedGraceHours = 24;
+
+        /** 폐기 refresh 토큰 bloom filter 최소 용량 (실제 폐기 토큰 수의 2배와 비교해 큰 값) */
+        @Min(1000)
+        private long revokedFilterExpectedInsertions = 100_000;
+
+        /** 폐기 refresh 토큰 bloom filter 목표 오탐률 */
+        @DecimalMin("0.0001")
+        @DecimalMax("0.2")
+        private double revokedFilterFpp = 0.01;
     }
 
     @Getter @Setter
@@ -59,6 +88,63 @@ public class AppProperties {
         @Min(64 * 1024)          // 최소 64KB
         @Max(50 * 1024 * 1024)    // 최대 50MB
         private long chunkSizeBytes = 1024 * 1024; // 1MB
+
+        /**
+         * 끝이 지정된 Range(bytes=a-b) / multipart Range 합계의 최대 응답 크기(bytes)
+         * - 끝 미지정(bytes=a-) 요청은 chunkSizeBytes로 자름
+         */
+        @Min(64 * 1024)
+        @Max(256 * 1024 * 1024)
+        private long maxRangeBytes = 8 * 1024 * 1024; // 8MB
+
+        /**
+         * 스트리밍 응답 방식
+         * - RESOURCE_REGION: ResourceRegion + 메시지 컨버터(힙 버퍼 복사)
+         * - ZERO_COPY: sendfile/FileChannel.transferTo로 파일 → 소켓 직접 전송
+         */
+        private StreamingMode streamingMode = StreamingMode.RESOURCE_REGION;
+
+        /** 썸네일 파생 이미지 가로 폭(px) 목록 - 원본보다 작은 폭만 생성 */
+        @NotEmpty
+        private List<Integer> thumbnailWidths = new ArrayList<>(List.of(320, 640, 960));
+
+        /** 썸네일 파일 최대 크기(bytes) */
+        @Min(64 * 1024)
+        @Max(64 * 1024 * 1024)
+        private long thumbnailMaxBytes = 10 * 1024 * 1024; // 10MB
+
+        /**
+         * 썸네일 최대 픽셀 수(가로 x 세로) - 디코딩 전에 헤더로 확인
+         * - 디코딩 메모리 ≈ 픽셀 수 x 4bytes (작은 PNG도 수십억 픽셀로 풀릴 수 있음)
+         */
+        @Min(1_000_000)
+        @Max(100_000_000)
+        private long thumbnailMaxPixels = 4096L * 4096; // 약 64MB
+
+        /** 분할 업로드 청크 1개 최대 크기(bytes) */
+        @Min(256 * 1024)
+        @Max(256 * 1024 * 1024)
+        private long uploadChunkMaxBytes = 16 * 1024 * 1024; // 16MB
+
+        /** 분할 업로드 세션 유지 시간(분) - 마지막 요청 이후 기준 */
+        @Min(1)
+        @Max(7 * 24 * 60)
+        private long uploadSessionTtlMinutes = 24 * 60;
+
+        /** 사용자 1명이 동시에 열 수 있는 분할 업로드 세션 수 (세션마다 파일 핸들 1개) */
+        @Min(1)
+        @Max(64)
+        private int uploadMaxSessionsPerUser = 4;
+
+        /** 서버 전체 분할 업로드 세션 수 상한 */
+        @Min(1)
+        @Max(10_000)
+        private int uploadMaxSessions = 200;
+    }
+
+    public enum StreamingMode {
+        RESOURCE_REGION,
+        ZERO_COPY
     }
 
     @Getter @Setter
@@ -76,11 +162,225 @@ public class AppProperties {
         private String secret;
 
         /**
-         * 재생 URL 만료 시간(초)
+         * 재생 URL 기본 만료 시간(초) - 발급 후 재생 시작까지의 여유
+         * 실제 만료는 기본 + 영상 길이 × playbackFactor (maxTtlSeconds 이하)
+         * → Range 요청마다 exp를 다시 확인해도 재생 도중 끊기지 않음
          */
         @Min(10)
         @Max(600)
         private long ttlSeconds = 120;
+
+        /** 영상 길이 대비 허용 시간 배수 (일시정지/되감기 여유) */
+        @Min(1)
+        @Max(10)
+        private int playbackFactor = 2;
+
+        /**
+         * 재생 URL 최대 만료 시간(초) - 길이를 모르는 영상(분석 전)도 이 값 사용
+         * 이보다 오래 보는 경우 플레이어가 refreshAt 이후 play-url을 다시 받아 src 교체
+         */
+        @Min(60)
+        @Max(86400)
+        private long maxTtlSeconds = 14_400;
     }
-}
 
+    @Getter @Setter
+    public static class Cache {
+        /** 영상 파일 메타(경로/크기/ETag/강의·교수 id) 캐시 유지 시간(초) */
+        @Min(1)
+        @Max(3600)
+        private long videoMetaTtlSeconds = 300;
+
+        /** 영상 파일 메타 캐시 최대 항목 수 */
+        @Min(16)
+        private int videoMetaMaxSize = 10_000;
+
+        /** 영상 스트리밍 수강 여부 판정 캐시 유지 시간(초) - 짧게 유지 */
+        @Min(1)
+        @Max(600)
+        private long enrollmentTtlSeconds = 60;
+
+        /** 수강 여부 판정 캐시 최대 항목 수 */
+        @Min(16)
+        private int enrollmentMaxSize = 50_000;
+
+        /** 인증 요청 사용자 상태(차단/탈퇴 등) 캐시 유지 시간(초) - 변경 시 evict, TTL은 다른 인스턴스 반영용 */
+        @Min(1)
+        @Max(600)
+        private long userStatusTtlSeconds = 30;
+
+        /** 사용자 상태 캐시 최대 항목 수 */
+        @Min(16)
+        private int userStatusMaxSize = 50_000;
+
+        /** 검증된 access 토큰 claims 캐시 최대 유지 시간(초) - 토큰 만료 시각을 넘지 않음 */
+        @Min(1)
+        @Max(3600)
+        private long jwtClaimsTtlSeconds = 600;
+
+        /** 검증된 access 토큰 claims 캐시 최대 항목 수 */
+        @Min(16)
+        private int jwtClaimsMaxSize = 50_000;
+
+        /** 승인 강의 카드 목록 메모리 스냅샷 사용 여부 (false면 매 요청 DB 조회) */
+        private boolean approvedCatalogEnabled = true;
+
+        /** 사용자별 수강중 강의 id 목록 캐시 유지 시간(초) - 신청/취소 시 evict, TTL은 다른 인스턴스 반영용 */
+        @Min(1)
+        @Max(600)
+        private long enrolledIdsTtlSeconds = 60;
+
+        /** 사용자별 수강중 강의 id 목록 캐시 최대 항목 수 */
+        @Min(16)
+        private int enrolledIdsMaxSize = 50_000;
+
+        /** 관리자 대시보드 집계를 다시 계산하지 않고 그대로 주는 시간(초) */
+        @Min(1)
+        @Max(600)
+        private long dashboardRefreshSeconds = 10;
+
+        /** 이 시간(초)까지는 지난 집계를 주면서 백그라운드에서 다시 계산, 넘으면 요청 스레드에서 계산 */
+        @Min(1)
+        @Max(3600)
+        private long dashboardMaxStaleSeconds = 300;
+    }
+
+    @Getter @Setter
+    public static class Media {
+        /** 업로드 후 영상 분석 작업 스레드 수 */
+        @Min(1)
+        @Max(8)
+        private int pipelineThreads = 2;
+
+        /** 분석 대기열 최대 길이 (넘치면 주기 재시도로 처리) */
+        @Min(1)
+        private int queueCapacity = 100;
+
+        /** moov가 파일 끝에 있는 MP4를 분석 후 fast-start 구조로 다시 쓸지 여부 */
+        private boolean fastStartEnabled = true;
+
+        /** 업로드 MP4를 HLS(fMP4 세그먼트 + m3u8)로 패키징할지 여부 */
+        private boolean hlsEnabled = true;
+
+        /** HLS 세그먼트 목표 길이(초) - 키프레임 단위로 끊으므로 실제 길이는 조금 더 길 수 있음 */
+        @Min(2)
+        @Max(30)
+        private int hlsSegmentSeconds = 6;
+    }
+
+    @Getter @Setter
+    public static class Mail {
+        /** 메일 발송 작업 스레드 수 */
+        @Min(1)
+        @Max(8)
+        private int dispatcherThreads = 2;
+
+        /** SMTP 연결 한 번에 보내는 최대 메일 수 */
+        @Min(1)
+        @Max(100)
+        private int batchSize = 20;
+
+        /** 최대 발송 시도 횟수 (넘으면 FAILED) */
+        @Min(1)
+        @Max(20)
+        private int maxAttempts = 5;
+
+        /** 재시도 대기 기본값(초) - 시도마다 2배, retryMaxSeconds까지 */
+        @Min(1)
+        private long retryBaseSeconds = 10;
+
+        @Min(1)
+        private long retryMaxSeconds = 900;
+
+        /**
+         * 발송 중 항목 점유 시간(초) - 서버가 죽으면 이 시간 이후 다시 발송 대상
+         * - 연결 타임아웃 + batchSize x SMTP 타임아웃보다 길어야 함 (기동 시 확인)
+         */
+        @Min(10)
+        private long leaseSeconds = 120;
+
+        /** 발송 완료/실패 항목 보관 기간(일) - 인증번호가 본문에 있으므로 짧게 */
+        @Min(1)
+        private int retentionDays = 3;
+    }
+
+    @Getter @Setter
+    public static class RateLimit {
+        /** 인증 엔드포인트 속도 제한 사용 여부 */
+        private boolean enabled = true;
+
+        /** 제한기별 최대 키(IP/이메일) 수 - 넘으면 새 키는 공용 버킷 사용 */
+        @Min(1000)
+        private int maxKeys = 100_000;
+
+        /** 로그인: IP별 */
+        private final Rule loginPerIp = new Rule(20, 10);
+
+        /** 로그인: 이메일별 (비밀번호 대입 방어) */
+        private final Rule loginPerEmail = new Rule(5, 5);
+
+        /** 메일 발송(인증번호/비밀번호 재설정/계정 찾기): IP별 */
+        private final Rule mailPerIp = new Rule(10, 5);
+
+        /** 메일 발송: 수신 이메일별 */
+        private final Rule mailPerEmail = new Rule(3, 1);
+
+        @Getter @Setter
+        public static class Rule {
+            /** 연속 허용 수 (bucket 크기) */
+            @Min(1)
+            private int capacity;
+
+            /** 분당 회복 수 */
+            @Min(1)
+            private int refillPerMinute;
+
+            public Rule() {
+            }
+
+            Rule(int capacity, int refillPerMinute) {
+                this.capacity = capacity;
+                this.refillPerMinute = refillPerMinute;
+            }
+        }
+    }
+
+    @Getter @Setter
+    public static class Password {
+        /** 새 비밀번호 해시 알고리즘 (bcrypt | pbkdf2) - 기존 해시는 알고리즘과 무관하게 검증 가능 */
+        @NotEmpty
+        private String algorithm = "bcrypt";
+
+        /** BCrypt cost (2^n 라운드) - 이보다 낮은 cost로 저장된 해시는 로그인 시 다시 해시 */
+        @Min(10)
+        @Max(16)
+        private int bcryptStrength = 10;
+
+        /** PBKDF2-HMAC-SHA256 반복 횟수 - 해시 id에 들어가므로({pbkdf2-N}) 바꾸면 기존 해시는 로그인 시 다시 해시 */
+        @Min(100_000)
+        private int pbkdf2Iterations = 310_000;
+
+        /** 반복 횟수 없이 {pbkdf2}로 저장된 기존 해시의 반복 횟수 - 그 해시를 만들 때 값 그대로 고정 */
+        @Min(100_000)
+        private int pbkdf2LegacyIterations = 310_000;
+
+        /** 기동 시 bcrypt cost를 targetMillis에 맞춰 측정해 정할지 여부 (bcryptStrength 대신 사용) */
+        private boolean calibrateOnStartup = false;
+
+        /** 해시 1회 목표 시간(ms) - 보정/측정 기준 */
+        @Min(50)
+        @Max(2000)
+        private long targetMillis = 250;
+    }
+
+    @Getter @Setter
+    public static class Search {
+        /** 강의 카탈로그 메모리 검색 색인 사용 여부 (false면 like 쿼리) */
+        private boolean enabled = true;
+
+        /** 검색어 하나당 최대 결과 수 (enrolling 필터 적용 후, 페이지 totalElements 상한) */
+        @Min(10)
+        @Max(10_000)
+        private int maxResults = 1000;
+    }
+}
@@ -1,13 +1,13 @@
 package com.example.spring.config;
 
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
@@ -22,12 +22,14 @@ public class WebMvcConfig implements WebMvcConfigurer {
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         String baseLocation = baseDir.toUri().toString();
 
+        // 썸네일: 파일명이 내용 해시(이전 업로드는 UUID)라 같은 URL의 내용이 바뀌지 않음 → 장기 캐시
         registry.addResourceHandler("/thumbnails/**")
-                .addResourceLocations(baseLocation + "thumbnails/");
-    }
+                .addResourceLocations(baseLocation + "thumbnails/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
 
-    @Bean
-    public ResourceRegionHttpMessageConverter resourceRegionHttpMessageConverter() {
-        return new ResourceRegionHttpMessageConverter();
+        // HLS 세그먼트: 토큰 폴더 안 파일은 만든 뒤 바뀌지 않음 → 브라우저/CDN 장기 캐시
+        registry.addResourceHandler("/hls/**")
+                .addResourceLocations(baseLocation + "hls/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
     }
 }
@@ -57,16 +57,18 @@ public class AdminLectureController {
     /**
      * 관리자 강의 카드 목록 (썸네일 포함)
      * - status=ALL이면 전체
+     * - thumbWidth: 카드 표시 폭(px), 주면 맞는 썸네일 파생 이미지 URL로 내려감
      */
     @GetMapping("/cards")
     public Page<LectureListItemDTO> cards(
             Authentication authentication,
             @RequestParam(defaultValue = "ALL") String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Integer thumbWidth
     ) {
         Long adminId = adminId(authentication);
-        return lectureService.adminLectureCardItems(adminId, status, pageable(page, size));
+        return lectureService.adminLectureCardItems(adminId, status, thumbWidth, pageable(page, size));
     }
 
     /**
@@ -122,6 +124,32 @@ public class AdminLectureController {
         return lectureService.rejectLecture(adminId, lectureId, req.getReason());
     }
 
+    /**
+     * 일괄 승인 (PENDING 강의만, 강의별 결과 반환)
+     * - force=true면 체크리스트 검사 생략
+     */
+    @PatchMapping("/approval")
+    public AdminLectureBulkDecisionResultDTO bulkApprove(
+            Authentication authentication,
+            @RequestBody @Valid AdminLectureBulkApproveRequestDTO req,
+            @RequestParam(defaultValue = "false") boolean force
+    ) {
+        Long adminId = adminId(authentication);
+        return lectureService.bulkApproveLectures(adminId, req.lectureIds(), force);
+    }
+
+    /**
+     * 일괄 반려 (PENDING 강의만, 같은 사유)
+     */
+    @PatchMapping("/rejection")
+    public AdminLectureBulkDecisionResultDTO bulkReject(
+            Authentication authentication,
+            @RequestBody @Valid AdminLectureBulkRejectRequestDTO req
+    ) {
+        Long adminId = adminId(authentication);
+        return lectureService.bulkRejectLectures(adminId, req.lectureIds(), req.reason());
+    }
+
     @PatchMapping("/{lectureId}/inactivate")
     public LectureResponseDTO inactivate(
             Authentication authentication,
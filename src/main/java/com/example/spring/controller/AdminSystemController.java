@@ -0,0 +1,86 @@
+package com.example.spring.controller;
+
+import com.example.spring.dto.CacheStatsDTO;
+import com.example.spring.dto.CatalogStatsDTO;
+import com.example.spring.dto.DashboardCacheStatsDTO;
+import com.example.spring.dto.PasswordHashCalibrationDTO;
+import com.example.spring.dto.RateLimitStatsDTO;
+import com.example.spring.dto.RefreshTokenCleanupStatsDTO;
+import com.example.spring.dto.RevokedTokenFilterStatsDTO;
+import com.example.spring.dto.SearchIndexStatsDTO;
+import com.example.spring.security.CurrentUser;
+import com.example.spring.service.AdminSystemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@PreAuthorize("hasRole('ADMIN')")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/system")
+public class AdminSystemController {
+
+    private final AdminSystemService adminSystemService;
+
+    /** 프로세스 내부 캐시 적중/미스 현황 */
+    @GetMapping("/caches")
+    public List<CacheStatsDTO> caches(Authentication authentication) {
+        Long adminId = CurrentUser.getUserId(authentication);
+        return adminSystemService.getCacheStats(adminId);
+    }
+
+    /** refresh 토큰 정리 배치 마지막 실행 결과 (삭제 건수/소요 시간) */
+    @GetMapping("/refresh-token-cleanup")
+    public RefreshTokenCleanupStatsDTO refreshTokenCleanup(Authentication authentication) {
+        Long adminId = CurrentUser.getUserId(authentication);
+        return adminSystemService.getRefreshTokenCleanupStats(adminId);
+    }
+
+    /** 폐기 refresh 토큰 필터 크기/오탐률 (추정치와 DB 확인 기준 실측치) */
+    @GetMapping("/revoked-token-filter")
+    public RevokedTokenFilterStatsDTO revokedTokenFilter(Authentication authentication) {
+        Long adminId = CurrentUser.getUserId(authentication);
+        return adminSystemService.getRevokedTokenFilterStats(adminId);
+    }
+
+    /** 인증 엔드포인트 속도 제한 현황 */
+    @GetMapping("/rate-limits")
+    public List<RateLimitStatsDTO> rateLimits(Authentication authentication) {
+        Long adminId = CurrentUser.getUserId(authentication);
+        return adminSystemService.getRateLimitStats(adminId);
+    }
+
+    /** 강의 검색 색인 크기/동기화 시각 */
+    @GetMapping("/search-index")
+    public SearchIndexStatsDTO searchIndex(Authentication authentication) {
+        Long adminId = CurrentUser.getUserId(authentication);
+        return adminSystemService.getSearchIndexStats(adminId);
+    }
+
+    /** 승인 강의 카드 스냅샷 크기/재생성 시각 */
+    @GetMapping("/catalog")
+    public CatalogStatsDTO catalog(Authentication authentication) {
+        Long adminId = CurrentUser.getUserId(authentication);
+        return adminSystemService.getCatalogStats(adminId);
+    }
+
+    /** 관리자 대시보드 집계 캐시 적중/백그라운드 재계산 */
+    @GetMapping("/dashboard-caches")
+    public List<DashboardCacheStatsDTO> dashboardCaches(Authentication authentication) {
+        Long adminId = CurrentUser.getUserId(authentication);
+        return adminSystemService.getDashboardCacheStats(adminId);
+    }
+
+    /**
+     * 이 서버에서 bcrypt cost별 해시 시간 측정 + 목표 시간에 맞는 cost 추천
+     * (적용은 app.password.bcrypt-strength 변경 후 재기동, 기존 해시는 로그인 시 갱신)
+     */
+    @PostMapping("/password-hash/calibration")
+    public PasswordHashCalibrationDTO calibratePasswordHash(Authentication authentication) {
+        Long adminId = CurrentUser.getUserId(authentication);
+        return adminSystemService.calibratePasswordHash(adminId);
+    }
+}
@@ -30,6 +30,18 @@ public class AdminUserController {
         return adminUserService.listUsers(adminId, keyword, pageable);
     }
 
+    /** 커서 목록 (최신 가입순, 전체 개수 없음) */
+    @GetMapping("/cursor")
+    public CursorPageDTO<AdminUserDTO> listByCursor(
+            Authentication authentication,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Long adminId = CurrentUser.getUserId(authentication);
+        return adminUserService.listUsersByCursor(adminId, keyword, cursor, size);
+    }
+
     @GetMapping("/dashboard")
     public AdminUserDashboardDTO dashboard(Authentication authentication) {
         Long adminId = CurrentUser.getUserId(authentication);
@@ -2,8 +2,10 @@ package com.example.spring.controller;
 
 import com.example.spring.common.exception.UnauthorizedException;
 import com.example.spring.dto.*;
+import com.example.spring.security.AuthRateLimiter;
 import com.example.spring.security.CurrentUser;
 import com.example.spring.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,13 +22,17 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, AuthRateLimiter authRateLimiter) {
         this.authService = authService;
+        this.authRateLimiter = authRateLimiter;
     }
 
     @PostMapping("/send-verification-code")
-    public ResponseEntity<?> sendVerificationCode(@Valid @RequestBody SendVerificationCodeRequestDTO req) {
+    public ResponseEntity<?> sendVerificationCode(@Valid @RequestBody SendVerificationCodeRequestDTO req,
+                                                  HttpServletRequest request) {
+        authRateLimiter.checkMail(request, req.getEmail());
         authService.sendVerificationCode(req.getEmail());
         return ResponseEntity.ok("인증번호를 이메일로 발송했습니다.");
     }
@@ -47,8 +53,11 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<AuthResponseDTO> login(
             @Valid @RequestBody LoginRequestDTO req,
+            HttpServletRequest request,
             HttpServletResponse res
     ) {
+        authRateLimiter.checkLogin(request, req.getEmail());
+
         // AuthService.login이 TokenPairDTO를 리턴하도록 바꿔야 함
         TokenPairDTO tokens = authService.login(req);
 
@@ -120,13 +129,16 @@ public class AuthController {
     }
 
     @PostMapping("/find-email")
-    public Map<String, String> findEmail(@RequestBody @Valid FindEmailRequestDTO req) {
+    public Map<String, String> findEmail(@RequestBody @Valid FindEmailRequestDTO req, HttpServletRequest request) {
+        authRateLimiter.checkMail(request, null);
         authService.findEmail(req);
         return Map.of("message", "입력하신 정보와 일치하는 계정이 있으면 안내 메일을 발송했습니다.");
     }
 
     @PostMapping("/password-reset/send-code")
-    public Map<String, String> sendPasswordResetCode(@RequestBody @Valid PasswordResetSendCodeRequestDTO req) {
+    public Map<String, String> sendPasswordResetCode(@RequestBody @Valid PasswordResetSendCodeRequestDTO req,
+                                                     HttpServletRequest request) {
+        authRateLimiter.checkMail(request, req.getEmail());
         authService.sendPasswordResetCode(req);
         return Map.of("message", "인증번호가 발송되었습니다.");
     }
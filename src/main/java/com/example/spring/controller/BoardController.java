@@ -2,6 +2,7 @@ package com.example.spring.controller;
 
 import com.example.spring.dto.BoardRequestDTO;
 import com.example.spring.dto.BoardResponseDTO;
+import com.example.spring.dto.CursorPageDTO;
 import com.example.spring.entity.BoardType;
 import com.example.spring.service.BoardService;
 import lombok.RequiredArgsConstructor;
@@ -54,6 +55,17 @@ public class BoardController {
         return ResponseEntity.ok(boardService.searchBoard(boardType, lectureId, writer, title, pageable));
     }
 
+    //커서 검색 (전체 개수 없음, 응답의 nextCursor로 이어서 조회)
+    @GetMapping("/searchBoard/cursor")
+    public ResponseEntity<CursorPageDTO<BoardResponseDTO>> searchBoardByCursor(@RequestParam(required = false) BoardType boardType,
+                                                                              @RequestParam(required = false) Long lectureId,
+                                                                              @RequestParam(required = false) String writer,
+                                                                              @RequestParam(required = false) String title,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "10") int size){
+        return ResponseEntity.ok(boardService.searchBoardByCursor(boardType, lectureId, writer, title, cursor, size));
+    }
+
     @GetMapping("/list/{boardId}")
     public ResponseEntity<BoardResponseDTO> board(@PathVariable Long boardId) {
         return ResponseEntity.ok(boardService.board(boardId));
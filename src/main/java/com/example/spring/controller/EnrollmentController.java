@@ -41,6 +41,18 @@ public class EnrollmentController {
         return enrollmentService.listMyEnrollments(userId, status, sort, page, size);
     }
 
+    // 내 수강 목록 - 커서 버전 (최근 학습순, 전체 개수 없음)
+    @GetMapping("/cursor")
+    public CursorPageDTO<MyEnrollmentItemDTO> listMyEnrollmentsByCursor(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ALL") String status
+    ) {
+        Long userId = CurrentUser.getUserId(authentication);
+        return enrollmentService.listMyEnrollmentsByCursor(userId, status, cursor, size);
+    }
+
     // 내 수강 정보 조회
     @GetMapping("/{lectureId}")
     public EnrollmentResponseDTO getMyEnrollment(Authentication authentication,
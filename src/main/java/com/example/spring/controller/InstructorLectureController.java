@@ -6,6 +6,7 @@ import com.example.spring.entity.EnrollmentStatus;
 import com.example.spring.security.CurrentUser;
 import com.example.spring.service.EnrollmentService;
 import com.example.spring.service.LectureService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
@@ -15,6 +16,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+
 @PreAuthorize("hasAnyRole('PROFESSOR','ADMIN')") // 교수/관리자만
 @RestController
 @RequiredArgsConstructor
@@ -44,16 +47,18 @@ public class InstructorLectureController {
 
     /**
      * 교수: 내 강의 카드 목록 (썸네일 포함)
+     * - thumbWidth: 카드 표시 폭(px), 주면 맞는 썸네일 파생 이미지 URL로 내려감
      */
     @GetMapping("/cards")
     public Page<LectureListItemDTO> listMyLectureCards(
             Authentication authentication,
             @RequestParam(defaultValue = "ALL") String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Integer thumbWidth
     ) {
         Long userId = userId(authentication);
-        return lectureService.listMyLectureCardItems(userId, status, pageable(page, size));
+        return lectureService.listMyLectureCardItems(userId, status, thumbWidth, pageable(page, size));
     }
 
     // =========================================================
@@ -164,6 +169,76 @@ public class InstructorLectureController {
                 .orElseThrow(() -> new NotFoundException("강의에 등록된 영상이 없습니다."));
     }
 
+    // =========================================================
+    // 영상: 분할(이어 올리기) 업로드
+    // - init → PUT 청크(offset 지정, 병렬 가능) → complete
+    // - 중단 시 GET 상태로 받은 구간 확인 후 빠진 구간만 재전송
+    // =========================================================
+
+    @PostMapping("/{lectureId}/video/uploads")
+    public ChunkedUploadStatusDTO initChunkedUpload(
+            Authentication authentication,
+            @PathVariable Long lectureId,
+            @RequestBody @Valid ChunkedUploadInitRequestDTO req
+    ) {
+        Long userId = userId(authentication);
+        return lectureService.initChunkedVideoUpload(userId, lectureId, req);
+    }
+
+    /**
+     * 청크 업로드 (본문 = 파일 바이트 그대로, application/octet-stream)
+     */
+    @PutMapping(value = "/{lectureId}/video/uploads/{uploadId}", consumes = "application/octet-stream")
+    public ChunkedUploadStatusDTO uploadChunk(
+            Authentication authentication,
+            @PathVariable Long lectureId,
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request
+    ) throws IOException {
+        Long userId = userId(authentication);
+        return lectureService.uploadVideoChunk(
+                userId, lectureId, uploadId, offset, request.getContentLengthLong(), request.getInputStream()
+        );
+    }
+
+    @GetMapping("/{lectureId}/video/uploads/{uploadId}")
+    public ChunkedUploadStatusDTO chunkedUploadStatus(
+            Authentication authentication,
+            @PathVariable Long lectureId,
+            @PathVariable String uploadId
+    ) {
+        Long userId = userId(authentication);
+        return lectureService.getChunkedVideoUploadStatus(userId, lectureId, uploadId);
+    }
+
+    /**
+     * 업로드 완료 (선택: 클라이언트가 계산한 sha256 비교, 썸네일 함께 등록)
+     */
+    @PostMapping(value = "/{lectureId}/video/uploads/{uploadId}/complete", consumes = "multipart/form-data")
+    public LectureVideoResponseDTO completeChunkedUpload(
+            Authentication authentication,
+            @PathVariable Long lectureId,
+            @PathVariable String uploadId,
+            @RequestParam(required = false) String sha256,
+            @RequestParam(defaultValue = "false") boolean replace,
+            @RequestPart(value = "thumbnail", required = false) MultipartFile thumbnail
+    ) {
+        Long userId = userId(authentication);
+        return lectureService.completeChunkedVideoUpload(userId, lectureId, uploadId, sha256, thumbnail, replace);
+    }
+
+    @DeleteMapping("/{lectureId}/video/uploads/{uploadId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void abortChunkedUpload(
+            Authentication authentication,
+            @PathVariable Long lectureId,
+            @PathVariable String uploadId
+    ) {
+        Long userId = userId(authentication);
+        lectureService.abortChunkedVideoUpload(userId, lectureId, uploadId);
+    }
+
     // =========================================================
     // 수강생 목록 / 통계
     // =========================================================
@@ -1,5 +1,6 @@
 package com.example.spring.controller;
 
+import com.example.spring.dto.CursorPageDTO;
 import com.example.spring.dto.LectureListItemDTO;
 import com.example.spring.dto.LectureResponseDTO;
 import com.example.spring.dto.LectureVideoResponseDTO;
@@ -42,6 +43,7 @@ public class LectureController {
      * 카드용 목록 (썸네일/영상 메타 포함)
      * - 모든 이용자(비로그인 포함)에게 목록 UI로 권장
      * - enrolling 필터는 로그인 필요(서비스에서 검증)
+     * - thumbWidth: 카드 표시 폭(px), 주면 그 이상인 가장 작은 썸네일 파생 이미지 URL로 내려감
      */
     @GetMapping("/cards")
     public Page<LectureListItemDTO> listApprovedCards(
@@ -50,10 +52,34 @@ public class LectureController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "ALL") String language,
             @RequestParam(required = false) Boolean enrolling,
-            @RequestParam(required = false) String keyword
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer thumbWidth
+    ) {
+        Long userId = nullableUserId(authentication);
+        return lectureService.listApprovedLectureCardItems(
+                userId, language, enrolling, keyword, thumbWidth, pageable(page, size)
+        );
+    }
+
+    /**
+     * 카드용 목록 - 커서 버전 (전체 개수 없음, 깊은 페이지도 같은 비용)
+     * - 첫 요청은 cursor 없이, 이후 응답의 nextCursor를 그대로 전달
+     * - 정렬: 최신 등록순 (검색어가 있으면 관련도순)
+     */
+    @GetMapping("/cards/cursor")
+    public CursorPageDTO<LectureListItemDTO> listApprovedCardsByCursor(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ALL") String language,
+            @RequestParam(required = false) Boolean enrolling,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer thumbWidth
     ) {
         Long userId = nullableUserId(authentication);
-        return lectureService.listApprovedLectureCardItems(userId, language, enrolling, keyword, pageable(page, size));
+        return lectureService.listApprovedLectureCardItemsByCursor(
+                userId, language, enrolling, keyword, thumbWidth, cursor, size
+        );
     }
 
     /** 강의 상세 */
@@ -4,120 +4,480 @@ import com.example.spring.common.exception.BadRequestException;
 import com.example.spring.common.exception.ForbiddenException;
 import com.example.spring.common.exception.NotFoundException;
 import com.example.spring.config.AppProperties;
-import com.example.spring.entity.Lecture;
-import com.example.spring.entity.LectureVideo;
-import com.example.spring.entity.VideoSourceType;
-import com.example.spring.repository.EnrollmentRepository;
-import com.example.spring.repository.LectureVideoRepository;
+import com.example.spring.dto.ErrorResponseDTO;
+import com.example.spring.dto.VideoPlayUrlResponseDTO;
 import com.example.spring.security.CurrentUser;
+import com.example.spring.security.EnrollmentAccessCache;
+import com.example.spring.security.VideoSignedUrlService;
+import com.example.spring.storage.VideoFileMetaCache;
+import com.example.spring.storage.VideoFileSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.*;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.reflect.Type;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/videos")
 public class VideoStreamController {
 
-    private final LectureVideoRepository lectureVideoRepository;
-    private final EnrollmentRepository enrollmentRepository;
-    private final Path baseDir;
+    private static final Type RESOURCE_REGION_LIST_TYPE =
+            ResolvableType.forClassWithGenerics(List.class, ResourceRegion.class).getType();
+
+    private static final MediaType HLS_PLAYLIST_TYPE = MediaType.parseMediaType("application/vnd.apple.mpegurl");
+
+    /** 파일 누락 시 캐시 제거용으로 현재 요청의 videoId를 보관하는 속성 */
+    private static final String VIDEO_ID_ATTR = VideoStreamController.class.getName() + ".videoId";
+
+    private final VideoFileMetaCache videoFileMetaCache;
+    private final EnrollmentAccessCache enrollmentAccessCache;
+    private final VideoSignedUrlService videoSignedUrlService;
+    private final VideoFileSender videoFileSender;
+
+    /** 이 컨트롤러 전용 (빈으로 등록하면 MVC 전역 컨버터 목록에 하나 더 붙는다) */
+    private final ResourceRegionHttpMessageConverter resourceRegionConverter = new ResourceRegionHttpMessageConverter();
+
     private final long chunkSize;
+    private final long maxRangeBytes;
+    private final AppProperties.StreamingMode streamingMode;
 
     public VideoStreamController(
-            LectureVideoRepository lectureVideoRepository,
-            EnrollmentRepository enrollmentRepository,
+            VideoFileMetaCache videoFileMetaCache,
+            EnrollmentAccessCache enrollmentAccessCache,
+            VideoSignedUrlService videoSignedUrlService,
+            VideoFileSender videoFileSender,
             AppProperties props
     ) {
-        this.lectureVideoRepository = lectureVideoRepository;
-        this.enrollmentRepository = enrollmentRepository;
-        this.baseDir = Paths.get(props.getUpload().getBaseDir()).toAbsolutePath().normalize();
+        this.videoFileMetaCache = videoFileMetaCache;
+        this.enrollmentAccessCache = enrollmentAccessCache;
+        this.videoSignedUrlService = videoSignedUrlService;
+        this.videoFileSender = videoFileSender;
         this.chunkSize = props.getUpload().getChunkSizeBytes();
+        this.maxRangeBytes = Math.max(chunkSize, props.getUpload().getMaxRangeBytes());
+        this.streamingMode = props.getUpload().getStreamingMode();
+    }
+
+    /**
+     * 서명된 재생 URL 발급
+     * - 권한(교수 소유/수강 여부)은 여기서 한 번만 검사
+     * - 이후 Range 요청은 서명만 검증 (JWT 파싱/수강 조회 없음)
+     * - 만료는 영상 길이에 맞춰 잡고, 더 오래 재생하면 플레이어가 refreshAt 이후 다시 호출 (재발급)
+     */
+    @GetMapping("/{videoId}/play-url")
+    public VideoPlayUrlResponseDTO playUrl(Authentication authentication, @PathVariable Long videoId) {
+        Long userId = CurrentUser.getUserId(authentication);
+
+        VideoFileMetaCache.VideoFileMeta meta = videoFileMetaCache.get(videoId);
+        authorizeVideoAccess(authentication, userId, meta);
+
+        String role = primaryRole(authentication);
+        long ttl = videoSignedUrlService.ttlSecondsFor(meta.durationSec());
+        long expires = videoSignedUrlService.computeExpiresEpochSeconds(meta.durationSec());
+        String sig = videoSignedUrlService.createSignature(videoId, userId, role, expires);
+
+        String url = signedUrl("/api/videos/{videoId}", videoId, userId, role, expires, sig);
+        String hlsUrl = meta.hlsPlaylist() == null
+                ? null
+                : signedUrl("/api/videos/{videoId}/hls.m3u8", videoId, userId, role, expires, sig);
+
+        return new VideoPlayUrlResponseDTO(
+                videoId, url, hlsUrl, expires, ttl,
+                videoSignedUrlService.computeRefreshAtEpochSeconds(expires, ttl)
+        );
+    }
+
+    private String signedUrl(String path, Long videoId, Long userId, String role, long expires, String sig) {
+        return UriComponentsBuilder.fromPath(path)
+                .queryParam("uid", userId)
+                .queryParam("role", role)
+                .queryParam("exp", expires)
+                .queryParam("sig", sig)
+                .buildAndExpand(videoId)
+                .encode()
+                .toUriString();
+    }
+
+    /**
+     * HLS playlist (서명된 URL)
+     * - 세그먼트는 /hls/** 정적 파일로 받으므로 권한/서명 확인은 playlist에서 한 번만
+     */
+    @GetMapping(value = "/{videoId}/hls.m3u8", params = "sig")
+    public ResponseEntity<byte[]> hlsPlaylistSigned(
+            @PathVariable Long videoId,
+            @RequestParam Long uid,
+            @RequestParam String role,
+            @RequestParam("exp") long expires,
+            @RequestParam String sig,
+            HttpServletRequest request
+    ) throws IOException {
+        videoSignedUrlService.validateOrThrow(videoId, uid, role, expires, sig);
+
+        VideoFileMetaCache.VideoFileMeta meta = videoFileMetaCache.get(videoId);
+        request.setAttribute(VIDEO_ID_ATTR, videoId);
+
+        return playlist(meta);
+    }
+
+    @GetMapping("/{videoId}/hls.m3u8")
+    public ResponseEntity<byte[]> hlsPlaylist(
+            Authentication authentication,
+            @PathVariable Long videoId,
+            HttpServletRequest request
+    ) throws IOException {
+        Long userId = CurrentUser.getUserId(authentication);
+
+        VideoFileMetaCache.VideoFileMeta meta = videoFileMetaCache.get(videoId);
+        request.setAttribute(VIDEO_ID_ATTR, videoId);
+
+        authorizeVideoAccess(authentication, userId, meta);
+
+        return playlist(meta);
+    }
+
+    private ResponseEntity<byte[]> playlist(VideoFileMetaCache.VideoFileMeta meta) throws IOException {
+        if (meta.hlsPlaylist() == null) {
+            throw new NotFoundException("HLS 재생 준비가 아직 끝나지 않았습니다.");
+        }
+
+        // playlist는 권한 확인 결과이므로 공유 캐시 금지 (세그먼트는 /hls/**에서 장기 캐시)
+        return ResponseEntity.ok()
+                .contentType(HLS_PLAYLIST_TYPE)
+                .header(HttpHeaders.CACHE_CONTROL, "private, no-cache")
+                .body(Files.readAllBytes(meta.hlsPlaylist()));
+    }
+
+    /**
+     * 서명된 URL로 스트리밍 (<video src>용)
+     * - 서명/만료만 검증하고 파일 메타는 캐시 사용
+     */
+    @GetMapping(value = "/{videoId}", params = "sig")
+    public ResponseEntity<?> streamSigned(
+            @PathVariable Long videoId,
+            @RequestParam Long uid,
+            @RequestParam String role,
+            @RequestParam("exp") long expires,
+            @RequestParam String sig,
+            @RequestHeader HttpHeaders headers,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        videoSignedUrlService.validateOrThrow(videoId, uid, role, expires, sig);
+
+        VideoFileMetaCache.VideoFileMeta meta = videoFileMetaCache.get(videoId);
+        request.setAttribute(VIDEO_ID_ATTR, videoId);
+
+        return serve(meta, headers, request, response);
     }
 
     @GetMapping("/{videoId}")
     public ResponseEntity<?> stream(
             Authentication authentication,
             @PathVariable Long videoId,
-            @RequestHeader HttpHeaders headers
-    ) {
+            @RequestHeader HttpHeaders headers,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
         Long userId = CurrentUser.getUserId(authentication);
 
-        LectureVideo video = lectureVideoRepository.findWithLectureAndProfessorByVideoId(videoId)
-                .orElseThrow(() -> new NotFoundException("비디오를 찾을 수 없습니다."));
+        // DB 조회/경로 검증/파일 stat은 캐시된 메타로 대체 (Range 요청마다 반복하지 않음)
+        VideoFileMetaCache.VideoFileMeta meta = videoFileMetaCache.get(videoId);
+        request.setAttribute(VIDEO_ID_ATTR, videoId);
 
-        if (video.getSourceType() != VideoSourceType.UPLOAD) {
-            throw new BadRequestException("로컬 업로드 영상만 스트리밍할 수 있습니다.");
-        }
+        authorizeVideoAccess(authentication, userId, meta);
+
+        return serve(meta, headers, request, response);
+    }
+
+    private ResponseEntity<?> serve(
+            VideoFileMetaCache.VideoFileMeta meta,
+            HttpHeaders headers,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path filePath = meta.path();
+        long contentLength = meta.size();
+        long lastModified = meta.lastModified();
+        String etag = meta.etag();
+        MediaType mediaType = meta.mediaType();
 
-        Lecture lecture = video.getLecture();
-        if (lecture == null) {
-            throw new NotFoundException("비디오에 연결된 강의를 찾을 수 없습니다.");
+        // 캐시 검증: 같은 파일이면 본문 없이 304
+        if (matchesIfNoneMatch(headers, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, "private, max-age=60")
+                    .build();
         }
 
-        authorizeVideoAccess(authentication, userId, lecture);
+        // If-Range가 현재 파일과 다르면 Range를 무시하고 전체 응답 (RFC 7233 3.2)
+        List<HttpRange> ranges = isIfRangeSatisfied(headers, etag, lastModified) ? headers.getRange() : List.of();
 
-        String localPath = video.getLocalPath();
-        if (!StringUtils.hasText(localPath)) {
-            throw new NotFoundException("서버에 저장된 파일 경로가 없습니다.");
+        if (ranges.isEmpty()) {
+            return full(request, response, headers, filePath, contentLength, lastModified, etag, mediaType);
         }
 
-        String relative = localPath.startsWith("/") ? localPath.substring(1) : localPath;
-        Path filePath = baseDir.resolve(relative).normalize();
+        List<VideoFileSender.ByteRange> spans = resolveSatisfiableRanges(ranges, contentLength);
 
-        if (!filePath.startsWith(baseDir)) {
-            throw new BadRequestException("잘못된 파일 경로입니다.");
+        // 만족 가능한 Range가 하나도 없으면 416 + Content-Range: bytes */length
+        if (spans.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .build();
         }
-        if (!Files.exists(filePath)) {
-            throw new NotFoundException("파일이 존재하지 않습니다.");
+
+        // 여러 Range: 합계가 상한 이내일 때만 multipart/byteranges 한 번에 응답
+        if (spans.size() > 1 && totalLength(spans) <= maxRangeBytes) {
+            return multipart(request, response, filePath, contentLength, lastModified, etag, mediaType, spans);
         }
 
-        Resource resource = toResource(filePath);
-        long contentLength = contentLength(filePath);
-        MediaType mediaType = resolveMediaType(video.getMimeType(), filePath);
+        // 단일 Range (또는 상한 초과 시 첫 Range만) - 요청 구간 길이에 맞춰 청크 크기 조정
+        VideoFileSender.ByteRange first = spans.get(0);
+        long limit = first.openEnded() ? chunkSize : maxRangeBytes;
+        VideoFileSender.ByteRange span = new VideoFileSender.ByteRange(
+                first.start(),
+                Math.min(first.end(), first.start() + limit - 1)
+        );
+        return single(request, response, filePath, contentLength, lastModified, etag, mediaType, span);
+    }
+
+    /**
+     * 캐시된 메타 이후 파일이 삭제/이동된 경우
+     * - 메타 캐시에서 제거하고 404 (다음 요청은 DB/파일시스템을 다시 확인)
+     */
+    @ExceptionHandler({NoSuchFileException.class, FileNotFoundException.class})
+    public ResponseEntity<ErrorResponseDTO> fileMissing(IOException e, HttpServletRequest request) {
+        if (request.getAttribute(VIDEO_ID_ATTR) instanceof Long videoId) {
+            videoFileMetaCache.evict(videoId);
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponseDTO("파일이 존재하지 않습니다.", HttpStatus.NOT_FOUND.value(),
+                        request.getRequestURI(), LocalDateTime.now()));
+    }
 
-        List<HttpRange> ranges = headers.getRange();
+    // =========================================================
+    // 응답 작성 (RESOURCE_REGION: 메시지 컨버터 / ZERO_COPY: VideoFileSender)
+    // =========================================================
 
-        // Range 없으면 전체 응답
-        if (ranges == null || ranges.isEmpty()) {
-            return ResponseEntity.ok()
-                    .contentType(mediaType)
-                    .contentLength(contentLength)
-                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
-                    .header(HttpHeaders.CACHE_CONTROL, "private, max-age=60")
-                    .body(resource);
+    private ResponseEntity<?> full(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            HttpHeaders headers,
+            Path filePath,
+            long contentLength,
+            long lastModified,
+            String etag,
+            MediaType mediaType
+    ) throws IOException {
+        if (streamingMode == AppProperties.StreamingMode.ZERO_COPY) {
+            applyCommonHeaders(response, lastModified, etag);
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(mediaType.toString());
+            response.setContentLengthLong(contentLength);
+            videoFileSender.send(request, response, filePath, 0, contentLength);
+            return null; // 응답은 이미 직접 작성됨
         }
 
-        // 첫 번째 Range만 처리 (브라우저 video 태그에 충분)
-        HttpRange range = ranges.get(0);
-        long start = range.getRangeStart(contentLength);
-        long end = range.getRangeEnd(contentLength);
+        // Range 헤더가 있는데 Resource를 그대로 주면 Spring이 다시 Range를 적용하므로 스트림으로 감싼다
+        Resource body = headers.getFirst(HttpHeaders.RANGE) == null
+                ? toResource(filePath)
+                : new InputStreamResource(Files.newInputStream(filePath));
 
-        if (start >= contentLength || end < start) {
-            throw new BadRequestException("유효하지 않은 Range 요청입니다.");
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .contentLength(contentLength)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CACHE_CONTROL, "private, max-age=60")
+                .body(body);
+    }
+
+    private ResponseEntity<?> single(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Path filePath,
+            long contentLength,
+            long lastModified,
+            String etag,
+            MediaType mediaType,
+            VideoFileSender.ByteRange span
+    ) throws IOException {
+        if (streamingMode == AppProperties.StreamingMode.ZERO_COPY) {
+            applyCommonHeaders(response, lastModified, etag);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setContentType(mediaType.toString());
+            response.setContentLengthLong(span.length());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + span.start() + "-" + span.end() + "/" + contentLength);
+            videoFileSender.send(request, response, filePath, span.start(), span.length());
+            return null;
         }
 
-        long rangeLength = Math.min(chunkSize, end - start + 1);
-        ResourceRegion region = new ResourceRegion(resource, start, rangeLength);
+        ResourceRegion region = new ResourceRegion(toResource(filePath), span.start(), span.length());
 
         return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
                 .contentType(mediaType)
                 .contentLength(region.getCount())
+                .eTag(etag)
+                .lastModified(lastModified)
                 .header(HttpHeaders.ACCEPT_RANGES, "bytes")
                 .header(HttpHeaders.CACHE_CONTROL, "private, max-age=60")
                 .body(region);
     }
 
-    private void authorizeVideoAccess(Authentication authentication, Long userId, Lecture lecture) {
+    private ResponseEntity<?> multipart(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Path filePath,
+            long contentLength,
+            long lastModified,
+            String etag,
+            MediaType mediaType,
+            List<VideoFileSender.ByteRange> spans
+    ) throws IOException {
+        applyCommonHeaders(response, lastModified, etag);
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+
+        if (streamingMode == AppProperties.StreamingMode.ZERO_COPY) {
+            videoFileSender.sendMultipart(request, response, filePath, contentLength, mediaType.toString(), spans);
+            return null;
+        }
+
+        // ResponseEntity<?>로는 List<ResourceRegion> 타입 정보가 사라지므로 컨버터로 직접 작성
+        Resource resource = toResource(filePath);
+        List<ResourceRegion> regions = new ArrayList<>(spans.size());
+        for (VideoFileSender.ByteRange span : spans) {
+            regions.add(new ResourceRegion(resource, span.start(), span.length()));
+        }
+        resourceRegionConverter.write(regions, RESOURCE_REGION_LIST_TYPE, null, new ServletServerHttpResponse(response));
+        return null;
+    }
+
+    private void applyCommonHeaders(HttpServletResponse response, long lastModified, String etag) {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=60");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+    }
+
+    // =========================================================
+    // Range / 조건부 요청 헬퍼
+    // =========================================================
+
+    /**
+     * 만족 가능한 Range만 남기고, 시작 위치 기준으로 정렬 후 겹치거나 맞닿은 구간을 병합한다.
+     * - 끝 미지정 여부는 정렬 전에 구간마다 기록 (병합되면 둘 중 하나라도 끝 미지정이면 끝 미지정)
+     */
+    private List<VideoFileSender.ByteRange> resolveSatisfiableRanges(List<HttpRange> ranges, long contentLength) {
+        List<VideoFileSender.ByteRange> spans = new ArrayList<>(ranges.size());
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(contentLength);
+            long end = range.getRangeEnd(contentLength);
+            if (start < contentLength && end >= start) {
+                spans.add(new VideoFileSender.ByteRange(start, end, isOpenEnded(range)));
+            }
+        }
+        if (spans.size() <= 1) return spans;
+
+        spans.sort(Comparator.comparingLong(VideoFileSender.ByteRange::start));
+
+        List<VideoFileSender.ByteRange> merged = new ArrayList<>(spans.size());
+        VideoFileSender.ByteRange current = spans.get(0);
+        for (int i = 1; i < spans.size(); i++) {
+            VideoFileSender.ByteRange next = spans.get(i);
+            if (next.start() <= current.end() + 1) {
+                current = new VideoFileSender.ByteRange(
+                        current.start(),
+                        Math.max(current.end(), next.end()),
+                        current.openEnded() || next.openEnded()
+                );
+            } else {
+                merged.add(current);
+                current = next;
+            }
+        }
+        merged.add(current);
+        return merged;
+    }
+
+    private long totalLength(List<VideoFileSender.ByteRange> spans) {
+        long total = 0;
+        for (VideoFileSender.ByteRange span : spans) total += span.length();
+        return total;
+    }
+
+    /**
+     * "bytes=N-" 형태(끝 미지정)인지 - 플레이어의 순차 재생 요청
+     * - HttpRange는 마지막 위치를 노출하지 않으므로 파일 길이를 바꿔 가며 확인
+     *   끝 미지정: end = length - 1 (길이에 따라 변함), 시작은 고정
+     *   접미사("-N"): 시작이 길이에 따라 변함 / 끝 지정("N-M"): end = M 고정
+     */
+    private boolean isOpenEnded(HttpRange range) {
+        long probe = Long.MAX_VALUE;
+        return range.getRangeStart(probe) == range.getRangeStart(probe / 2)
+                && range.getRangeEnd(probe) == probe - 1
+                && range.getRangeEnd(probe / 2) == probe / 2 - 1;
+    }
+
+    private boolean matchesIfNoneMatch(HttpHeaders headers, String etag) {
+        List<String> candidates = headers.getIfNoneMatch();
+        if (candidates == null || candidates.isEmpty()) return false;
+        String opaque = etag.substring(1, etag.length() - 1);
+        for (String candidate : candidates) {
+            if ("*".equals(candidate)) return true;
+            String c = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (c.startsWith("\"") && c.endsWith("\"") && c.length() >= 2) c = c.substring(1, c.length() - 1);
+            if (opaque.equals(c)) return true; // If-None-Match는 약한 비교
+        }
+        return false;
+    }
+
+    /**
+     * If-Range 검증
+     * - 헤더 없음: Range 적용
+     * - ETag: 강한 비교(W/ 는 불일치 처리)
+     * - HTTP-date: Last-Modified(초 단위)와 정확히 같을 때만 일치
+     */
+    private boolean isIfRangeSatisfied(HttpHeaders headers, String etag, long lastModified) {
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (!StringUtils.hasText(ifRange)) return true;
+
+        String value = ifRange.trim();
+        if (value.startsWith("W/")) return false;
+        if (value.startsWith("\"")) return value.equals(etag);
+
+        try {
+            long since = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().getEpochSecond();
+            return since == lastModified / 1000;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void authorizeVideoAccess(Authentication authentication, Long userId, VideoFileMetaCache.VideoFileMeta meta) {
         boolean isAdmin = hasRole(authentication, "ROLE_ADMIN");
         boolean isProfessor = hasRole(authentication, "ROLE_PROFESSOR");
         boolean isUser = hasRole(authentication, "ROLE_USER");
@@ -125,10 +485,10 @@ public class VideoStreamController {
         if (isAdmin) return;
 
         if (isProfessor) {
-            if (lecture.getProfessor() == null || lecture.getProfessor().getUserId() == null) {
+            if (meta.professorId() == null) {
                 throw new ForbiddenException("강의 교수 정보가 없어 접근할 수 없습니다.");
             }
-            if (!lecture.getProfessor().getUserId().equals(userId)) {
+            if (!meta.professorId().equals(userId)) {
                 throw new ForbiddenException("본인 강의 영상만 접근할 수 있습니다.");
             }
             return;
@@ -138,15 +498,20 @@ public class VideoStreamController {
             throw new ForbiddenException("접근 권한이 없습니다.");
         }
 
-        boolean enrolled = enrollmentRepository.existsByUser_UserIdAndLecture_LectureId(
-                userId,
-                lecture.getLectureId()
-        );
+        // Range 요청마다 DB 조회하지 않도록 캐시된 판정 사용
+        boolean enrolled = enrollmentAccessCache.isEnrolled(userId, meta.lectureId());
         if (!enrolled) {
             throw new ForbiddenException("수강 신청한 강의만 영상을 볼 수 있습니다.");
         }
     }
 
+    /** 서명에 넣을 대표 역할 (ADMIN > PROFESSOR > USER) */
+    private String primaryRole(Authentication authentication) {
+        if (hasRole(authentication, "ROLE_ADMIN")) return "ADMIN";
+        if (hasRole(authentication, "ROLE_PROFESSOR")) return "PROFESSOR";
+        return "USER";
+    }
+
     private boolean hasRole(Authentication authentication, String role) {
         if (authentication == null || authentication.getAuthorities() == null) return false;
         return authentication.getAuthorities().stream()
@@ -160,27 +525,4 @@ public class VideoStreamController {
             throw new BadRequestException("리소스 변환 실패: " + e.getMessage());
         }
     }
-
-    private long contentLength(Path filePath) {
-        try {
-            return Files.size(filePath);
-        } catch (Exception e) {
-            throw new BadRequestException("파일 크기 조회 실패: " + e.getMessage());
-        }
-    }
-
-    private MediaType resolveMediaType(String mimeType, Path filePath) {
-        try {
-            if (StringUtils.hasText(mimeType)) return MediaType.parseMediaType(mimeType);
-        } catch (Exception ignored) {
-        }
-
-        try {
-            String probed = Files.probeContentType(filePath);
-            if (StringUtils.hasText(probed)) return MediaType.parseMediaType(probed);
-        } catch (Exception ignored) {
-        }
-
-        return MediaType.APPLICATION_OCTET_STREAM;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package com.example.spring.dashboard;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.dto.AdminLectureDashboardDTO;
+import com.example.spring.dto.AdminUserDashboardDTO;
+import com.example.spring.entity.LectureStatus;
+import com.example.spring.entity.UserRole;
+import com.example.spring.entity.UserStatus;
+import com.example.spring.repository.LectureRepository;
+import com.example.spring.repository.UserRepository;
+import com.example.spring.util.RefreshingValue;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관리자 대시보드(강의/회원) 집계 캐시.
+ *
+ * - 각 대시보드는 group by 쿼리 1회로 계산 (예전: 강의 7회 + 회원 7회 count)
+ * - app.cache.dashboard-refresh-seconds 동안은 캐시 값, 그 뒤 max-stale까지는 캐시 값을 주고 백그라운드에서 다시 계산
+ * - 키는 오늘 날짜 ("오늘" 숫자가 자정에 바로 바뀌도록)
+ * - 승인/가입 등 변경 시 무효화하지 않음 (숫자 카드라 몇 초 늦어도 무방, generatedAt = 계산 시각)
+ */
+@Component
+public class AdminDashboards {
+
+    private final LectureRepository lectureRepository;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor executor;
+    private final RefreshingValue<LocalDate, AdminLectureDashboardDTO> lectures;
+    private final RefreshingValue<LocalDate, AdminUserDashboardDTO> users;
+
+    public AdminDashboards(LectureRepository lectureRepository,
+                           UserRepository userRepository,
+                           AppProperties props) {
+        this.lectureRepository = lectureRepository;
+        this.userRepository = userRepository;
+
+        // 대시보드 2개 → 스레드 1개, 대기 2개면 충분 (넘치면 다음 조회에서 재시도)
+        this.executor = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(2),
+                r -> {
+                    Thread t = new Thread(r, "admin-dashboard-refresh");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        long refreshAfter = props.getCache().getDashboardRefreshSeconds() * 1000L;
+        long expireAfter = Math.max(refreshAfter, props.getCache().getDashboardMaxStaleSeconds() * 1000L);
+        this.lectures = new RefreshingValue<>("adminLectureDashboard", refreshAfter, expireAfter, executor);
+        this.users = new RefreshingValue<>("adminUserDashboard", refreshAfter, expireAfter, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public AdminLectureDashboardDTO lectureDashboard() {
+        return lectures.get(LocalDate.now(), this::loadLectureDashboard);
+    }
+
+    public AdminUserDashboardDTO userDashboard() {
+        return users.get(LocalDate.now(), this::loadUserDashboard);
+    }
+
+    public List<RefreshingValue.Stats> stats() {
+        return List.of(lectures.stats(), users.stats());
+    }
+
+    // =========================================================
+    // 집계 (group by 1회 → 메모리 합산)
+    // =========================================================
+
+    private AdminLectureDashboardDTO loadLectureDashboard(LocalDate day) {
+        long total = 0, pending = 0, approved = 0, rejected = 0;
+        long todayNew = 0, todayApproved = 0, pendingWithoutVideo = 0;
+
+        for (LectureRepository.StatusCountRow row : lectureRepository.countGroupByStatus(day.atStartOfDay())) {
+            long count = nz(row.getTotal());
+            long createdToday = nz(row.getCreatedSince());
+
+            total += count;
+            todayNew += createdToday;
+
+            if (row.getStatus() == LectureStatus.PENDING) {
+                pending = count;
+                pendingWithoutVideo = nz(row.getWithoutVideo());
+            } else if (row.getStatus() == LectureStatus.APPROVED) {
+                approved = count;
+                todayApproved = createdToday;
+            } else if (row.getStatus() == LectureStatus.REJECTED) {
+                rejected = count;
+            }
+        }
+
+        return new AdminLectureDashboardDTO(
+                total,
+                pending,
+                approved,
+                rejected,
+                todayNew,
+                todayApproved,
+                pendingWithoutVideo,
+                LocalDateTime.now()
+        );
+    }
+
+    private AdminUserDashboardDTO loadUserDashboard(LocalDate day) {
+        long total = 0, normal = 0, professors = 0, admins = 0;
+        long activeUsers = 0, blockedUsers = 0, todaySignups = 0;
+
+        for (UserRepository.RoleStatusCountRow row : userRepository.countGroupByRoleAndStatus(day.atStartOfDay())) {
+            long count = nz(row.getTotal());
+
+            total += count;
+            todaySignups += nz(row.getCreatedSince());
+
+            byte role = row.getUserRole() == null ? -1 : row.getUserRole();
+            if (role == UserRole.USER.getCode()) normal += count;
+            else if (role == UserRole.PROFESSOR.getCode()) professors += count;
+            else if (role == UserRole.ADMIN.getCode()) admins += count;
+
+            if (row.getUserStatus() == UserStatus.ACTIVE) activeUsers += count;
+            else if (row.getUserStatus() == UserStatus.BLOCKED) blockedUsers += count;
+        }
+
+        return new AdminUserDashboardDTO(
+                total,
+                normal,
+                professors,
+                admins,
+                activeUsers,
+                blockedUsers,
+                todaySignups,
+                LocalDateTime.now()
+        );
+    }
+
+    private static long nz(Long v) {
+        return v == null ? 0 : v;
+    }
+}
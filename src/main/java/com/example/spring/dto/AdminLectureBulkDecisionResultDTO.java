@@ -0,0 +1,29 @@
+package com.example.spring.dto;
+
+import com.example.spring.entity.LectureStatus;
+
+import java.util.List;
+
+/**
+ * 관리자 일괄 승인/반려 결과 (요청한 강의 순서대로 강의별 결과)
+ */
+public record AdminLectureBulkDecisionResultDTO(
+        LectureStatus decision,
+        int requested,
+        int applied,
+        List<Item> results
+) {
+    public enum Outcome {
+        APPLIED,            // 처리됨
+        NOT_FOUND,          // 강의 없음
+        NOT_PENDING,        // 승인 대기 상태가 아님
+        CHECKLIST_FAILED    // 승인 체크리스트 미통과 (승인만)
+    }
+
+    public record Item(
+            Long lectureId,
+            Outcome outcome,
+            LectureStatus status,   // 처리 후 상태 (강의 없으면 null)
+            String message
+    ) {}
+}
@@ -0,0 +1,18 @@
+package com.example.spring.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record AdminLectureBulkRejectRequestDTO(
+        @NotEmpty(message = "lectureIds 값은 필수입니다.")
+        @Size(max = 100, message = "한 번에 최대 100개까지 처리할 수 있습니다.")
+        List<Long> lectureIds,
+
+        @NotBlank(message = "반려 사유는 필수입니다.")
+        @Size(max = 500, message = "반려 사유는 500자 이하여야 합니다.")
+        String reason
+) {
+}
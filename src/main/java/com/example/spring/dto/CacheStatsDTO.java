@@ -0,0 +1,27 @@
+package com.example.spring.dto;
+
+import com.example.spring.util.TtlCache;
+
+public record CacheStatsDTO(
+        String name,
+        int size,
+        int maxSize,
+        long ttlSeconds,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRatio
+) {
+    public static CacheStatsDTO from(TtlCache.Stats stats) {
+        return new CacheStatsDTO(
+                stats.name(),
+                stats.size(),
+                stats.maxSize(),
+                stats.ttlMillis() / 1000,
+                stats.hits(),
+                stats.misses(),
+                stats.evictions(),
+                stats.hitRatio()
+        );
+    }
+}
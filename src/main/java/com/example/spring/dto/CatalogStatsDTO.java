@@ -0,0 +1,25 @@
+package com.example.spring.dto;
+
+import com.example.spring.catalog.ApprovedLectureCatalog;
+
+import java.time.LocalDateTime;
+
+public record CatalogStatsDTO(
+        boolean ready,
+        int lectures,
+        int languages,
+        long served,
+        long refreshes,
+        LocalDateTime lastRebuiltAt
+) {
+    public static CatalogStatsDTO from(ApprovedLectureCatalog.Stats stats) {
+        return new CatalogStatsDTO(
+                stats.ready(),
+                stats.lectures(),
+                stats.languages(),
+                stats.served(),
+                stats.refreshes(),
+                stats.lastRebuiltAt()
+        );
+    }
+}
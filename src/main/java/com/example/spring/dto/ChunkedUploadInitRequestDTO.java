@@ -0,0 +1,26 @@
+package com.example.spring.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ChunkedUploadInitRequestDTO {
+
+    // 원본 파일명 (확장자 검사용)
+    @NotBlank
+    private String filename;
+
+    private String mimeType;
+
+    // 전체 파일 크기(bytes)
+    @NotNull
+    @Min(1)
+    private Long totalSize;
+
+    // 기존 영상 교체 여부 (complete 시점에 기존 영상 삭제)
+    private boolean replace;
+}
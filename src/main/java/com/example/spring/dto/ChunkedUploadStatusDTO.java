@@ -0,0 +1,19 @@
+package com.example.spring.dto;
+
+import java.util.List;
+
+/**
+ * 분할 업로드 진행 상태
+ * - receivedRanges: 받은 구간 목록 (offset, length) - 이어 올리기 시 빠진 구간만 전송
+ */
+public record ChunkedUploadStatusDTO(
+        String uploadId,
+        Long lectureId,
+        long totalSize,
+        long maxChunkBytes,
+        long receivedBytes,
+        List<Range> receivedRanges
+) {
+    public record Range(long offset, long length) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.spring.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 목록 응답 (전체 개수 없음)
+ * - nextCursor를 다음 요청의 cursor로 그대로 보내면 이어서 조회, hasNext=false면 null
+ */
+public record CursorPageDTO<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+    public static <T> CursorPageDTO<T> from(Slice<T> slice, Function<T, String> cursorOf) {
+        List<T> content = slice.getContent();
+        String next = (slice.hasNext() && !content.isEmpty()) ? cursorOf.apply(content.get(content.size() - 1)) : null;
+        return new CursorPageDTO<>(content, content.size(), next != null, next);
+    }
+
+    public static <T> CursorPageDTO<T> of(List<T> content, String nextCursor) {
+        return new CursorPageDTO<>(content, content.size(), nextCursor != null, nextCursor);
+    }
+
+    public <R> CursorPageDTO<R> map(Function<T, R> mapper) {
+        return new CursorPageDTO<>(content.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
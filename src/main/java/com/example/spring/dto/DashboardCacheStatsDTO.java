@@ -0,0 +1,31 @@
+package com.example.spring.dto;
+
+import com.example.spring.util.RefreshingValue;
+
+import java.time.LocalDateTime;
+
+public record DashboardCacheStatsDTO(
+        String name,
+        long refreshAfterSeconds,
+        long maxStaleSeconds,
+        long hits,
+        long staleHits,
+        long loads,
+        long backgroundRefreshes,
+        long refreshFailures,
+        LocalDateTime loadedAt
+) {
+    public static DashboardCacheStatsDTO from(RefreshingValue.Stats stats) {
+        return new DashboardCacheStatsDTO(
+                stats.name(),
+                stats.refreshAfterMillis() / 1000,
+                stats.expireAfterMillis() / 1000,
+                stats.hits(),
+                stats.staleHits(),
+                stats.loads(),
+                stats.refreshes(),
+                stats.failures(),
+                stats.loadedAt()
+        );
+    }
+}
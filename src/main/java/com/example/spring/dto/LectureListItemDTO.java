@@ -18,9 +18,20 @@ public record LectureListItemDTO(
         // 대표 영상(강의당 1개 정책)
         VideoSourceType videoSourceType,
         String thumbnailUrl,
+        String thumbnailWidths, // 썸네일 파생 이미지 폭 목록 ("320,640"), 없으면 null
         Integer durationSec,
         String youtubeVideoTitle,
         String youtubeChannelTitle,
 
         LocalDateTime createdAt
-) {}
\ No newline at end of file
+) {
+    /** thumbnailUrl만 바꾼 복사본 */
+    public LectureListItemDTO withThumbnailUrl(String url) {
+        return new LectureListItemDTO(
+                lectureId, title, country, language, status,
+                professorId, professorNickname,
+                videoSourceType, url, thumbnailWidths, durationSec, youtubeVideoTitle, youtubeChannelTitle,
+                createdAt
+        );
+    }
+}
\ No newline at end of file
@@ -20,6 +20,7 @@ public class LectureVideoResponseDTO {
     private String storedFilename;
     private String mimeType;
     private Long fileSizeBytes;
+    private String contentHash;
 
     // youtube
     private String youtubeVideoId;
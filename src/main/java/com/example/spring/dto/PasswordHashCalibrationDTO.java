@@ -0,0 +1,26 @@
+package com.example.spring.dto;
+
+import com.example.spring.security.PasswordHashing;
+
+import java.util.List;
+
+public record PasswordHashCalibrationDTO(
+        String algorithm,
+        int currentStrength,
+        long targetMillis,
+        int recommendedStrength,
+        List<Sample> samples
+) {
+    public record Sample(int strength, long millis) {
+    }
+
+    public static PasswordHashCalibrationDTO from(PasswordHashing hashing, PasswordHashing.Calibration calibration) {
+        return new PasswordHashCalibrationDTO(
+                hashing.algorithm(),
+                hashing.bcryptStrength(),
+                calibration.targetMillis(),
+                calibration.recommendedStrength(),
+                calibration.samples().stream().map(s -> new Sample(s.strength(), s.millis())).toList()
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.spring.dto;
+
+import com.example.spring.util.TokenBucketRateLimiter;
+
+public record RateLimitStatsDTO(
+        String name,
+        int keys,
+        int maxKeys,
+        int capacity,
+        int refillPerMinute,
+        long allowed,
+        long rejected
+) {
+    public static RateLimitStatsDTO from(TokenBucketRateLimiter.Stats stats) {
+        return new RateLimitStatsDTO(
+                stats.name(),
+                stats.keys(),
+                stats.maxKeys(),
+                stats.capacity(),
+                stats.refillPerMinute(),
+                stats.allowed(),
+                stats.rejected()
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.spring.dto;
+
+import com.example.spring.util.RefreshTokenCleanupScheduler;
+
+import java.time.LocalDateTime;
+
+public record RefreshTokenCleanupStatsDTO(
+        LocalDateTime startedAt,
+        long expiredDeleted,
+        long revokedDeleted,
+        int chunks,
+        long durationMillis
+) {
+    public static RefreshTokenCleanupStatsDTO from(RefreshTokenCleanupScheduler.RunStats stats) {
+        return new RefreshTokenCleanupStatsDTO(
+                stats.startedAt(),
+                stats.expiredDeleted(),
+                stats.revokedDeleted(),
+                stats.chunks(),
+                stats.durationMillis()
+        );
+    }
+}
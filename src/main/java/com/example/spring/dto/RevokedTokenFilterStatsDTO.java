@@ -0,0 +1,41 @@
+package com.example.spring.dto;
+
+import com.example.spring.security.RevokedRefreshTokens;
+
+import java.time.LocalDateTime;
+
+public record RevokedTokenFilterStatsDTO(
+        boolean ready,
+        long entries,
+        long capacity,
+        long bitSize,
+        int hashFunctions,
+        double targetFpp,
+        double estimatedFpp,
+        long checks,
+        long positives,
+        long confirmedRevoked,
+        long falsePositives,
+        double observedFpp,
+        LocalDateTime lastRebuiltAt,
+        LocalDateTime lastSyncAt
+) {
+    public static RevokedTokenFilterStatsDTO from(RevokedRefreshTokens.Stats stats) {
+        return new RevokedTokenFilterStatsDTO(
+                stats.ready(),
+                stats.entries(),
+                stats.capacity(),
+                stats.bitSize(),
+                stats.hashFunctions(),
+                stats.targetFpp(),
+                stats.estimatedFpp(),
+                stats.checks(),
+                stats.positives(),
+                stats.confirmedRevoked(),
+                stats.falsePositives(),
+                stats.observedFpp(),
+                stats.lastRebuiltAt(),
+                stats.lastSyncAt()
+        );
+    }
+}
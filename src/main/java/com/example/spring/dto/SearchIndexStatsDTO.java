@@ -0,0 +1,25 @@
+package com.example.spring.dto;
+
+import com.example.spring.search.LectureSearchIndex;
+
+import java.time.LocalDateTime;
+
+public record SearchIndexStatsDTO(
+        boolean ready,
+        int documents,
+        int terms,
+        long searches,
+        LocalDateTime lastRebuiltAt,
+        LocalDateTime lastSyncAt
+) {
+    public static SearchIndexStatsDTO from(LectureSearchIndex.Stats stats) {
+        return new SearchIndexStatsDTO(
+                stats.ready(),
+                stats.documents(),
+                stats.terms(),
+                stats.searches(),
+                stats.lastRebuiltAt(),
+                stats.lastSyncAt()
+        );
+    }
+}
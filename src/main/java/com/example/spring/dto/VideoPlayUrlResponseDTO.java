@@ -0,0 +1,19 @@
+package com.example.spring.dto;
+
+/**
+ * 서명된 재생 URL
+ * - url: /api/videos/{videoId}?uid=..&role=..&exp=..&sig=.. (JWT 없이 <video src>로 바로 사용)
+ * - hlsUrl: /api/videos/{videoId}/hls.m3u8?... (HLS 패키지가 있을 때만, 없으면 null)
+ * - expiresAt: 만료 시각(epoch seconds), 영상 길이 × app.signed-url.playback-factor 만큼 여유
+ * - refreshAt: 이 시각 이후에도 재생 중이면 play-url을 다시 받아 src 교체 (currentTime 유지)
+ *   Range 요청마다 exp를 확인하므로, 만료 후에는 다음 Range 요청부터 403
+ */
+public record VideoPlayUrlResponseDTO(
+        Long videoId,
+        String url,
+        String hlsUrl,
+        long expiresAt,
+        long ttlSeconds,
+        long refreshAt
+) {
+}
@@ -14,7 +14,8 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Table(indexes = {@Index(name = "idx_board_type", columnList = "boardType"),
-        @Index(name = "idx_board_lecture", columnList = "lecture_id")})
+        @Index(name = "idx_board_lecture", columnList = "lecture_id"),
+        @Index(name = "idx_board_pinned_created", columnList = "pinned, createdAt, board_id")})
 public class Board {
 
     @Id
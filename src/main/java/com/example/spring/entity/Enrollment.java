@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
         },
         indexes = {
                 @Index(name = "idx_enroll_user_status", columnList = "user_id, status"),
+                @Index(name = "idx_enroll_user_accessed", columnList = "user_id, last_accessed_at, enrollment_id"),
                 @Index(name = "idx_enroll_lecture", columnList = "lecture_id"),
                 @Index(name = "idx_enroll_status", columnList = "status")
         }
@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
         name = "lecture_videos",
         indexes = {
                 @Index(name = "idx_lecture_videos_lecture", columnList = "lecture_id"),
-                @Index(name = "idx_lecture_videos_type", columnList = "source_type")
+                @Index(name = "idx_lecture_videos_type", columnList = "source_type"),
+                @Index(name = "idx_lecture_videos_local_path", columnList = "local_path"),
+                @Index(name = "idx_lecture_videos_thumbnail_url", columnList = "thumbnail_url"),
+                @Index(name = "idx_lecture_videos_content_hash", columnList = "content_hash"),
+                @Index(name = "idx_lecture_videos_hls_path", columnList = "hls_path")
         },
         uniqueConstraints = {
                 // 강의당 영상 1개만 허용하려면 유지
@@ -45,6 +49,10 @@ public class LectureVideo {
     @Column(name = "thumbnail_url", length = 500)
     private String thumbnailUrl;
 
+    // 로컬 썸네일 파생 이미지 폭 목록 (예: "320,640,960"), 없으면 원본만
+    @Column(name = "thumbnail_widths", length = 100)
+    private String thumbnailWidths;
+
     // ===== 로컬 업로드용 =====
     @Column(name = "local_path", length = 500)
     private String localPath; // 예: /uploads/videos/2026/01/uuid.mp4
@@ -61,6 +69,44 @@ public class LectureVideo {
     @Column(name = "file_size_bytes")
     private Long fileSizeBytes;
 
+    // 파일 내용 SHA-256 (hex) - 같은 내용이면 같은 localPath를 공유
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // ===== 업로드 영상 분석 결과 (업로드 커밋 후 MediaPipeline이 채움) =====
+    @Column(name = "video_codec", length = 40)
+    private String videoCodec;
+
+    @Column(name = "audio_codec", length = 40)
+    private String audioCodec;
+
+    @Column(name = "width_px")
+    private Integer widthPx;
+
+    @Column(name = "height_px")
+    private Integer heightPx;
+
+    @Column(name = "bitrate_bps")
+    private Long bitrateBps;
+
+    // MP4 moov 박스 위치 / mdat보다 앞인지(fast-start)
+    @Column(name = "moov_offset")
+    private Long moovOffset;
+
+    @Column(name = "moov_at_front")
+    private Boolean moovAtFront;
+
+    // HLS(fMP4) 패키지 playlist 경로 (예: /hls/{token}/index.m3u8), null이면 progressive 재생만
+    @Column(name = "hls_path", length = 255)
+    private String hlsPath;
+
+    // 분석 완료 시각 (null이면 분석 대기)
+    @Column(name = "media_probed_at")
+    private LocalDateTime mediaProbedAt;
+
+    @Column(name = "media_probe_error", length = 255)
+    private String mediaProbeError;
+
     // ===== 유튜브용 =====
     @Column(name = "youtube_video_id", length = 40)
     private String youtubeVideoId;
@@ -85,8 +131,10 @@ public class LectureVideo {
             String storedFilename,
             String mimeType,
             Long fileSizeBytes,
+            String contentHash,
             int durationSec,
-            String thumbnailUrl
+            String thumbnailUrl,
+            String thumbnailWidths
     ) {
         LectureVideo v = new LectureVideo();
         v.lecture = lecture;
@@ -96,8 +144,10 @@ public class LectureVideo {
         v.storedFilename = storedFilename;
         v.mimeType = mimeType;
         v.fileSizeBytes = fileSizeBytes;
+        v.contentHash = contentHash;
         v.durationSec = Math.max(0, durationSec);
         v.thumbnailUrl = thumbnailUrl;
+        v.thumbnailWidths = thumbnailWidths;
         return v;
     }
 
@@ -133,8 +183,49 @@ public class LectureVideo {
         this.durationSec = Math.max(0, durationSec);
     }
 
+    /** 파일 분석 결과 반영 (0 이하 값은 알 수 없음으로 보고 null/기존 값 유지) */
+    public void applyMediaInfo(int durationSec, String videoCodec, String audioCodec,
+                               int widthPx, int heightPx, long bitrateBps,
+                               Long moovOffset, Boolean moovAtFront) {
+        if (durationSec > 0) {
+            this.durationSec = durationSec;
+        }
+        this.videoCodec = videoCodec;
+        this.audioCodec = audioCodec;
+        this.widthPx = widthPx > 0 ? widthPx : null;
+        this.heightPx = heightPx > 0 ? heightPx : null;
+        this.bitrateBps = bitrateBps > 0 ? bitrateBps : null;
+        this.moovOffset = moovOffset;
+        this.moovAtFront = moovAtFront;
+        this.mediaProbedAt = LocalDateTime.now();
+        this.mediaProbeError = null;
+    }
+
+    /** 같은 영상의 저장 파일만 교체 (fast-start 리먹스 등 내용은 같고 배치만 바뀐 경우) */
+    public void replaceStoredFile(String localPath, String storedFilename, Long fileSizeBytes, String contentHash) {
+        this.localPath = localPath;
+        this.storedFilename = storedFilename;
+        this.fileSizeBytes = fileSizeBytes;
+        this.contentHash = contentHash;
+        this.hlsPath = null; // 파일이 바뀌면 기존 패키지는 맞지 않음
+    }
+
+    public void assignHlsPath(String hlsPath) {
+        this.hlsPath = hlsPath;
+    }
+
+    public void markMediaProbeFailed(String error) {
+        this.mediaProbedAt = LocalDateTime.now();
+        this.mediaProbeError = (error == null || error.length() <= 255) ? error : error.substring(0, 255);
+    }
+
+    public boolean isMediaProbed() {
+        return mediaProbedAt != null && mediaProbeError == null;
+    }
+
     public void updateThumbnail(String thumbnailUrl) {
         this.thumbnailUrl = thumbnailUrl;
+        this.thumbnailWidths = null;
     }
 
     public void updateYoutubeMeta(String videoTitle, String channelTitle, int durationSec, String thumbnailUrl) {
@@ -150,6 +241,7 @@ public class LectureVideo {
         }
         if (thumbnailUrl != null && !thumbnailUrl.isBlank()) {
             this.thumbnailUrl = thumbnailUrl;
+            this.thumbnailWidths = null; // 외부 썸네일은 파생 이미지 없음
         }
     }
 }
@@ -0,0 +1,88 @@
+package com.example.spring.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발송 대기 메일 (outbox)
+ *
+ * 요청 트랜잭션에서 함께 저장하고, 커밋 후 MailDispatcher가 SMTP로 보낸다.
+ * - nextAttemptAt: 다음 발송 가능 시각 (재시도 대기 / 발송 중 점유 만료 시각)
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_due", columnList = "status, next_attempt_at")
+})
+public class MailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient", nullable = false, length = 120)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false, length = 200)
+    private String subject;
+
+    @Lob
+    @Column(name = "body", columnDefinition = "TEXT", nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private MailOutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Builder
+    private MailOutbox(String recipient, String subject, String body) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.status = MailOutboxStatus.PENDING;
+        this.attempts = 0;
+    }
+
+    @PrePersist
+    void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (this.createdAt == null) this.createdAt = now;
+        if (this.nextAttemptAt == null) this.nextAttemptAt = now;
+    }
+
+    public void markSent(LocalDateTime now) {
+        this.status = MailOutboxStatus.SENT;
+        this.attempts++;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    /** 실패 기록: 시도 횟수가 남았으면 retryAt에 재시도, 아니면 FAILED */
+    public void markFailed(String error, int maxAttempts, LocalDateTime retryAt) {
+        this.attempts++;
+        this.lastError = (error != null && error.length() > 500) ? error.substring(0, 500) : error;
+        if (this.attempts >= maxAttempts) {
+            this.status = MailOutboxStatus.FAILED;
+        } else {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+}
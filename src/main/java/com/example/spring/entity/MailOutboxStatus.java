@@ -0,0 +1,7 @@
+package com.example.spring.entity;
+
+public enum MailOutboxStatus {
+    PENDING, // 발송 대기 (재시도 포함)
+    SENT,    // 발송 완료
+    FAILED   // 최대 시도 횟수 초과
+}
@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "refresh_tokens", indexes = {
         @Index(name = "idx_refresh_user", columnList = "user_id"),
-        @Index(name = "idx_refresh_hash", columnList = "token_hash", unique = true)
+        @Index(name = "idx_refresh_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_expires", columnList = "expires_at"),
+        @Index(name = "idx_refresh_revoked_at", columnList = "revoked_at")
 })
 public class RefreshToken {
 
@@ -31,6 +33,10 @@ public class RefreshToken {
     @Column(name = "revoked", nullable = false)
     private boolean revoked = false;
 
+    // 폐기 시각 (정리 배치의 유예 기간 계산용, 이전에 폐기된 행은 null)
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -49,5 +55,6 @@ public class RefreshToken {
 
     public void revoke() {
         this.revoked = true;
+        this.revokedAt = LocalDateTime.now();
     }
 }
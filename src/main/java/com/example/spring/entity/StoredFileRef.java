@@ -0,0 +1,30 @@
+package com.example.spring.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 저장 파일 참조 수 (콘텐츠 주소 저장소에서 같은 파일을 여러 영상/썸네일이 공유)
+ *
+ * 파일을 쓰거나 지울 때 이 행을 잠근 채로 처리한다.
+ * - 저장: 참조 수 +1 후 파일이 없으면(그사이 지워졌으면) 다시 놓음, 잠금은 업로드 트랜잭션 커밋까지 유지
+ * - 삭제: 커밋 후 새 트랜잭션에서 참조 수 -1, 0이면 잠금을 쥔 채 파일 삭제
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "stored_file_refs")
+public class StoredFileRef {
+
+    /** DB에 저장된 경로 (/videos/cas/..., /thumbnails/...) */
+    @Id
+    @Column(name = "path", length = 500)
+    private String path;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    public void add(int delta) {
+        this.refCount += delta;
+    }
+}
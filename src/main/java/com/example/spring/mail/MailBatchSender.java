@@ -0,0 +1,71 @@
+package com.example.spring.mail;
+
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 메일을 SMTP 연결 하나로 발송하고 메일별 실패를 돌려준다.
+ *
+ * - JavaMailSender.send(SimpleMailMessage...)는 연결 한 번에 전부 보내고,
+ *   일부 실패는 MailSendException.getFailedMessages()로 알려준다
+ * - 연결/인증 실패처럼 메일별 정보가 없으면 전부 실패로 본다
+ */
+final class MailBatchSender {
+
+    private MailBatchSender() {
+    }
+
+    /** @return 실패한 메일 id → 오류 메시지 (전부 성공이면 빈 map) */
+    static Map<Long, String> send(JavaMailSender mailSender, List<OutgoingMail> mails) {
+        Map<Long, String> failures = new HashMap<>();
+        if (mails.isEmpty()) return failures;
+
+        Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[mails.size()];
+        for (int i = 0; i < mails.size(); i++) {
+            OutgoingMail mail = mails.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(mail.recipient());
+            message.setSubject(mail.subject());
+            message.setText(mail.body());
+            messages[i] = message;
+            ids.put(message, mail.id());
+        }
+
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                failAll(mails, e, failures);
+            } else {
+                failed.forEach((message, cause) -> {
+                    Long id = ids.get(message);
+                    if (id != null) failures.put(id, describe(cause));
+                });
+            }
+        } catch (MailException e) {
+            failAll(mails, e, failures);
+        }
+        return failures;
+    }
+
+    private static void failAll(List<OutgoingMail> mails, Exception e, Map<Long, String> failures) {
+        String error = describe(e);
+        for (OutgoingMail mail : mails) failures.put(mail.id(), error);
+    }
+
+    private static String describe(Exception e) {
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    record OutgoingMail(Long id, String recipient, String subject, String body) {
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.spring.mail;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.entity.MailOutbox;
+import com.example.spring.entity.MailOutboxStatus;
+import com.example.spring.repository.MailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * mail_outbox 발송기.
+ *
+ * - 요청 트랜잭션 커밋 후 kick() → 작업 스레드가 발송 대상이 없을 때까지 batch 단위로 발송
+ * - 동시에 도는 작업은 스레드 수 이하, 바쁠 때 들어온 kick은 끝나는 작업이 이어받음
+ * - batch 하나는 SMTP 연결 하나로 발송, 실패한 메일만 지수 backoff로 재시도
+ * - 점유(claim)/결과 기록만 짧은 트랜잭션, SMTP 통신은 트랜잭션 밖
+ * - 서버 재시작/재시도 대기분은 주기 polling이 집어감
+ * - 점유 시간은 batch 하나의 최악 발송 시간보다 길어야 함 (기동 시 SMTP 타임아웃 기준으로 확인)
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    private static final List<MailOutboxStatus> FINISHED = List.of(MailOutboxStatus.SENT, MailOutboxStatus.FAILED);
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate tx;
+    private final int threads;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseSeconds;
+    private final long retryMaxSeconds;
+    private final long leaseSeconds;
+    private final int retentionDays;
+    private final ThreadPoolExecutor executor;
+
+    /** 실행 중(대기 포함) 발송 작업 수 */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** 작업이 꽉 찼을 때 들어온 발송 요청 (끝나는 작업이 이어받음) */
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    public MailDispatcher(MailOutboxRepository mailOutboxRepository,
+                          JavaMailSender mailSender,
+                          PlatformTransactionManager transactionManager,
+                          AppProperties props) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.tx = new TransactionTemplate(transactionManager);
+
+        AppProperties.Mail mail = props.getMail();
+        this.threads = mail.getDispatcherThreads();
+        this.batchSize = mail.getBatchSize();
+        this.maxAttempts = mail.getMaxAttempts();
+        this.retryBaseSeconds = mail.getRetryBaseSeconds();
+        this.retryMaxSeconds = mail.getRetryMaxSeconds();
+        this.leaseSeconds = mail.getLeaseSeconds();
+        this.retentionDays = mail.getRetentionDays();
+        requireLeaseCoversBatch(mailSender, batchSize, leaseSeconds);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(threads),
+                r -> {
+                    Thread t = new Thread(r, "mail-dispatcher-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * 점유 시간 > 연결 타임아웃 + batchSize x SMTP 응답/쓰기 타임아웃
+     * - 짧으면 느린 SMTP 서버에 batch를 보내는 중에 점유가 풀려 다른 작업이 같은 메일을 다시 보냄
+     * - 타임아웃이 없으면(JavaMail 기본값 = 무한) 상한을 알 수 없으므로 기동 실패
+     * - JavaMailSenderImpl이 아니면(직접 만든 구현) 확인하지 않음
+     */
+    static void requireLeaseCoversBatch(JavaMailSender mailSender, int batchSize, long leaseSeconds) {
+        if (!(mailSender instanceof JavaMailSenderImpl impl)) return;
+
+        Properties props = impl.getJavaMailProperties();
+        long connectMillis = timeoutMillis(props, "mail.smtp.connectiontimeout");
+        long readMillis = timeoutMillis(props, "mail.smtp.timeout");
+        long writeMillis = timeoutMillis(props, "mail.smtp.writetimeout");
+        if (connectMillis <= 0 || readMillis <= 0) {
+            throw new IllegalStateException(
+                    "spring.mail.properties.mail.smtp.connectiontimeout / timeout 을 설정해야 합니다. (메일 발송 점유 시간 계산)");
+        }
+
+        long worstMillis = connectMillis + batchSize * Math.max(readMillis, writeMillis);
+        if (leaseSeconds * 1000 <= worstMillis) {
+            throw new IllegalStateException("app.mail.lease-seconds(" + leaseSeconds + ")가 batch 최악 발송 시간("
+                    + (worstMillis / 1000) + "초 = 연결 " + connectMillis + "ms + " + batchSize + "건 x "
+                    + Math.max(readMillis, writeMillis) + "ms)보다 길어야 합니다.");
+        }
+    }
+
+    private static long timeoutMillis(Properties props, String key) {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) return 0;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(key + " 값이 숫자가 아닙니다: " + value);
+        }
+    }
+
+    /** 발송 작업 시작 (이미 스레드 수만큼 돌고 있으면 그 작업들이 이어받음) */
+    public void kick() {
+        requested.set(true);
+        while (true) {
+            int n = inFlight.get();
+            if (n >= threads) return;
+            if (inFlight.compareAndSet(n, n + 1)) break;
+        }
+        requested.set(false);
+        try {
+            executor.execute(this::drainLoop);
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            log.warn("mail dispatcher rejected, will retry later");
+        }
+    }
+
+    /** 재시도 대기분/재시작 이전 대기분 발송 */
+    @Scheduled(initialDelay = 30_000L, fixedDelay = 30_000L)
+    public void poll() {
+        kick();
+    }
+
+    /** 발송 완료/실패 항목 정리 (본문에 인증번호가 있으므로 오래 두지 않음) */
+    @Scheduled(cron = "0 30 3 * * *", zone = "Asia/Seoul")
+    public void purgeFinished() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = tx.execute(status -> mailOutboxRepository.deleteFinishedBefore(FINISHED, before));
+        log.info("mail outbox purged: deleted={}", deleted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // =========================================================
+    // 발송
+    // =========================================================
+
+    private void drainLoop() {
+        try {
+            while (true) {
+                List<MailBatchSender.OutgoingMail> batch = claimBatch();
+                if (batch.isEmpty()) return;
+
+                Map<Long, String> failures = MailBatchSender.send(mailSender, batch);
+                recordResults(batch, failures);
+            }
+        } catch (Exception e) {
+            log.warn("mail dispatch failed", e);
+        } finally {
+            inFlight.decrementAndGet();
+            if (requested.get()) kick();
+        }
+    }
+
+    /** 발송 대상 점유 후 내용 로드 (다른 작업이 먼저 점유한 항목은 제외) */
+    private List<MailBatchSender.OutgoingMail> claimBatch() {
+        return tx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+
+            List<Long> claimed = new ArrayList<>();
+            for (Long id : mailOutboxRepository.findDueIds(now, PageRequest.of(0, batchSize))) {
+                if (mailOutboxRepository.claim(id, now, leaseUntil) == 1) claimed.add(id);
+            }
+            if (claimed.isEmpty()) return List.of();
+
+            List<MailBatchSender.OutgoingMail> batch = new ArrayList<>(claimed.size());
+            for (MailOutbox m : mailOutboxRepository.findAllById(claimed)) {
+                batch.add(new MailBatchSender.OutgoingMail(m.getId(), m.getRecipient(), m.getSubject(), m.getBody()));
+            }
+            return batch;
+        });
+    }
+
+    private void recordResults(List<MailBatchSender.OutgoingMail> batch, Map<Long, String> failures) {
+        tx.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = batch.stream().map(MailBatchSender.OutgoingMail::id).toList();
+
+            for (MailOutbox m : mailOutboxRepository.findAllById(ids)) {
+                String error = failures.get(m.getId());
+                if (error == null) {
+                    m.markSent(now);
+                    continue;
+                }
+                m.markFailed(error, maxAttempts, now.plusSeconds(backoffSeconds(m.getAttempts())));
+                if (m.getStatus() == MailOutboxStatus.FAILED) {
+                    log.warn("mail delivery gave up: id={}, attempts={}, error={}", m.getId(), m.getAttempts(), error);
+                } else {
+                    log.info("mail delivery failed, retry scheduled: id={}, attempts={}, error={}",
+                            m.getId(), m.getAttempts(), error);
+                }
+            }
+        });
+    }
+
+    /** 시도 횟수(이번 실패 전)별 재시도 대기: base, 2*base, 4*base ... max */
+    private long backoffSeconds(int previousAttempts) {
+        int shift = Math.min(previousAttempts, 20);
+        return Math.min(retryMaxSeconds, retryBaseSeconds << shift);
+    }
+}
@@ -0,0 +1,530 @@
+package com.example.spring.media;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * MP4 → HLS(fMP4) 패키저 (순수 Java, 재인코딩 없음).
+ *
+ * 원본 샘플 테이블(stts/ctts/stsc/stsz/stco/stss)을 펼쳐 비디오 키프레임 기준으로 구간을 나누고
+ * 구간마다 moof + mdat 세그먼트를 쓴다. init.mp4에는 원본 stsd를 그대로 두고 샘플 테이블만 비운다.
+ *
+ * 출력 (outDir)
+ * - init.mp4, seg_00001.m4s ..., index.m3u8 (URI는 uriPrefix 기준 절대 경로)
+ *
+ * 건너뛰는 경우 (false 반환)
+ * - moov가 없거나 이미 fragmented (moof/mvex)
+ * - 비디오/오디오 트랙이 없음 (그 외 트랙, 샘플 설명이 2개 이상인 트랙은 제외)
+ */
+public final class HlsPackager {
+
+    public static final String PLAYLIST = "index.m3u8";
+    static final String INIT_SEGMENT = "init.mp4";
+
+    /** trun sample_flags: 다른 샘플에 의존하지 않음(키프레임) / 의존 + non-sync */
+    private static final int SAMPLE_FLAGS_SYNC = 0x02000000;
+    private static final int SAMPLE_FLAGS_NON_SYNC = 0x01010000;
+
+    private HlsPackager() {
+    }
+
+    /**
+     * source를 segmentSeconds 길이(키프레임 기준) 세그먼트로 나눠 outDir에 쓴다.
+     * @return 패키징했으면 true, 지원하지 않는 구조면 false
+     */
+    public static boolean pack(Path source, Path outDir, String uriPrefix, int segmentSeconds) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            MediaProbe.Box moovBox = null;
+            for (MediaProbe.Box box : MediaProbe.topLevelBoxes(in, in.size())) {
+                if ("moof".equals(box.type())) return false;
+                if ("moov".equals(box.type())) moovBox = box;
+            }
+            if (moovBox == null || moovBox.bodySize() > Integer.MAX_VALUE) return false;
+
+            ByteBuffer moov = MediaProbe.read(in, moovBox.bodyOffset(), (int) moovBox.bodySize());
+            byte[] mvhd = null;
+            List<Track> tracks = new ArrayList<>();
+            try {
+                for (Child c : children(moov, 0, moov.limit())) {
+                    switch (c.type()) {
+                        case "mvhd" -> mvhd = c.bytes(moov);
+                        case "mvex" -> {
+                            return false; // fragmented
+                        }
+                        case "trak" -> {
+                            Track t = Track.parse(moov, c);
+                            if (t != null) tracks.add(t);
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            } catch (IndexOutOfBoundsException e) {
+                throw new IOException("invalid sample table", e);
+            }
+            if (mvhd == null || tracks.isEmpty()) return false;
+
+            Track ref = tracks.stream().filter(Track::isVideo).findFirst().orElse(tracks.get(0));
+            long[] cuts = segmentCuts(ref, (long) segmentSeconds * ref.timescale);
+
+            writeFile(outDir.resolve(INIT_SEGMENT), initSegment(mvhd, tracks));
+
+            int[] next = new int[tracks.size()];
+            double[] durations = new double[cuts.length];
+            for (int k = 0; k < cuts.length; k++) {
+                boolean last = k == cuts.length - 1;
+                int[] from = next.clone();
+                for (int t = 0; t < tracks.size(); t++) {
+                    next[t] = tracks.get(t).indexBefore(next[t], last ? -1 : cuts[k + 1], ref.timescale);
+                }
+                long end = last ? ref.endTime() : cuts[k + 1];
+                durations[k] = (double) (end - cuts[k]) / ref.timescale;
+
+                writeSegment(in, outDir.resolve(segmentName(k)), k + 1, tracks, from, next);
+            }
+
+            writePlaylist(outDir.resolve(PLAYLIST), uriPrefix, durations);
+            return true;
+        }
+    }
+
+    static String segmentName(int index) {
+        return String.format(Locale.ROOT, "seg_%05d.m4s", index + 1);
+    }
+
+    // =========================================================
+    // 구간 나누기
+    // =========================================================
+
+    /** 기준 트랙 키프레임 중 직전 구간 시작에서 target 이상 지난 시점들 (ref timescale, 첫 값 0) */
+    private static long[] segmentCuts(Track ref, long target) {
+        List<Long> cuts = new ArrayList<>();
+        cuts.add(0L);
+        long lastCut = 0;
+        for (int i = 1; i < ref.sampleCount; i++) {
+            if (ref.sync[i] && ref.dts[i] - lastCut >= target) {
+                cuts.add(ref.dts[i]);
+                lastCut = ref.dts[i];
+            }
+        }
+        return cuts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // =========================================================
+    // init segment (ftyp + moov(mvex), 빈 샘플 테이블)
+    // =========================================================
+
+    private static byte[] initSegment(byte[] mvhd, List<Track> tracks) {
+        byte[] ftyp = box("ftyp", ascii("iso6"), u32(0), ascii("iso6"), ascii("isom"), ascii("mp41"));
+
+        List<byte[]> moovChildren = new ArrayList<>();
+        moovChildren.add(mvhd);
+        List<byte[]> trex = new ArrayList<>();
+        for (Track t : tracks) {
+            byte[] stbl = box("stbl",
+                    t.stsd,
+                    box("stts", u32(0), u32(0)),
+                    box("stsc", u32(0), u32(0)),
+                    box("stsz", u32(0), u32(0), u32(0)),
+                    box("stco", u32(0), u32(0)));
+            byte[] minf = box("minf", t.minfOther, stbl);
+            byte[] mdia = box("mdia", t.mdhd, t.hdlr, minf);
+            moovChildren.add(box("trak", t.tkhd, t.edts, mdia));
+
+            // trak별 기본값: 샘플 설명 1번, 나머지는 trun에서 샘플마다 지정
+            trex.add(box("trex", u32(0), u32(t.trackId), u32(1), u32(0), u32(0), u32(0)));
+        }
+        moovChildren.add(box("mvex", trex.toArray(byte[][]::new)));
+
+        return concat(ftyp, box("moov", moovChildren.toArray(byte[][]::new)));
+    }
+
+    // =========================================================
+    // media segment (moof + mdat)
+    // =========================================================
+
+    private static void writeSegment(FileChannel in, Path target, int sequence,
+                                     List<Track> tracks, int[] from, int[] to) throws IOException {
+        // moof 크기는 샘플 수로 정해지므로 먼저 계산해 data_offset(moof 시작 기준)을 채운다
+        int moofSize = 8 + 16;
+        long payload = 0;
+        for (int t = 0; t < tracks.size(); t++) {
+            int count = to[t] - from[t];
+            if (count == 0) continue;
+            moofSize += trafSize(count);
+            payload += tracks.get(t).bytesBetween(from[t], to[t]);
+        }
+        if (8 + payload > 0xFFFFFFFFL) {
+            throw new IOException("segment too large");
+        }
+
+        ByteBuffer moof = ByteBuffer.allocate(moofSize);
+        moof.putInt(moofSize).put(ascii("moof"));
+        moof.putInt(16).put(ascii("mfhd")).putInt(0).putInt(sequence);
+
+        long dataOffset = moofSize + 8;
+        for (int t = 0; t < tracks.size(); t++) {
+            Track track = tracks.get(t);
+            int count = to[t] - from[t];
+            if (count == 0) continue;
+
+            moof.putInt(trafSize(count)).put(ascii("traf"));
+            // tfhd: default-base-is-moof
+            moof.putInt(16).put(ascii("tfhd")).putInt(0x020000).putInt(track.trackId);
+            // tfdt v1: 구간 첫 샘플의 decode time
+            moof.putInt(20).put(ascii("tfdt")).putInt(0x01000000).putLong(track.dts[from[t]]);
+            // trun v1: data-offset | duration | size | flags | composition offset(signed)
+            moof.putInt(20 + 16 * count).put(ascii("trun")).putInt(0x01000F01)
+                    .putInt(count).putInt((int) dataOffset);
+            for (int i = from[t]; i < to[t]; i++) {
+                moof.putInt(track.duration[i])
+                        .putInt(track.size[i])
+                        .putInt(track.sync[i] ? SAMPLE_FLAGS_SYNC : SAMPLE_FLAGS_NON_SYNC)
+                        .putInt(track.cts[i]);
+            }
+            dataOffset += track.bytesBetween(from[t], to[t]);
+        }
+        moof.flip();
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (moof.hasRemaining()) out.write(moof);
+
+            ByteBuffer mdatHeader = ByteBuffer.allocate(8).putInt((int) (8 + payload)).put(ascii("mdat")).flip();
+            while (mdatHeader.hasRemaining()) out.write(mdatHeader);
+
+            // 트랙 순서대로 샘플 복사 (연속 구간은 한 번에)
+            for (int t = 0; t < tracks.size(); t++) {
+                Track track = tracks.get(t);
+                long runStart = -1;
+                long runLength = 0;
+                for (int i = from[t]; i < to[t]; i++) {
+                    if (runStart >= 0 && track.offset[i] == runStart + runLength) {
+                        runLength += track.size[i];
+                        continue;
+                    }
+                    if (runStart >= 0) Mp4FastStart.copy(in, runStart, runLength, out);
+                    runStart = track.offset[i];
+                    runLength = track.size[i];
+                }
+                if (runStart >= 0) Mp4FastStart.copy(in, runStart, runLength, out);
+            }
+        }
+    }
+
+    private static int trafSize(int sampleCount) {
+        return 8 + 16 + 20 + 20 + 16 * sampleCount;
+    }
+
+    // =========================================================
+    // playlist
+    // =========================================================
+
+    private static void writePlaylist(Path target, String uriPrefix, double[] durations) throws IOException {
+        double max = Arrays.stream(durations).max().orElse(1);
+
+        try (Writer w = Files.newBufferedWriter(target, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW)) {
+            w.write("#EXTM3U\n");
+            w.write("#EXT-X-VERSION:7\n");
+            w.write("#EXT-X-TARGETDURATION:" + Math.max(1, (long) Math.ceil(max)) + "\n");
+            w.write("#EXT-X-MEDIA-SEQUENCE:0\n");
+            w.write("#EXT-X-PLAYLIST-TYPE:VOD\n");
+            w.write("#EXT-X-INDEPENDENT-SEGMENTS\n");
+            w.write("#EXT-X-MAP:URI=\"" + uriPrefix + INIT_SEGMENT + "\"\n");
+            for (int k = 0; k < durations.length; k++) {
+                w.write(String.format(Locale.ROOT, "#EXTINF:%.3f,", durations[k]) + "\n");
+                w.write(uriPrefix + segmentName(k) + "\n");
+            }
+            w.write("#EXT-X-ENDLIST\n");
+        }
+    }
+
+    private static void writeFile(Path target, byte[] bytes) throws IOException {
+        Files.write(target, bytes, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    // =========================================================
+    // 트랙 (샘플 테이블 펼치기)
+    // =========================================================
+
+    private static final class Track {
+        int trackId;
+        long timescale;
+        String handler;
+
+        // init segment에 그대로 옮길 원본 박스
+        byte[] tkhd;
+        byte[] edts = new byte[0];
+        byte[] mdhd;
+        byte[] hdlr;
+        byte[] minfOther = new byte[0];
+        byte[] stsd;
+
+        // 샘플별 값 (decode 순서)
+        int sampleCount;
+        long[] offset;
+        int[] size;
+        long[] dts;
+        int[] duration;
+        int[] cts;
+        boolean[] sync;
+
+        boolean isVideo() {
+            return "vide".equals(handler);
+        }
+
+        long endTime() {
+            return sampleCount == 0 ? 0 : dts[sampleCount - 1] + duration[sampleCount - 1];
+        }
+
+        /** start부터 decode time이 cut(refTimescale 기준) 전인 샘플 끝 index (cut < 0이면 전부) */
+        int indexBefore(int start, long cut, long refTimescale) {
+            if (cut < 0) return sampleCount;
+            int i = start;
+            while (i < sampleCount && dts[i] * refTimescale < cut * timescale) i++;
+            return i;
+        }
+
+        long bytesBetween(int from, int to) {
+            long sum = 0;
+            for (int i = from; i < to; i++) sum += size[i];
+            return sum;
+        }
+
+        /** 비디오/오디오가 아니거나 구성이 맞지 않으면 null (해당 트랙 제외) */
+        static Track parse(ByteBuffer buf, Child trak) {
+            Track t = new Track();
+            Child stbl = null;
+            for (Child c : children(buf, trak.bodyStart(), trak.end())) {
+                switch (c.type()) {
+                    case "tkhd" -> {
+                        t.tkhd = c.bytes(buf);
+                        int version = buf.get(c.bodyStart()) & 0xFF;
+                        t.trackId = buf.getInt(c.bodyStart() + (version == 1 ? 20 : 12));
+                    }
+                    case "edts" -> t.edts = c.bytes(buf);
+                    case "mdia" -> stbl = t.parseMdia(buf, c);
+                    default -> {
+                    }
+                }
+            }
+            if (t.tkhd == null || t.mdhd == null || t.hdlr == null || stbl == null) return null;
+            if (!"vide".equals(t.handler) && !"soun".equals(t.handler)) return null;
+            if (t.timescale <= 0) return null;
+            return t.parseStbl(buf, stbl) ? t : null;
+        }
+
+        private Child parseMdia(ByteBuffer buf, Child mdia) {
+            Child stbl = null;
+            for (Child c : children(buf, mdia.bodyStart(), mdia.end())) {
+                switch (c.type()) {
+                    case "mdhd" -> {
+                        mdhd = c.bytes(buf);
+                        int version = buf.get(c.bodyStart()) & 0xFF;
+                        timescale = buf.getInt(c.bodyStart() + (version == 1 ? 20 : 12)) & 0xFFFFFFFFL;
+                    }
+                    case "hdlr" -> {
+                        hdlr = c.bytes(buf);
+                        handler = MediaProbe.fourCc(buf, c.bodyStart() + 8);
+                    }
+                    case "minf" -> {
+                        List<byte[]> other = new ArrayList<>();
+                        for (Child m : children(buf, c.bodyStart(), c.end())) {
+                            if ("stbl".equals(m.type())) {
+                                stbl = m;
+                            } else {
+                                other.add(m.bytes(buf)); // vmhd/smhd/dinf
+                            }
+                        }
+                        minfOther = concat(other.toArray(byte[][]::new));
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return stbl;
+        }
+
+        private boolean parseStbl(ByteBuffer buf, Child stbl) {
+            Child stts = null, ctts = null, stsc = null, stsz = null, stco = null, co64 = null, stss = null;
+            for (Child c : children(buf, stbl.bodyStart(), stbl.end())) {
+                switch (c.type()) {
+                    case "stsd" -> stsd = c.bytes(buf);
+                    case "stts" -> stts = c;
+                    case "ctts" -> ctts = c;
+                    case "stsc" -> stsc = c;
+                    case "stsz" -> stsz = c;
+                    case "stco" -> stco = c;
+                    case "co64" -> co64 = c;
+                    case "stss" -> stss = c;
+                    default -> {
+                    }
+                }
+            }
+            if (stsd == null || stts == null || stsc == null || stsz == null || (stco == null && co64 == null)) {
+                return false;
+            }
+            // 샘플 설명 1개만 지원 (trex 기본값 1번)
+            if (ByteBuffer.wrap(stsd).getInt(12) != 1) return false;
+
+            // stsz: version/flags, sample_size, sample_count, [entry_size...]
+            int p = stsz.bodyStart() + 4;
+            int fixedSize = buf.getInt(p);
+            sampleCount = buf.getInt(p + 4);
+            if (sampleCount <= 0) return false;
+            size = new int[sampleCount];
+            for (int i = 0; i < sampleCount; i++) {
+                size[i] = fixedSize != 0 ? fixedSize : buf.getInt(p + 8 + i * 4);
+            }
+
+            // stts: (sample_count, sample_delta)*
+            dts = new long[sampleCount];
+            duration = new int[sampleCount];
+            p = stts.bodyStart() + 4;
+            int entries = buf.getInt(p);
+            int s = 0;
+            long time = 0;
+            for (int e = 0; e < entries && s < sampleCount; e++) {
+                int count = buf.getInt(p + 4 + e * 8);
+                int delta = buf.getInt(p + 8 + e * 8);
+                for (int k = 0; k < count && s < sampleCount; k++, s++) {
+                    dts[s] = time;
+                    duration[s] = delta;
+                    time += delta & 0xFFFFFFFFL;
+                }
+            }
+            if (s < sampleCount) return false;
+
+            // ctts: (sample_count, sample_offset)* - 없으면 0
+            cts = new int[sampleCount];
+            if (ctts != null) {
+                p = ctts.bodyStart() + 4;
+                entries = buf.getInt(p);
+                s = 0;
+                for (int e = 0; e < entries && s < sampleCount; e++) {
+                    int count = buf.getInt(p + 4 + e * 8);
+                    int offset = buf.getInt(p + 8 + e * 8);
+                    for (int k = 0; k < count && s < sampleCount; k++, s++) {
+                        cts[s] = offset;
+                    }
+                }
+            }
+
+            // stss: 키프레임 번호(1부터) - 없으면 전부 키프레임
+            sync = new boolean[sampleCount];
+            if (stss == null) {
+                Arrays.fill(sync, true);
+            } else {
+                p = stss.bodyStart() + 4;
+                entries = buf.getInt(p);
+                for (int e = 0; e < entries; e++) {
+                    int n = buf.getInt(p + 4 + e * 4);
+                    if (n >= 1 && n <= sampleCount) sync[n - 1] = true;
+                }
+            }
+
+            // stco/co64 + stsc: 청크 위치 → 샘플 위치
+            long[] chunkOffsets;
+            if (co64 != null) {
+                p = co64.bodyStart() + 4;
+                chunkOffsets = new long[buf.getInt(p)];
+                for (int i = 0; i < chunkOffsets.length; i++) chunkOffsets[i] = buf.getLong(p + 4 + i * 8);
+            } else {
+                p = stco.bodyStart() + 4;
+                chunkOffsets = new long[buf.getInt(p)];
+                for (int i = 0; i < chunkOffsets.length; i++) chunkOffsets[i] = buf.getInt(p + 4 + i * 4) & 0xFFFFFFFFL;
+            }
+
+            offset = new long[sampleCount];
+            p = stsc.bodyStart() + 4;
+            entries = buf.getInt(p);
+            s = 0;
+            for (int e = 0; e < entries && s < sampleCount; e++) {
+                int firstChunk = buf.getInt(p + 4 + e * 12);
+                int perChunk = buf.getInt(p + 8 + e * 12);
+                int descriptionIndex = buf.getInt(p + 12 + e * 12);
+                if (descriptionIndex != 1) return false;
+
+                int nextFirst = (e + 1 < entries) ? buf.getInt(p + 4 + (e + 1) * 12) : chunkOffsets.length + 1;
+                for (int chunk = firstChunk; chunk < nextFirst && s < sampleCount; chunk++) {
+                    if (chunk < 1 || chunk > chunkOffsets.length) return false;
+                    long pos = chunkOffsets[chunk - 1];
+                    for (int k = 0; k < perChunk && s < sampleCount; k++, s++) {
+                        offset[s] = pos;
+                        pos += size[s];
+                    }
+                }
+            }
+            return s == sampleCount;
+        }
+    }
+
+    // =========================================================
+    // 박스 헬퍼
+    // =========================================================
+
+    /** buf 안의 박스 위치 ([start, end), 헤더 포함) */
+    private record Child(String type, int start, int headerSize, int end) {
+        int bodyStart() {
+            return start + headerSize;
+        }
+
+        byte[] bytes(ByteBuffer buf) {
+            byte[] out = new byte[end - start];
+            buf.get(start, out);
+            return out;
+        }
+    }
+
+    private static List<Child> children(ByteBuffer buf, int start, int end) {
+        List<Child> list = new ArrayList<>();
+        int pos = start;
+        while (pos + 8 <= end) {
+            long size = buf.getInt(pos) & 0xFFFFFFFFL;
+            String type = MediaProbe.fourCc(buf, pos + 4);
+            int header = 8;
+            if (size == 1) {
+                size = buf.getLong(pos + 8);
+                header = 16;
+            } else if (size == 0) {
+                size = end - pos;
+            }
+            if (size < header || pos + size > end) {
+                throw new IndexOutOfBoundsException("invalid box: " + type);
+            }
+            list.add(new Child(type, pos, header, (int) (pos + size)));
+            pos += (int) size;
+        }
+        return list;
+    }
+
+    private static byte[] box(String type, byte[]... body) {
+        byte[] content = concat(body);
+        return concat(u32(8 + content.length), ascii(type), content);
+    }
+
+    private static byte[] u32(int v) {
+        return ByteBuffer.allocate(4).putInt(v).array();
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int total = 0;
+        for (byte[] p : parts) total += p.length;
+        ByteBuffer out = ByteBuffer.allocate(total);
+        for (byte[] p : parts) out.put(p);
+        return out.array();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.spring.media;
+
+/**
+ * 업로드 영상 저장(커밋) 이벤트 - MediaPipeline이 커밋 이후 분석 시작
+ */
+public record LectureVideoUploadedEvent(Long videoId) {
+}
@@ -0,0 +1,25 @@
+package com.example.spring.media;
+
+/**
+ * 컨테이너 헤더에서 읽은 영상 메타
+ *
+ * - durationMillis / bitrateBps: 모르면 0
+ * - videoCodec / audioCodec: mp4 sample entry(avc1, hvc1, mp4a ...) 또는 Matroska CodecID(V_VP9, A_OPUS ...)
+ * - moovOffset: MP4의 moov 박스 시작 위치(bytes), MP4가 아니면 null
+ * - moovAtFront: moov가 mdat보다 앞에 있는지(fast-start) - MP4가 아니면 null
+ */
+public record MediaInfo(
+        String container,
+        long durationMillis,
+        String videoCodec,
+        String audioCodec,
+        int width,
+        int height,
+        long bitrateBps,
+        Long moovOffset,
+        Boolean moovAtFront
+) {
+    public int durationSec() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.round(durationMillis / 1000.0));
+    }
+}
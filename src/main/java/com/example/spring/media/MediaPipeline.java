@@ -0,0 +1,324 @@
+package com.example.spring.media;
+
+import com.example.spring.catalog.ApprovedLectureCatalog;
+import com.example.spring.config.AppProperties;
+import com.example.spring.entity.LectureVideo;
+import com.example.spring.entity.VideoSourceType;
+import com.example.spring.repository.LectureVideoRepository;
+import com.example.spring.storage.LocalFileStorage;
+import com.example.spring.storage.VideoFileMetaCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드 후 영상 분석 파이프라인.
+ *
+ * - 업로드 트랜잭션 커밋 후 이벤트로 작업 등록 → 요청 스레드는 바로 응답
+ * - 고정 크기 스레드 + 제한된 대기열, 넘치면 버리고 주기 재시도(sweep)가 다시 집어감
+ * - 파일 읽기(헤더 분석)는 트랜잭션 밖, DB 반영만 짧은 트랜잭션으로
+ * - moov가 뒤에 있는 MP4는 fast-start로 다시 써서 새 파일로 전환 (app.media.fast-start-enabled)
+ * - MP4는 HLS(fMP4) 패키지도 만들어 hlsPath에 기록 (app.media.hls-enabled)
+ *   패키지 폴더도 영상/썸네일처럼 stored_file_refs 참조 수로 관리 (LocalFileStorage.retainHls)
+ */
+@Slf4j
+@Component
+public class MediaPipeline {
+
+    private final LectureVideoRepository lectureVideoRepository;
+    private final LocalFileStorage localFileStorage;
+    private final VideoFileMetaCache videoFileMetaCache;
+    private final ApprovedLectureCatalog approvedLectureCatalog;
+    private final TransactionTemplate tx;
+    private final boolean fastStartEnabled;
+    private final boolean hlsEnabled;
+    private final int hlsSegmentSeconds;
+    private final ThreadPoolExecutor executor;
+
+    /** 대기/처리 중인 videoId (이벤트와 sweep 중복 등록 방지) */
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public MediaPipeline(LectureVideoRepository lectureVideoRepository,
+                         LocalFileStorage localFileStorage,
+                         VideoFileMetaCache videoFileMetaCache,
+                         ApprovedLectureCatalog approvedLectureCatalog,
+                         PlatformTransactionManager transactionManager,
+                         AppProperties props) {
+        this.lectureVideoRepository = lectureVideoRepository;
+        this.localFileStorage = localFileStorage;
+        this.videoFileMetaCache = videoFileMetaCache;
+        this.approvedLectureCatalog = approvedLectureCatalog;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.fastStartEnabled = props.getMedia().isFastStartEnabled();
+        this.hlsEnabled = props.getMedia().isHlsEnabled();
+        this.hlsSegmentSeconds = props.getMedia().getHlsSegmentSeconds();
+
+        int threads = props.getMedia().getPipelineThreads();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getMedia().getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "media-pipeline-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUploaded(LectureVideoUploadedEvent event) {
+        submit(event.videoId());
+    }
+
+    /** 분석 대기 영상 재시도 (서버 재시작/대기열 초과 대비) */
+    @Scheduled(initialDelay = 60_000L, fixedDelay = 5 * 60_000L)
+    public void sweepPending() {
+        for (LectureVideo v : lectureVideoRepository
+                .findTop20BySourceTypeAndMediaProbedAtIsNullOrderByVideoIdAsc(VideoSourceType.UPLOAD)) {
+            submit(v.getVideoId());
+        }
+    }
+
+    public void submit(Long videoId) {
+        if (videoId == null || !pending.add(videoId)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    process(videoId);
+                } finally {
+                    pending.remove(videoId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(videoId);
+            log.warn("media pipeline queue full, will retry later: videoId={}", videoId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // =========================================================
+    // 처리
+    // =========================================================
+
+    void process(Long videoId) {
+        Source source = tx.execute(status -> lectureVideoRepository.findById(videoId)
+                .filter(v -> v.getSourceType() == VideoSourceType.UPLOAD)
+                .filter(v -> v.getLocalPath() != null && !v.getLocalPath().isBlank())
+                .map(v -> new Source(
+                        v.getLocalPath(), v.getStoredFilename(), v.getOriginalFilename(), v.getMimeType(),
+                        // 같은 파일을 쓰는 영상이 이미 패키징돼 있으면 재사용
+                        lectureVideoRepository.findFirstByLocalPathAndHlsPathIsNotNull(v.getLocalPath())
+                                .map(LectureVideo::getHlsPath)
+                                .orElse(null)
+                ))
+                .orElse(null));
+        if (source == null) return;
+
+        MediaInfo info = null;
+        Path relocated = null;
+        String error = null;
+        try {
+            Path file = localFileStorage.resolve(source.localPath());
+            info = MediaProbe.probe(file);
+
+            // moov가 뒤에 있으면 fast-start로 다시 쓰고 새 파일 기준으로 재분석
+            if (fastStartEnabled && Boolean.FALSE.equals(info.moovAtFront())) {
+                relocated = relocateMoov(videoId, file);
+                if (relocated != null) {
+                    info = MediaProbe.probe(relocated);
+                }
+            }
+        } catch (Exception e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.warn("media probe failed: videoId={}, path={}, error={}", videoId, source.localPath(), error);
+        }
+
+        // HLS 실패는 분석 실패로 보지 않음 (progressive 재생은 그대로 가능)
+        String hlsPath = (relocated == null) ? source.sharedHlsPath() : null;
+        String createdHls = null;
+        if (info != null && hlsPath == null && hlsEnabled && isMp4(info)) {
+            createdHls = packageHls(videoId, relocated != null ? relocated : localFileStorage.resolve(source.localPath()));
+            hlsPath = createdHls;
+        }
+
+        MediaInfo result = info;
+        Path newFile = relocated;
+        String failure = error;
+        String hls = hlsPath;
+        String created = createdHls;
+        // 새 패키지의 참조 수를 잡았는지 (잡았으면 이후 정리는 참조 수 쪽에서)
+        AtomicBoolean createdRetained = new AtomicBoolean(created == null);
+        try {
+            tx.executeWithoutResult(status -> {
+                if (newFile != null) {
+                    // 새 파일 등록(참조 +1)과 전환을 한 트랜잭션으로 → 전환이 커밋되지 않으면 참조도 남지 않음
+                    swapStoredFile(source, adoptRelocated(videoId, source, newFile), result, hls, createdRetained);
+                    return;
+                }
+
+                LectureVideo v = lectureVideoRepository.findById(videoId)
+                        // 분석 중 영상이 교체된 경우 무시
+                        .filter(found -> source.localPath().equals(found.getLocalPath()))
+                        .orElse(null);
+                if (v == null) return;
+                if (result == null) {
+                    v.markMediaProbeFailed(failure);
+                    return;
+                }
+
+                applyMediaInfo(v, result);
+                // 카드 재생 시간 (커밋 후 반영)
+                approvedLectureCatalog.refresh(v.getLecture().getLectureId());
+                // 참조 수 잠금 안에서 패키지가 남아 있을 때만 연결 (공유 패키지가 그사이 지워졌을 수 있음)
+                if (hls != null && !hls.equals(v.getHlsPath()) && localFileStorage.retainHls(hls, 1)) {
+                    localFileStorage.deleteHlsAfterCommit(v.getHlsPath());
+                    v.assignHlsPath(hls);
+                    videoFileMetaCache.evict(videoId);
+                }
+                createdRetained.set(true);
+            });
+        } catch (RuntimeException e) {
+            log.warn("media result save failed: videoId={}", videoId, e);
+        } finally {
+            // 등록되지 않은 fast-start 임시 파일 (등록됐으면 이미 CAS 경로로 옮겨짐)
+            deleteQuietly(newFile);
+            // 어느 행에도 연결하지 못한 새 패키지 (영상 교체/삭제, 저장 실패)
+            if (!createdRetained.get()) localFileStorage.discardHls(created);
+        }
+    }
+
+    private static void applyMediaInfo(LectureVideo v, MediaInfo info) {
+        v.applyMediaInfo(info.durationSec(), info.videoCodec(), info.audioCodec(),
+                info.width(), info.height(), info.bitrateBps(),
+                info.moovOffset(), info.moovAtFront());
+    }
+
+    private static boolean isMp4(MediaInfo info) {
+        return "mp4".equals(info.container()) || "mov".equals(info.container());
+    }
+
+    /** HLS 패키지를 만들고 playlist 경로 반환 (지원하지 않는 구조/실패면 null) */
+    private String packageHls(Long videoId, Path file) {
+        try {
+            String hlsPath = localFileStorage.storeHls(HlsPackager.PLAYLIST,
+                    (dir, uriPrefix) -> HlsPackager.pack(file, dir, uriPrefix, hlsSegmentSeconds));
+            if (hlsPath == null) {
+                log.info("hls packaging skipped (unsupported layout): videoId={}", videoId);
+            }
+            return hlsPath;
+        } catch (Exception e) {
+            log.warn("hls packaging failed: videoId={}, path={}", videoId, file, e);
+            return null;
+        }
+    }
+
+    /**
+     * moov를 앞으로 옮긴 새 파일을 CAS 임시 폴더에 만든다 (아직 등록하지 않음 → adoptRelocated)
+     * - 내용(바이트)이 바뀌므로 해시/경로도 새로 잡힘
+     * - 지원하지 않는 구조면 null (원본 그대로 사용)
+     * - 등록 전에 프로세스가 죽으면 임시 폴더 정리(ChunkedUploadStorage.cleanupStaleSessions)가 지운다
+     */
+    private Path relocateMoov(Long videoId, Path file) throws Exception {
+        Path tmp = localFileStorage.casTempDir().resolve("faststart-" + UUID.randomUUID() + ".tmp");
+        Files.createDirectories(tmp.getParent());
+
+        boolean rewritten;
+        try {
+            rewritten = Mp4FastStart.rewrite(file, tmp);
+        } catch (Exception e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        if (!rewritten) {
+            Files.deleteIfExists(tmp);
+            log.info("fast-start skipped (unsupported layout): videoId={}", videoId);
+            return null;
+        }
+        return tmp;
+    }
+
+    /** 트랜잭션 안에서 호출: fast-start 파일을 CAS 경로로 옮기고 참조 +1 (롤백되면 참조 없는 파일은 정리) */
+    private LocalFileStorage.StoredFile adoptRelocated(Long videoId, Source source, Path tmp) {
+        try {
+            String sha256 = localFileStorage.sha256Of(tmp);
+            String stored = source.storedFilename() == null ? "" : source.storedFilename();
+            int dot = stored.lastIndexOf('.');
+            String ext = dot < 0 ? "" : stored.substring(dot);
+            LocalFileStorage.StoredFile result = localFileStorage.adoptVideo(
+                    tmp, sha256, ext, source.originalFilename(), source.mimeType(), Files.size(tmp)
+            );
+            log.info("fast-start applied: videoId={}, {} -> {}", videoId, source.localPath(), result.localPath());
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 트랜잭션 안에서 호출: 원본 경로를 쓰는 모든 영상 행을 새 파일로 전환
+     * - 새 파일 참조 수는 adoptRelocated에서 1 → 옮겨 가는 행 수만큼 맞춤, 옛 파일은 커밋 후 같은 수만큼 해제
+     * - 그사이 영상이 교체돼 아무도 안 쓰면 새 파일의 참조를 해제(정리)
+     */
+    private void swapStoredFile(Source source, LocalFileStorage.StoredFile newFile, MediaInfo info, String hlsPath,
+                                AtomicBoolean hlsRetained) {
+        String oldPath = source.localPath();
+        List<LectureVideo> users = lectureVideoRepository.findByLocalPath(oldPath);
+        localFileStorage.retain(newFile.localPath(), users.size() - 1);
+        // 새 패키지 참조 수 = 옮겨 가는 행 수 (0이면 바로 정리됨), 행에 넣기 전에 잡는다
+        if (hlsPath != null && !localFileStorage.retainHls(hlsPath, users.size())) hlsPath = null;
+        hlsRetained.set(true);
+        for (LectureVideo v : users) {
+            String oldHls = v.getHlsPath();
+            v.replaceStoredFile(newFile.localPath(), newFile.storedFilename(), newFile.fileSizeBytes(), newFile.contentHash());
+            if (info != null) {
+                applyMediaInfo(v, info);
+                approvedLectureCatalog.refresh(v.getLecture().getLectureId());
+            }
+            if (hlsPath != null) v.assignHlsPath(hlsPath);
+            videoFileMetaCache.evict(v.getVideoId());
+            localFileStorage.deleteHlsAfterCommit(oldHls);
+        }
+
+        if (users.isEmpty()) {
+            localFileStorage.deleteByLocalPathAfterCommit(newFile.localPath());
+        } else {
+            localFileStorage.deleteByLocalPathAfterCommit(oldPath, users.size());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("failed to delete temp file: {}", path, e);
+        }
+    }
+
+    private record Source(String localPath, String storedFilename, String originalFilename, String mimeType,
+                          String sharedHlsPath) {
+    }
+}
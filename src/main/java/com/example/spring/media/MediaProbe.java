@@ -0,0 +1,434 @@
+package com.example.spring.media;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 순수 Java 컨테이너 헤더 분석기 (MP4/MOV, WebM/Matroska).
+ *
+ * 디코딩은 하지 않고 헤더 박스/엘리먼트만 읽는다.
+ * - MP4: 최상위 박스를 훑어 moov/mdat 위치를 찾고, moov 안의 mvhd/tkhd/hdlr/stsd에서 길이·해상도·코덱 추출
+ * - WebM: EBML Segment 안의 Info(길이)/Tracks(코덱·해상도)까지만 읽고 첫 Cluster에서 중단
+ *
+ * 지원하지 않는 형식이면 IOException.
+ */
+public final class MediaProbe {
+
+    /** moov / Info / Tracks 를 메모리로 읽을 때의 상한 */
+    private static final int MAX_HEADER_BYTES = 64 * 1024 * 1024;
+
+    private static final int EBML_MAGIC = 0x1A45DFA3;
+
+    private MediaProbe() {
+    }
+
+    public static MediaInfo probe(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < 12) {
+                throw new IOException("file too small");
+            }
+
+            ByteBuffer head = read(ch, 0, 12);
+            if (head.getInt(0) == EBML_MAGIC) {
+                return probeMatroska(ch, size);
+            }
+            String firstType = fourCc(head, 4);
+            if (isMp4TopLevel(firstType)) {
+                return probeMp4(ch, size);
+            }
+            throw new IOException("unsupported container");
+        }
+    }
+
+    // =========================================================
+    // MP4 / MOV (ISO BMFF)
+    // =========================================================
+
+    private static boolean isMp4TopLevel(String type) {
+        return switch (type) {
+            case "ftyp", "moov", "mdat", "free", "skip", "wide", "pnot", "uuid" -> true;
+            default -> false;
+        };
+    }
+
+    /** 최상위 박스 위치 (headerSize 포함) */
+    record Box(String type, long offset, long headerSize, long size) {
+        long bodyOffset() {
+            return offset + headerSize;
+        }
+
+        long bodySize() {
+            return size - headerSize;
+        }
+    }
+
+    /** 파일 최상위 박스 목록을 순서대로 읽는다 (Mp4FastStart 등에서 재사용) */
+    static List<Box> topLevelBoxes(FileChannel ch, long fileSize) throws IOException {
+        List<Box> boxes = new ArrayList<>();
+        long pos = 0;
+        while (pos + 8 <= fileSize) {
+            ByteBuffer h = read(ch, pos, (int) Math.min(16, fileSize - pos));
+            long size = h.getInt(0) & 0xFFFFFFFFL;
+            String type = fourCc(h, 4);
+            long header = 8;
+            if (size == 1) {
+                if (h.limit() < 16) throw new IOException("truncated largesize box");
+                size = h.getLong(8);
+                header = 16;
+            } else if (size == 0) {
+                size = fileSize - pos; // 파일 끝까지
+            }
+            if (size < header || pos + size > fileSize) {
+                throw new IOException("invalid box size: " + type + " at " + pos);
+            }
+            boxes.add(new Box(type, pos, header, size));
+            pos += size;
+        }
+        return boxes;
+    }
+
+    private static MediaInfo probeMp4(FileChannel ch, long fileSize) throws IOException {
+        Box moov = null;
+        Box mdat = null;
+        String brand = "mp4";
+
+        for (Box box : topLevelBoxes(ch, fileSize)) {
+            switch (box.type()) {
+                case "ftyp" -> {
+                    ByteBuffer b = read(ch, box.bodyOffset(), 4);
+                    brand = fourCc(b, 0).trim();
+                }
+                case "moov" -> moov = box;
+                case "mdat" -> {
+                    if (mdat == null) mdat = box;
+                }
+                default -> {
+                }
+            }
+        }
+
+        if (moov == null) {
+            throw new IOException("moov box not found");
+        }
+        if (moov.bodySize() > MAX_HEADER_BYTES) {
+            throw new IOException("moov box too large");
+        }
+
+        ByteBuffer body = read(ch, moov.bodyOffset(), (int) moov.bodySize());
+        Mp4Moov parsed = new Mp4Moov();
+        parsed.parseContainer(body, 0, body.limit());
+
+        long durationMillis = parsed.timescale > 0 ? parsed.duration * 1000 / parsed.timescale : 0;
+        long bitrate = durationMillis > 0 ? fileSize * 8 * 1000 / durationMillis : 0;
+        Boolean moovAtFront = (mdat == null) ? null : moov.offset() < mdat.offset();
+
+        return new MediaInfo(
+                "qt".equals(brand) ? "mov" : "mp4",
+                durationMillis,
+                parsed.videoCodec,
+                parsed.audioCodec,
+                parsed.width,
+                parsed.height,
+                bitrate,
+                moov.offset(),
+                moovAtFront
+        );
+    }
+
+    /** moov 내부 박스 파싱 상태 */
+    private static final class Mp4Moov {
+        long timescale;
+        long duration;
+        String videoCodec;
+        String audioCodec;
+        int width;
+        int height;
+
+        // 현재 trak 파싱 중 값
+        private int trakWidth;
+        private int trakHeight;
+        private String trakHandler;
+        private String trakCodec;
+
+        void parseContainer(ByteBuffer buf, int start, int end) throws IOException {
+            int pos = start;
+            while (pos + 8 <= end) {
+                long size = buf.getInt(pos) & 0xFFFFFFFFL;
+                String type = fourCc(buf, pos + 4);
+                int header = 8;
+                if (size == 1) {
+                    if (pos + 16 > end) throw new IOException("truncated box");
+                    size = buf.getLong(pos + 8);
+                    header = 16;
+                } else if (size == 0) {
+                    size = end - pos;
+                }
+                if (size < header || pos + size > end) {
+                    throw new IOException("invalid box in moov: " + type);
+                }
+                int bodyStart = pos + header;
+                int bodyEnd = (int) (pos + size);
+
+                switch (type) {
+                    case "mvhd" -> parseMvhd(buf, bodyStart);
+                    case "trak" -> {
+                        trakWidth = 0;
+                        trakHeight = 0;
+                        trakHandler = null;
+                        trakCodec = null;
+                        parseContainer(buf, bodyStart, bodyEnd);
+                        finishTrak();
+                    }
+                    case "tkhd" -> {
+                        // width/height: 박스 마지막 8 bytes (16.16 고정소수)
+                        if (bodyEnd - 8 >= bodyStart) {
+                            trakWidth = buf.getInt(bodyEnd - 8) >>> 16;
+                            trakHeight = buf.getInt(bodyEnd - 4) >>> 16;
+                        }
+                    }
+                    case "mdia", "minf", "stbl" -> parseContainer(buf, bodyStart, bodyEnd);
+                    case "hdlr" -> {
+                        if (bodyStart + 12 <= bodyEnd) trakHandler = fourCc(buf, bodyStart + 8);
+                    }
+                    case "stsd" -> {
+                        // version/flags(4) + entry_count(4) + 첫 entry(size 4 + type 4)
+                        if (bodyStart + 16 <= bodyEnd) trakCodec = fourCc(buf, bodyStart + 12).trim();
+                    }
+                    default -> {
+                    }
+                }
+                pos = bodyEnd;
+            }
+        }
+
+        private void parseMvhd(ByteBuffer buf, int bodyStart) {
+            int version = buf.get(bodyStart) & 0xFF;
+            if (version == 1) {
+                timescale = buf.getInt(bodyStart + 4 + 16) & 0xFFFFFFFFL;
+                duration = buf.getLong(bodyStart + 4 + 20);
+            } else {
+                timescale = buf.getInt(bodyStart + 4 + 8) & 0xFFFFFFFFL;
+                duration = buf.getInt(bodyStart + 4 + 12) & 0xFFFFFFFFL;
+            }
+        }
+
+        private void finishTrak() {
+            if ("vide".equals(trakHandler) && videoCodec == null) {
+                videoCodec = trakCodec;
+                width = trakWidth;
+                height = trakHeight;
+            } else if ("soun".equals(trakHandler) && audioCodec == null) {
+                audioCodec = trakCodec;
+            }
+        }
+    }
+
+    // =========================================================
+    // WebM / Matroska (EBML)
+    // =========================================================
+
+    private static final int ID_DOCTYPE = 0x4282;
+    private static final int ID_SEGMENT = 0x18538067;
+    private static final int ID_INFO = 0x1549A966;
+    private static final int ID_TRACKS = 0x1654AE6B;
+    private static final int ID_CLUSTER = 0x1F43B675;
+    private static final int ID_TIMECODE_SCALE = 0x2AD7B1;
+    private static final int ID_DURATION = 0x4489;
+    private static final int ID_TRACK_ENTRY = 0xAE;
+    private static final int ID_TRACK_TYPE = 0x83;
+    private static final int ID_CODEC_ID = 0x86;
+    private static final int ID_VIDEO = 0xE0;
+    private static final int ID_PIXEL_WIDTH = 0xB0;
+    private static final int ID_PIXEL_HEIGHT = 0xBA;
+
+    private static MediaInfo probeMatroska(FileChannel ch, long fileSize) throws IOException {
+        // EBML 헤더
+        Element ebml = readElementHeader(ch, 0, fileSize);
+        String docType = "matroska";
+        ByteBuffer ebmlBody = read(ch, ebml.dataOffset, (int) Math.min(ebml.size, 4096));
+        for (Element e : children(ebmlBody)) {
+            if (e.id == ID_DOCTYPE) docType = string(ebmlBody, e);
+        }
+
+        long pos = ebml.dataOffset + ebml.size;
+        Element segment = readElementHeader(ch, pos, fileSize);
+        if (segment.id != ID_SEGMENT) {
+            throw new IOException("segment not found");
+        }
+
+        long segEnd = segment.unknownSize ? fileSize : Math.min(fileSize, segment.dataOffset + segment.size);
+        long timecodeScale = 1_000_000L; // 기본 1ms
+        double durationTicks = 0;
+        String videoCodec = null;
+        String audioCodec = null;
+        int width = 0;
+        int height = 0;
+        boolean seenInfo = false;
+        boolean seenTracks = false;
+
+        pos = segment.dataOffset;
+        while (pos < segEnd && !(seenInfo && seenTracks)) {
+            Element e = readElementHeader(ch, pos, segEnd);
+            if (e.id == ID_CLUSTER || e.unknownSize) break; // 본문 시작 - 헤더 영역 끝
+
+            if (e.id == ID_INFO || e.id == ID_TRACKS) {
+                if (e.size > MAX_HEADER_BYTES) throw new IOException("header element too large");
+                ByteBuffer body = read(ch, e.dataOffset, (int) e.size);
+
+                if (e.id == ID_INFO) {
+                    seenInfo = true;
+                    for (Element c : children(body)) {
+                        if (c.id == ID_TIMECODE_SCALE) timecodeScale = uint(body, c);
+                        else if (c.id == ID_DURATION) durationTicks = floatValue(body, c);
+                    }
+                } else {
+                    seenTracks = true;
+                    for (Element entry : children(body)) {
+                        if (entry.id != ID_TRACK_ENTRY) continue;
+                        ByteBuffer t = slice(body, entry);
+                        long trackType = 0;
+                        String codec = null;
+                        int w = 0;
+                        int h = 0;
+                        for (Element c : children(t)) {
+                            if (c.id == ID_TRACK_TYPE) trackType = uint(t, c);
+                            else if (c.id == ID_CODEC_ID) codec = string(t, c);
+                            else if (c.id == ID_VIDEO) {
+                                ByteBuffer v = slice(t, c);
+                                for (Element vc : children(v)) {
+                                    if (vc.id == ID_PIXEL_WIDTH) w = (int) uint(v, vc);
+                                    else if (vc.id == ID_PIXEL_HEIGHT) h = (int) uint(v, vc);
+                                }
+                            }
+                        }
+                        if (trackType == 1 && videoCodec == null) {
+                            videoCodec = codec;
+                            width = w;
+                            height = h;
+                        } else if (trackType == 2 && audioCodec == null) {
+                            audioCodec = codec;
+                        }
+                    }
+                }
+            }
+            pos = e.dataOffset + e.size;
+        }
+
+        long durationMillis = (long) (durationTicks * timecodeScale / 1_000_000.0);
+        long bitrate = durationMillis > 0 ? fileSize * 8 * 1000 / durationMillis : 0;
+
+        return new MediaInfo(
+                "webm".equals(docType) ? "webm" : "mkv",
+                durationMillis,
+                videoCodec,
+                audioCodec,
+                width,
+                height,
+                bitrate,
+                null,
+                null
+        );
+    }
+
+    /** EBML 엘리먼트 (dataOffset은 파일 또는 버퍼 기준) */
+    private record Element(int id, long dataOffset, long size, boolean unknownSize) {
+    }
+
+    private static Element readElementHeader(FileChannel ch, long pos, long limit) throws IOException {
+        ByteBuffer b = read(ch, pos, (int) Math.min(12, limit - pos));
+        return parseElementHeader(b, 0, b.limit(), pos);
+    }
+
+    /** buf[pos..] 위치의 엘리먼트 헤더 파싱, base는 반환 offset 보정값 */
+    private static Element parseElementHeader(ByteBuffer buf, int pos, int end, long base) throws IOException {
+        int first = buf.get(pos) & 0xFF;
+        int idLen = Integer.numberOfLeadingZeros(first) - 24 + 1;
+        if (first == 0 || idLen > 4 || pos + idLen > end) throw new IOException("invalid EBML id");
+        int id = 0;
+        for (int i = 0; i < idLen; i++) id = (id << 8) | (buf.get(pos + i) & 0xFF);
+
+        int sp = pos + idLen;
+        if (sp >= end) throw new IOException("truncated EBML size");
+        int sFirst = buf.get(sp) & 0xFF;
+        int sizeLen = Integer.numberOfLeadingZeros(sFirst) - 24 + 1;
+        if (sFirst == 0 || sizeLen > 8 || sp + sizeLen > end) throw new IOException("invalid EBML size");
+
+        long size = sFirst & (0xFF >>> sizeLen);
+        boolean allOnes = size == (0xFF >>> sizeLen);
+        for (int i = 1; i < sizeLen; i++) {
+            int b = buf.get(sp + i) & 0xFF;
+            size = (size << 8) | b;
+            if (b != 0xFF) allOnes = false;
+        }
+
+        long dataOffset = base + sp + sizeLen - pos;
+        return new Element(id, dataOffset, allOnes ? -1 : size, allOnes);
+    }
+
+    /** 버퍼 전체를 자식 엘리먼트 목록으로 (dataOffset은 버퍼 기준) */
+    private static List<Element> children(ByteBuffer buf) throws IOException {
+        List<Element> list = new ArrayList<>();
+        int pos = 0;
+        int end = buf.limit();
+        while (pos < end) {
+            Element e = parseElementHeader(buf, pos, end, pos);
+            if (e.unknownSize || e.dataOffset + e.size > end) break;
+            list.add(e);
+            pos = (int) (e.dataOffset + e.size);
+        }
+        return list;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buf, Element e) {
+        return buf.duplicate().position((int) e.dataOffset).limit((int) (e.dataOffset + e.size)).slice();
+    }
+
+    private static long uint(ByteBuffer buf, Element e) {
+        long v = 0;
+        for (int i = 0; i < e.size && i < 8; i++) v = (v << 8) | (buf.get((int) e.dataOffset + i) & 0xFF);
+        return v;
+    }
+
+    private static double floatValue(ByteBuffer buf, Element e) {
+        if (e.size == 4) return buf.getFloat((int) e.dataOffset);
+        if (e.size == 8) return buf.getDouble((int) e.dataOffset);
+        return 0;
+    }
+
+    private static String string(ByteBuffer buf, Element e) {
+        byte[] bytes = new byte[(int) e.size];
+        buf.duplicate().position((int) e.dataOffset).get(bytes);
+        int len = bytes.length;
+        while (len > 0 && bytes[len - 1] == 0) len--; // null padding
+        return new String(bytes, 0, len, StandardCharsets.US_ASCII);
+    }
+
+    // =========================================================
+    // 공통 I/O
+    // =========================================================
+
+    static ByteBuffer read(FileChannel ch, long pos, int len) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(len).order(ByteOrder.BIG_ENDIAN);
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos + buf.position());
+            if (n < 0) throw new EOFException("unexpected end of file");
+        }
+        buf.flip();
+        return buf;
+    }
+
+    static String fourCc(ByteBuffer buf, int pos) {
+        byte[] b = new byte[4];
+        for (int i = 0; i < 4; i++) b[i] = buf.get(pos + i);
+        return new String(b, StandardCharsets.ISO_8859_1);
+    }
+}
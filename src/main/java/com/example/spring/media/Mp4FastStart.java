@@ -0,0 +1,168 @@
+package com.example.spring.media;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * MP4 fast-start 리먹서 (순수 Java, 재인코딩 없음).
+ *
+ * moov가 파일 끝에 있으면 브라우저는 재생 전에 파일 끝으로 Range 요청을 추가로 보낸다.
+ * moov를 ftyp 바로 뒤로 옮기고, 그만큼 밀려난 mdat을 가리키는 stco/co64 오프셋을 보정해 새 파일로 쓴다.
+ *
+ * 건너뛰는 경우 (원본 유지, false 반환)
+ * - MP4가 아니거나 moov가 이미 mdat보다 앞
+ * - fragmented MP4 (moof/mvex)
+ * - 보정 후 32bit stco 오프셋이 넘치는 경우
+ */
+public final class Mp4FastStart {
+
+    private static final long STCO_MAX = 0xFFFFFFFFL;
+
+    private Mp4FastStart() {
+    }
+
+    /**
+     * source를 fast-start 구조로 다시 써서 target에 저장한다.
+     * @return 다시 썼으면 true, 필요 없거나 지원하지 않는 구조면 false (target은 만들지 않음)
+     */
+    public static boolean rewrite(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long fileSize = in.size();
+            List<MediaProbe.Box> boxes = MediaProbe.topLevelBoxes(in, fileSize);
+
+            MediaProbe.Box ftyp = null;
+            MediaProbe.Box moov = null;
+            MediaProbe.Box firstMdat = null;
+            for (MediaProbe.Box box : boxes) {
+                switch (box.type()) {
+                    case "ftyp" -> {
+                        if (ftyp == null) ftyp = box;
+                    }
+                    case "moov" -> moov = box;
+                    case "mdat" -> {
+                        if (firstMdat == null) firstMdat = box;
+                    }
+                    case "moof" -> {
+                        return false; // fragmented
+                    }
+                    default -> {
+                    }
+                }
+            }
+
+            if (moov == null || firstMdat == null || moov.offset() < firstMdat.offset()) {
+                return false;
+            }
+            if (moov.size() > Integer.MAX_VALUE) {
+                return false;
+            }
+
+            // 새 배치: [ftyp] [moov] [나머지 박스 원래 순서]
+            long insertAt = (ftyp != null && ftyp.offset() == 0) ? ftyp.size() : 0;
+            long moovStart = moov.offset();
+            long moovSize = moov.size();
+
+            ByteBuffer moovBytes = MediaProbe.read(in, moovStart, (int) moovSize);
+            if (!patchChunkOffsets(moovBytes, 0, moovBytes.limit(), insertAt, moovStart, moovSize, true)) {
+                return false;
+            }
+            patchChunkOffsets(moovBytes, 0, moovBytes.limit(), insertAt, moovStart, moovSize, false);
+            moovBytes.rewind();
+
+            try (FileChannel out = FileChannel.open(target,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                copy(in, 0, insertAt, out);
+                while (moovBytes.hasRemaining()) out.write(moovBytes);
+                copy(in, insertAt, moovStart - insertAt, out);
+                copy(in, moovStart + moovSize, fileSize - (moovStart + moovSize), out);
+                out.force(true);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(target);
+                throw e;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * moov 안의 stco/co64를 찾아 [insertAt, moovStart) 구간을 가리키는 오프셋에 moovSize를 더한다.
+     * - dryRun=true: 값은 바꾸지 않고 넘침/미지원 구조 여부만 검사
+     * @return 처리 가능하면 true
+     */
+    private static boolean patchChunkOffsets(ByteBuffer buf, int start, int end,
+                                             long insertAt, long moovStart, long moovSize,
+                                             boolean dryRun) {
+        int pos = start;
+        while (pos + 8 <= end) {
+            long size = buf.getInt(pos) & 0xFFFFFFFFL;
+            String type = MediaProbe.fourCc(buf, pos + 4);
+            int header = 8;
+            if (size == 1) {
+                if (pos + 16 > end) return false;
+                size = buf.getLong(pos + 8);
+                header = 16;
+            } else if (size == 0) {
+                size = end - pos;
+            }
+            if (size < header || pos + size > end) return false;
+
+            int bodyStart = pos + header;
+            int bodyEnd = (int) (pos + size);
+
+            switch (type) {
+                // moov 본문은 "moov" 헤더부터 시작하므로 자기 자신도 컨테이너로 내려간다
+                case "moov", "trak", "mdia", "minf", "stbl" -> {
+                    if (!patchChunkOffsets(buf, bodyStart, bodyEnd, insertAt, moovStart, moovSize, dryRun)) {
+                        return false;
+                    }
+                }
+                case "mvex" -> {
+                    return false; // fragmented
+                }
+                case "stco" -> {
+                    int count = buf.getInt(bodyStart + 4);
+                    if (bodyStart + 8 + (long) count * 4 > bodyEnd) return false;
+                    for (int i = 0; i < count; i++) {
+                        int at = bodyStart + 8 + i * 4;
+                        long offset = buf.getInt(at) & 0xFFFFFFFFL;
+                        long moved = shift(offset, insertAt, moovStart, moovSize);
+                        if (moved > STCO_MAX) return false;
+                        if (!dryRun) buf.putInt(at, (int) moved);
+                    }
+                }
+                case "co64" -> {
+                    int count = buf.getInt(bodyStart + 4);
+                    if (bodyStart + 8 + (long) count * 8 > bodyEnd) return false;
+                    for (int i = 0; i < count; i++) {
+                        int at = bodyStart + 8 + i * 8;
+                        long moved = shift(buf.getLong(at), insertAt, moovStart, moovSize);
+                        if (!dryRun) buf.putLong(at, moved);
+                    }
+                }
+                default -> {
+                }
+            }
+            pos = bodyEnd;
+        }
+        return true;
+    }
+
+    private static long shift(long offset, long insertAt, long moovStart, long moovSize) {
+        return (offset >= insertAt && offset < moovStart) ? offset + moovSize : offset;
+    }
+
+    /** in의 [position, position+count) 구간을 out 현재 위치에 복사 (HlsPackager에서도 사용) */
+    static void copy(FileChannel in, long position, long count, FileChannel out) throws IOException {
+        long done = 0;
+        while (done < count) {
+            long n = in.transferTo(position + done, count - done, out);
+            if (n <= 0) throw new IOException("unexpected end of file while copying");
+            done += n;
+        }
+    }
+}
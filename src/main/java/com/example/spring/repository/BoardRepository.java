@@ -5,11 +5,14 @@ import com.example.spring.entity.BoardType;
 import com.example.spring.entity.Lecture;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.parameters.P;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,4 +40,32 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
                             @Param("title") String title,
                             Pageable pageable);
 
+
+    /**
+     * 커서(keyset) 검색 - pinned desc, createdAt desc, boardId desc
+     * cursorId == null이면 첫 페이지
+     */
+    @EntityGraph(attributePaths = {"writer", "lecture"})
+    @Query("""
+        select b from Board b where b.deleted = false
+                AND(:boardType is null or b.boardType = :boardType)
+                AND(:lectureId is null or b.lecture.lectureId = :lectureId)
+                AND(:writerName is null or b.writer.userNickname like %:writerName%)
+                AND(:title is null or b.title like %:title%)
+                AND(:cursorId is null
+                    or (:cursorPinned = true and b.pinned = false)
+                    or (b.pinned = :cursorPinned
+                        and (b.createdAt < :cursorAt
+                             or (b.createdAt = :cursorAt and b.boardId < :cursorId))))
+        order by b.pinned desc, b.createdAt desc, b.boardId desc
+                 """)
+    Slice<Board> searchBoardAfter(@Param("boardType") BoardType boardType,
+                                  @Param("lectureId") Long lectureId,
+                                  @Param("writerName") String writerName,
+                                  @Param("title") String title,
+                                  @Param("cursorPinned") Boolean cursorPinned,
+                                  @Param("cursorAt") LocalDateTime cursorAt,
+                                  @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
+
 }
@@ -4,9 +4,11 @@ import com.example.spring.entity.Enrollment;
 import com.example.spring.entity.EnrollmentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,4 +60,44 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     // 활성 수강생 존재 여부
     boolean existsByLecture_LectureIdAndStatusNot(Long lectureId, EnrollmentStatus status);
+
+    // =========================================================
+    // 내 수강 목록 커서(keyset) 조회 - lastAccessedAt desc, enrollmentId desc
+    // (MySQL은 desc 정렬에서 null이 마지막 → 아직 학습 안 한 수강은 뒤쪽, 별도 메서드로 이어서 조회)
+    // =========================================================
+
+    /** 학습 기록 있는 구간 (cursorId == null이면 첫 페이지) + 이어지는 null 구간 */
+    @EntityGraph(attributePaths = {"lecture", "lecture.professor"})
+    @Query("""
+        select e
+        from Enrollment e
+        where e.user.userId = :userId
+          and (:status is null or e.status = :status)
+          and (:cursorId is null
+               or e.lastAccessedAt < :cursorAt
+               or (e.lastAccessedAt = :cursorAt and e.enrollmentId < :cursorId)
+               or e.lastAccessedAt is null)
+        order by e.lastAccessedAt desc, e.enrollmentId desc
+    """)
+    Slice<Enrollment> findMyEnrollmentsAfter(@Param("userId") Long userId,
+                                            @Param("status") EnrollmentStatus status,
+                                            @Param("cursorAt") LocalDateTime cursorAt,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    /** 커서가 이미 학습 기록 없는(null) 구간일 때 */
+    @EntityGraph(attributePaths = {"lecture", "lecture.professor"})
+    @Query("""
+        select e
+        from Enrollment e
+        where e.user.userId = :userId
+          and (:status is null or e.status = :status)
+          and e.lastAccessedAt is null
+          and e.enrollmentId < :cursorId
+        order by e.enrollmentId desc
+    """)
+    Slice<Enrollment> findMyUnaccessedEnrollmentsAfter(@Param("userId") Long userId,
+                                                      @Param("status") EnrollmentStatus status,
+                                                      @Param("cursorId") Long cursorId,
+                                                      Pageable pageable);
 }
@@ -4,14 +4,21 @@ import com.example.spring.dto.LectureListItemDTO;
 import com.example.spring.entity.EnrollmentStatus;
 import com.example.spring.entity.Lecture;
 import com.example.spring.entity.LectureStatus;
+import com.example.spring.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface LectureRepository extends JpaRepository<Lecture, Long> {
 
@@ -19,29 +26,37 @@ public interface LectureRepository extends JpaRepository<Lecture, Long> {
     // A) 관리자 대시보드/집계
     // =========================================================
 
-    long countByStatus(LectureStatus status);
+    /** 상태별 집계 한 줄 (대시보드용) */
+    interface StatusCountRow {
+        LectureStatus getStatus();
+        Long getTotal();
+        Long getCreatedSince();
+        Long getWithoutVideo();
+    }
 
-    long countByCreatedAtGreaterThanEqual(LocalDateTime since);
-
-    long countByStatusAndCreatedAtGreaterThanEqual(LectureStatus status, LocalDateTime since);
-
-    /** 상태별 "영상 없는" 강의 수 (예: PENDING인데 영상 없음) */
+    /**
+     * 대시보드 숫자 전부를 쿼리 1회로 (상태별 group by)
+     * - 강의당 영상은 최대 1개 (uk_lecture_video_lecture)라 left join으로 행이 늘지 않음
+     */
     @Query("""
-        select count(l)
+        select l.status as status,
+               count(l) as total,
+               sum(case when l.createdAt >= :since then 1 else 0 end) as createdSince,
+               sum(case when v.videoId is null then 1 else 0 end) as withoutVideo
         from Lecture l
-        where l.status = :status
-          and not exists (
-              select 1
-              from LectureVideo v
-              where v.lecture = l
-          )
+        left join LectureVideo v on v.lecture = l
+        group by l.status
         """)
-    long countByStatusAndNoVideo(@Param("status") LectureStatus status);
+    List<StatusCountRow> countGroupByStatus(@Param("since") LocalDateTime since);
 
     // =========================================================
     // B) 관리자/강사 관리용 조회
     // =========================================================
 
+    /** 관리자: 전체 강의 목록 (status=ALL) */
+    @EntityGraph(attributePaths = {"professor", "approvedBy"})
+    Page<Lecture> findAllBy(Pageable pageable);
+
     /** 관리자: 상태별 강의 목록 */
     @EntityGraph(attributePaths = {"professor", "approvedBy"})
     Page<Lecture> findByStatus(LectureStatus status, Pageable pageable);
@@ -157,6 +172,7 @@ public interface LectureRepository extends JpaRepository<Lecture, Long> {
         p.userNickname,
         v.sourceType,
         v.thumbnailUrl,
+        v.thumbnailWidths,
         v.durationSec,
         v.youtubeVideoTitle,
         v.youtubeChannelTitle,
@@ -186,6 +202,7 @@ public interface LectureRepository extends JpaRepository<Lecture, Long> {
         p.userNickname,
         v.sourceType,
         v.thumbnailUrl,
+        v.thumbnailWidths,
         v.durationSec,
         v.youtubeVideoTitle,
         v.youtubeChannelTitle,
@@ -212,6 +229,7 @@ public interface LectureRepository extends JpaRepository<Lecture, Long> {
         p.userNickname,
         v.sourceType,
         v.thumbnailUrl,
+        v.thumbnailWidths,
         v.durationSec,
         v.youtubeVideoTitle,
         v.youtubeChannelTitle,
@@ -248,6 +266,7 @@ public interface LectureRepository extends JpaRepository<Lecture, Long> {
         p.userNickname,
         v.sourceType,
         v.thumbnailUrl,
+        v.thumbnailWidths,
         v.durationSec,
         v.youtubeVideoTitle,
         v.youtubeChannelTitle,
@@ -292,4 +311,199 @@ public interface LectureRepository extends JpaRepository<Lecture, Long> {
             @Param("keyword") String keyword,
             Pageable pageable
     );
-}
\ No newline at end of file
+
+    // =========================================================
+    // E) 검색 색인 (LectureSearchIndex)
+    // =========================================================
+
+    interface SearchDocRow {
+        Long getLectureId();
+        String getTitle();
+        String getDescription();
+        String getLanguage();
+        LectureStatus getStatus();
+    }
+
+    /** 색인 생성용 (id 순 keyset 페이지) */
+    @Query("""
+        select l.lectureId as lectureId, l.title as title, l.description as description,
+               l.language as language, l.status as status
+        from Lecture l
+        where l.status = :status
+          and l.lectureId > :afterId
+        order by l.lectureId
+        """)
+    List<SearchDocRow> findSearchDocsAfterId(
+            @Param("status") LectureStatus status,
+            @Param("afterId") long afterId,
+            Pageable pageable
+    );
+
+    /** 색인 동기화용 (상태 변경 포함 - 승인 해제된 강의는 색인에서 제거) */
+    @Query("""
+        select l.lectureId as lectureId, l.title as title, l.description as description,
+               l.language as language, l.status as status
+        from Lecture l
+        where l.updatedAt >= :since
+        """)
+    List<SearchDocRow> findSearchDocsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /** 검색 결과 id로 한 번에 조회 (순서는 서비스에서 맞춤) */
+    @EntityGraph(attributePaths = {"professor", "approvedBy"})
+    List<Lecture> findByLectureIdInAndStatus(Collection<Long> lectureIds, LectureStatus status);
+
+    /** 상태별 카드 전체 (ApprovedLectureCatalog 스냅샷 생성용) */
+    @Query("""
+    select new com.example.spring.dto.LectureListItemDTO(
+        l.lectureId,
+        l.title,
+        l.country,
+        l.language,
+        l.status,
+        p.userId,
+        p.userNickname,
+        v.sourceType,
+        v.thumbnailUrl,
+        v.thumbnailWidths,
+        v.durationSec,
+        v.youtubeVideoTitle,
+        v.youtubeChannelTitle,
+        l.createdAt
+    )
+    from Lecture l
+    join l.professor p
+    left join LectureVideo v on v.lecture = l
+    where l.status = :status
+    """)
+    List<LectureListItemDTO> approvedLectureCardItemsAll(@Param("status") LectureStatus status);
+
+    /** 검색 결과 id로 카드 한 번에 조회 (순서는 서비스에서 맞춤) */
+    @Query("""
+    select new com.example.spring.dto.LectureListItemDTO(
+        l.lectureId,
+        l.title,
+        l.country,
+        l.language,
+        l.status,
+        p.userId,
+        p.userNickname,
+        v.sourceType,
+        v.thumbnailUrl,
+        v.thumbnailWidths,
+        v.durationSec,
+        v.youtubeVideoTitle,
+        v.youtubeChannelTitle,
+        l.createdAt
+    )
+    from Lecture l
+    join l.professor p
+    left join LectureVideo v on v.lecture = l
+    where l.status = :status
+      and l.lectureId in :lectureIds
+    """)
+    List<LectureListItemDTO> approvedLectureCardItemsByIds(
+            @Param("status") LectureStatus status,
+            @Param("lectureIds") Collection<Long> lectureIds
+    );
+
+    // =========================================================
+    // F) 커서(keyset) 목록 - count 없음, 깊은 페이지도 첫 페이지와 같은 비용
+    // =========================================================
+
+    /**
+     * 학생: 승인 강의 카드 (createdAt desc, lectureId desc)
+     * cursorAt/cursorId == null이면 첫 페이지, 아니면 그 행 다음부터
+     */
+    @Query("""
+    select new com.example.spring.dto.LectureListItemDTO(
+        l.lectureId,
+        l.title,
+        l.country,
+        l.language,
+        l.status,
+        p.userId,
+        p.userNickname,
+        v.sourceType,
+        v.thumbnailUrl,
+        v.thumbnailWidths,
+        v.durationSec,
+        v.youtubeVideoTitle,
+        v.youtubeChannelTitle,
+        l.createdAt
+    )
+    from Lecture l
+    join l.professor p
+    left join LectureVideo v on v.lecture = l
+    where l.status = :status
+      and (:language is null or l.language = :language)
+      and (:keyword is null
+           or l.title like concat('%', :keyword, '%')
+           or l.description like concat('%', :keyword, '%'))
+      and (
+            :enrolling is null
+         or (
+                :enrolling = true and exists (
+                    select 1
+                    from Enrollment e
+                    where e.user.userId = :userId
+                      and e.lecture = l
+                      and e.status <> :excludedStatus
+                )
+            )
+         or (
+                :enrolling = false and not exists (
+                    select 1
+                    from Enrollment e
+                    where e.user.userId = :userId
+                      and e.lecture = l
+                      and e.status <> :excludedStatus
+                )
+            )
+      )
+      and (:cursorId is null
+           or l.createdAt < :cursorAt
+           or (l.createdAt = :cursorAt and l.lectureId < :cursorId))
+    order by l.createdAt desc, l.lectureId desc
+    """)
+    Slice<LectureListItemDTO> approvedLectureCardItemsAfter(
+            @Param("status") LectureStatus status,
+            @Param("userId") Long userId,
+            @Param("enrolling") Boolean enrolling,
+            @Param("excludedStatus") EnrollmentStatus excludedStatus,
+            @Param("language") String language,
+            @Param("keyword") String keyword,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // =========================================================
+    // 관리자 일괄 승인/반려
+    // =========================================================
+
+    /** 일괄 처리 대상 (판정 ~ 상태 변경 사이에 다른 관리자의 처리와 겹치지 않도록 행 잠금) */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Lecture l where l.lectureId in :ids")
+    List<Lecture> findAllForDecision(@Param("ids") Collection<Long> ids);
+
+    /**
+     * PENDING 강의 상태 일괄 변경 (update 1회)
+     * - 벌크 update는 @PreUpdate가 돌지 않으므로 updatedAt 직접 설정 (검색 색인 동기화 기준)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        update Lecture l
+           set l.status = :status,
+               l.approvedBy = :admin,
+               l.approvedAt = :now,
+               l.rejectReason = :reason,
+               l.updatedAt = :now
+         where l.lectureId in :ids
+           and l.status = com.example.spring.entity.LectureStatus.PENDING
+        """)
+    int decidePending(@Param("ids") Collection<Long> ids,
+                      @Param("status") LectureStatus status,
+                      @Param("admin") User admin,
+                      @Param("reason") String reason,
+                      @Param("now") LocalDateTime now);
+}
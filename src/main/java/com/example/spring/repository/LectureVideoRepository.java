@@ -1,16 +1,32 @@
 package com.example.spring.repository;
 
 import com.example.spring.entity.LectureVideo;
+import com.example.spring.entity.VideoSourceType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LectureVideoRepository extends JpaRepository<LectureVideo, Long> {
     Optional<LectureVideo> findByLecture_LectureId(Long lectureId);
     boolean existsByLecture_LectureId(Long lectureId);
 
+    // 관리자 목록/일괄 승인 체크리스트용 (강의 여러 개의 영상을 한 번에)
+    List<LectureVideo> findByLecture_LectureIdIn(Collection<Long> lectureIds);
+
+    // 참조 수 행이 없는 기존 파일(참조 수 도입 전 저장)의 초기값 계산용
+    long countByLocalPath(String localPath);
+    long countByThumbnailUrl(String thumbnailUrl);
+    long countByHlsPath(String hlsPath);
+    List<LectureVideo> findByLocalPath(String localPath);
+    Optional<LectureVideo> findFirstByLocalPathAndHlsPathIsNotNull(String localPath);
+
+    // 분석 대기 중인 업로드 영상 (MediaPipeline 재시도용)
+    List<LectureVideo> findTop20BySourceTypeAndMediaProbedAtIsNullOrderByVideoIdAsc(VideoSourceType sourceType);
+
     @Query("""
     select v
     from LectureVideo v
@@ -0,0 +1,49 @@
+package com.example.spring.repository;
+
+import com.example.spring.entity.MailOutbox;
+import com.example.spring.entity.MailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    /** 발송 시각이 된 대기 메일 id (오래된 순) */
+    @Query("""
+        select m.id from MailOutbox m
+         where m.status = com.example.spring.entity.MailOutboxStatus.PENDING
+           and m.nextAttemptAt <= :now
+         order by m.id asc
+        """)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 발송 점유: nextAttemptAt을 점유 만료 시각으로 미뤄 다른 작업/인스턴스가 집어가지 않게 한다.
+     * - 아직 발송 대상인 경우에만 1이 리턴됨
+     * - 발송 중 서버가 죽으면 점유 만료 후 다시 발송 대상이 됨
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        update MailOutbox m
+           set m.nextAttemptAt = :leaseUntil
+         where m.id = :id
+           and m.status = com.example.spring.entity.MailOutboxStatus.PENDING
+           and m.nextAttemptAt <= :now
+        """)
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        delete from MailOutbox m
+         where m.status in :statuses
+           and m.createdAt < :before
+        """)
+    int deleteFinishedBefore(@Param("statuses") List<MailOutboxStatus> statuses, @Param("before") LocalDateTime before);
+
+    long countByStatus(MailOutboxStatus status);
+}
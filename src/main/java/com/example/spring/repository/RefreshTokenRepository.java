@@ -1,19 +1,81 @@
 package com.example.spring.repository;
 
 import com.example.spring.entity.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
     Optional<RefreshToken> findByTokenHash(String tokenHash);
 
-    void deleteByExpiresAtBefore(LocalDateTime time);
+    // =========================================================
+    // 폐기 토큰 필터 (RevokedRefreshTokens)
+    // =========================================================
+
+    /** 만료 전 폐기 토큰 해시 (id keyset 순회) */
+    @Query("""
+        select rt.id as id, rt.tokenHash as tokenHash from RefreshToken rt
+         where rt.revoked = true
+           and rt.expiresAt > :now
+           and rt.id > :afterId
+         order by rt.id asc
+        """)
+    List<TokenHashRow> findRevokedAfterId(@Param("now") LocalDateTime now,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    long countByRevokedTrueAndExpiresAtAfter(LocalDateTime now);
+
+    @Query("""
+        select rt.tokenHash from RefreshToken rt
+         where rt.revoked = true
+           and rt.revokedAt >= :since
+        """)
+    List<String> findRevokedHashesSince(@Param("since") LocalDateTime since);
+
+    @Query("""
+        select rt.tokenHash from RefreshToken rt
+         where rt.userId = :userId
+           and rt.revoked = false
+        """)
+    List<String> findActiveHashesByUserId(@Param("userId") Long userId);
+
+    interface TokenHashRow {
+        Long getId();
+
+        String getTokenHash();
+    }
+
+    // =========================================================
+    // 정리 배치 (id 목록을 잘라 조회 → id로 bulk delete)
+    // =========================================================
+
+    @Query("""
+        select rt.id from RefreshToken rt
+         where rt.expiresAt < :now
+         order by rt.expiresAt asc
+        """)
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /** 유예 기간이 지난 폐기 토큰 (유예 기간 동안은 재사용 탐지에 필요) */
+    @Query("""
+        select rt.id from RefreshToken rt
+         where rt.revoked = true
+           and rt.revokedAt < :before
+         order by rt.revokedAt asc
+        """)
+    List<Long> findRevokedIdsBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("delete from RefreshToken rt where rt.id in :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
 
     /**
      * 원자적으로 refresh 토큰을 폐기(revoked=true)한다.
@@ -23,7 +85,8 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
         update RefreshToken rt
-           set rt.revoked = true
+           set rt.revoked = true,
+               rt.revokedAt = local datetime
          where rt.tokenHash = :hash
            and rt.revoked = false
            and rt.expiresAt > :now
@@ -36,7 +99,8 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
         update RefreshToken rt
-           set rt.revoked = true
+           set rt.revoked = true,
+               rt.revokedAt = local datetime
          where rt.tokenHash = :hash
            and rt.revoked = false
         """)
@@ -46,7 +110,8 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
         update RefreshToken rt
-           set rt.revoked = true
+           set rt.revoked = true,
+               rt.revokedAt = local datetime
          where rt.userId = :userId
            and rt.revoked = false
         """)
@@ -0,0 +1,30 @@
+package com.example.spring.repository;
+
+import com.example.spring.entity.StoredFileRef;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface StoredFileRefRepository extends JpaRepository<StoredFileRef, String> {
+
+    /**
+     * 행이 없으면 refCount로 만들고, 있으면 그대로 둔다 (어느 쪽이든 행 잠금을 잡음)
+     * - insert ignore는 중복 시 공유 잠금만 잡아 이어지는 for update와 교착될 수 있어 on duplicate key update 사용
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        insert into stored_file_refs (path, ref_count)
+        values (:path, :refCount)
+        on duplicate key update ref_count = ref_count
+        """, nativeQuery = true)
+    void insertIfAbsent(@Param("path") String path, @Param("refCount") int refCount);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StoredFileRef r where r.path = :path")
+    Optional<StoredFileRef> findForUpdate(@Param("path") String path);
+}
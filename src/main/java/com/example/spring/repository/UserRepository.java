@@ -4,9 +4,13 @@ import com.example.spring.entity.User;
 import com.example.spring.entity.UserStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -27,8 +31,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
             Pageable pageable
     );
 
-    // 대시보드 집계
-    long countByUserRole(byte userRole);
-    long countByCreatedAtGreaterThanEqual(LocalDateTime since);
-    long countByUserStatus(UserStatus userStatus);
+    // 관리자 검색 - 커서(keyset) 버전 (userId desc, cursorId == null이면 첫 페이지)
+    @Query("""
+        select u
+        from User u
+        where (:keyword is null
+               or lower(u.userEmail) like lower(concat('%', :keyword, '%'))
+               or lower(u.userNickname) like lower(concat('%', :keyword, '%')))
+          and (:cursorId is null or u.userId < :cursorId)
+        order by u.userId desc
+        """)
+    Slice<User> searchUsersAfter(@Param("keyword") String keyword,
+                                 @Param("cursorId") Long cursorId,
+                                 Pageable pageable);
+
+    // 대시보드 집계 - 역할/상태별 group by 쿼리 1회 (서비스에서 합산)
+    interface RoleStatusCountRow {
+        Byte getUserRole();
+        UserStatus getUserStatus();
+        Long getTotal();
+        Long getCreatedSince();
+    }
+
+    @Query("""
+        select u.userRole as userRole,
+               u.userStatus as userStatus,
+               count(u) as total,
+               sum(case when u.createdAt >= :since then 1 else 0 end) as createdSince
+        from User u
+        group by u.userRole, u.userStatus
+        """)
+    List<RoleStatusCountRow> countGroupByRoleAndStatus(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,150 @@
+package com.example.spring.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongPredicate;
+
+/**
+ * 메모리 역색인 (제목 + 설명).
+ *
+ * - 토큰 → (문서 id → 가중 빈도) / 제목 토큰은 TITLE_WEIGHT배
+ * - 검색: 모든 검색어 토큰을 포함하는 문서만 (AND), 점수 = Σ log(1 + 빈도) × idf
+ *   앞부분 일치 토큰은 일치하는 토큰 중 최고 점수 하나만 반영
+ * - 쓰기는 synchronized, 읽기는 잠금 없음 (갱신 도중 읽으면 직전/직후 상태가 섞일 수 있음)
+ */
+public class InvertedIndex {
+
+    static final int TITLE_WEIGHT = 3;
+
+    /** 앞부분 일치 시 펼칠 최대 토큰 수 ("a" 같은 짧은 검색어 대비) */
+    static final int MAX_PREFIX_EXPANSION = 256;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+
+    private record Doc(String language, Map<String, Integer> terms) {
+    }
+
+    private record Scored(long id, double score) {
+    }
+
+    // =========================================================
+    // 쓰기
+    // =========================================================
+
+    public synchronized void upsert(long id, String title, String description, String language) {
+        removeInternal(id);
+
+        Map<String, Integer> terms = new HashMap<>();
+        for (String t : SearchTokenizer.indexTerms(title)) terms.merge(t, TITLE_WEIGHT, Integer::sum);
+        for (String t : SearchTokenizer.indexTerms(description)) terms.merge(t, 1, Integer::sum);
+
+        for (Map.Entry<String, Integer> e : terms.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new ConcurrentHashMap<>()).put(id, e.getValue());
+        }
+        docs.put(id, new Doc(language, terms));
+    }
+
+    public synchronized void remove(long id) {
+        removeInternal(id);
+    }
+
+    private void removeInternal(long id) {
+        Doc old = docs.remove(id);
+        if (old == null) return;
+        for (String term : old.terms().keySet()) {
+            Map<Long, Integer> p = postings.get(term);
+            if (p == null) continue;
+            p.remove(id);
+            if (p.isEmpty()) postings.remove(term);
+        }
+    }
+
+    // =========================================================
+    // 검색
+    // =========================================================
+
+    public List<Long> search(String query, String language, int limit) {
+        return search(query, language, null, limit);
+    }
+
+    /**
+     * @param language null이면 전체, 아니면 대소문자 무시 일치
+     * @param filter   null이면 전체, 아니면 통과한 문서만 (limit로 자르기 전에 적용)
+     * @return 점수 내림차순 문서 id (동점이면 id 내림차순 = 최신순), 최대 limit개
+     */
+    public List<Long> search(String query, String language, LongPredicate filter, int limit) {
+        List<SearchTokenizer.QueryTerm> queryTerms = SearchTokenizer.queryTerms(query);
+        if (queryTerms.isEmpty() || limit <= 0) return List.of();
+
+        int n = Math.max(1, docs.size());
+        Map<Long, Double> scores = null;
+
+        for (SearchTokenizer.QueryTerm q : queryTerms) {
+            Map<Long, Double> termScores = new HashMap<>();
+            for (Map.Entry<String, Map<Long, Integer>> e : matching(q)) {
+                Map<Long, Integer> p = e.getValue();
+                double idf = Math.log(1.0 + (double) n / Math.max(1, p.size()));
+                for (Map.Entry<Long, Integer> d : p.entrySet()) {
+                    termScores.merge(d.getKey(), Math.log1p(d.getValue()) * idf, Math::max);
+                }
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, s) -> s + termScores.get(id));
+            }
+            if (scores.isEmpty()) return List.of();
+        }
+
+        List<Scored> ranked = new ArrayList<>(scores.size());
+        for (Map.Entry<Long, Double> e : scores.entrySet()) {
+            if (filter != null && !filter.test(e.getKey())) continue;
+            if (language != null) {
+                Doc doc = docs.get(e.getKey());
+                if (doc == null || !language.equalsIgnoreCase(doc.language())) continue;
+            }
+            ranked.add(new Scored(e.getKey(), e.getValue()));
+        }
+        ranked.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(Comparator.comparingLong(Scored::id).reversed()));
+
+        List<Long> out = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) out.add(ranked.get(i).id());
+        return out;
+    }
+
+    private List<Map.Entry<String, Map<Long, Integer>>> matching(SearchTokenizer.QueryTerm q) {
+        if (!q.prefix()) {
+            Map<Long, Integer> p = postings.get(q.term());
+            return p == null ? List.of() : List.of(Map.entry(q.term(), p));
+        }
+
+        List<Map.Entry<String, Map<Long, Integer>>> out = new ArrayList<>();
+        for (Map.Entry<String, Map<Long, Integer>> e : postings.tailMap(q.term(), true).entrySet()) {
+            if (!e.getKey().startsWith(q.term()) || out.size() >= MAX_PREFIX_EXPANSION) break;
+            out.add(e);
+        }
+        return out;
+    }
+
+    // =========================================================
+    // 지표
+    // =========================================================
+
+    public int documents() {
+        return docs.size();
+    }
+
+    public int terms() {
+        return postings.size();
+    }
+}
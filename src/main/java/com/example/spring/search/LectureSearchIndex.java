@@ -0,0 +1,210 @@
+package com.example.spring.search;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.entity.Lecture;
+import com.example.spring.entity.LectureStatus;
+import com.example.spring.repository.LectureRepository;
+import com.example.spring.util.AfterCommit;
+import com.example.spring.util.SyncedSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+/**
+ * 승인(APPROVED) 강의 카탈로그 검색 색인.
+ *
+ * 카탈로그 검색이 매번 lectures 전체를 like '%keyword%'로 훑지 않게 한다.
+ * - 기동 시 승인 강의 전체로 생성, LectureService의 생성/수정/승인/반려/비활성화/삭제는 커밋 후 즉시 반영
+ * - 다른 인스턴스의 변경은 updated_at 기준 주기 동기화, 하루 한 번 새로 만들어 교체 (SyncedSnapshot)
+ * - 생성 전(기동 직후)이나 app.search.enabled=false면 isReady()=false → 기존 like 쿼리 사용
+ * - 일치 방식은 like와 다름: 라틴 문자는 단어 앞부분 일치 ("script"로 "JavaScript"는 안 나옴),
+ *   한글 등은 2글자 단위 (SearchTokenizer) → 결과가 없으면 서비스에서 like 쿼리로 다시 찾는다
+ * - 결과는 점수순 최대 app.search.max-results개 (페이지 totalElements도 이 수에서 멈춤)
+ * - 검색 결과는 id만 돌려주고, 화면 데이터는 서비스에서 한 번에 조회 (그때 APPROVED 재확인)
+ */
+@Slf4j
+@Component
+public class LectureSearchIndex {
+
+    private static final int REBUILD_PAGE_SIZE = 1_000;
+
+    private final LectureRepository lectureRepository;
+    private final TransactionTemplate readTx;
+    private final boolean enabled;
+    private final int maxResults;
+    private final SyncedSnapshot<InvertedIndex> snapshot;
+
+    private final LongAdder searches = new LongAdder();
+
+    public LectureSearchIndex(LectureRepository lectureRepository,
+                              PlatformTransactionManager transactionManager,
+                              AppProperties props) {
+        this.lectureRepository = lectureRepository;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.enabled = props.getSearch().isEnabled();
+        this.maxResults = props.getSearch().getMaxResults();
+        this.snapshot = new SyncedSnapshot<>(new SyncedSnapshot.Source<>() {
+            @Override
+            public InvertedIndex create(LocalDateTime now) {
+                return new InvertedIndex();
+            }
+
+            @Override
+            public void load(InvertedIndex target, LocalDateTime now) {
+                loadApproved(target);
+            }
+
+            @Override
+            public void syncSince(InvertedIndex target, LocalDateTime since) {
+                syncInto(target, since);
+            }
+        });
+    }
+
+    // =========================================================
+    // 검색
+    // =========================================================
+
+    public boolean isReady() {
+        return enabled && snapshot.current() != null;
+    }
+
+    /**
+     * 점수순 강의 id (최대 app.search.max-results개), isReady()가 false면 빈 목록
+     * @param filter null이면 전체, 아니면 통과한 강의만 (개수 자르기 전에 적용)
+     */
+    public List<Long> search(String keyword, String language, LongPredicate filter) {
+        InvertedIndex i = snapshot.current();
+        if (!enabled || i == null) return List.of();
+        searches.increment();
+        return i.search(keyword, language, filter, maxResults);
+    }
+
+    // =========================================================
+    // 변경 반영 (커밋 후)
+    // =========================================================
+
+    /** 강의 상태에 맞춰 색인 추가/갱신/제거 (트랜잭션 안에서 호출, 값은 호출 시점 기준) */
+    public void sync(Lecture lecture) {
+        sync(lecture, lecture.getStatus());
+    }
+
+    /** 벌크 update로 상태를 바꾼 경우 (엔티티에는 변경 전 상태가 남아 있으므로 상태를 따로 받는다) */
+    public void sync(Lecture lecture, LectureStatus status) {
+        Long id = lecture.getLectureId();
+        if (id == null) return;
+        if (status != LectureStatus.APPROVED) {
+            remove(id);
+            return;
+        }
+        String title = lecture.getTitle();
+        String description = lecture.getDescription();
+        String language = lecture.getLanguage();
+        AfterCommit.run(() -> snapshot.apply(i -> i.upsert(id, title, description, language)));
+    }
+
+    public void remove(Long lectureId) {
+        if (lectureId == null) return;
+        AfterCommit.run(() -> snapshot.apply(i -> i.remove(lectureId)));
+    }
+
+    // =========================================================
+    // 생성/동기화
+    // =========================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) rebuild();
+    }
+
+    @Scheduled(cron = "0 0 4 * * *", zone = "Asia/Seoul")
+    public void rebuild() {
+        if (!enabled) return;
+        long start = System.nanoTime();
+        try {
+            InvertedIndex next = snapshot.rebuild();
+            if (next == null) return;
+            log.info("lecture search index rebuilt: documents={}, terms={}, durationMs={}",
+                    next.documents(), next.terms(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("lecture search index rebuild failed (like query fallback stays active)", e);
+        }
+    }
+
+    /** 다른 인스턴스에서 바뀐 강의 반영 */
+    @Scheduled(initialDelay = 60_000L, fixedDelay = 60_000L)
+    public void syncRecent() {
+        try {
+            snapshot.syncRecent();
+        } catch (Exception e) {
+            log.warn("lecture search index sync failed", e);
+        }
+    }
+
+    private void loadApproved(InvertedIndex target) {
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            List<LectureRepository.SearchDocRow> rows = readTx.execute(status ->
+                    lectureRepository.findSearchDocsAfterId(
+                            LectureStatus.APPROVED, cursor, PageRequest.of(0, REBUILD_PAGE_SIZE)));
+            if (rows == null || rows.isEmpty()) break;
+            for (LectureRepository.SearchDocRow row : rows) {
+                target.upsert(row.getLectureId(), row.getTitle(), row.getDescription(), row.getLanguage());
+            }
+            afterId = rows.get(rows.size() - 1).getLectureId();
+            if (rows.size() < REBUILD_PAGE_SIZE) break;
+        }
+    }
+
+    /** 삭제된 강의는 여기서 빠지지 않지만, 조회 시 APPROVED 재확인으로 걸러지고 다음 재생성 때 정리된다 */
+    private void syncInto(InvertedIndex target, LocalDateTime since) {
+        List<LectureRepository.SearchDocRow> rows = readTx.execute(status ->
+                lectureRepository.findSearchDocsUpdatedSince(since));
+        if (rows == null) return;
+        for (LectureRepository.SearchDocRow row : rows) {
+            if (row.getStatus() == LectureStatus.APPROVED) {
+                target.upsert(row.getLectureId(), row.getTitle(), row.getDescription(), row.getLanguage());
+            } else {
+                target.remove(row.getLectureId());
+            }
+        }
+    }
+
+    // =========================================================
+    // 지표
+    // =========================================================
+
+    public Stats stats() {
+        InvertedIndex i = snapshot.current();
+        return new Stats(
+                isReady(),
+                i == null ? 0 : i.documents(),
+                i == null ? 0 : i.terms(),
+                searches.sum(),
+                snapshot.lastRebuiltAt(),
+                snapshot.lastSyncAt()
+        );
+    }
+
+    public record Stats(
+            boolean ready,
+            int documents,
+            int terms,
+            long searches,
+            LocalDateTime lastRebuiltAt,
+            LocalDateTime lastSyncAt
+    ) {
+    }
+}
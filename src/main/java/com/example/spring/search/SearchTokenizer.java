@@ -0,0 +1,110 @@
+package com.example.spring.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색어/본문 토큰 분리.
+ *
+ * - 라틴 문자/숫자: 단어 단위 (소문자), 검색 시 앞부분 일치 ("spr" → "spring")
+ * - 한글/한자/가나: 띄어쓰기 덩어리를 2글자씩 겹쳐 자름 (bigram) + 마지막 한 글자
+ *   예) "스프링을" → 스프, 프링, 링을, 을
+ *   → 조사/어미가 붙어도 "스프링" 검색(스프, 프링)에 걸리고,
+ *     한 글자 검색은 그 글자로 시작하는 토큰으로 찾는다 (모든 글자가 어떤 토큰의 첫 글자)
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    /** 검색어 토큰 (prefix=true면 앞부분 일치) */
+    public record QueryTerm(String term, boolean prefix) {
+    }
+
+    /** 색인용 토큰 (중복 포함 - 빈도 계산용) */
+    public static List<String> indexTerms(String text) {
+        List<String> out = new ArrayList<>();
+        split(text, (word, bigramScript) -> {
+            if (!bigramScript) {
+                out.add(word);
+                return;
+            }
+            int[] cps = word.codePoints().toArray();
+            for (int i = 0; i + 1 < cps.length; i++) {
+                out.add(new String(cps, i, 2));
+            }
+            out.add(new String(cps, cps.length - 1, 1));
+        });
+        return out;
+    }
+
+    /** 검색어 토큰 (중복 제거, 입력 순서 유지) */
+    public static List<QueryTerm> queryTerms(String text) {
+        Set<QueryTerm> out = new LinkedHashSet<>();
+        split(text, (word, bigramScript) -> {
+            if (!bigramScript) {
+                out.add(new QueryTerm(word, true));
+                return;
+            }
+            int[] cps = word.codePoints().toArray();
+            if (cps.length == 1) {
+                out.add(new QueryTerm(word, true));
+                return;
+            }
+            for (int i = 0; i + 1 < cps.length; i++) {
+                out.add(new QueryTerm(new String(cps, i, 2), false));
+            }
+        });
+        return new ArrayList<>(out);
+    }
+
+    // =========================================================
+    // 내부
+    // =========================================================
+
+    private interface Sink {
+        void accept(String word, boolean bigramScript);
+    }
+
+    /** 문자 종류(라틴/숫자 ↔ 한글 등)가 바뀌거나 구분자가 나오면 끊는다 */
+    private static void split(String text, Sink sink) {
+        if (text == null || text.isEmpty()) return;
+        String s = text.toLowerCase(Locale.ROOT);
+
+        StringBuilder buf = new StringBuilder();
+        boolean bufBigram = false;
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (!Character.isLetterOrDigit(cp)) {
+                flush(buf, bufBigram, sink);
+                continue;
+            }
+            boolean bigram = isBigramScript(cp);
+            if (buf.length() > 0 && bigram != bufBigram) {
+                flush(buf, bufBigram, sink);
+            }
+            bufBigram = bigram;
+            buf.appendCodePoint(cp);
+        }
+        flush(buf, bufBigram, sink);
+    }
+
+    private static void flush(StringBuilder buf, boolean bigram, Sink sink) {
+        if (buf.length() == 0) return;
+        sink.accept(buf.toString(), bigram);
+        buf.setLength(0);
+    }
+
+    private static boolean isBigramScript(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
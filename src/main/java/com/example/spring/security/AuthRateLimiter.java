@@ -0,0 +1,73 @@
+package com.example.spring.security;
+
+import com.example.spring.common.exception.TooManyRequestsException;
+import com.example.spring.config.AppProperties;
+import com.example.spring.util.TokenBucketRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 인증 엔드포인트 속도 제한 (로그인 / 인증 메일 발송).
+ *
+ * 컨트롤러에서 서비스 호출 전에 확인 → 거부 시 DB 조회, BCrypt, 메일 저장 없이 바로 429.
+ * - IP와 이메일 각각 별도 bucket (한쪽만 넘어도 거부)
+ * - IP는 request.getRemoteAddr() 기준 (프록시 뒤라면 server.forward-headers-strategy 설정 필요)
+ * - app.rate-limit.enabled=false면 통과
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final String MESSAGE = "요청이 너무 많습니다. 잠시 후 다시 시도해주세요.";
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter loginPerIp;
+    private final TokenBucketRateLimiter loginPerEmail;
+    private final TokenBucketRateLimiter mailPerIp;
+    private final TokenBucketRateLimiter mailPerEmail;
+
+    public AuthRateLimiter(AppProperties props) {
+        AppProperties.RateLimit rl = props.getRateLimit();
+        this.enabled = rl.isEnabled();
+        this.loginPerIp = limiter("loginPerIp", rl.getLoginPerIp(), rl.getMaxKeys());
+        this.loginPerEmail = limiter("loginPerEmail", rl.getLoginPerEmail(), rl.getMaxKeys());
+        this.mailPerIp = limiter("mailPerIp", rl.getMailPerIp(), rl.getMaxKeys());
+        this.mailPerEmail = limiter("mailPerEmail", rl.getMailPerEmail(), rl.getMaxKeys());
+    }
+
+    /** 로그인 시도 (BCrypt 비교 전) */
+    public void checkLogin(HttpServletRequest request, String email) {
+        check(loginPerIp, request.getRemoteAddr());
+        check(loginPerEmail, normalizeEmail(email));
+    }
+
+    /** 메일 발송 요청 (email이 없는 요청은 IP만) */
+    public void checkMail(HttpServletRequest request, String email) {
+        check(mailPerIp, request.getRemoteAddr());
+        if (email != null) check(mailPerEmail, normalizeEmail(email));
+    }
+
+    public List<TokenBucketRateLimiter.Stats> stats() {
+        return List.of(loginPerIp.stats(), loginPerEmail.stats(), mailPerIp.stats(), mailPerEmail.stats());
+    }
+
+    private void check(TokenBucketRateLimiter limiter, String key) {
+        if (!enabled || key == null || key.isBlank()) return;
+
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            throw new TooManyRequestsException(MESSAGE, retryAfter);
+        }
+    }
+
+    private static TokenBucketRateLimiter limiter(String name, AppProperties.RateLimit.Rule rule, int maxKeys) {
+        return new TokenBucketRateLimiter(name, rule.getCapacity(), rule.getRefillPerMinute(), maxKeys);
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -6,11 +6,18 @@ import com.example.spring.repository.UserRepository;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * 로그인 사용자 조회 + 비밀번호 해시 갱신.
+ *
+ * UserDetailsPasswordService를 구현하면 DaoAuthenticationProvider가 로그인 성공 후
+ * 저장된 해시가 현재 설정(PasswordHashing)보다 약하거나 다른 알고리즘이면 updatePassword를 호출한다.
+ */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -43,4 +50,16 @@ public class CustomUserDetailsService implements UserDetailsService {
                 List.of(new SimpleGrantedAuthority(authority))
         );
     }
-}
\ No newline at end of file
+
+    /** 로그인 시 입력한 비밀번호로 다시 만든 해시 저장 */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUserEmail(user.getUsername())
+                .ifPresent(u -> u.changePassword(newPassword));
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.spring.security;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.repository.EnrollmentRepository;
+import com.example.spring.util.AfterCommit;
+import com.example.spring.util.TtlCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * 영상 스트리밍용 수강 여부 판정 캐시 ((userId, lectureId) → 허용 여부).
+ *
+ * Range 요청(기본 1MB)마다 수강 여부를 DB에서 확인하지 않도록 짧은 TTL로 보관한다.
+ * - 수강 신청/취소 시 EnrollmentService에서 evict 호출
+ * - 거부 결과도 캐시하되, 신청 직후에는 evict로 바로 반영
+ */
+@Component
+public class EnrollmentAccessCache {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final TtlCache<Key, Boolean> cache;
+
+    public EnrollmentAccessCache(EnrollmentRepository enrollmentRepository, AppProperties props) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.cache = new TtlCache<>(
+                "enrollmentAccess",
+                props.getCache().getEnrollmentTtlSeconds() * 1000L,
+                props.getCache().getEnrollmentMaxSize()
+        );
+    }
+
+    public boolean isEnrolled(Long userId, Long lectureId) {
+        if (userId == null || lectureId == null) return false;
+        return cache.get(new Key(userId, lectureId),
+                key -> enrollmentRepository.existsByUser_UserIdAndLecture_LectureId(key.userId(), key.lectureId()));
+    }
+
+    /** 즉시 + 커밋 이후 한 번 더 제거 */
+    public void evict(Long userId, Long lectureId) {
+        if (userId == null || lectureId == null) return;
+        Key key = new Key(userId, lectureId);
+        cache.invalidate(key);
+        AfterCommit.run(() -> cache.invalidate(key));
+    }
+
+    public TtlCache.Stats stats() {
+        return cache.stats();
+    }
+
+    private record Key(Long userId, Long lectureId) {
+    }
+}
@@ -1,8 +1,6 @@
 package com.example.spring.security;
 
-import com.example.spring.entity.User;
 import com.example.spring.entity.UserRole;
-import com.example.spring.repository.UserRepository;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -16,16 +14,35 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    /** 서명 URL 스트리밍 경로 (/api/videos/{id}, /api/videos/{id}/hls.m3u8) */
+    private static final Pattern SIGNED_STREAM_PATH = Pattern.compile("^/api/videos/\\d+(/hls\\.m3u8)?$");
+
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserStatusCache userStatusCache;
 
-    public JwtAuthFilter(JwtService jwtService, UserRepository userRepository) {
+    public JwtAuthFilter(JwtService jwtService, UserStatusCache userStatusCache) {
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.userStatusCache = userStatusCache;
+    }
+
+    /**
+     * 서명된 재생 URL은 서명으로만 검증하므로 JWT 파싱/사용자 조회 생략
+     * - 대상은 서명 검증 핸들러가 있는 두 경로뿐: GET /api/videos/{id}, /api/videos/{id}/hls.m3u8 (+ sig)
+     * - 그 외 /api/videos/** (play-url 발급 등)는 sig 파라미터가 있어도 JWT 처리
+     * - /hls/**, /thumbnails/** 공개 정적 파일도 JWT 처리 생략
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/hls/") || uri.startsWith("/thumbnails/")) return true; // 공개 정적 파일
+        return ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+                && request.getParameter("sig") != null
+                && SIGNED_STREAM_PATH.matcher(uri).matches();
     }
 
     @Override
@@ -53,40 +70,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
             Long userId = Long.valueOf(claims.getSubject());
 
-            User user = userRepository.findById(userId).orElse(null);
+            // 요청마다 users 조회 대신 상태 캐시 사용 (상태 변경 시 evict)
+            UserStatusCache.UserState user = userStatusCache.get(userId);
 
-            if (user == null || user.isBlocked() || user.isWithdrawn() || user.isPending()) {
+            if (user == null || !user.canAuthenticate()) {
                 SecurityContextHolder.clearContext();
                 chain.doFilter(request, response);
                 return;
             }
 
-            String authority = null;
-            Object roleClaim = claims.get("role");
-
-            if (roleClaim instanceof Number number) {
-                byte roleCode = number.byteValue();
-                authority = UserRole.fromCode(roleCode).getAuthority();
-            } else if (roleClaim instanceof String roleString) {
-                if (roleString.startsWith("ROLE_")) {
-                    authority = roleString;
-                } else {
-                    authority = "ROLE_" + roleString;
-                }
-            }
-
-            if (authority == null || authority.isBlank()) {
-                String auth = claims.get("auth", String.class);
-                if (auth != null && !auth.isBlank()) {
-                    authority = auth;
-                }
-            }
-
-            if (authority == null || authority.isBlank()) {
-                SecurityContextHolder.clearContext();
-                chain.doFilter(request, response);
-                return;
-            }
+            // 권한은 토큰의 role 클레임이 아니라 현재 역할 기준 (역할 변경 시 evict → 강등이 토큰 만료 전에 반영)
+            String authority = UserRole.fromCode(user.role()).getAuthority();
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
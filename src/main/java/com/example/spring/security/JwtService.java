@@ -1,7 +1,11 @@
 package com.example.spring.security;
 
+import com.example.spring.config.AppProperties;
 import com.example.spring.entity.UserRole;
+import com.example.spring.util.TokenHash;
+import com.example.spring.util.TtlCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -21,10 +25,17 @@ public class JwtService {
     private final long accessExpMinutes;
     private final long refreshExpDays;
 
+    /** 불변/thread-safe라 한 번만 만들어 재사용 */
+    private final JwtParser parser;
+
+    /** 검증된 access 토큰 claims (토큰 SHA-256 → claims, 토큰 만료 시각까지) */
+    private final TtlCache<String, Claims> claimsCache;
+
     public JwtService(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.access-token-exp-min}") long accessExpMinutes,
-            @Value("${jwt.refresh-token-exp-days}") long refreshExpDays
+            @Value("${jwt.refresh-token-exp-days}") long refreshExpDays,
+            AppProperties props
     ) {
         // 1) .env 적용 확인 (길이만 출력)
         log.info("JWT_SECRET length={}", secret == null ? 0 : secret.length());
@@ -37,6 +48,12 @@ public class JwtService {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessExpMinutes = accessExpMinutes;
         this.refreshExpDays = refreshExpDays;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.claimsCache = new TtlCache<>(
+                "jwtClaims",
+                props.getCache().getJwtClaimsTtlSeconds() * 1000L,
+                props.getCache().getJwtClaimsMaxSize()
+        );
     }
 
     public String generateAccessToken(Long userId, String email, byte roleCode) {
@@ -68,12 +85,27 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * 서명/만료 검증 후 claims 반환 (실패 시 JwtException)
+     * - access 토큰은 검증 결과를 토큰 만료 전까지 캐시 → 같은 토큰 재요청 시 HMAC/JSON 파싱 생략
+     * - 캐시 키는 토큰 원문이 아닌 SHA-256
+     */
     public Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        String digest = TokenHash.sha256Hex(token);
+        Claims cached = claimsCache.getIfPresent(digest);
+        if (cached != null) return cached;
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        Date exp = claims.getExpiration();
+        if (exp != null && "access".equals(claims.get("typ", String.class))) {
+            claimsCache.put(digest, claims, exp.getTime());
+        }
+        return claims;
+    }
+
+    public TtlCache.Stats claimsCacheStats() {
+        return claimsCache.stats();
     }
 }
 
@@ -0,0 +1,173 @@
+package com.example.spring.security;
+
+import com.example.spring.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 비밀번호 해시 설정 (알고리즘/cost) 및 cost 측정.
+ *
+ * - 저장 형식: {bcrypt}$2a$.. / {pbkdf2-310000}.. (DelegatingPasswordEncoder)
+ *   PBKDF2 해시에는 반복 횟수가 들어 있지 않아 id에 넣는다 → 반복 횟수를 바꿔도 기존 해시 검증 가능
+ * - 접두사 없는 기존 해시는 bcrypt로, 반복 횟수 없는 {pbkdf2}는 pbkdf2-legacy-iterations로 검증
+ * - 설정과 다른 알고리즘/반복 횟수, 낮은 bcrypt cost로 저장된 해시는 로그인 성공 시 다시 해시
+ *   (CustomUserDetailsService.updatePassword)
+ * - app.password.calibrate-on-startup=true면 이 서버에서 targetMillis 안에 끝나는 최대 bcrypt cost 사용
+ */
+@Slf4j
+@Component
+public class PasswordHashing {
+
+    /** 보정 결과가 이보다 낮아지지 않음 (BCrypt 기본값) */
+    static final int MIN_BCRYPT_STRENGTH = 10;
+
+    /** 측정 상한 (14 = 대략 1초 이상, 그 위는 측정만으로 기동이 느려짐) */
+    static final int MAX_BCRYPT_STRENGTH = 14;
+
+    private static final int SAMPLES = 3;
+
+    private static final String PBKDF2_ID_PREFIX = "pbkdf2-";
+
+    private final String algorithm;
+    private final int bcryptStrength;
+    private final int pbkdf2Iterations;
+    private final int pbkdf2LegacyIterations;
+    private final long targetMillis;
+
+    public PasswordHashing(AppProperties props) {
+        AppProperties.Password cfg = props.getPassword();
+        this.algorithm = cfg.getAlgorithm().trim().toLowerCase(Locale.ROOT);
+        this.pbkdf2Iterations = cfg.getPbkdf2Iterations();
+        this.pbkdf2LegacyIterations = cfg.getPbkdf2LegacyIterations();
+        this.targetMillis = cfg.getTargetMillis();
+
+        if (!"bcrypt".equals(algorithm) && !"pbkdf2".equals(algorithm)) {
+            throw new IllegalStateException("app.password.algorithm must be bcrypt or pbkdf2: " + algorithm);
+        }
+
+        if (cfg.isCalibrateOnStartup()) {
+            Calibration calibration = calibrate();
+            this.bcryptStrength = calibration.recommendedStrength();
+            log.info("bcrypt cost calibrated: strength={}, targetMs={}, samples={}",
+                    bcryptStrength, targetMillis, calibration.samples());
+        } else {
+            this.bcryptStrength = cfg.getBcryptStrength();
+        }
+    }
+
+    public PasswordEncoder encoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        encoders.put("bcrypt", bcrypt);
+        encoders.put(PBKDF2_ID_PREFIX + pbkdf2Iterations, pbkdf2(pbkdf2Iterations));
+        // 반복 횟수 없이 저장된 기존 해시
+        encoders.put("pbkdf2", pbkdf2(pbkdf2LegacyIterations));
+
+        String idForEncode = "pbkdf2".equals(algorithm) ? PBKDF2_ID_PREFIX + pbkdf2Iterations : "bcrypt";
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+        // 이전 반복 횟수의 {pbkdf2-N}, 접두사 없는 기존 해시($2a$...)
+        delegating.setDefaultPasswordEncoderForMatches(new PreviousHashMatcher(bcrypt));
+        return delegating;
+    }
+
+    private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder(
+                "", 16, iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    public String algorithm() {
+        return algorithm;
+    }
+
+    public int bcryptStrength() {
+        return bcryptStrength;
+    }
+
+    public long targetMillis() {
+        return targetMillis;
+    }
+
+    /**
+     * 이 서버에서 bcrypt cost별 해시 시간(중앙값)을 재고, targetMillis 안에 끝나는 최대 cost를 고른다.
+     * - cost가 1 오를 때마다 시간이 2배라 목표를 넘으면 측정 중단
+     * - CPU를 쓰므로 기동 시 또는 관리자 요청 시에만 실행
+     */
+    public Calibration calibrate() {
+        new BCryptPasswordEncoder(4).encode("warmup");
+
+        List<Sample> samples = new ArrayList<>();
+        int recommended = MIN_BCRYPT_STRENGTH;
+        for (int strength = MIN_BCRYPT_STRENGTH; strength <= MAX_BCRYPT_STRENGTH; strength++) {
+            long millis = medianMillis(new BCryptPasswordEncoder(strength));
+            samples.add(new Sample(strength, millis));
+            if (millis > targetMillis) break;
+            recommended = strength;
+        }
+        return new Calibration(targetMillis, recommended, samples);
+    }
+
+    private static long medianMillis(BCryptPasswordEncoder encoder) {
+        long[] times = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-password");
+            times[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(times);
+        return times[SAMPLES / 2];
+    }
+
+    /**
+     * 등록된 id에 없는 해시 검증 (DelegatingPasswordEncoder가 접두사 포함 전체를 넘김)
+     * - {pbkdf2-N}: 지금과 다른 반복 횟수로 저장된 해시 → N으로 검증 (upgradeEncoding이 true라 로그인 시 다시 해시)
+     * - 그 외: 접두사 없는 기존 bcrypt 해시
+     */
+    static final class PreviousHashMatcher implements PasswordEncoder {
+
+        private final PasswordEncoder bcrypt;
+
+        PreviousHashMatcher(PasswordEncoder bcrypt) {
+            this.bcrypt = bcrypt;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("encode is done by the current encoder");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String prefixEncodedPassword) {
+            if (prefixEncodedPassword == null) return false;
+            String prefix = "{" + PBKDF2_ID_PREFIX;
+            if (!prefixEncodedPassword.startsWith(prefix)) {
+                return bcrypt.matches(rawPassword, prefixEncodedPassword);
+            }
+            int end = prefixEncodedPassword.indexOf('}');
+            int iterations;
+            try {
+                iterations = Integer.parseInt(prefixEncodedPassword.substring(prefix.length(), end));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                return false;
+            }
+            if (iterations <= 0) return false;
+            return pbkdf2(iterations).matches(rawPassword, prefixEncodedPassword.substring(end + 1));
+        }
+    }
+
+    public record Sample(int strength, long millis) {
+    }
+
+    public record Calibration(long targetMillis, int recommendedStrength, List<Sample> samples) {
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.spring.security;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.repository.RefreshTokenRepository;
+import com.example.spring.util.BloomFilter;
+import com.example.spring.util.SyncedSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 폐기된 refresh 토큰 해시의 메모리 bloom filter.
+ *
+ * AuthService.refresh가 revoke 시도 전에 재사용(리플레이) 여부를 매번 refresh_tokens에서 조회하지 않게 한다.
+ * - 필터에 없으면 이 인스턴스 기준 폐기된 적 없는 토큰 → 사전 DB 확인 생략
+ *   (다른 인스턴스의 폐기는 동기화 전까지 없을 수 있으므로, revoke 실패 후 확인에는 쓰지 않는다)
+ * - 필터에 있으면 DB로 확인 (오탐 가능) → 확인 결과로 실제 오탐률 집계
+ * - 기동 시 테이블에서 만료 전 폐기 토큰으로 생성, 이 인스턴스의 폐기는 즉시 반영
+ * - 다른 인스턴스의 폐기는 revoked_at 기준 주기 동기화, 하루 한 번(정리 배치 후) 새로 만들어 교체 (SyncedSnapshot)
+ * - 생성 전(기동 직후)에는 모든 토큰을 "있음"으로 답해 기존처럼 DB로 확인
+ */
+@Slf4j
+@Component
+public class RevokedRefreshTokens {
+
+    private static final int REBUILD_PAGE_SIZE = 5_000;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate readTx;
+    private final long minExpectedInsertions;
+    private final double fpp;
+    private final SyncedSnapshot<BloomFilter> snapshot;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder positives = new LongAdder();
+    private final LongAdder confirmedRevoked = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public RevokedRefreshTokens(RefreshTokenRepository refreshTokenRepository,
+                                PlatformTransactionManager transactionManager,
+                                AppProperties props) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.minExpectedInsertions = props.getSecurity().getRevokedFilterExpectedInsertions();
+        this.fpp = props.getSecurity().getRevokedFilterFpp();
+        this.snapshot = new SyncedSnapshot<>(new SyncedSnapshot.Source<>() {
+            @Override
+            public BloomFilter create(LocalDateTime now) {
+                long count = readTx.execute(status -> refreshTokenRepository.countByRevokedTrueAndExpiresAtAfter(now));
+                return new BloomFilter(Math.max(minExpectedInsertions, count * 2), fpp);
+            }
+
+            @Override
+            public void load(BloomFilter target, LocalDateTime now) {
+                loadRevoked(target, now);
+            }
+
+            @Override
+            public void syncSince(BloomFilter target, LocalDateTime since) {
+                syncInto(target, since);
+            }
+        });
+    }
+
+    // =========================================================
+    // 조회/반영
+    // =========================================================
+
+    /** false면 폐기된 적 없는 토큰 (확정), true면 DB 확인 필요 */
+    public boolean mightBeRevoked(String tokenHash) {
+        BloomFilter f = snapshot.current();
+        if (f == null) return true;
+
+        checks.increment();
+        if (!f.mightContain(tokenHash)) return false;
+        positives.increment();
+        return true;
+    }
+
+    /** mightBeRevoked == true 였던 토큰의 DB 확인 결과 (오탐률 집계) */
+    public void recordConfirmation(boolean revoked) {
+        if (snapshot.current() == null) return;
+        if (revoked) confirmedRevoked.increment();
+        else falsePositives.increment();
+    }
+
+    /** 폐기 반영 (커밋 전에 넣어도 오탐만 늘 뿐 안전) */
+    public void markRevoked(String tokenHash) {
+        if (tokenHash == null) return;
+        snapshot.apply(f -> f.put(tokenHash));
+    }
+
+    /**
+     * 사용자의 활성 refresh 토큰 전체 폐기 + 필터 반영 (트랜잭션 안에서 호출)
+     * - bulk update는 해시를 돌려주지 않으므로 먼저 조회
+     */
+    public int revokeAllActiveByUserId(Long userId) {
+        for (String hash : refreshTokenRepository.findActiveHashesByUserId(userId)) {
+            markRevoked(hash);
+        }
+        return refreshTokenRepository.revokeAllActiveByUserId(userId);
+    }
+
+    // =========================================================
+    // 생성/동기화
+    // =========================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    /** 정리 배치(03:00) 이후 삭제된 토큰을 털어내고 크기 재산정 */
+    @Scheduled(cron = "0 30 3 * * *", zone = "Asia/Seoul")
+    public void rebuild() {
+        long start = System.nanoTime();
+        try {
+            BloomFilter next = snapshot.rebuild();
+            if (next == null) return;
+            resetCounters();
+            log.info("revoked refresh token filter rebuilt: entries={}, bits={}, k={}, durationMs={}",
+                    next.insertions(), next.bitSize(), next.hashFunctions(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("revoked refresh token filter rebuild failed (DB fallback stays active)", e);
+        }
+    }
+
+    /** 다른 인스턴스에서 폐기된 토큰 반영 */
+    @Scheduled(initialDelay = 60_000L, fixedDelay = 60_000L)
+    public void syncRecent() {
+        // 예상 용량을 넘으면 오탐률이 올라가므로 새로 만든다
+        BloomFilter f = snapshot.current();
+        if (f != null && !snapshot.isRebuilding() && f.insertions() > f.expectedInsertions()) {
+            rebuild();
+            return;
+        }
+
+        try {
+            snapshot.syncRecent();
+        } catch (Exception e) {
+            log.warn("revoked refresh token filter sync failed", e);
+        }
+    }
+
+    private void loadRevoked(BloomFilter target, LocalDateTime now) {
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            List<RefreshTokenRepository.TokenHashRow> rows = readTx.execute(status ->
+                    refreshTokenRepository.findRevokedAfterId(now, cursor, PageRequest.of(0, REBUILD_PAGE_SIZE)));
+            if (rows == null || rows.isEmpty()) break;
+            for (RefreshTokenRepository.TokenHashRow row : rows) {
+                target.put(row.getTokenHash());
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+            if (rows.size() < REBUILD_PAGE_SIZE) break;
+        }
+    }
+
+    private void syncInto(BloomFilter target, LocalDateTime since) {
+        List<String> hashes = readTx.execute(status -> refreshTokenRepository.findRevokedHashesSince(since));
+        if (hashes == null) return;
+        for (String hash : hashes) target.put(hash);
+    }
+
+    private void resetCounters() {
+        checks.reset();
+        positives.reset();
+        confirmedRevoked.reset();
+        falsePositives.reset();
+    }
+
+    // =========================================================
+    // 지표
+    // =========================================================
+
+    public Stats stats() {
+        BloomFilter f = snapshot.current();
+        long c = checks.sum();
+        long confirmed = confirmedRevoked.sum();
+        long fp = falsePositives.sum();
+        // 실제로 폐기되지 않은 토큰 중 "있음"으로 답한 비율
+        long negatives = c - confirmed;
+        double observedFpp = negatives <= 0 ? 0.0 : (double) fp / negatives;
+
+        return new Stats(
+                f != null,
+                f == null ? 0 : f.insertions(),
+                f == null ? 0 : f.expectedInsertions(),
+                f == null ? 0 : f.bitSize(),
+                f == null ? 0 : f.hashFunctions(),
+                fpp,
+                f == null ? 0.0 : f.estimatedFpp(),
+                c,
+                positives.sum(),
+                confirmed,
+                fp,
+                observedFpp,
+                snapshot.lastRebuiltAt(),
+                snapshot.lastSyncAt()
+        );
+    }
+
+    public record Stats(
+            boolean ready,
+            long entries,
+            long capacity,
+            long bitSize,
+            int hashFunctions,
+            double targetFpp,
+            double estimatedFpp,
+            long checks,
+            long positives,
+            long confirmedRevoked,
+            long falsePositives,
+            double observedFpp,
+            LocalDateTime lastRebuiltAt,
+            LocalDateTime lastSyncAt
+    ) {
+    }
+}
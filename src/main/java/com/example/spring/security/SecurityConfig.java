@@ -7,7 +7,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.*;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -59,6 +58,9 @@ public class SecurityConfig {
                         // 공개 썸네일
                         .requestMatchers("/thumbnails/**").permitAll()
 
+                        // HLS 세그먼트 (추측 불가한 토큰 경로, playlist는 /api/videos에서 권한 확인 후 제공)
+                        .requestMatchers("/hls/**").permitAll()
+
                         // 공개 강의 목록/상세
                         .requestMatchers("/api/lectures/**").permitAll()
 
@@ -100,9 +102,10 @@ public class SecurityConfig {
         return source;
     }
 
+    /** 알고리즘/cost는 app.password.* (PasswordHashing) */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashing passwordHashing) {
+        return passwordHashing.encoder();
     }
 
     @Bean
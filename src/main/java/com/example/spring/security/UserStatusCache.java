@@ -0,0 +1,62 @@
+package com.example.spring.security;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.entity.UserStatus;
+import com.example.spring.repository.UserRepository;
+import com.example.spring.util.AfterCommit;
+import com.example.spring.util.TtlCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인증 요청용 사용자 상태 캐시 (userId → 상태/역할).
+ *
+ * JwtAuthFilter가 요청마다 users를 조회해 차단/탈퇴/대기 여부만 확인하던 것을 줄인다.
+ * - 역할도 여기서 읽어 권한을 만든다 (토큰 클레임의 역할은 발급 시점 값이라 강등이 늦게 반영됨)
+ * - 엔티티가 아닌 원시 값만 보관 (영속성 컨텍스트와 무관)
+ * - TTL/최대 크기 제한(app.cache.user-status-*)
+ * - 상태/역할 변경, 탈퇴, 비밀번호 재설정 시 evict 호출
+ * - 없는 사용자는 캐시하지 않음
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final TtlCache<Long, UserState> cache;
+
+    public UserStatusCache(UserRepository userRepository, AppProperties props) {
+        this.userRepository = userRepository;
+        this.cache = new TtlCache<>(
+                "userStatus",
+                props.getCache().getUserStatusTtlSeconds() * 1000L,
+                props.getCache().getUserStatusMaxSize()
+        );
+    }
+
+    /** 사용자 상태 (없는 사용자면 null) */
+    public UserState get(Long userId) {
+        if (userId == null) return null;
+        return cache.get(userId, id -> userRepository.findById(id)
+                .map(u -> new UserState(u.getUserStatus(), u.getUserRole()))
+                .orElse(null));
+    }
+
+    /** 즉시 + 커밋 이후 한 번 더 제거 */
+    public void evict(Long userId) {
+        if (userId == null) return;
+        cache.invalidate(userId);
+        AfterCommit.run(() -> cache.invalidate(userId));
+    }
+
+    public TtlCache.Stats stats() {
+        return cache.stats();
+    }
+
+    public record UserState(UserStatus status, byte role) {
+        /** 차단/탈퇴/인증 대기가 아니면 인증 허용 */
+        public boolean canAuthenticate() {
+            return status != UserStatus.BLOCKED
+                    && status != UserStatus.WITHDRAWN
+                    && status != UserStatus.PENDING;
+        }
+    }
+}
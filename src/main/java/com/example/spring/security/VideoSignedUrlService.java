@@ -19,20 +19,55 @@ public class VideoSignedUrlService {
 
     private final String secret;
     private final long ttlSeconds;
+    private final int playbackFactor;
+    private final long maxTtlSeconds;
+
+    /**
+     * 스레드별 초기화된 Mac 재사용
+     * - Mac.getInstance + init(키 스케줄)을 서명마다 반복하지 않음
+     * - doFinal() 호출 시 Mac은 초기 상태로 리셋되므로 재사용 가능
+     */
+    private final ThreadLocal<Mac> macHolder;
 
     public VideoSignedUrlService(AppProperties props) {
         this.secret = props.getSignedUrl().getSecret();
         this.ttlSeconds = props.getSignedUrl().getTtlSeconds();
+        this.playbackFactor = props.getSignedUrl().getPlaybackFactor();
+        this.maxTtlSeconds = Math.max(ttlSeconds, props.getSignedUrl().getMaxTtlSeconds());
 
         if (secret == null || secret.isBlank()) {
             throw new IllegalStateException("app.signed-url.secret 값이 비어있습니다.");
         }
+
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGO);
+        this.macHolder = ThreadLocal.withInitial(() -> newMac(key));
     }
 
     public long computeExpiresEpochSeconds() {
         return Instant.now().getEpochSecond() + ttlSeconds;
     }
 
+    /**
+     * 영상 길이에 맞춘 만료 시각
+     * - 서명 URL은 Range 요청마다 exp를 확인하므로 재생이 끝날 때까지 유효해야 함
+     * - 길이를 모르면(0, 분석 전) 최대값
+     */
+    public long computeExpiresEpochSeconds(int durationSec) {
+        return Instant.now().getEpochSecond() + ttlSecondsFor(durationSec);
+    }
+
+    public long ttlSecondsFor(int durationSec) {
+        if (durationSec <= 0) return maxTtlSeconds;
+        return Math.min(maxTtlSeconds, ttlSeconds + (long) durationSec * playbackFactor);
+    }
+
+    /**
+     * 플레이어가 play-url을 다시 받아야 하는 시각 (만료 전 여유: ttl의 1/10, 최소 30초)
+     */
+    public long computeRefreshAtEpochSeconds(long expires, long ttl) {
+        return expires - Math.max(30, ttl / 10);
+    }
+
     public long getTtlSeconds() {
         return ttlSeconds;
     }
@@ -76,11 +111,16 @@ public class VideoSignedUrlService {
     }
 
     private String hmacBase64Url(String payload) {
+        Mac mac = macHolder.get();
+        byte[] raw = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
         try {
             Mac mac = Mac.getInstance(HMAC_ALGO);
-            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGO));
-            byte[] raw = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+            mac.init(key);
+            return mac;
         } catch (Exception e) {
             throw new IllegalStateException("Signed URL 서명 생성 실패", e);
         }
@@ -0,0 +1,111 @@
+package com.example.spring.service;
+
+import com.example.spring.catalog.ApprovedLectureCatalog;
+import com.example.spring.catalog.EnrolledLectureIds;
+import com.example.spring.common.exception.NotFoundException;
+import com.example.spring.dashboard.AdminDashboards;
+import com.example.spring.dto.CacheStatsDTO;
+import com.example.spring.dto.CatalogStatsDTO;
+import com.example.spring.dto.DashboardCacheStatsDTO;
+import com.example.spring.dto.PasswordHashCalibrationDTO;
+import com.example.spring.dto.RateLimitStatsDTO;
+import com.example.spring.dto.RefreshTokenCleanupStatsDTO;
+import com.example.spring.dto.RevokedTokenFilterStatsDTO;
+import com.example.spring.dto.SearchIndexStatsDTO;
+import com.example.spring.entity.User;
+import com.example.spring.repository.UserRepository;
+import com.example.spring.search.LectureSearchIndex;
+import com.example.spring.security.AuthRateLimiter;
+import com.example.spring.security.EnrollmentAccessCache;
+import com.example.spring.security.JwtService;
+import com.example.spring.security.PasswordHashing;
+import com.example.spring.security.RevokedRefreshTokens;
+import com.example.spring.security.RoleGuard;
+import com.example.spring.security.UserStatusCache;
+import com.example.spring.storage.VideoFileMetaCache;
+import com.example.spring.util.RefreshTokenCleanupScheduler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 관리자용 운영 지표 조회 (프로세스 내부 캐시 등)
+ */
+@Service
+@RequiredArgsConstructor
+public class AdminSystemService {
+
+    private final UserRepository userRepository;
+    private final VideoFileMetaCache videoFileMetaCache;
+    private final EnrollmentAccessCache enrollmentAccessCache;
+    private final UserStatusCache userStatusCache;
+    private final JwtService jwtService;
+    private final RefreshTokenCleanupScheduler refreshTokenCleanupScheduler;
+    private final RevokedRefreshTokens revokedRefreshTokens;
+    private final AuthRateLimiter authRateLimiter;
+    private final PasswordHashing passwordHashing;
+    private final LectureSearchIndex lectureSearchIndex;
+    private final ApprovedLectureCatalog approvedLectureCatalog;
+    private final EnrolledLectureIds enrolledLectureIds;
+    private final AdminDashboards adminDashboards;
+
+    public List<CacheStatsDTO> getCacheStats(Long adminUserId) {
+        requireAdmin(adminUserId);
+
+        return List.of(
+                CacheStatsDTO.from(videoFileMetaCache.stats()),
+                CacheStatsDTO.from(enrollmentAccessCache.stats()),
+                CacheStatsDTO.from(userStatusCache.stats()),
+                CacheStatsDTO.from(jwtService.claimsCacheStats()),
+                CacheStatsDTO.from(enrolledLectureIds.stats())
+        );
+    }
+
+    /** refresh 토큰 정리 배치 마지막 실행 결과 (실행 전이면 null) */
+    public RefreshTokenCleanupStatsDTO getRefreshTokenCleanupStats(Long adminUserId) {
+        requireAdmin(adminUserId);
+
+        RefreshTokenCleanupScheduler.RunStats lastRun = refreshTokenCleanupScheduler.lastRun();
+        return lastRun == null ? null : RefreshTokenCleanupStatsDTO.from(lastRun);
+    }
+
+    /** 폐기 refresh 토큰 bloom filter 상태 (추정/실측 오탐률) */
+    public RevokedTokenFilterStatsDTO getRevokedTokenFilterStats(Long adminUserId) {
+        requireAdmin(adminUserId);
+        return RevokedTokenFilterStatsDTO.from(revokedRefreshTokens.stats());
+    }
+
+    /** 인증 엔드포인트 속도 제한기별 키 수/허용/거부 건수 */
+    public List<RateLimitStatsDTO> getRateLimitStats(Long adminUserId) {
+        requireAdmin(adminUserId);
+        return authRateLimiter.stats().stream().map(RateLimitStatsDTO::from).toList();
+    }
+
+    public SearchIndexStatsDTO getSearchIndexStats(Long adminUserId) {
+        requireAdmin(adminUserId);
+        return SearchIndexStatsDTO.from(lectureSearchIndex.stats());
+    }
+
+    public CatalogStatsDTO getCatalogStats(Long adminUserId) {
+        requireAdmin(adminUserId);
+        return CatalogStatsDTO.from(approvedLectureCatalog.stats());
+    }
+
+    public List<DashboardCacheStatsDTO> getDashboardCacheStats(Long adminUserId) {
+        requireAdmin(adminUserId);
+        return adminDashboards.stats().stream().map(DashboardCacheStatsDTO::from).toList();
+    }
+
+    public PasswordHashCalibrationDTO calibratePasswordHash(Long adminUserId) {
+        requireAdmin(adminUserId);
+        return PasswordHashCalibrationDTO.from(passwordHashing, passwordHashing.calibrate());
+    }
+
+    private User requireAdmin(Long adminUserId) {
+        User admin = userRepository.findById(adminUserId)
+                .orElseThrow(() -> new NotFoundException("관리자 사용자를 찾을 수 없습니다."));
+        RoleGuard.requireAdmin(admin);
+        return admin;
+    }
+}
@@ -2,28 +2,33 @@ package com.example.spring.service;
 
 import com.example.spring.common.exception.BadRequestException;
 import com.example.spring.common.exception.NotFoundException;
+import com.example.spring.dashboard.AdminDashboards;
 import com.example.spring.dto.*;
 import com.example.spring.entity.User;
 import com.example.spring.entity.UserRole;
 import com.example.spring.entity.UserStatus;
-import com.example.spring.repository.RefreshTokenRepository;
 import com.example.spring.repository.UserRepository;
+import com.example.spring.security.RevokedRefreshTokens;
 import com.example.spring.security.RoleGuard;
+import com.example.spring.security.UserStatusCache;
+import com.example.spring.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import jakarta.transaction.Transactional;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-
 @Service
 @RequiredArgsConstructor
 public class AdminUserService {
 
+    private static final String USER_CURSOR = "u1";
+
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedRefreshTokens revokedRefreshTokens;
+    private final UserStatusCache userStatusCache;
+    private final AdminDashboards adminDashboards;
 
     public Page<AdminUserDTO> listUsers(Long adminUserId, String keyword, Pageable pageable) {
         requireAdmin(adminUserId);
@@ -37,6 +42,18 @@ public class AdminUserService {
         return page.map(this::toUserDto);
     }
 
+    /** 커서 목록 (userId desc, 전체 개수 없음) */
+    public CursorPageDTO<AdminUserDTO> listUsersByCursor(Long adminUserId, String keyword, String cursor, int size) {
+        requireAdmin(adminUserId);
+
+        String[] keys = PageCursor.decode(cursor, USER_CURSOR, 1);
+        Long cursorId = (keys == null) ? null : PageCursor.longKey(keys[0]);
+
+        Slice<User> slice = userRepository.searchUsersAfter(normalizeKeyword(keyword), cursorId, PageCursor.firstPage(size));
+        return CursorPageDTO.from(slice, u -> PageCursor.encode(USER_CURSOR, u.getUserId()))
+                .map(this::toUserDto);
+    }
+
     public AdminUserDTO getUserDetail(Long adminUserId, Long targetUserId) {
         requireAdmin(adminUserId);
         User user = findUserOrThrow(targetUserId);
@@ -56,9 +73,10 @@ public class AdminUserService {
         }
 
         target.changeRole(newRole.getCode());
+        userStatusCache.evict(targetUserId);
 
         // 역할 변경 후 재로그인 유도
-        refreshTokenRepository.revokeAllActiveByUserId(targetUserId);
+        revokedRefreshTokens.revokeAllActiveByUserId(targetUserId);
 
         return toUserDto(target);
     }
@@ -76,9 +94,10 @@ public class AdminUserService {
         }
 
         target.changeStatus(newStatus);
+        userStatusCache.evict(targetUserId);
 
         // 상태 변경 시 세션 정리
-        refreshTokenRepository.revokeAllActiveByUserId(targetUserId);
+        revokedRefreshTokens.revokeAllActiveByUserId(targetUserId);
 
         return toUserDto(target);
     }
@@ -87,32 +106,12 @@ public class AdminUserService {
     public void forceLogout(Long adminUserId, Long targetUserId) {
         requireAdmin(adminUserId);
         findUserOrThrow(targetUserId);
-        refreshTokenRepository.revokeAllActiveByUserId(targetUserId);
+        revokedRefreshTokens.revokeAllActiveByUserId(targetUserId);
     }
 
     public AdminUserDashboardDTO getDashboard(Long adminUserId) {
         requireAdmin(adminUserId);
-
-        long total = userRepository.count();
-        long normal = userRepository.countByUserRole(UserRole.USER.getCode());
-        long professors = userRepository.countByUserRole(UserRole.PROFESSOR.getCode());
-        long admins = userRepository.countByUserRole(UserRole.ADMIN.getCode());
-
-        long activeUsers = userRepository.countByUserStatus(UserStatus.ACTIVE);
-        long blockedUsers = userRepository.countByUserStatus(UserStatus.BLOCKED);
-
-        long todaySignups = userRepository.countByCreatedAtGreaterThanEqual(LocalDate.now().atStartOfDay());
-
-        return new AdminUserDashboardDTO(
-                total,
-                normal,
-                professors,
-                admins,
-                activeUsers,
-                blockedUsers,
-                todaySignups,
-                LocalDateTime.now()
-        );
+        return adminDashboards.userDashboard();
     }
 
     // =========================
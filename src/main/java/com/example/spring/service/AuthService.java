@@ -7,6 +7,8 @@ import com.example.spring.repository.EmailVerificationCodeRepository;
 import com.example.spring.repository.RefreshTokenRepository;
 import com.example.spring.repository.UserRepository;
 import com.example.spring.security.JwtService;
+import com.example.spring.security.RevokedRefreshTokens;
+import com.example.spring.security.UserStatusCache;
 import com.example.spring.util.TokenHash;
 import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.*;
@@ -29,6 +31,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final UserStatusCache userStatusCache;
+    private final RevokedRefreshTokens revokedRefreshTokens;
 
     public AuthService(UserRepository userRepository,
                        RefreshTokenRepository refreshTokenRepository,
@@ -36,7 +40,9 @@ public class AuthService {
                        EmailVerificationMailService emailVerificationMailService,
                        PasswordEncoder passwordEncoder,
                        AuthenticationManager authenticationManager,
-                       JwtService jwtService) {
+                       JwtService jwtService,
+                       UserStatusCache userStatusCache,
+                       RevokedRefreshTokens revokedRefreshTokens) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.emailVerificationCodeRepository = emailVerificationCodeRepository;
@@ -44,6 +50,8 @@ public class AuthService {
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.userStatusCache = userStatusCache;
+        this.revokedRefreshTokens = revokedRefreshTokens;
     }
 
     @Transactional
@@ -155,7 +163,7 @@ public class AuthService {
         }
 
         if (u.isBlocked()) {
-            refreshTokenRepository.revokeAllActiveByUserId(u.getUserId());
+            revokedRefreshTokens.revokeAllActiveByUserId(u.getUserId());
             throw new UnauthorizedException("차단된 계정입니다. 관리자에게 문의하세요.");
         }
 
@@ -174,6 +182,10 @@ public class AuthService {
      *      → 해당 userId의 모든 활성 refresh 토큰 revoke(전체 기기 로그아웃)
      *   2) DB에 존재하지만 만료/기타 상태면 401
      *   3) DB에 아예 없으면 401 (위조/탈취/이미 청소됨)
+     * - 폐기 토큰 bloom filter(RevokedRefreshTokens)는 revoke 시도 전 사전 확인에만 사용:
+     *   필터에 있는 토큰은 update 전에 DB로 확인해 재사용이면 바로 처리
+     * - revoke 실패 시에는 필터와 관계없이 DB로 확인 (다른 인스턴스가 방금 폐기한 토큰은
+     *   동기화 전까지 필터에 없으므로, 여기서 건너뛰면 재사용 탐지를 놓친다)
      */
     @Transactional
     public TokenPairDTO refresh(String refreshToken) {
@@ -194,6 +206,18 @@ public class AuthService {
 
         LocalDateTime now = LocalDateTime.now();
 
+        // 폐기 목록에 있을 수 있으면 먼저 DB로 확인 (재사용이면 update 없이 바로 처리)
+        if (revokedRefreshTokens.mightBeRevoked(hash)) {
+            boolean revoked = refreshTokenRepository.findByTokenHash(hash)
+                    .map(RefreshToken::isRevoked)
+                    .orElse(false);
+            revokedRefreshTokens.recordConfirmation(revoked);
+            if (revoked) {
+                revokedRefreshTokens.revokeAllActiveByUserId(userId);
+                throw new RefreshReplayDetectedException("refresh 토큰 재사용이 감지되어 모든 세션에서 로그아웃 처리했습니다.");
+            }
+        }
+
         // 원자적 revoke 시도 (동시 요청/재사용 방어 1차)
         int updated = refreshTokenRepository.revokeIfValid(hash, now);
         if (updated != 1) {
@@ -201,7 +225,7 @@ public class AuthService {
             refreshTokenRepository.findByTokenHash(hash).ifPresentOrElse(rt -> {
                 // revoked=true 인데 JWT 자체는 유효(파싱 성공) → 재사용(도난) 가능성이 큼
                 if (rt.isRevoked()) {
-                    refreshTokenRepository.revokeAllActiveByUserId(userId);
+                    revokedRefreshTokens.revokeAllActiveByUserId(userId);
                     throw new RefreshReplayDetectedException("refresh 토큰 재사용이 감지되어 모든 세션에서 로그아웃 처리했습니다.");
                 }
                 // revoked=false지만 만료/기타 조건 불일치
@@ -211,22 +235,23 @@ public class AuthService {
                 throw new UnauthorizedException("등록되지 않은 refresh 토큰입니다.");
             });
         }
+        revokedRefreshTokens.markRevoked(hash);
 
         User u = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
         if (u.isPending()) {
-            refreshTokenRepository.revokeAllActiveByUserId(userId);
+            revokedRefreshTokens.revokeAllActiveByUserId(userId);
             throw new UnauthorizedException("이메일 인증 후 로그인할 수 있습니다.");
         }
 
         if (u.isWithdrawn()) {
-            refreshTokenRepository.revokeAllActiveByUserId(userId);
+            revokedRefreshTokens.revokeAllActiveByUserId(userId);
             throw new UnauthorizedException("탈퇴한 계정입니다.");
         }
 
         if (u.isBlocked()) {
-            refreshTokenRepository.revokeAllActiveByUserId(userId);
+            revokedRefreshTokens.revokeAllActiveByUserId(userId);
             throw new UnauthorizedException("차단된 계정입니다. 관리자에게 문의하세요.");
         }
 
@@ -243,7 +268,9 @@ public class AuthService {
     @Transactional
     public void logout(String refreshToken) {
         if (refreshToken == null || refreshToken.isBlank()) return;
-        refreshTokenRepository.revokeIfActive(TokenHash.sha256Hex(refreshToken));
+        String hash = TokenHash.sha256Hex(refreshToken);
+        refreshTokenRepository.revokeIfActive(hash);
+        revokedRefreshTokens.markRevoked(hash);
     }
 
     @Transactional
@@ -299,14 +326,15 @@ public class AuthService {
 
         String withdrawnEmail = "withdrawn_" + user.getUserId() + "_" + user.getUserEmail();
 
-        refreshTokenRepository.revokeAllActiveByUserId(currentUserId);
+        revokedRefreshTokens.revokeAllActiveByUserId(currentUserId);
 
         user.changeEmail(withdrawnEmail);
         user.withdraw();
         userRepository.saveAndFlush(user);
+        userStatusCache.evict(currentUserId);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
     public void findEmail(FindEmailRequestDTO req) {
         String name = req.getName() == null ? null : req.getName().trim();
         String nickname = req.getNickname() == null ? null : req.getNickname().trim();
@@ -414,8 +442,9 @@ public class AuthService {
 
         user.changePassword(passwordEncoder.encode(newPassword));
         userRepository.saveAndFlush(user);
+        userStatusCache.evict(user.getUserId());
 
-        refreshTokenRepository.revokeAllActiveByUserId(user.getUserId());
+        revokedRefreshTokens.revokeAllActiveByUserId(user.getUserId());
         emailVerificationCodeRepository.deleteByEmailAndPurpose(email, VerificationPurpose.PASSWORD_RESET);
     }
 
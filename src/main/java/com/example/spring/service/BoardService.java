@@ -2,11 +2,14 @@ package com.example.spring.service;
 
 import com.example.spring.dto.BoardRequestDTO;
 import com.example.spring.dto.BoardResponseDTO;
+import com.example.spring.dto.CursorPageDTO;
 import com.example.spring.entity.*;
 import com.example.spring.repository.*;
+import com.example.spring.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +20,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BoardService {
 
+    private static final String BOARD_CURSOR = "b1";
+
     private final UserRepository userRepository;
     private final BoardRepository boardRepository;
     private final BoardCommentRepository boardCommentRepository;
@@ -88,6 +93,23 @@ public class BoardService {
                 .map(this::toDTO);
     }
 
+    /** 커서 검색 (고정글 먼저, 최신순, 전체 개수 없음) */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BoardResponseDTO> searchBoardByCursor(BoardType boardType, Long lectureId,
+                                                              String writerName, String title,
+                                                              String cursor, int size){
+        String[] keys = PageCursor.decode(cursor, BOARD_CURSOR, 3);
+        Boolean cursorPinned = (keys == null) ? null : PageCursor.booleanKey(keys[0]);
+        LocalDateTime cursorAt = (keys == null) ? null : PageCursor.timeKey(keys[1]);
+        Long cursorId = (keys == null) ? null : PageCursor.longKey(keys[2]);
+
+        Slice<Board> slice = boardRepository.searchBoardAfter(boardType, lectureId, writerName, title,
+                cursorPinned, cursorAt, cursorId, PageCursor.firstPage(size));
+        return CursorPageDTO.from(slice,
+                        b -> PageCursor.encode(BOARD_CURSOR, b.isPinned(), b.getCreatedAt(), b.getBoardId()))
+                .map(this::toDTO);
+    }
+
     @Transactional
     public BoardResponseDTO board(Long boardId){
         Board board = getBoard(boardId);
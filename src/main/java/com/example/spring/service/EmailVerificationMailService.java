@@ -1,40 +1,57 @@
 package com.example.spring.service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import com.example.spring.entity.MailOutbox;
+import com.example.spring.mail.MailDispatcher;
+import com.example.spring.repository.MailOutboxRepository;
+import com.example.spring.util.AfterCommit;
 import org.springframework.stereotype.Service;
 
+/**
+ * 인증/안내 메일.
+ *
+ * SMTP로 바로 보내지 않고 호출한 트랜잭션 안에서 mail_outbox에 저장한 뒤,
+ * 커밋 후 MailDispatcher가 별도 스레드에서 발송한다.
+ * - 요청 스레드/DB 커넥션이 SMTP 응답(최대 timeout)을 기다리지 않음
+ * - 트랜잭션이 롤백되면 메일도 나가지 않음
+ */
 @Service
 public class EmailVerificationMailService {
 
-    private final JavaMailSender mailSender;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailDispatcher mailDispatcher;
 
-    public EmailVerificationMailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailVerificationMailService(MailOutboxRepository mailOutboxRepository, MailDispatcher mailDispatcher) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailDispatcher = mailDispatcher;
     }
 
     public void sendVerificationCode(String email, String code) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("[LMS] 이메일 인증번호 안내");
-        message.setText("인증번호는 [" + code + "] 입니다.\n5분 이내에 입력해주세요.");
-        mailSender.send(message);
+        enqueue(email,
+                "[LMS] 이메일 인증번호 안내",
+                "인증번호는 [" + code + "] 입니다.\n5분 이내에 입력해주세요."
+        );
     }
 
     public void sendPasswordResetCode(String email, String code) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("[LMS] 비밀번호 재설정 인증번호 안내");
-        message.setText("비밀번호 재설정 인증번호는 [" + code + "] 입니다.\n5분 이내에 입력해주세요.");
-        mailSender.send(message);
+        enqueue(email,
+                "[LMS] 비밀번호 재설정 인증번호 안내",
+                "비밀번호 재설정 인증번호는 [" + code + "] 입니다.\n5분 이내에 입력해주세요."
+        );
     }
 
     public void sendFoundEmailNotice(String email) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("[LMS] 가입 계정 안내");
-        message.setText("요청하신 계정 찾기 결과,\n해당 이메일 주소가 LMS 가입 계정으로 확인되었습니다.\n이 메일을 받으셨다면 해당 이메일로 로그인해주세요.");
-        mailSender.send(message);
+        enqueue(email,
+                "[LMS] 가입 계정 안내",
+                "요청하신 계정 찾기 결과,\n해당 이메일 주소가 LMS 가입 계정으로 확인되었습니다.\n이 메일을 받으셨다면 해당 이메일로 로그인해주세요."
+        );
     }
-}
\ No newline at end of file
+
+    private void enqueue(String email, String subject, String text) {
+        mailOutboxRepository.save(MailOutbox.builder()
+                .recipient(email)
+                .subject(subject)
+                .body(text)
+                .build());
+        AfterCommit.run(mailDispatcher::kick);
+    }
+}
@@ -1,23 +1,32 @@
 package com.example.spring.service;
 
+import com.example.spring.catalog.EnrolledLectureIds;
 import com.example.spring.common.exception.ForbiddenException;
 import com.example.spring.dto.*;
 import com.example.spring.entity.*;
 import com.example.spring.common.exception.BadRequestException;
 import com.example.spring.common.exception.NotFoundException;
 import com.example.spring.repository.*;
+import com.example.spring.security.EnrollmentAccessCache;
+import com.example.spring.util.PageCursor;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 public class EnrollmentService {
 
+    private static final String ENROLLMENT_CURSOR = "e1";
+
     private final UserRepository userRepository;
     private final LectureRepository lectureRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentAccessCache enrollmentAccessCache;
+    private final EnrolledLectureIds enrolledLectureIds;
 
     // =========================================================
     // 수강 신청
@@ -44,6 +53,8 @@ public class EnrollmentService {
             enrollment.reactivateAndReset();
         }
 
+        enrollmentAccessCache.evict(currentUserId, lectureId);
+        enrolledLectureIds.evict(currentUserId);
         return toResponse(enrollment);
     }
 
@@ -64,6 +75,8 @@ public class EnrollmentService {
             enrollment.cancel();
         }
 
+        enrollmentAccessCache.evict(currentUserId, lectureId);
+        enrolledLectureIds.evict(currentUserId);
         return toResponse(enrollment);
     }
 
@@ -134,6 +147,41 @@ public class EnrollmentService {
         return result.map(this::toMyEnrollmentItemDTO);
     }
 
+    /**
+     * 내 수강 목록 커서 조회 (recent 정렬: lastAccessedAt desc, enrollmentId desc, 전체 개수 없음)
+     * - 학습 기록이 없는 수강(lastAccessedAt null)은 뒤쪽에 enrollmentId desc로 이어짐
+     */
+    @Transactional
+    public CursorPageDTO<MyEnrollmentItemDTO> listMyEnrollmentsByCursor(
+            Long currentUserId,
+            String status,
+            String cursor,
+            int size
+    ) {
+        User me = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new NotFoundException("사용자를 찾을 수 없습니다."));
+        requireUserOrAdmin(me);
+
+        EnrollmentStatus parsedStatus = parseEnrollmentStatusOrNull(status);
+        Pageable pageable = PageCursor.firstPage(size);
+
+        String[] keys = PageCursor.decode(cursor, ENROLLMENT_CURSOR, 2);
+        Slice<Enrollment> slice;
+        if (keys == null) {
+            slice = enrollmentRepository.findMyEnrollmentsAfter(currentUserId, parsedStatus, null, null, pageable);
+        } else {
+            LocalDateTime cursorAt = PageCursor.timeKey(keys[0]);
+            long cursorId = PageCursor.longKey(keys[1]);
+            slice = (cursorAt == null)
+                    ? enrollmentRepository.findMyUnaccessedEnrollmentsAfter(currentUserId, parsedStatus, cursorId, pageable)
+                    : enrollmentRepository.findMyEnrollmentsAfter(currentUserId, parsedStatus, cursorAt, cursorId, pageable);
+        }
+
+        return CursorPageDTO.from(slice,
+                        e -> PageCursor.encode(ENROLLMENT_CURSOR, e.getLastAccessedAt(), e.getEnrollmentId()))
+                .map(this::toMyEnrollmentItemDTO);
+    }
+
     /**
      * 교수: 특정 강의 수강생 목록(+상태 필터)
      * - PROFESSOR: 본인 강의만
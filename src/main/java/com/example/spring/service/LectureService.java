@@ -1,32 +1,54 @@
 package com.example.spring.service;
 
+import com.example.spring.catalog.ApprovedLectureCatalog;
+import com.example.spring.catalog.EnrolledLectureIds;
 import com.example.spring.common.exception.BadRequestException;
 import com.example.spring.common.exception.ForbiddenException;
 import com.example.spring.common.exception.NotFoundException;
+import com.example.spring.dashboard.AdminDashboards;
 import com.example.spring.dto.*;
 import com.example.spring.entity.*;
 import com.example.spring.repository.*;
+import com.example.spring.media.LectureVideoUploadedEvent;
+import com.example.spring.search.LectureSearchIndex;
 import com.example.spring.security.RoleGuard;
+import com.example.spring.storage.ChunkedUploadStorage;
 import com.example.spring.storage.LocalFileStorage;
+import com.example.spring.storage.ThumbnailVariants;
+import com.example.spring.storage.VideoFileMetaCache;
+import com.example.spring.util.PageCursor;
 import com.example.spring.youtube.YoutubeClient;
 import com.example.spring.youtube.YoutubeParser;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.time.LocalDate;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class LectureService {
 
+    private static final String CARD_CURSOR = "l1";
+
+    /** 검색어 결과(점수순)는 keyset이 없으므로 순위 위치를 커서로 */
+    private static final String RANKED_CARD_CURSOR = "lr1";
+
     private final UserRepository userRepository;
     private final LectureRepository lectureRepository;
     private final LectureVideoRepository lectureVideoRepository;
@@ -35,7 +57,14 @@ public class LectureService {
     private final UserNpcAnswerRepository userNpcAnswerRepository;
 
     private final LocalFileStorage localFileStorage;
+    private final ChunkedUploadStorage chunkedUploadStorage;
+    private final VideoFileMetaCache videoFileMetaCache;
     private final YoutubeClient youtubeClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LectureSearchIndex lectureSearchIndex;
+    private final ApprovedLectureCatalog approvedLectureCatalog;
+    private final EnrolledLectureIds enrolledLectureIds;
+    private final AdminDashboards adminDashboards;
 
     // =========================================================
     // 1) 강사: 강의 CRUD
@@ -53,7 +82,9 @@ public class LectureService {
                 .professor(professor)
                 .build();
 
-        return toLectureResponse(lectureRepository.save(lecture));
+        Lecture saved = lectureRepository.save(lecture);
+        lectureSearchIndex.sync(saved);
+        return toLectureResponse(saved);
     }
 
     @Transactional
@@ -62,6 +93,8 @@ public class LectureService {
         requireLectureOwner(lecture, currentUserId);
 
         lecture.updateInfo(req.getTitle(), req.getDescription(), req.getCountry(), req.getLanguage());
+        lectureSearchIndex.sync(lecture);
+        approvedLectureCatalog.refresh(lectureId);
         return toLectureResponse(lecture);
     }
 
@@ -79,11 +112,11 @@ public class LectureService {
         return page.map(this::toLectureResponse);
     }
 
-    public Page<LectureListItemDTO> listMyLectureCardItems(Long userId, String status, Pageable pageable) {
+    public Page<LectureListItemDTO> listMyLectureCardItems(Long userId, String status, Integer thumbWidth, Pageable pageable) {
         requireProfessorUser(userId);
 
         LectureStatus st = isAll(status) ? null : parseLectureStatus(status, "status 값이 올바르지 않습니다.");
-        return lectureRepository.findMyLectureCardItems(userId, st, pageable);
+        return withThumbnailVariant(lectureRepository.findMyLectureCardItems(userId, st, pageable), thumbWidth);
     }
 
     // =========================================================
@@ -146,6 +179,8 @@ public class LectureService {
         }
 
         lecture.approve(admin);
+        lectureSearchIndex.sync(lecture);
+        approvedLectureCatalog.refresh(lectureId);
         return toLectureResponse(lecture);
     }
 
@@ -155,9 +190,30 @@ public class LectureService {
         Lecture lecture = findLectureOrThrow(lectureId);
 
         lecture.reject(admin, reason);
+        lectureSearchIndex.sync(lecture);
+        approvedLectureCatalog.refresh(lectureId);
         return toLectureResponse(lecture);
     }
 
+    /**
+     * 일괄 승인
+     * - 강의(행 잠금) 1회 + 영상 1회 조회, 체크리스트는 메모리에서 판정
+     * - 통과한 강의만 update 1회로 승인, 강의별 결과 반환 (일부가 걸러져도 나머지는 처리)
+     * - 단건 승인과 달리 PENDING 강의만 대상 (force=true는 체크리스트만 건너뜀)
+     */
+    @Transactional
+    public AdminLectureBulkDecisionResultDTO bulkApproveLectures(Long adminUserId, List<Long> lectureIds, boolean force) {
+        User admin = requireAdminUser(adminUserId);
+        return decidePendingLectures(admin, lectureIds, LectureStatus.APPROVED, null, !force);
+    }
+
+    /** 일괄 반려 (PENDING 강의만, 같은 사유) */
+    @Transactional
+    public AdminLectureBulkDecisionResultDTO bulkRejectLectures(Long adminUserId, List<Long> lectureIds, String reason) {
+        User admin = requireAdminUser(adminUserId);
+        return decidePendingLectures(admin, lectureIds, LectureStatus.REJECTED, reason, false);
+    }
+
     @Transactional
     public LectureResponseDTO adminInactivateLecture(Long adminUserId, Long lectureId) {
         User admin = findUserOrThrow(adminUserId);
@@ -170,6 +226,8 @@ public class LectureService {
         }
 
         lecture.inactivate(admin);
+        lectureSearchIndex.sync(lecture);
+        approvedLectureCatalog.refresh(lectureId);
         return toLectureResponse(lecture);
     }
 
@@ -185,6 +243,8 @@ public class LectureService {
         }
 
         lecture.reactivate(admin);
+        lectureSearchIndex.sync(lecture);
+        approvedLectureCatalog.refresh(lectureId);
         return toLectureResponse(lecture);
     }
 
@@ -196,31 +256,7 @@ public class LectureService {
 
     public AdminLectureDashboardDTO getAdminLectureDashboard(Long adminUserId) {
         requireAdminUser(adminUserId);
-
-        LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
-
-        long total = lectureRepository.count();
-        long pending = lectureRepository.countByStatus(LectureStatus.PENDING);
-        long approved = lectureRepository.countByStatus(LectureStatus.APPROVED);
-        long rejected = lectureRepository.countByStatus(LectureStatus.REJECTED);
-
-        long todayNew = lectureRepository.countByCreatedAtGreaterThanEqual(startOfToday);
-        long todayApproved = lectureRepository.countByStatusAndCreatedAtGreaterThanEqual(
-                LectureStatus.APPROVED, startOfToday
-        );
-
-        long pendingWithoutVideo = lectureRepository.countByStatusAndNoVideo(LectureStatus.PENDING);
-
-        return new AdminLectureDashboardDTO(
-                total,
-                pending,
-                approved,
-                rejected,
-                todayNew,
-                todayApproved,
-                pendingWithoutVideo,
-                LocalDateTime.now()
-        );
+        return adminDashboards.lectureDashboard();
     }
 
     public Page<AdminLectureListItemDTO> adminListLecturesWithChecklist(Long adminUserId, String status, Pageable pageable) {
@@ -229,30 +265,30 @@ public class LectureService {
         String st = (status == null || status.isBlank()) ? "PENDING" : status;
 
         Page<Lecture> page = isAll(st)
-                ? lectureRepository.findAll(pageable)
+                ? lectureRepository.findAllBy(pageable)
                 : lectureRepository.findByStatus(
                 parseLectureStatus(st, "status 값이 올바르지 않습니다. (ALL, PENDING, APPROVED, REJECTED)"),
                 pageable
         );
 
-        return page.map(this::toAdminListItemWithChecklist);
+        return toAdminListItemsWithChecklist(page);
     }
 
     public Page<AdminLectureListItemDTO> adminListPendingWithoutVideo(Long adminUserId, Pageable pageable) {
         requireAdminUser(adminUserId);
 
         Page<Lecture> page = lectureRepository.findByStatusAndNoVideo(LectureStatus.PENDING, pageable);
-        return page.map(this::toAdminListItemWithChecklist);
+        return toAdminListItemsWithChecklist(page);
     }
 
-    public Page<LectureListItemDTO> adminLectureCardItems(Long adminUserId, String status, Pageable pageable) {
+    public Page<LectureListItemDTO> adminLectureCardItems(Long adminUserId, String status, Integer thumbWidth, Pageable pageable) {
         requireAdminUser(adminUserId);
 
         LectureStatus st = isAll(status) ? null : parseLectureStatus(
                 status, "status 값이 올바르지 않습니다. (ALL, PENDING, APPROVED, REJECTED)"
         );
 
-        return lectureRepository.adminLectureCardItems(st, pageable);
+        return withThumbnailVariant(lectureRepository.adminLectureCardItems(st, pageable), thumbWidth);
     }
 
     public Page<LectureListItemDTO> adminPendingWithoutVideoCardItems(Long adminUserId, Pageable pageable) {
@@ -274,6 +310,23 @@ public class LectureService {
         String normLang = normalizeLanguage(language);
         String normKeyword = normalizeKeyword(keyword);
 
+        if (enrolling != null && currentUserId == null) {
+            throw new BadRequestException("enrolling 필터는 로그인 후 사용 가능합니다.");
+        }
+
+        // 검색어가 있으면 색인으로 id(점수순)를 찾고 해당 페이지만 조회 (색인 결과가 없으면 아래 like 쿼리)
+        List<Long> ids = searchApprovedIds(normKeyword, normLang, currentUserId, enrolling);
+        if (!ids.isEmpty()) {
+            List<Long> pageIds = pageSlice(ids, pageable);
+            List<Lecture> rows = pageIds.isEmpty()
+                    ? List.of()
+                    : lectureRepository.findByLectureIdInAndStatus(pageIds, LectureStatus.APPROVED);
+            List<LectureResponseDTO> content = inIdOrder(pageIds, rows, Lecture::getLectureId).stream()
+                    .map(this::toLectureResponse)
+                    .toList();
+            return new PageImpl<>(content, pageable, ids.size());
+        }
+
         // enrolling 필터가 없으면: 승인 강의 일반 검색
         if (enrolling == null) {
             return lectureRepository.searchApproved(
@@ -285,11 +338,6 @@ public class LectureService {
                     .map(this::toLectureResponse);
         }
 
-        // enrolling=true/false 사용 시 로그인 필수
-        if (currentUserId == null) {
-            throw new BadRequestException("enrolling 필터는 로그인 후 사용 가능합니다.");
-        }
-
         return lectureRepository.searchApprovedByEnrollment(
                         LectureStatus.APPROVED,
                         currentUserId,
@@ -315,6 +363,7 @@ public class LectureService {
             String language,
             Boolean enrolling,
             String keyword,
+            Integer thumbWidth,
             Pageable pageable
     ) {
         String normLang = normalizeLanguage(language);
@@ -324,7 +373,28 @@ public class LectureService {
             throw new BadRequestException("enrolling 필터는 로그인 후 사용 가능합니다.");
         }
 
-        return lectureRepository.approvedLectureCardItems(
+        // 검색어가 있으면 색인 (결과가 없으면 아래 like 쿼리)
+        List<Long> ids = searchApprovedIds(normKeyword, normLang, currentUserId, enrolling);
+        if (!ids.isEmpty()) {
+            List<Long> pageIds = pageSlice(ids, pageable);
+            Page<LectureListItemDTO> page = new PageImpl<>(approvedCards(pageIds), pageable, ids.size());
+            return withThumbnailVariant(page, thumbWidth);
+        }
+
+        // 검색어가 없으면 메모리 스냅샷 (lectureId desc - 컨트롤러 정렬과 동일), enrolling만 사용자별 id 목록으로
+        if (normKeyword == null && approvedLectureCatalog.isReady()) {
+            List<LectureListItemDTO> items = approvedLectureCatalog.list(normLang);
+            if (enrolling != null) {
+                long[] active = enrolledLectureIds.activeLectureIds(currentUserId);
+                items = items.stream()
+                        .filter(item -> enrolledLectureIds.contains(active, item.lectureId()) == enrolling)
+                        .toList();
+            }
+            Page<LectureListItemDTO> page = new PageImpl<>(pageSlice(items, pageable), pageable, items.size());
+            return withThumbnailVariant(page, thumbWidth);
+        }
+
+        Page<LectureListItemDTO> page = lectureRepository.approvedLectureCardItems(
                 LectureStatus.APPROVED,
                 currentUserId,
                 enrolling,
@@ -333,6 +403,131 @@ public class LectureService {
                 normKeyword,
                 pageable
         );
+        return withThumbnailVariant(page, thumbWidth);
+    }
+
+    /**
+     * 카드 목록 커서 조회 (createdAt desc, lectureId desc, 전체 개수 없음)
+     * - 검색어가 있고 색인 결과가 있으면 점수순, 커서는 순위 위치 (searchApprovedIds 참고)
+     */
+    public CursorPageDTO<LectureListItemDTO> listApprovedLectureCardItemsByCursor(
+            Long currentUserId,
+            String language,
+            Boolean enrolling,
+            String keyword,
+            Integer thumbWidth,
+            String cursor,
+            int size
+    ) {
+        String normLang = normalizeLanguage(language);
+        String normKeyword = normalizeKeyword(keyword);
+
+        if (enrolling != null && currentUserId == null) {
+            throw new BadRequestException("enrolling 필터는 로그인 후 사용 가능합니다.");
+        }
+
+        Pageable pageable = PageCursor.firstPage(size);
+
+        // 순위 커서는 색인 결과가 있을 때만 발급 (첫 페이지에 결과가 없었으면 이후도 like 쿼리 커서)
+        boolean ranked = PageCursor.isKind(cursor, RANKED_CARD_CURSOR);
+        List<Long> ids = (ranked || cursor == null || cursor.isBlank())
+                ? searchApprovedIds(normKeyword, normLang, currentUserId, enrolling)
+                : List.of();
+        if (ranked || !ids.isEmpty()) {
+            String[] keys = PageCursor.decode(cursor, RANKED_CARD_CURSOR, 1);
+            int from = (keys == null) ? 0 : (int) Math.max(0, Math.min(Integer.MAX_VALUE, PageCursor.longKey(keys[0])));
+
+            List<Long> pageIds = (from >= ids.size())
+                    ? List.of()
+                    : ids.subList(from, Math.min(ids.size(), from + pageable.getPageSize()));
+
+            int next = from + pageIds.size();
+            String nextCursor = (next < ids.size()) ? PageCursor.encode(RANKED_CARD_CURSOR, next) : null;
+            return CursorPageDTO.of(approvedCards(pageIds), nextCursor)
+                    .map(item -> withThumbnailVariant(item, thumbWidth));
+        }
+
+        String[] keys = PageCursor.decode(cursor, CARD_CURSOR, 2);
+        LocalDateTime cursorAt = (keys == null) ? null : PageCursor.timeKey(keys[0]);
+        Long cursorId = (keys == null) ? null : PageCursor.longKey(keys[1]);
+
+        Slice<LectureListItemDTO> slice = lectureRepository.approvedLectureCardItemsAfter(
+                LectureStatus.APPROVED,
+                currentUserId,
+                enrolling,
+                EnrollmentStatus.CANCELED,
+                normLang,
+                normKeyword,
+                cursorAt,
+                cursorId,
+                pageable
+        );
+        return CursorPageDTO.from(slice, item -> PageCursor.encode(CARD_CURSOR, item.createdAt(), item.lectureId()))
+                .map(item -> withThumbnailVariant(item, thumbWidth));
+    }
+
+    /**
+     * 검색 색인으로 찾은 승인 강의 id (점수순, 정렬 파라미터는 무시)
+     * - 일치 방식: 라틴 문자는 단어 앞부분 일치, 한글 등은 2글자 단위 (like '%keyword%'와 다름)
+     * - enrolling 필터는 색인 안에서 먼저 적용하고, 결과 수는 그 뒤 app.search.max-results까지
+     *   (페이지 totalElements도 이 상한에서 멈춤)
+     * - 빈 목록이면 like 쿼리로 다시 찾는다: 검색어 없음, 색인 준비 전, 구두점만 있는 검색어,
+     *   단어 중간 일치("script" → "JavaScript")처럼 색인으로 찾을 수 없는 경우
+     */
+    private List<Long> searchApprovedIds(String keyword, String language, Long userId, Boolean enrolling) {
+        if (keyword == null || !lectureSearchIndex.isReady()) return List.of();
+        if (enrolling == null) return lectureSearchIndex.search(keyword, language, null);
+
+        long[] active = enrolledLectureIds.activeLectureIds(userId);
+        return lectureSearchIndex.search(keyword, language,
+                id -> enrolledLectureIds.contains(active, id) == enrolling);
+    }
+
+    /** 승인 강의 카드 (id 순서 유지) - 스냅샷이 준비됐으면 메모리에서, 아니면 한 번에 조회 */
+    private List<LectureListItemDTO> approvedCards(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        if (approvedLectureCatalog.isReady()) {
+            List<LectureListItemDTO> out = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                LectureListItemDTO item = approvedLectureCatalog.get(id);
+                if (item != null) out.add(item);
+            }
+            return out;
+        }
+        List<LectureListItemDTO> rows = lectureRepository.approvedLectureCardItemsByIds(LectureStatus.APPROVED, ids);
+        return inIdOrder(ids, rows, LectureListItemDTO::lectureId);
+    }
+
+    private static <T> List<T> pageSlice(List<T> items, Pageable pageable) {
+        if (pageable.isUnpaged()) return items;
+        long from = pageable.getOffset();
+        if (from >= items.size()) return List.of();
+        return items.subList((int) from, (int) Math.min(items.size(), from + pageable.getPageSize()));
+    }
+
+    /** id 목록 순서대로 정렬 (조회 시점에 승인 해제/삭제된 강의는 빠짐) */
+    private static <T> List<T> inIdOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : rows) byId.putIfAbsent(idOf.apply(row), row);
+
+        List<T> out = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row != null) out.add(row);
+        }
+        return out;
+    }
+
+    /** 카드 썸네일을 표시 폭(px)에 맞는 파생 이미지로 교체 (thumbWidth 없으면 원본 그대로) */
+    private Page<LectureListItemDTO> withThumbnailVariant(Page<LectureListItemDTO> page, Integer thumbWidth) {
+        if (thumbWidth == null) return page;
+        return page.map(item -> withThumbnailVariant(item, thumbWidth));
+    }
+
+    private LectureListItemDTO withThumbnailVariant(LectureListItemDTO item, Integer thumbWidth) {
+        if (thumbWidth == null) return item;
+        String url = ThumbnailVariants.select(item.thumbnailUrl(), item.thumbnailWidths(), thumbWidth);
+        return Objects.equals(url, item.thumbnailUrl()) ? item : item.withThumbnailUrl(url);
     }
 
     // =========================================================
@@ -345,10 +540,16 @@ public class LectureService {
         requireLectureOwner(lecture, currentUserId);
         requireNoExistingVideo(lectureId);
 
-        var storedVideo = localFileStorage.saveVideo(file);
+        // 썸네일 검증/저장을 먼저 (큰 영상 파일을 쓴 뒤 썸네일 때문에 실패하지 않도록)
         var storedThumb = localFileStorage.saveThumbnail(thumbnail);
+        var storedVideo = localFileStorage.saveVideo(file);
+        return saveUploadedVideo(lecture, storedVideo, storedThumb);
+    }
 
+    private LectureVideoResponseDTO saveUploadedVideo(Lecture lecture, LocalFileStorage.StoredFile storedVideo,
+                                                      LocalFileStorage.StoredImage storedThumb) {
         String thumbnailUrl = (storedThumb == null) ? null : storedThumb.localPath();
+        String thumbnailWidths = (storedThumb == null) ? null : storedThumb.variantWidths();
 
         LectureVideo video = LectureVideo.ofUpload(
                 lecture,
@@ -357,11 +558,16 @@ public class LectureService {
                 storedVideo.storedFilename(),
                 storedVideo.mimeType(),
                 storedVideo.fileSizeBytes(),
-                0,
-                thumbnailUrl
+                storedVideo.contentHash(),
+                0, // 길이/코덱은 커밋 후 MediaPipeline이 채움
+                thumbnailUrl,
+                thumbnailWidths
         );
 
-        return toVideoResponse(lectureVideoRepository.save(video));
+        LectureVideo saved = lectureVideoRepository.save(video);
+        eventPublisher.publishEvent(new LectureVideoUploadedEvent(saved.getVideoId()));
+        approvedLectureCatalog.refresh(lecture.getLectureId());
+        return toVideoResponse(saved);
     }
 
     @Transactional
@@ -383,7 +589,9 @@ public class LectureService {
                 meta.thumbnailUrl()
         );
 
-        return toVideoResponse(lectureVideoRepository.save(video));
+        LectureVideo saved = lectureVideoRepository.save(video);
+        approvedLectureCatalog.refresh(lectureId);
+        return toVideoResponse(saved);
     }
 
     public Optional<LectureVideoResponseDTO> getLectureVideo(Long lectureId) {
@@ -412,6 +620,7 @@ public class LectureService {
 
         boolean updated = isYoutubeMetaChanged(video, meta);
         video.updateYoutubeMeta(meta.videoTitle(), meta.channelTitle(), meta.durationSec(), meta.thumbnailUrl());
+        if (updated) approvedLectureCatalog.refresh(lectureId);
 
         return new VideoMetaRefreshResponseDTO(updated, toVideoResponse(video));
     }
@@ -426,7 +635,9 @@ public class LectureService {
 
         deletePhysicalFileIfUpload(video);
         deletePhysicalThumbnailIfExists(video);
+        videoFileMetaCache.evict(video.getVideoId());
         lectureVideoRepository.delete(video);
+        approvedLectureCatalog.refresh(lectureId);
     }
 
     @Transactional
@@ -451,6 +662,7 @@ public class LectureService {
         lectureVideoRepository.findByLecture_LectureId(lectureId).ifPresent(video -> {
             deletePhysicalFileIfUpload(video);
             deletePhysicalThumbnailIfExists(video);
+            videoFileMetaCache.evict(video.getVideoId());
             lectureVideoRepository.delete(video);
         });
 
@@ -461,6 +673,8 @@ public class LectureService {
 
         // 마지막으로 강의 삭제
         lectureRepository.delete(lecture);
+        lectureSearchIndex.remove(lectureId);
+        approvedLectureCatalog.refresh(lectureId);
     }
 
     @Transactional
@@ -471,8 +685,10 @@ public class LectureService {
         lectureVideoRepository.findByLecture_LectureId(lectureId).ifPresent(v -> {
             deletePhysicalFileIfUpload(v);
             deletePhysicalThumbnailIfExists(v);
+            videoFileMetaCache.evict(v.getVideoId());
             lectureVideoRepository.delete(v);
         });
+        lectureVideoRepository.flush(); // 강의당 1개 unique 제약: 새 행 insert 전에 삭제 반영
 
         return uploadLectureVideo(currentUserId, lectureId, file, thumbnail);
     }
@@ -485,18 +701,85 @@ public class LectureService {
         lectureVideoRepository.findByLecture_LectureId(lectureId).ifPresent(v -> {
             deletePhysicalFileIfUpload(v);
             deletePhysicalThumbnailIfExists(v);
+            videoFileMetaCache.evict(v.getVideoId());
             lectureVideoRepository.delete(v);
         });
+        lectureVideoRepository.flush(); // 강의당 1개 unique 제약: 새 행 insert 전에 삭제 반영
 
         return attachYoutube(currentUserId, lectureId, req);
     }
 
+    // =========================================================
+    // 5-1) 강의 영상: 분할(이어 올리기) 업로드
+    // =========================================================
+
+    public ChunkedUploadStatusDTO initChunkedVideoUpload(Long currentUserId, Long lectureId, ChunkedUploadInitRequestDTO req) {
+        Lecture lecture = findLectureOrThrow(lectureId);
+        requireLectureOwner(lecture, currentUserId);
+        if (!req.isReplace()) {
+            requireNoExistingVideo(lectureId);
+        }
+
+        return chunkedUploadStorage.init(currentUserId, lectureId, req.getFilename(), req.getMimeType(), req.getTotalSize());
+    }
+
+    /** 청크 기록 - 세션 소유자 검사만 하고 DB는 조회하지 않음 */
+    public ChunkedUploadStatusDTO uploadVideoChunk(Long currentUserId, Long lectureId, String uploadId,
+                                                   long offset, long length, InputStream body) {
+        return chunkedUploadStorage.writeChunk(uploadId, currentUserId, lectureId, offset, length, body);
+    }
+
+    public ChunkedUploadStatusDTO getChunkedVideoUploadStatus(Long currentUserId, Long lectureId, String uploadId) {
+        return chunkedUploadStorage.status(uploadId, currentUserId, lectureId);
+    }
+
+    @Transactional
+    public LectureVideoResponseDTO completeChunkedVideoUpload(Long currentUserId, Long lectureId, String uploadId,
+                                                              String sha256, MultipartFile thumbnail, boolean replace) {
+        Lecture lecture = findLectureOrThrow(lectureId);
+        requireLectureOwner(lecture, currentUserId);
+
+        if (!replace) {
+            requireNoExistingVideo(lectureId);
+        }
+
+        // complete는 세션을 없애므로, 실패할 수 있는 일(썸네일 검증, 기존 영상 삭제)을 먼저 끝낸다
+        // → 여기서 실패하면 세션이 남아 있어 영상 청크를 다시 보내지 않고 complete만 재시도
+        // 기존 파일 삭제는 커밋 후라, 체크섬이 틀려 롤백되면 기존 영상/파일 그대로
+        var storedThumb = localFileStorage.saveThumbnail(thumbnail);
+
+        if (replace) {
+            lectureVideoRepository.findByLecture_LectureId(lectureId).ifPresent(v -> {
+                deletePhysicalFileIfUpload(v);
+                deletePhysicalThumbnailIfExists(v);
+                videoFileMetaCache.evict(v.getVideoId());
+                lectureVideoRepository.delete(v);
+            });
+            lectureVideoRepository.flush();
+        }
+
+        var storedVideo = chunkedUploadStorage.complete(uploadId, currentUserId, lectureId, sha256);
+        return saveUploadedVideo(lecture, storedVideo, storedThumb);
+    }
+
+    public void abortChunkedVideoUpload(Long currentUserId, Long lectureId, String uploadId) {
+        chunkedUploadStorage.abort(uploadId, currentUserId, lectureId);
+    }
+
     // =========================================================
     // 6) 체크리스트/요약 변환
     // =========================================================
 
-    private AdminLectureListItemDTO toAdminListItemWithChecklist(Lecture lecture) {
-        AdminLectureApprovalChecklistDTO checklist = buildApprovalChecklist(lecture);
+    /** 목록 한 페이지의 영상을 한 번에 조회해 체크리스트 요약 (행마다 영상 조회 X) */
+    private Page<AdminLectureListItemDTO> toAdminListItemsWithChecklist(Page<Lecture> page) {
+        Map<Long, LectureVideo> videos = videosByLectureId(
+                page.getContent().stream().map(Lecture::getLectureId).toList()
+        );
+        return page.map(lecture -> toAdminListItemWithChecklist(lecture, videos.get(lecture.getLectureId())));
+    }
+
+    private AdminLectureListItemDTO toAdminListItemWithChecklist(Lecture lecture, LectureVideo video) {
+        AdminLectureApprovalChecklistDTO checklist = buildApprovalChecklist(lecture, video);
 
         long requiredTotal = checklist.items().stream()
                 .filter(AdminLectureApprovalChecklistDTO.Item::required)
@@ -522,7 +805,43 @@ public class LectureService {
         );
     }
 
+    private String describeMedia(LectureVideo v) {
+        if (v.getMediaProbedAt() == null) return "영상 분석 대기 중입니다.";
+        if (v.getMediaProbeError() != null) return "영상 분석 실패: " + v.getMediaProbeError();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("video=").append(v.getVideoCodec() == null ? "-" : v.getVideoCodec());
+        sb.append(", audio=").append(v.getAudioCodec() == null ? "-" : v.getAudioCodec());
+        if (v.getWidthPx() != null && v.getHeightPx() != null) {
+            sb.append(", ").append(v.getWidthPx()).append("x").append(v.getHeightPx());
+        }
+        sb.append(", ").append(v.getDurationSec()).append("s");
+        if (v.getBitrateBps() != null) {
+            sb.append(", ").append(v.getBitrateBps() / 1000).append("kbps");
+        }
+        if (Boolean.FALSE.equals(v.getMoovAtFront())) {
+            sb.append(", moov 뒤쪽(fast-start 아님)");
+        }
+        return sb.toString();
+    }
+
+    /** 강의들의 영상을 한 번에 조회 (lectureId → 영상, 영상 없는 강의는 키 없음) */
+    private Map<Long, LectureVideo> videosByLectureId(Collection<Long> lectureIds) {
+        if (lectureIds.isEmpty()) return Map.of();
+        Map<Long, LectureVideo> out = new HashMap<>();
+        for (LectureVideo v : lectureVideoRepository.findByLecture_LectureIdIn(lectureIds)) {
+            out.put(v.getLecture().getLectureId(), v);
+        }
+        return out;
+    }
+
     private AdminLectureApprovalChecklistDTO buildApprovalChecklist(Lecture lecture) {
+        LectureVideo video = lectureVideoRepository.findByLecture_LectureId(lecture.getLectureId()).orElse(null);
+        return buildApprovalChecklist(lecture, video);
+    }
+
+    /** video: 미리 조회한 강의 영상 (없으면 null) */
+    private AdminLectureApprovalChecklistDTO buildApprovalChecklist(Lecture lecture, LectureVideo video) {
         List<AdminLectureApprovalChecklistDTO.Item> items = new ArrayList<>();
 
         // 상태
@@ -562,15 +881,14 @@ public class LectureService {
         ));
 
         // 영상 존재
-        var videoOpt = lectureVideoRepository.findByLecture_LectureId(lecture.getLectureId());
-        boolean hasVideo = videoOpt.isPresent();
+        boolean hasVideo = video != null;
         items.add(new AdminLectureApprovalChecklistDTO.Item(
                 "video", "강의 영상이 등록되어 있나?", true, hasVideo,
                 hasVideo ? null : "lecture_videos에 해당 lecture_id 영상이 없습니다."
         ));
 
         if (hasVideo) {
-            LectureVideo v = videoOpt.get();
+            LectureVideo v = video;
 
             boolean typeOk = v.getSourceType() != null;
             items.add(new AdminLectureApprovalChecklistDTO.Item(
@@ -595,11 +913,16 @@ public class LectureService {
                     channelOk ? null : "youtubeChannelTitle이 비어있습니다."
             ));
 
-            boolean durationOk = !isYoutube || (v.getDurationSec() > 0);
+            // 업로드 영상은 분석 결과(MediaPipeline)로 채워지므로 참고용으로만 표시
+            boolean isUpload = (v.getSourceType() == VideoSourceType.UPLOAD);
+            boolean durationOk = isUpload ? v.getDurationSec() > 0 : (!isYoutube || v.getDurationSec() > 0);
+            String durationDetail = durationOk ? null
+                    : (isUpload && v.getMediaProbedAt() == null) ? "영상 분석 대기 중입니다."
+                    : "durationSec 값이 0입니다.";
             items.add(new AdminLectureApprovalChecklistDTO.Item(
                     "video.durationSec", "영상 길이(durationSec)가 0보다 큰가? (유튜브 필수)",
                     isYoutube, durationOk,
-                    durationOk ? null : "durationSec 값이 0입니다."
+                    durationDetail
             ));
 
             boolean thumbOk = !isYoutube || (v.getThumbnailUrl() != null && !v.getThumbnailUrl().isBlank());
@@ -630,6 +953,13 @@ public class LectureService {
                         "video.localPath", "업로드 영상 localPath가 저장되어 있나?", true, pathOk,
                         pathOk ? null : "localPath가 비어있습니다."
                 ));
+
+                // 컨테이너 분석 결과 (참고용)
+                boolean mediaOk = v.isMediaProbed() && v.getVideoCodec() != null;
+                items.add(new AdminLectureApprovalChecklistDTO.Item(
+                        "video.media", "업로드 영상 분석(코덱/길이)이 완료되었나?", false, mediaOk,
+                        describeMedia(v)
+                ));
             }
         }
 
@@ -640,6 +970,68 @@ public class LectureService {
         return new AdminLectureApprovalChecklistDTO(lecture.getLectureId(), canApprove, items);
     }
 
+    /**
+     * PENDING 강의 일괄 승인/반려
+     * - 요청 id 순서대로 결과, 중복/null id는 무시
+     * - 잠금 조회 후 판정하므로 update 대상은 모두 PENDING (다른 관리자가 먼저 처리했다면 NOT_PENDING)
+     * - update 후 영속성 컨텍스트가 비워지므로 색인에는 변경 후 상태를 따로 넘긴다
+     */
+    private AdminLectureBulkDecisionResultDTO decidePendingLectures(
+            User admin, List<Long> lectureIds, LectureStatus decision, String reason, boolean checkChecklist
+    ) {
+        List<Long> ids = lectureIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            throw new BadRequestException("lectureIds 값은 필수입니다.");
+        }
+
+        Map<Long, Lecture> lectures = new HashMap<>();
+        for (Lecture l : lectureRepository.findAllForDecision(ids)) {
+            lectures.put(l.getLectureId(), l);
+        }
+        Map<Long, LectureVideo> videos = checkChecklist ? videosByLectureId(lectures.keySet()) : Map.of();
+
+        List<AdminLectureBulkDecisionResultDTO.Item> results = new ArrayList<>(ids.size());
+        List<Lecture> accepted = new ArrayList<>();
+        for (Long id : ids) {
+            Lecture lecture = lectures.get(id);
+            if (lecture == null) {
+                results.add(new AdminLectureBulkDecisionResultDTO.Item(
+                        id, AdminLectureBulkDecisionResultDTO.Outcome.NOT_FOUND, null, "강의를 찾을 수 없습니다."));
+                continue;
+            }
+            if (lecture.getStatus() != LectureStatus.PENDING) {
+                results.add(new AdminLectureBulkDecisionResultDTO.Item(
+                        id, AdminLectureBulkDecisionResultDTO.Outcome.NOT_PENDING, lecture.getStatus(),
+                        "승인 대기(PENDING) 상태가 아닙니다. 현재 상태: " + lecture.getStatus()));
+                continue;
+            }
+            if (checkChecklist) {
+                AdminLectureApprovalChecklistDTO checklist = buildApprovalChecklist(lecture, videos.get(id));
+                if (!checklist.canApprove()) {
+                    results.add(new AdminLectureBulkDecisionResultDTO.Item(
+                            id, AdminLectureBulkDecisionResultDTO.Outcome.CHECKLIST_FAILED, lecture.getStatus(),
+                            buildChecklistFailMessage(checklist)));
+                    continue;
+                }
+            }
+            accepted.add(lecture);
+            results.add(new AdminLectureBulkDecisionResultDTO.Item(
+                    id, AdminLectureBulkDecisionResultDTO.Outcome.APPLIED, decision, null));
+        }
+
+        if (!accepted.isEmpty()) {
+            List<Long> acceptedIds = accepted.stream().map(Lecture::getLectureId).toList();
+            lectureRepository.decidePending(acceptedIds, decision, admin, reason, LocalDateTime.now());
+
+            for (Lecture lecture : accepted) {
+                lectureSearchIndex.sync(lecture, decision);
+            }
+            approvedLectureCatalog.refreshAll(acceptedIds);
+        }
+
+        return new AdminLectureBulkDecisionResultDTO(decision, ids.size(), accepted.size(), results);
+    }
+
     private String buildChecklistFailMessage(AdminLectureApprovalChecklistDTO checklist) {
         StringBuilder sb = new StringBuilder("승인 체크리스트를 통과하지 못했습니다.\n");
         checklist.items().stream()
@@ -722,7 +1114,9 @@ public class LectureService {
         String localPath = video.getLocalPath();
         if (localPath == null || localPath.isBlank()) return;
 
-        localFileStorage.deleteByLocalPath(localPath);
+        // 커밋 이후 참조가 더 없을 때만 실제 삭제 (같은 내용 재업로드 시 파일 유지)
+        localFileStorage.deleteByLocalPathAfterCommit(localPath);
+        localFileStorage.deleteHlsAfterCommit(video.getHlsPath());
     }
 
     private void deletePhysicalThumbnailIfExists(LectureVideo video) {
@@ -734,7 +1128,7 @@ public class LectureService {
         // 유튜브 썸네일은 외부 URL일 수 있으니 로컬 경로(/...)만 삭제
         if (!thumbnailUrl.startsWith("/")) return;
 
-        localFileStorage.deleteByLocalPath(thumbnailUrl);
+        localFileStorage.deleteThumbnailAfterCommit(thumbnailUrl, video.getThumbnailWidths());
     }
 
     private String extractYoutubeVideoIdOrThrow(String urlOrId) {
@@ -824,6 +1218,7 @@ public class LectureService {
                 v.getStoredFilename(),
                 v.getMimeType(),
                 v.getFileSizeBytes(),
+                v.getContentHash(),
                 v.getYoutubeVideoId(),
                 v.getYoutubeUrl(),
                 v.getYoutubeVideoTitle(),
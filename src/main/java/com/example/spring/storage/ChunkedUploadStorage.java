@@ -0,0 +1,495 @@
+package com.example.spring.storage;
+
+import com.example.spring.common.exception.BadRequestException;
+import com.example.spring.common.exception.ConflictException;
+import com.example.spring.common.exception.ForbiddenException;
+import com.example.spring.common.exception.NotFoundException;
+import com.example.spring.config.AppProperties;
+import com.example.spring.dto.ChunkedUploadStatusDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이어 올리기 가능한 분할 업로드 저장소.
+ *
+ * MultipartFile 업로드는 컨테이너가 임시 파일로 한 번 쓰고 Files.copy로 다시 쓰기 때문에
+ * 대용량 강의 영상에서 디스크 I/O가 두 배가 된다. 여기서는
+ * - init 시 CAS 임시 폴더에 .part 파일을 만들고
+ * - 각 청크를 요청 본문에서 바로 위치 지정 FileChannel.write로 기록하고
+ * - complete 시 해시 경로로 rename만 한다 (추가 복사 없음, 같은 내용이면 기존 파일 공유)
+ *
+ * SHA-256은 앞에서부터 이어진 구간만큼 점진적으로 계산한다.
+ * - 순서대로 들어오는 청크는 쓰면서 바로 해시 (재읽기 없음)
+ * - 병렬/역순으로 먼저 도착한 청크는 앞 구간이 채워질 때 파일에서 다시 읽어 해시
+ *
+ * 세션은 메모리에만 보관한다 (서버 재시작 시 진행 중 업로드는 처음부터 다시).
+ * 세션마다 .part 파일 핸들을 열어 두므로 사용자별/전체 세션 수에 상한을 둔다.
+ */
+@Slf4j
+@Component
+public class ChunkedUploadStorage {
+
+    private static final String PART_SUFFIX = ".part";
+    private static final int IO_BUFFER_BYTES = 256 * 1024;
+
+    private final LocalFileStorage localFileStorage;
+    private final long maxBytes;
+    private final long maxChunkBytes;
+    private final long sessionTtlMillis;
+    private final Set<String> allowedExt;
+    private final int maxSessionsPerUser;
+    private final int maxSessions;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public ChunkedUploadStorage(LocalFileStorage localFileStorage, AppProperties props) {
+        this.localFileStorage = localFileStorage;
+        this.maxBytes = (long) props.getUpload().getMaxFileMb() * 1024 * 1024;
+        this.maxChunkBytes = props.getUpload().getUploadChunkMaxBytes();
+        this.sessionTtlMillis = props.getUpload().getUploadSessionTtlMinutes() * 60_000L;
+        this.allowedExt = Set.copyOf(props.getUpload().getAllowedExt());
+        this.maxSessionsPerUser = props.getUpload().getUploadMaxSessionsPerUser();
+        this.maxSessions = props.getUpload().getUploadMaxSessions();
+    }
+
+    // =========================================================
+    // 세션 시작
+    // =========================================================
+
+    public ChunkedUploadStatusDTO init(Long ownerUserId, Long lectureId, String originalFilename, String mimeType, long totalSize) {
+        if (totalSize <= 0) {
+            throw new BadRequestException("업로드 파일 크기가 올바르지 않습니다.");
+        }
+        if (totalSize > maxBytes) {
+            throw new BadRequestException("파일 용량이 너무 큽니다. (최대 " + (maxBytes / 1024 / 1024) + "MB)");
+        }
+
+        String original = StringUtils.cleanPath(StringUtils.hasText(originalFilename) ? originalFilename : "video");
+        String ext = getExtension(original);
+
+        String extNoDot = ext.startsWith(".") ? ext.substring(1) : ext;
+        extNoDot = extNoDot.toLowerCase(Locale.ROOT);
+
+        if (StringUtils.hasText(extNoDot) && !allowedExt.contains(extNoDot)) {
+            throw new BadRequestException("허용되지 않는 확장자입니다: " + extNoDot);
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+
+        // 상한 확인과 등록을 한 번에 (동시 init이 함께 통과하지 않도록)
+        synchronized (sessions) {
+            if (sessions.size() >= maxSessions) {
+                throw new ConflictException("진행 중인 업로드가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+            long mine = sessions.values().stream().filter(s -> s.ownerUserId.equals(ownerUserId)).count();
+            if (mine >= maxSessionsPerUser) {
+                throw new ConflictException("동시에 진행할 수 있는 업로드는 최대 " + maxSessionsPerUser
+                        + "개입니다. 진행 중인 업로드를 완료하거나 취소해주세요.");
+            }
+
+            try {
+                // 해시를 알기 전까지는 CAS 임시 폴더에 기록 (완료 시 같은 파일시스템 내 rename)
+                Path dir = localFileStorage.casTempDir();
+                Files.createDirectories(dir);
+                Path part = dir.resolve(uploadId + PART_SUFFIX);
+
+                FileChannel channel = FileChannel.open(part,
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+                UploadSession session = new UploadSession(
+                        uploadId, ownerUserId, lectureId, original, ext, mimeType, totalSize,
+                        part, channel, newSha256()
+                );
+                sessions.put(uploadId, session);
+                return session.status(maxChunkBytes);
+            } catch (IOException e) {
+                throw new BadRequestException("업로드 준비 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    // =========================================================
+    // 청크 기록
+    // =========================================================
+
+    /**
+     * [offset, offset + length) 구간을 body에서 읽어 .part 파일에 바로 기록한다.
+     * - 이미 받은 구간과 완전히 같으면(재시도) 아무것도 하지 않음
+     * - 일부만 겹치거나 다른 요청이 같은 구간을 쓰는 중이면 409
+     */
+    public ChunkedUploadStatusDTO writeChunk(String uploadId, Long ownerUserId, Long lectureId,
+                                             long offset, long length, InputStream body) {
+        UploadSession session = requireSession(uploadId, ownerUserId, lectureId);
+
+        if (length <= 0) {
+            throw new BadRequestException("Content-Length가 필요합니다.");
+        }
+        if (length > maxChunkBytes) {
+            throw new BadRequestException("청크 크기가 너무 큽니다. (최대 " + maxChunkBytes + " bytes)");
+        }
+        if (offset < 0 || offset + length > session.totalSize) {
+            throw new BadRequestException("청크 구간이 파일 크기를 벗어납니다.");
+        }
+
+        long end = offset + length;
+        if (!session.reserve(offset, end)) {
+            return session.status(maxChunkBytes); // 이미 받은 구간 재전송
+        }
+
+        // 앞 구간이 모두 해시된 상태면 쓰면서 바로 해시 (재읽기 없음)
+        boolean hashInline = session.hashLock.tryLock();
+        if (hashInline && session.hashedUpTo != offset) {
+            session.hashLock.unlock();
+            hashInline = false;
+        }
+
+        boolean ok = false;
+        try {
+            copyToChannel(body, session.channel, offset, length, hashInline ? session.digest : null);
+            ok = true;
+        } catch (IOException e) {
+            throw new BadRequestException("청크 저장 실패: " + e.getMessage());
+        } finally {
+            if (ok) {
+                session.markReceived(offset, end);
+            } else {
+                session.release(offset, end);
+            }
+
+            if (hashInline) {
+                try {
+                    if (ok) {
+                        session.hashedUpTo = end;
+                        catchUpHashQuietly(session);
+                    } else {
+                        session.digest.reset();
+                        session.hashedUpTo = 0; // 부분 해시 폐기 → complete 때 처음부터 다시 계산
+                    }
+                } finally {
+                    session.hashLock.unlock();
+                }
+            } else if (ok && session.hashLock.tryLock()) {
+                try {
+                    catchUpHashQuietly(session);
+                } finally {
+                    session.hashLock.unlock();
+                }
+            }
+        }
+
+        return session.status(maxChunkBytes);
+    }
+
+    public ChunkedUploadStatusDTO status(String uploadId, Long ownerUserId, Long lectureId) {
+        return requireSession(uploadId, ownerUserId, lectureId).status(maxChunkBytes);
+    }
+
+    // =========================================================
+    // 완료 / 취소
+    // =========================================================
+
+    /**
+     * 모든 구간 수신 확인 → 남은 해시 계산 → (선택) 체크섬 비교 → .part를 해시 경로로 rename
+     * - 세션은 맵에서 먼저 빼므로(정리 주기가 더는 보지 않음) 어떤 이유로든 실패하면 여기서 폐기
+     * - expectedSha256이 다르면 세션과 파일을 폐기
+     */
+    public LocalFileStorage.StoredFile complete(String uploadId, Long ownerUserId, Long lectureId, String expectedSha256) {
+        UploadSession session = requireSession(uploadId, ownerUserId, lectureId);
+        if (!session.isComplete()) {
+            throw new ConflictException("아직 받지 못한 구간이 있습니다.");
+        }
+        if (sessions.remove(uploadId) == null) {
+            throw new NotFoundException("업로드 세션을 찾을 수 없습니다.");
+        }
+
+        boolean adopted = false;
+        try {
+            String sha256;
+            session.hashLock.lock();
+            try {
+                catchUpHash(session);
+                if (session.hashedUpTo != session.totalSize) {
+                    throw new IllegalStateException("해시 계산 범위가 파일 크기와 다릅니다.");
+                }
+                sha256 = HexFormat.of().formatHex(session.digest.digest());
+            } catch (IOException e) {
+                throw new BadRequestException("업로드 검증 실패: " + e.getMessage());
+            } finally {
+                session.hashLock.unlock();
+            }
+
+            if (StringUtils.hasText(expectedSha256) && !expectedSha256.trim().equalsIgnoreCase(sha256)) {
+                throw new BadRequestException("업로드 파일 체크섬이 일치하지 않습니다.");
+            }
+
+            try {
+                session.channel.force(false);
+                session.channel.close();
+                // 같은 내용이 이미 저장돼 있으면 .part는 지우고 기존 파일 공유
+                LocalFileStorage.StoredFile stored = localFileStorage.adoptVideo(
+                        session.partPath, sha256, session.ext, session.originalFilename, session.mimeType, session.totalSize
+                );
+                adopted = true;
+                return stored;
+            } catch (IOException e) {
+                throw new BadRequestException("업로드 완료 처리 실패: " + e.getMessage());
+            }
+        } finally {
+            if (!adopted) {
+                discard(session);
+            }
+        }
+    }
+
+    public void abort(String uploadId, Long ownerUserId, Long lectureId) {
+        UploadSession session = requireSession(uploadId, ownerUserId, lectureId);
+        if (sessions.remove(uploadId) != null) {
+            discard(session);
+        }
+    }
+
+    /** 오래 갱신되지 않은 세션 정리 (10분 주기) */
+    @Scheduled(fixedDelay = 10 * 60 * 1000L)
+    public void cleanupStaleSessions() {
+        long threshold = System.currentTimeMillis() - sessionTtlMillis;
+        sessions.values().removeIf(session -> {
+            if (session.lastTouched >= threshold) return false;
+            log.info("stale chunked upload removed: uploadId={}, lectureId={}", session.uploadId, session.lectureId);
+            discard(session);
+            return true;
+        });
+
+        // 서버 재시작 등으로 세션을 잃은 임시 파일 정리
+        Set<Path> active = new HashSet<>();
+        sessions.values().forEach(session -> active.add(session.partPath));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(localFileStorage.casTempDir())) {
+            for (Path file : files) {
+                if (active.contains(file)) continue;
+                if (Files.getLastModifiedTime(file).toMillis() < threshold) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (NoSuchFileException ignored) {
+            // 아직 업로드가 한 번도 없었던 경우
+        } catch (IOException e) {
+            log.warn("failed to clean up upload temp dir", e);
+        }
+    }
+
+    // =========================================================
+    // 내부 헬퍼
+    // =========================================================
+
+    private UploadSession requireSession(String uploadId, Long ownerUserId, Long lectureId) {
+        UploadSession session = uploadId == null ? null : sessions.get(uploadId);
+        if (session == null) {
+            throw new NotFoundException("업로드 세션을 찾을 수 없습니다.");
+        }
+        if (!session.ownerUserId.equals(ownerUserId)) {
+            throw new ForbiddenException("본인 업로드 세션만 사용할 수 있습니다.");
+        }
+        if (!session.lectureId.equals(lectureId)) {
+            throw new BadRequestException("다른 강의의 업로드 세션입니다.");
+        }
+        session.lastTouched = System.currentTimeMillis();
+        return session;
+    }
+
+    /** 요청 본문 → FileChannel 위치 지정 쓰기 (digest가 있으면 같은 버퍼로 해시) */
+    private void copyToChannel(InputStream in, FileChannel channel, long position, long length, MessageDigest digest)
+            throws IOException {
+        byte[] buf = new byte[(int) Math.min(IO_BUFFER_BYTES, length)];
+        long written = 0;
+        while (written < length) {
+            int want = (int) Math.min(buf.length, length - written);
+            int n = in.read(buf, 0, want);
+            if (n < 0) {
+                throw new IOException("요청 본문이 Content-Length보다 짧습니다.");
+            }
+            ByteBuffer bb = ByteBuffer.wrap(buf, 0, n);
+            while (bb.hasRemaining()) {
+                written += channel.write(bb, position + written);
+            }
+            if (digest != null) {
+                digest.update(buf, 0, n);
+            }
+        }
+    }
+
+    /** hashLock 보유 상태에서 호출: 앞에서부터 연속으로 받은 구간까지 파일을 다시 읽어 해시 */
+    private void catchUpHash(UploadSession session) throws IOException {
+        long prefix = session.contiguousPrefix();
+        if (prefix <= session.hashedUpTo) return;
+
+        ByteBuffer buf = ByteBuffer.allocate(IO_BUFFER_BYTES);
+        long pos = session.hashedUpTo;
+        while (pos < prefix) {
+            buf.clear();
+            buf.limit((int) Math.min(buf.capacity(), prefix - pos));
+            int n = session.channel.read(buf, pos);
+            if (n <= 0) break;
+            buf.flip();
+            session.digest.update(buf);
+            pos += n;
+        }
+        session.hashedUpTo = pos;
+    }
+
+    /** 청크 요청 중 해시 따라잡기 실패는 무시 (complete에서 다시 시도) */
+    private void catchUpHashQuietly(UploadSession session) {
+        try {
+            catchUpHash(session);
+        } catch (IOException e) {
+            log.warn("chunked upload hash catch-up failed: uploadId={}", session.uploadId, e);
+        }
+    }
+
+    private void discard(UploadSession session) {
+        try {
+            session.channel.close();
+        } catch (IOException ignored) {
+        }
+        try {
+            Files.deleteIfExists(session.partPath);
+        } catch (IOException e) {
+            log.warn("failed to delete partial upload: {}", session.partPath, e);
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String getExtension(String filename) {
+        int idx = filename.lastIndexOf('.');
+        return (idx < 0) ? "" : filename.substring(idx);
+    }
+
+    // =========================================================
+    // 세션
+    // =========================================================
+
+    private static final class UploadSession {
+        final String uploadId;
+        final Long ownerUserId;
+        final Long lectureId;
+        final String originalFilename;
+        final String ext;
+        final String mimeType;
+        final long totalSize;
+        final Path partPath;
+        final FileChannel channel;
+
+        /** 해시 상태 (hashLock 보유 시에만 접근) */
+        final ReentrantLock hashLock = new ReentrantLock();
+        final MessageDigest digest;
+        long hashedUpTo = 0;
+
+        /** 받은 구간 / 쓰는 중인 구간 [start, end) - this 모니터로 보호 */
+        private final TreeMap<Long, Long> received = new TreeMap<>();
+        private final TreeMap<Long, Long> inflight = new TreeMap<>();
+
+        volatile long lastTouched = System.currentTimeMillis();
+
+        UploadSession(String uploadId, Long ownerUserId, Long lectureId, String originalFilename,
+                      String ext, String mimeType, long totalSize,
+                      Path partPath, FileChannel channel, MessageDigest digest) {
+            this.uploadId = uploadId;
+            this.ownerUserId = ownerUserId;
+            this.lectureId = lectureId;
+            this.originalFilename = originalFilename;
+            this.ext = ext;
+            this.mimeType = mimeType;
+            this.totalSize = totalSize;
+            this.partPath = partPath;
+            this.channel = channel;
+            this.digest = digest;
+        }
+
+        /**
+         * 쓰기 예약
+         * - true: 새 구간, 쓰기 진행
+         * - false: 이미 받은 구간과 동일(재시도)
+         */
+        synchronized boolean reserve(long start, long end) {
+            if (covers(received, start, end)) return false;
+            if (overlaps(received, start, end) || overlaps(inflight, start, end)) {
+                throw new ConflictException("이미 받았거나 업로드 중인 구간과 겹칩니다.");
+            }
+            inflight.put(start, end);
+            return true;
+        }
+
+        synchronized void release(long start, long end) {
+            inflight.remove(start, end);
+        }
+
+        synchronized void markReceived(long start, long end) {
+            inflight.remove(start, end);
+
+            long s = start;
+            long e = end;
+            Map.Entry<Long, Long> prev = received.floorEntry(s);
+            if (prev != null && prev.getValue() >= s) {
+                s = prev.getKey();
+                e = Math.max(e, prev.getValue());
+                received.remove(prev.getKey());
+            }
+            Map.Entry<Long, Long> next = received.ceilingEntry(s);
+            while (next != null && next.getKey() <= e) {
+                e = Math.max(e, next.getValue());
+                received.remove(next.getKey());
+                next = received.ceilingEntry(s);
+            }
+            received.put(s, e);
+        }
+
+        synchronized long contiguousPrefix() {
+            Long end = received.get(0L);
+            return end == null ? 0 : end;
+        }
+
+        synchronized boolean isComplete() {
+            return contiguousPrefix() >= totalSize;
+        }
+
+        synchronized ChunkedUploadStatusDTO status(long maxChunkBytes) {
+            List<ChunkedUploadStatusDTO.Range> ranges = new ArrayList<>(received.size());
+            long receivedBytes = 0;
+            for (Map.Entry<Long, Long> e : received.entrySet()) {
+                ranges.add(new ChunkedUploadStatusDTO.Range(e.getKey(), e.getValue() - e.getKey()));
+                receivedBytes += e.getValue() - e.getKey();
+            }
+            return new ChunkedUploadStatusDTO(uploadId, lectureId, totalSize, maxChunkBytes, receivedBytes, ranges);
+        }
+
+        private static boolean covers(TreeMap<Long, Long> map, long start, long end) {
+            Map.Entry<Long, Long> e = map.floorEntry(start);
+            return e != null && e.getValue() >= end;
+        }
+
+        private static boolean overlaps(TreeMap<Long, Long> map, long start, long end) {
+            Map.Entry<Long, Long> before = map.floorEntry(start);
+            if (before != null && before.getValue() > start) return true;
+            Map.Entry<Long, Long> after = map.higherEntry(start);
+            return after != null && after.getKey() < end;
+        }
+    }
+}
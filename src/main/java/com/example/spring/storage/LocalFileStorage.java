@@ -2,28 +2,87 @@ package com.example.spring.storage;
 
 import com.example.spring.common.exception.BadRequestException;
 import com.example.spring.config.AppProperties;
+import com.example.spring.entity.StoredFileRef;
+import com.example.spring.repository.LectureVideoRepository;
+import com.example.spring.repository.StoredFileRefRepository;
+import com.example.spring.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
+import java.util.stream.Stream;
 
+@Slf4j
 @Component
 public class LocalFileStorage {
 
+    private static final SecureRandom HLS_TOKEN_RANDOM = new SecureRandom();
+    private static final float THUMBNAIL_JPEG_QUALITY = 0.82f;
+
+    private final LectureVideoRepository lectureVideoRepository;
+    private final StoredFileRefRepository storedFileRefRepository;
+    /** 참조 수 증가: 호출한 트랜잭션에 참여 (행 잠금을 업로드 커밋까지 유지) */
+    private final TransactionTemplate retainTx;
+    /** 참조 수 감소: 커밋 직후(afterCommit)에 호출되므로 항상 새 트랜잭션 */
+    private final TransactionTemplate releaseTx;
     private final Path baseDir;
     private final long maxBytes;
     private final Set<String> allowedExt;
-
-    public LocalFileStorage(AppProperties props) {
+    private final List<Integer> thumbnailWidths;
+    private final long thumbnailMaxBytes;
+    private final long thumbnailMaxPixels;
+
+    public LocalFileStorage(LectureVideoRepository lectureVideoRepository,
+                            StoredFileRefRepository storedFileRefRepository,
+                            PlatformTransactionManager transactionManager,
+                            AppProperties props) {
+        this.lectureVideoRepository = lectureVideoRepository;
+        this.storedFileRefRepository = storedFileRefRepository;
+        this.retainTx = new TransactionTemplate(transactionManager);
+        this.releaseTx = new TransactionTemplate(transactionManager);
+        this.releaseTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
         this.baseDir = Paths.get(props.getUpload().getBaseDir()).toAbsolutePath().normalize();
         this.maxBytes = (long) props.getUpload().getMaxFileMb() * 1024 * 1024;
         this.allowedExt = Set.copyOf(props.getUpload().getAllowedExt());
+        this.thumbnailWidths = props.getUpload().getThumbnailWidths().stream().sorted().distinct().toList();
+        this.thumbnailMaxBytes = props.getUpload().getThumbnailMaxBytes();
+        this.thumbnailMaxPixels = props.getUpload().getThumbnailMaxPixels();
     }
 
     // =========================================================
@@ -49,40 +108,203 @@ public class LocalFileStorage {
             throw new BadRequestException("허용되지 않는 확장자입니다: " + extNoDot);
         }
 
-        String stored = UUID.randomUUID() + (ext.isBlank() ? "" : ext);
-
-        LocalDate now = LocalDate.now();
-        Path dir = baseDir.resolve("videos")
-                .resolve(String.valueOf(now.getYear()))
-                .resolve(String.format("%02d", now.getMonthValue()));
-
+        // 임시 파일로 받으면서 SHA-256 계산 → 해시 경로로 이동(이미 있으면 재사용)
+        Path tmp = null;
         try {
-            Files.createDirectories(dir);
-            Path target = dir.resolve(stored);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+            Path tmpDir = casTempDir();
+            Files.createDirectories(tmpDir);
+            tmp = Files.createTempFile(tmpDir, "upload-", ".tmp");
 
-            String relativePath = baseDir.relativize(target).toString().replace("\\", "/");
-            return new StoredFile(
-                    "/" + relativePath, // 예: /videos/2026/03/uuid.mp4
-                    original,
-                    stored,
-                    file.getContentType(),
-                    file.getSize()
-            );
+            MessageDigest digest = newSha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            return adoptVideo(tmp, sha256, ext, original, file.getContentType(), file.getSize());
         } catch (IOException e) {
+            deleteQuietly(tmp);
             throw new BadRequestException("파일 저장 실패: " + e.getMessage());
         }
     }
 
+    /**
+     * 해시가 계산된 파일을 콘텐츠 주소 경로(videos/cas/ab/cd/{sha256}.ext)로 옮긴다.
+     * - 참조 수 +1 (행 잠금은 호출한 트랜잭션 커밋까지 유지, 트랜잭션 밖이면 바로 커밋)
+     * - 잠금을 쥔 채 파일 확인: 같은 내용이 이미 있으면 source는 지우고 공유, 없으면(그사이 삭제 포함) source를 놓음
+     * - 호출한 트랜잭션이 롤백되면 참조가 없는 경우 파일 정리
+     * - source는 같은 파일시스템(casTempDir)에 있어야 rename으로 끝남
+     */
+    public StoredFile adoptVideo(Path source, String sha256, String ext, String original, String mimeType, long size)
+            throws IOException {
+        String stored = sha256 + (ext.isBlank() ? "" : ext.toLowerCase(Locale.ROOT));
+        Path target = baseDir.resolve("videos").resolve("cas")
+                .resolve(sha256.substring(0, 2))
+                .resolve(sha256.substring(2, 4))
+                .resolve(stored);
+        String localPath = "/" + baseDir.relativize(target).toString().replace("\\", "/");
+
+        Files.createDirectories(target.getParent());
+
+        withRetainedRef(localPath, 1, List.of(), () -> {
+            if (Files.exists(target) && Files.size(target) == size) {
+                Files.deleteIfExists(source); // 중복 업로드: 기존 파일 재사용
+            } else {
+                // 같은 해시면 내용이 같으므로 덮어써도 무방 (크기가 다른 잘린 파일 교체 포함)
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        });
+
+        return new StoredFile(
+                localPath, // 예: /videos/cas/ab/cd/{sha256}.mp4
+                original,
+                stored,
+                mimeType,
+                size,
+                sha256
+        );
+    }
+
+    /** 이미 저장된 파일의 SHA-256 (hex) */
+    public String sha256Of(Path file) throws IOException {
+        MessageDigest digest = newSha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /** 업로드 중 임시 파일 위치 (CAS 경로와 같은 파일시스템) */
+    public Path casTempDir() {
+        return baseDir.resolve("videos").resolve("cas").resolve("tmp");
+    }
+
+    // =========================================================
+    // HLS 패키지 저장 (hls/{token}/...)
+    // =========================================================
+
+    /**
+     * HLS 패키지를 임시 폴더에 만든 뒤 hls/{token}으로 rename
+     * - 완성된 폴더만 공개 경로(/hls/**)에 보임, token은 추측 불가한 랜덤 값
+     * @return playlist 경로(/hls/{token}/{playlistName}), writer가 false를 반환하면 null
+     */
+    public String storeHls(String playlistName, HlsWriter writer) throws IOException {
+        String token = newHlsToken();
+        Path root = hlsRoot();
+        Path tmp = root.resolve(".tmp-" + token);
+        Files.createDirectories(tmp);
+
+        boolean stored = false;
+        try {
+            if (!writer.write(tmp, "/hls/" + token + "/")) return null;
+            Files.move(tmp, root.resolve(token), StandardCopyOption.ATOMIC_MOVE);
+            stored = true;
+            return "/hls/" + token + "/" + playlistName;
+        } finally {
+            if (!stored) deleteTreeQuietly(tmp);
+        }
+    }
+
+    /**
+     * HLS 패키지 참조 +references (호출한 트랜잭션 안에서, 영상 행에 hlsPath를 넣기 전에 호출)
+     * - 참조 수 행 잠금을 쥔 채 폴더 확인 → 그사이 삭제됐으면 false (참조를 더하지 않음, hlsPath를 넣지 말 것)
+     * - 결과 참조 수가 0이면(새로 만들었지만 쓸 행이 없음) 바로 폴더 삭제
+     * - 트랜잭션이 롤백되면 참조가 없을 때 폴더 정리
+     */
+    public boolean retainHls(String hlsPath, int references) {
+        Path dir = hlsDir(hlsPath);
+        Boolean retained = retainTx.execute(status -> {
+            StoredFileRef ref = addReferences(hlsPath, 0, 0);
+            if (!Files.isDirectory(dir)) {
+                if (ref.getRefCount() <= 0) storedFileRefRepository.delete(ref);
+                return false;
+            }
+            ref.add(references);
+            if (ref.getRefCount() <= 0) {
+                deleteTreeQuietly(dir);
+                storedFileRefRepository.delete(ref);
+                return true;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int completion) {
+                    if (completion == STATUS_ROLLED_BACK) release(hlsPath, 0, () -> deleteTreeQuietly(dir));
+                }
+            });
+            return true;
+        });
+        return Boolean.TRUE.equals(retained);
+    }
+
+    /** HLS 패키지 참조 1개 해제 (커밋 이후, 0이 되면 폴더 삭제) */
+    public void deleteHlsAfterCommit(String hlsPath) {
+        if (!StringUtils.hasText(hlsPath)) return;
+        AfterCommit.run(() -> {
+            Path dir;
+            try {
+                dir = hlsDir(hlsPath);
+            } catch (RuntimeException e) {
+                log.warn("failed to release hls package: {}", hlsPath, e);
+                return;
+            }
+            release(hlsPath, 1, () -> deleteTreeQuietly(dir));
+        });
+    }
+
+    /** 어느 영상 행에도 넣지 않은(참조 수를 잡지 않은) 새 패키지 폐기 */
+    public void discardHls(String hlsPath) {
+        if (!StringUtils.hasText(hlsPath)) return;
+        deleteTreeQuietly(hlsDir(hlsPath));
+    }
+
+    private Path hlsRoot() {
+        return baseDir.resolve("hls");
+    }
+
+    /** /hls/{token}/{playlist} → hls/{token} 폴더 */
+    private Path hlsDir(String hlsPath) {
+        Path dir = resolve(hlsPath).getParent();
+        if (dir == null || !hlsRoot().equals(dir.getParent())) {
+            throw new BadRequestException("잘못된 HLS 경로입니다.");
+        }
+        return dir;
+    }
+
+    private static boolean isHlsPath(String path) {
+        return path.startsWith("/hls/");
+    }
+
+    private static String newHlsToken() {
+        byte[] bytes = new byte[16];
+        HLS_TOKEN_RANDOM.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    @FunctionalInterface
+    public interface HlsWriter {
+        /** dir에 패키지 파일을 쓴다 (uriPrefix: playlist 안 URI 접두사), 지원하지 않으면 false */
+        boolean write(Path dir, String uriPrefix) throws IOException;
+    }
+
     // =========================================================
     // 썸네일 저장 (프론트가 만든 이미지 업로드)
     // =========================================================
 
+    /**
+     * 썸네일 저장
+     * - 임시 파일로 받으면서 해시 계산 (메모리에 통째로 올리지 않음)
+     * - 용량(app.upload.thumbnail-max-bytes), 픽셀 수(app.upload.thumbnail-max-pixels)를 넘으면 400
+     *   픽셀 수는 ImageReader로 헤더만 읽어 디코딩 전에 확인
+     */
     public StoredImage saveThumbnail(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             return null; // 썸네일 선택사항
         }
 
+        if (file.getSize() > thumbnailMaxBytes) {
+            throw new BadRequestException("썸네일 용량이 너무 큽니다. (최대 " + (thumbnailMaxBytes / 1024 / 1024) + "MB)");
+        }
+
         String contentType = file.getContentType();
         if (contentType == null || !contentType.startsWith("image/")) {
             throw new BadRequestException("썸네일은 이미지 파일만 업로드할 수 있습니다.");
@@ -98,56 +320,350 @@ public class LocalFileStorage {
             throw new BadRequestException("허용되지 않는 썸네일 확장자입니다: " + extNoDot);
         }
 
-        String stored = UUID.randomUUID() + (ext.isBlank() ? ".jpg" : ext);
-
         LocalDate now = LocalDate.now();
         Path dir = baseDir.resolve("thumbnails")
                 .resolve(String.valueOf(now.getYear()))
                 .resolve(String.format("%02d", now.getMonthValue()));
 
+        Path tmp = null;
         try {
             Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, ".thumb-", ".tmp");
+
+            MessageDigest digest = newSha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            // ImageIO가 읽지 못하는 형식(webp 등)은 null → 원본만 저장
+            ImageSize size = readImageSize(tmp);
+            if (size != null && size.pixels() > thumbnailMaxPixels) {
+                throw new BadRequestException("썸네일 해상도가 너무 큽니다. (" + size.width() + "x" + size.height()
+                        + ", 최대 " + thumbnailMaxPixels + "픽셀)");
+            }
+
+            // 파일명 = 내용 해시 → 같은 URL의 내용이 바뀌지 않으므로 immutable 캐시 가능
+            String baseName = HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+            String stored = baseName + (ext.isBlank() ? ".jpg" : ext.toLowerCase(Locale.ROOT));
+
             Path target = dir.resolve(stored);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+            String localPath = "/" + baseDir.relativize(target).toString().replace("\\", "/");
+
+            // 같은 이미지를 쓰는 영상이 삭제되며 파일을 지우는 중일 수 있으므로 참조 수 잠금 안에서 확인/기록
+            Path upload = tmp;
+            List<Integer> widths = new ArrayList<>();
+            List<String> variantPaths = thumbnailWidths.stream().map(w -> ThumbnailVariants.path(localPath, w)).toList();
+            withRetainedRef(localPath, 1, variantPaths, () -> {
+                if (!Files.exists(target)) {
+                    Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+                if (size != null) {
+                    widths.addAll(writeThumbnailVariants(target, size, dir, baseName));
+                }
+            });
 
-            String relativePath = baseDir.relativize(target).toString().replace("\\", "/");
             return new StoredImage(
-                    "/" + relativePath, // 예: /thumbnails/2026/03/uuid.jpg
+                    localPath, // 예: /thumbnails/2026/03/{hash}.jpg
                     original,
                     stored,
                     contentType,
-                    file.getSize()
+                    file.getSize(),
+                    ThumbnailVariants.join(widths)
             );
         } catch (IOException e) {
             throw new BadRequestException("썸네일 저장 실패: " + e.getMessage());
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    /** 헤더만 읽어 가로/세로 확인 (픽셀 디코딩 없음), 읽을 수 있는 ImageReader가 없으면 null */
+    private static ImageSize readImageSize(Path file) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(file.toFile())) {
+            if (iis == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                return new ImageSize(reader.getWidth(0), reader.getHeight(0));
+            } catch (IOException | RuntimeException e) {
+                throw new BadRequestException("썸네일 이미지를 읽을 수 없습니다.");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private record ImageSize(int width, int height) {
+        long pixels() {
+            return (long) width * height;
+        }
+    }
+
+    /**
+     * 설정된 폭(app.upload.thumbnail-widths) 중 원본보다 작은 것만 JPEG 파생 이미지로 저장
+     * - 원본 크기(size)는 픽셀 수 상한을 통과한 값, 만들 폭이 없으면 디코딩하지 않음
+     * - 파생 생성 실패는 업로드 실패로 보지 않음 (만든 것까지만 반환)
+     */
+    private List<Integer> writeThumbnailVariants(Path original, ImageSize size, Path dir, String baseName) {
+        List<Integer> widths = new ArrayList<>();
+        if (thumbnailWidths.isEmpty() || thumbnailWidths.get(0) >= size.width()) return widths;
+        try {
+            BufferedImage source = ImageIO.read(original.toFile());
+            if (source == null) return widths;
+
+            for (int width : thumbnailWidths) {
+                if (width >= source.getWidth()) break;
+
+                Path target = dir.resolve(baseName + "-" + width + "w.jpg");
+                if (!Files.exists(target)) {
+                    writeAtomically(target, encodeJpeg(resize(source, width)));
+                }
+                widths.add(width);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("thumbnail variant generation failed: {}", baseName, e);
+        }
+        return widths;
+    }
+
+    /** 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄인 뒤 마지막에 목표 폭으로 맞춤 */
+    private static BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        while (w / 2 >= width) {
+            w /= 2;
+            h = Math.max(1, h / 2);
+            current = scale(current, w, h);
+        }
+        return scale(current, width, height);
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setColor(Color.WHITE); // 투명 PNG → JPEG 배경
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(THUMBNAIL_JPEG_QUALITY);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /** 임시 파일에 쓴 뒤 rename (동시 업로드/읽기 중 잘린 파일이 보이지 않게) */
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), ".thumb-", ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
         }
     }
 
     // =========================================================
-    // 파일 삭제
+    // 경로 변환
     // =========================================================
 
-    public void deleteByLocalPath(String localPath) {
-        if (!StringUtils.hasText(localPath)) return;
-
+    /** DB에 저장된 localPath(/videos/...) → 실제 파일 경로 (baseDir 밖이면 400) */
+    public Path resolve(String localPath) {
         String relative = localPath.startsWith("/") ? localPath.substring(1) : localPath;
         Path target = baseDir.resolve(relative).normalize();
 
         if (!target.startsWith(baseDir)) {
             throw new BadRequestException("잘못된 파일 경로입니다.");
         }
+        return target;
+    }
+
+    // =========================================================
+    // 파일 삭제
+    // =========================================================
+
+    /** 영상 파일 참조 1개 해제 (커밋 이후, 참조 수가 0이 되면 삭제) */
+    public void deleteByLocalPathAfterCommit(String localPath) {
+        deleteByLocalPathAfterCommit(localPath, 1);
+    }
+
+    /**
+     * 트랜잭션 커밋 이후 참조 references개 해제, 0이 되면 파일 삭제 (롤백 시 파일/참조 수 그대로)
+     * - 삭제 실패는 로그만 남김 (참조 수가 줄지 않으므로 파일은 남음)
+     */
+    public void deleteByLocalPathAfterCommit(String localPath, int references) {
+        if (!StringUtils.hasText(localPath) || references <= 0) return;
+        AfterCommit.run(() -> release(localPath, references, deleteFiles(localPath, List.of())));
+    }
+
+    /** 썸네일 원본 참조 1개 해제 (커밋 이후, 0이 되면 원본 + 파생 이미지 삭제) */
+    public void deleteThumbnailAfterCommit(String thumbnailUrl, String variantWidths) {
+        if (!StringUtils.hasText(thumbnailUrl)) return;
+        List<String> variantPaths = ThumbnailVariants.parse(variantWidths).stream()
+                .map(w -> ThumbnailVariants.path(thumbnailUrl, w))
+                .toList();
+        AfterCommit.run(() -> release(thumbnailUrl, 1, deleteFiles(thumbnailUrl, variantPaths)));
+    }
+
+    /**
+     * 이미 저장된 파일에 참조 추가 (호출한 트랜잭션 안에서, 커밋까지 행 잠금 유지)
+     * - 같은 파일을 쓰는 영상 행이 늘어날 때 (예: fast-start 전환)
+     */
+    public void retain(String localPath, int references) {
+        if (!StringUtils.hasText(localPath) || references <= 0) return;
+        retainTx.executeWithoutResult(status -> addReferences(localPath, references, 0));
+    }
+
+    // =========================================================
+    // 참조 수 (stored_file_refs)
+    // =========================================================
+
+    /**
+     * 참조 수 +references 후 잠금을 쥔 채 action 실행 (파일 확인/기록)
+     * - 삭제 쪽도 같은 행 잠금을 쥔 채 파일을 지우므로, 잠금 안에서 본 파일은 커밋 전에 사라지지 않음
+     * - 트랜잭션이 롤백되면(참조 수 원복) 참조가 없을 때 localPath와 cleanupPaths 정리
+     */
+    private void withRetainedRef(String localPath, int references, List<String> cleanupPaths, FileAction action)
+            throws IOException {
+        try {
+            retainTx.executeWithoutResult(status -> {
+                addReferences(localPath, references, 0);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int completion) {
+                        if (completion == STATUS_ROLLED_BACK) {
+                            release(localPath, 0, deleteFiles(localPath, cleanupPaths));
+                        }
+                    }
+                });
+                try {
+                    action.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
+    /**
+     * 새 트랜잭션에서 참조 수 -references, 0 이하가 되면 잠금을 쥔 채 delete 실행 후 행 제거
+     * - references = 0: 롤백된 저장의 정리 (참조가 없을 때만 삭제)
+     * - 실패는 로그만 남김
+     */
+    private void release(String localPath, int references, FileAction delete) {
         try {
-            Files.deleteIfExists(target);
-        } catch (IOException e) {
-            throw new BadRequestException("파일 삭제 실패: " + e.getMessage());
+            releaseTx.executeWithoutResult(status -> {
+                StoredFileRef ref = addReferences(localPath, -references, references);
+                if (ref.getRefCount() > 0) return;
+
+                try {
+                    delete.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                storedFileRefRepository.delete(ref);
+            });
+        } catch (RuntimeException e) {
+            log.warn("failed to release stored file: {}", localPath, e);
         }
     }
 
+    /** 파생 파일(alsoDelete) → 원본 순으로 삭제 */
+    private FileAction deleteFiles(String localPath, List<String> alsoDelete) {
+        return () -> {
+            for (String path : alsoDelete) {
+                Files.deleteIfExists(resolve(path));
+            }
+            Files.deleteIfExists(resolve(localPath));
+        };
+    }
+
+    /**
+     * 참조 수 행을 잠그고 delta만큼 변경
+     * - 행이 있으면 잠금 조회 1회 (lecture_videos는 보지 않음)
+     * - 행이 없으면 참조 수 도입 전에 저장된 파일일 수 있으므로 lecture_videos의 (커밋된) 참조 수로 시작
+     *   alreadyRemoved: 이미 커밋된 삭제로 빠진 참조 수 (곧 delta로 다시 빼므로 시작값에 더함)
+     * - 존재 확인은 잠그지 않는 조회로 (없는 키를 for update로 읽으면 gap 잠금 → 동시 insert끼리 교착)
+     */
+    private StoredFileRef addReferences(String localPath, int delta, int alreadyRemoved) {
+        Optional<StoredFileRef> locked = storedFileRefRepository.existsById(localPath)
+                ? storedFileRefRepository.findForUpdate(localPath)
+                : Optional.empty();
+
+        // 없거나, 확인과 잠금 사이에 삭제됐으면 시작값으로 만든 뒤 잠금
+        if (locked.isEmpty()) {
+            long existing = isHlsPath(localPath)
+                    ? lectureVideoRepository.countByHlsPath(localPath)
+                    : lectureVideoRepository.countByLocalPath(localPath)
+                            + lectureVideoRepository.countByThumbnailUrl(localPath);
+            storedFileRefRepository.insertIfAbsent(localPath, (int) existing + alreadyRemoved);
+            locked = storedFileRefRepository.findForUpdate(localPath);
+        }
+
+        StoredFileRef ref = locked
+                .orElseThrow(() -> new IllegalStateException("stored file ref missing: " + localPath));
+        ref.add(delta);
+        return ref;
+    }
+
+    @FunctionalInterface
+    private interface FileAction {
+        void run() throws IOException;
+    }
+
     // =========================================================
     // 내부 헬퍼
     // =========================================================
 
+    private void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void deleteTreeQuietly(Path dir) {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(this::deleteQuietly);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private String getExtension(String filename) {
         int idx = filename.lastIndexOf('.');
         return (idx < 0) ? "" : filename.substring(idx);
@@ -162,7 +678,8 @@ public class LocalFileStorage {
             String originalFilename,
             String storedFilename,
             String mimeType,
-            long fileSizeBytes
+            long fileSizeBytes,
+            String contentHash
     ) {
     }
 
@@ -171,7 +688,8 @@ public class LocalFileStorage {
             String originalFilename,
             String storedFilename,
             String mimeType,
-            long fileSizeBytes
+            long fileSizeBytes,
+            String variantWidths // 파생 이미지 폭 목록 ("320,640"), 없으면 null
     ) {
     }
 }
\ No newline at end of file
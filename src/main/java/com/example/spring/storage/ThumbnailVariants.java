@@ -0,0 +1,60 @@
+package com.example.spring.storage;
+
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 썸네일 가로 크기별 파생 이미지 경로 규칙
+ *
+ * - 원본: /thumbnails/2026/03/{hash}.png
+ * - 파생: /thumbnails/2026/03/{hash}-{width}w.jpg
+ * - 파일명이 내용 해시라 같은 URL의 내용은 바뀌지 않음 (immutable 캐시 가능)
+ * - 만든 폭 목록은 DB(thumbnail_widths)에 "320,640,960" 형태로 저장
+ */
+public final class ThumbnailVariants {
+
+    private ThumbnailVariants() {
+    }
+
+    public static String path(String originalUrl, int width) {
+        int slash = originalUrl.lastIndexOf('/');
+        int dot = originalUrl.lastIndexOf('.');
+        String base = (dot > slash) ? originalUrl.substring(0, dot) : originalUrl;
+        return base + "-" + width + "w.jpg";
+    }
+
+    public static List<Integer> parse(String widths) {
+        List<Integer> result = new ArrayList<>();
+        if (!StringUtils.hasText(widths)) return result;
+
+        for (String part : widths.split(",")) {
+            try {
+                result.add(Integer.parseInt(part.trim()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return result;
+    }
+
+    public static String join(List<Integer> widths) {
+        if (widths == null || widths.isEmpty()) return null;
+        return widths.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * 표시 폭(px) 이상인 가장 작은 파생 이미지, 없으면 원본
+     * - displayWidth가 null이면 원본 (기존 응답 유지)
+     */
+    public static String select(String originalUrl, String widths, Integer displayWidth) {
+        if (!StringUtils.hasText(originalUrl) || displayWidth == null || displayWidth <= 0) return originalUrl;
+
+        Integer best = null;
+        for (int w : parse(widths)) {
+            if (w >= displayWidth && (best == null || w < best)) best = w;
+        }
+        return best == null ? originalUrl : path(originalUrl, best);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.spring.storage;
+
+import com.example.spring.common.exception.BadRequestException;
+import com.example.spring.common.exception.NotFoundException;
+import com.example.spring.config.AppProperties;
+import com.example.spring.entity.Lecture;
+import com.example.spring.entity.LectureVideo;
+import com.example.spring.entity.VideoSourceType;
+import com.example.spring.repository.LectureVideoRepository;
+import com.example.spring.util.AfterCommit;
+import com.example.spring.util.TtlCache;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 업로드 영상 파일 메타 캐시 (videoId 기준).
+ *
+ * 재생 1회에 Range 요청이 수백 번 들어오므로, 요청마다 하던
+ * DB 조회 + 경로 정규화 + exists/size/probeContentType 를 한 번으로 줄인다.
+ *
+ * - TTL/최대 크기 제한(app.cache.video-meta-*)
+ * - 영상 삭제/교체 시 LectureService에서 evict 호출
+ * - 파일이 사라진 경우 스트리밍 측에서 evict 후 404
+ */
+@Component
+public class VideoFileMetaCache {
+
+    private final LectureVideoRepository lectureVideoRepository;
+    private final Path baseDir;
+    private final TtlCache<Long, VideoFileMeta> cache;
+
+    public VideoFileMetaCache(LectureVideoRepository lectureVideoRepository, AppProperties props) {
+        this.lectureVideoRepository = lectureVideoRepository;
+        this.baseDir = Paths.get(props.getUpload().getBaseDir()).toAbsolutePath().normalize();
+        this.cache = new TtlCache<>(
+                "videoFileMeta",
+                props.getCache().getVideoMetaTtlSeconds() * 1000L,
+                props.getCache().getVideoMetaMaxSize()
+        );
+    }
+
+    /**
+     * 캐시된 메타 조회 (없으면 DB/파일시스템에서 로드)
+     * - 로드 실패(영상 없음/업로드 아님/파일 없음)는 예외로 전달되고 캐시하지 않음
+     */
+    public VideoFileMeta get(Long videoId) {
+        return cache.get(videoId, this::load);
+    }
+
+    /** 즉시 + 커밋 이후 한 번 더 제거 (커밋 전 다른 요청이 옛 값을 다시 채우는 경우 대비) */
+    public void evict(Long videoId) {
+        if (videoId == null) return;
+        cache.invalidate(videoId);
+        AfterCommit.run(() -> cache.invalidate(videoId));
+    }
+
+    public TtlCache.Stats stats() {
+        return cache.stats();
+    }
+
+    // =========================================================
+    // 로드
+    // =========================================================
+
+    private VideoFileMeta load(Long videoId) {
+        LectureVideo video = lectureVideoRepository.findWithLectureAndProfessorByVideoId(videoId)
+                .orElseThrow(() -> new NotFoundException("비디오를 찾을 수 없습니다."));
+
+        if (video.getSourceType() != VideoSourceType.UPLOAD) {
+            throw new BadRequestException("로컬 업로드 영상만 스트리밍할 수 있습니다.");
+        }
+
+        Lecture lecture = video.getLecture();
+        if (lecture == null) {
+            throw new NotFoundException("비디오에 연결된 강의를 찾을 수 없습니다.");
+        }
+
+        String localPath = video.getLocalPath();
+        if (!StringUtils.hasText(localPath)) {
+            throw new NotFoundException("서버에 저장된 파일 경로가 없습니다.");
+        }
+
+        Path filePath = resolveUnderBaseDir(localPath);
+
+        // exists + size + lastModified 를 stat 1회로
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(filePath, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new NotFoundException("파일이 존재하지 않습니다.");
+        }
+
+        long size = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+
+        Long professorId = lecture.getProfessor() == null ? null : lecture.getProfessor().getUserId();
+
+        return new VideoFileMeta(
+                videoId,
+                lecture.getLectureId(),
+                professorId,
+                filePath,
+                size,
+                lastModified,
+                buildETag(size, lastModified),
+                resolveMediaType(video.getMimeType(), filePath),
+                StringUtils.hasText(video.getHlsPath()) ? resolveUnderBaseDir(video.getHlsPath()) : null,
+                video.getDurationSec()
+        );
+    }
+
+    private Path resolveUnderBaseDir(String localPath) {
+        String relative = localPath.startsWith("/") ? localPath.substring(1) : localPath;
+        Path target = baseDir.resolve(relative).normalize();
+
+        if (!target.startsWith(baseDir)) {
+            throw new BadRequestException("잘못된 파일 경로입니다.");
+        }
+        return target;
+    }
+
+    /** 파일 크기 + 수정 시각 기반 ETag (파일 교체/재작성 시 달라짐) */
+    private String buildETag(long contentLength, long lastModified) {
+        return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(contentLength) + "\"";
+    }
+
+    private MediaType resolveMediaType(String mimeType, Path filePath) {
+        try {
+            if (StringUtils.hasText(mimeType)) return MediaType.parseMediaType(mimeType);
+        } catch (Exception ignored) {
+        }
+
+        try {
+            String probed = Files.probeContentType(filePath);
+            if (StringUtils.hasText(probed)) return MediaType.parseMediaType(probed);
+        } catch (Exception ignored) {
+        }
+
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * 스트리밍에 필요한 영상 파일 메타
+     * - professorId: 강의 소유 교수 (없으면 null)
+     * - hlsPlaylist: HLS 패키지 playlist 파일 (패키징 전/미지원이면 null)
+     */
+    public record VideoFileMeta(
+            Long videoId,
+            Long lectureId,
+            Long professorId,
+            Path path,
+            long size,
+            long lastModified,
+            String etag,
+            MediaType mediaType,
+            Path hlsPlaylist,
+            int durationSec
+    ) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.spring.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 영상 파일의 바이트 구간을 서블릿 응답으로 내려보내는 헬퍼.
+ *
+ * - Tomcat NIO 커넥터가 sendfile을 지원하면 요청 속성만 세팅하고 끝낸다.
+ *   (서블릿 반환 후 커넥터가 커널 sendfile로 파일 → 소켓 전송, JVM 힙 복사 없음)
+ * - 지원하지 않으면(multipart 응답 포함) FileChannel.transferTo로 응답 스트림에 보낸다.
+ *   응답 스트림은 소켓 채널이 아니라 Channels.newChannel(OutputStream) 래퍼이므로
+ *   JDK가 임시 direct buffer(캐시 재사용) → 래퍼의 힙 byte[](응답당 최대 8KB 1개)를 거쳐 복사한다.
+ *   → 이 경로는 ResourceRegion 경로처럼 힙을 거치며, "복사 없음"은 sendfile 경로에만 해당한다.
+ *   (비교: src/jmh StreamingBenchmark)
+ *
+ * 헤더(status, Content-Type, Content-Length, Content-Range)는 호출 측에서 먼저 세팅해야 한다.
+ */
+@Component
+public class VideoFileSender {
+
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    public void send(HttpServletRequest request,
+                     HttpServletResponse response,
+                     Path filePath,
+                     long start,
+                     long count) throws IOException {
+        if (count <= 0 || "HEAD".equalsIgnoreCase(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, filePath.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, start + count); // end는 exclusive
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    /**
+     * multipart/byteranges 응답 본문을 작성한다.
+     * - sendfile은 단일 구간만 가능하므로 여기서는 항상 transferTo를 사용
+     * - 전체 길이 계산 대신 chunked 전송(Content-Length 생략)
+     */
+    public void sendMultipart(HttpServletRequest request,
+                              HttpServletResponse response,
+                              Path filePath,
+                              long contentLength,
+                              String partContentType,
+                              List<ByteRange> ranges) throws IOException {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod())) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            for (ByteRange range : ranges) {
+                String partHeader = "\r\n--" + boundary + "\r\n"
+                        + "Content-Type: " + partContentType + "\r\n"
+                        + "Content-Range: bytes " + range.start() + "-" + range.end() + "/" + contentLength + "\r\n"
+                        + "\r\n";
+                out.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+                transfer(channel, range.start(), range.length(), target);
+            }
+            out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * 열린 채널에서 [start, start + count) 구간을 target으로 전송한다.
+     */
+    public static void transfer(FileChannel channel, long start, long count, WritableByteChannel target) throws IOException {
+        long position = start;
+        long remaining = count;
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, target);
+            if (sent <= 0) {
+                break; // EOF (파일이 요청 도중 잘린 경우)
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    /**
+     * 닫힌 바이트 구간 [start, end]
+     * @param openEnded 요청이 "bytes=N-"(끝 미지정)였는지 - 플레이어의 순차 재생 요청, 청크 크기 결정용
+     */
+    public record ByteRange(long start, long end, boolean openEnded) {
+        public ByteRange(long start, long end) {
+            this(start, end, false);
+        }
+
+        public long length() {
+            return end - start + 1;
+        }
+    }
+}
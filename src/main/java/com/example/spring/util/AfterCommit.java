@@ -0,0 +1,31 @@
+package com.example.spring.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 커밋 이후 실행 헬퍼.
+ *
+ * - 활성 트랜잭션이 있으면 커밋 직후 실행
+ * - 없으면 즉시 실행
+ *
+ * 캐시 무효화처럼 "커밋 전에 다른 요청이 옛 값을 다시 채우는" 경우를 막을 때 사용한다.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.spring.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 해시 hex 문자열(SHA-256 등) 전용 bloom filter.
+ *
+ * - 키가 이미 균등 분포된 digest라 추가 해시 없이 앞 32 hex 문자에서 두 64bit 값을 뽑아 double hashing
+ * - "없음"은 확실, "있음"은 오탐 가능 (원본 저장소로 확인 필요)
+ * - 삭제 불가 (지워진 키가 쌓이면 새로 만들어 교체)
+ * - lock-free (비트 배열은 AtomicLongArray + CAS)
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+
+    private final AtomicLong insertions = new AtomicLong();
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    /**
+     * @param expectedInsertions 예상 키 수
+     * @param fpp                목표 오탐률 (0 &lt; fpp &lt; 1)
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions < 1) expectedInsertions = 1;
+        if (fpp <= 0 || fpp >= 1) throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, (m + 63) / 64 * 64);
+        if (m / 64 > Integer.MAX_VALUE) throw new IllegalArgumentException("bloom filter too large: " + m + " bits");
+
+        this.bitSize = m;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) m / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+        this.bits = new AtomicLongArray((int) (m / 64));
+    }
+
+    public void put(String hexDigest) {
+        long h1 = hexToLong(hexDigest, 0);
+        long h2 = hexToLong(hexDigest, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            if (setBit(index(h1, h2, i))) bitsSet.incrementAndGet();
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String hexDigest) {
+        long h1 = hexToLong(hexDigest, 0);
+        long h2 = hexToLong(hexDigest, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = index(h1, h2, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /** 현재 채워진 비트 비율 기준 오탐률 추정치: (set / m)^k */
+    public double estimatedFpp() {
+        return Math.pow((double) bitsSet.get() / bitSize, hashFunctions);
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    // =========================================================
+    // 내부
+    // =========================================================
+
+    private long index(long h1, long h2, int i) {
+        long combined = h1 + i * h2;
+        return (combined & Long.MAX_VALUE) % bitSize;
+    }
+
+    /** @return 이번 호출로 0→1이 된 경우 true */
+    private boolean setBit(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0) return false;
+            if (bits.compareAndSet(word, current, current | mask)) return true;
+        }
+    }
+
+    private static long hexToLong(String hex, int offset) {
+        if (hex == null || hex.length() < offset + 16) {
+            throw new IllegalArgumentException("hex digest must have at least 32 chars");
+        }
+        long v = 0;
+        for (int i = offset; i < offset + 16; i++) {
+            int d = Character.digit(hex.charAt(i), 16);
+            if (d < 0) throw new IllegalArgumentException("not a hex digest: " + hex);
+            v = (v << 4) | d;
+        }
+        return v;
+    }
+}
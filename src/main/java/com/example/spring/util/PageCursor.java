@@ -0,0 +1,101 @@
+package com.example.spring.util;
+
+import com.example.spring.common.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 커서(keyset) 페이지 토큰.
+ *
+ * - 마지막 행의 정렬 키를 "종류|값|값..." 으로 이어 base64url 인코딩 (클라이언트는 그대로 돌려주기만)
+ * - 종류가 다른 목록의 커서나 깨진 토큰은 400
+ * - 서명하지 않음: 값을 바꿔도 읽을 수 있는 위치만 달라질 뿐 권한 범위는 쿼리 조건이 정한다
+ * - null 값은 빈 문자열로 저장 (예: 아직 학습하지 않은 수강의 lastAccessedAt)
+ */
+public final class PageCursor {
+
+    /** 커서 목록 한 번에 최대 행 수 */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+    private static final String INVALID = "cursor 값이 올바르지 않습니다.";
+
+    private PageCursor() {
+    }
+
+    /** size를 1..MAX_PAGE_SIZE로 맞춘 첫 페이지 요청 (정렬은 쿼리가 담당) */
+    public static Pageable firstPage(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    public static String encode(String kind, Object... keys) {
+        StringBuilder sb = new StringBuilder(kind);
+        for (Object key : keys) {
+            sb.append(SEPARATOR).append(key == null ? "" : key.toString());
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 정렬 키 문자열 (keyCount개), cursor가 비어 있으면 null (첫 페이지)
+     */
+    public static String[] decode(String cursor, String kind, int keyCount) {
+        if (cursor == null || cursor.isBlank()) return null;
+
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(INVALID);
+        }
+
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != keyCount + 1 || !kind.equals(parts[0])) {
+            throw new BadRequestException(INVALID);
+        }
+        String[] keys = new String[keyCount];
+        System.arraycopy(parts, 1, keys, 0, keyCount);
+        return keys;
+    }
+
+    /** 종류가 kind인 커서인지 (깨진 토큰이면 false) */
+    public static boolean isKind(String cursor, String kind) {
+        if (cursor == null || cursor.isBlank()) return false;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            return raw.startsWith(kind + SEPARATOR);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public static long longKey(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(INVALID);
+        }
+    }
+
+    /** 빈 문자열이면 null */
+    public static LocalDateTime timeKey(String value) {
+        if (value.isEmpty()) return null;
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(INVALID);
+        }
+    }
+
+    public static boolean booleanKey(String value) {
+        if ("true".equals(value)) return true;
+        if ("false".equals(value)) return false;
+        throw new BadRequestException(INVALID);
+    }
+}
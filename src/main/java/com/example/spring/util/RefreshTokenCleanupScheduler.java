@@ -1,28 +1,94 @@
 package com.example.spring.util;
 
+import com.example.spring.config.AppProperties;
 import com.example.spring.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
 
 /**
- * 만료된 refresh 토큰 정리 배치.
+ * 만료/폐기된 refresh 토큰 정리 배치.
+ *
+ * - 엔티티를 하나씩 읽어 지우지 않고, id를 batch 크기만큼 조회 → id로 bulk delete
+ * - batch 하나가 짧은 트랜잭션 하나 (락/undo 로그를 오래 잡지 않음)
+ * - 폐기 토큰은 재사용 탐지 유예 기간(app.security.refresh-revoked-grace-hours) 이후 삭제
+ * - 실행마다 삭제 건수/소요 시간 기록 (관리자 조회용)
  */
+@Slf4j
 @Component
 public class RefreshTokenCleanupScheduler {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final long revokedGraceHours;
 
-    public RefreshTokenCleanupScheduler(RefreshTokenRepository refreshTokenRepository) {
+    private volatile RunStats lastRun;
+
+    public RefreshTokenCleanupScheduler(RefreshTokenRepository refreshTokenRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        AppProperties props) {
         this.refreshTokenRepository = refreshTokenRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = props.getSecurity().getRefreshCleanupBatchSize();
+        this.revokedGraceHours = props.getSecurity().getRefreshRevokedGraceHours();
     }
 
-    /** 매일 새벽 3시(Asia/Seoul)에 만료 토큰 삭제 */
+    /** 매일 새벽 3시(Asia/Seoul)에 만료/폐기 토큰 삭제 */
     @Scheduled(cron = "0 0 3 * * *", zone = "Asia/Seoul")
-    @Transactional
     public void cleanupExpired() {
-        refreshTokenRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        Deleted expired = deleteInChunks(
+                pageable -> refreshTokenRepository.findExpiredIds(startedAt, pageable));
+        Deleted revoked = deleteInChunks(
+                pageable -> refreshTokenRepository.findRevokedIdsBefore(startedAt.minusHours(revokedGraceHours), pageable));
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        int chunks = expired.chunks() + revoked.chunks();
+        lastRun = new RunStats(startedAt, expired.rows(), revoked.rows(), chunks, durationMillis);
+        log.info("refresh token cleanup: expired={}, revoked={}, chunks={}, durationMs={}",
+                expired.rows(), revoked.rows(), chunks, durationMillis);
+    }
+
+    /** 마지막 실행 결과 (아직 실행 전이면 null) */
+    public RunStats lastRun() {
+        return lastRun;
+    }
+
+    private Deleted deleteInChunks(Function<PageRequest, List<Long>> findIds) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        long total = 0;
+        int chunks = 0;
+        while (true) {
+            Integer deleted = tx.execute(status -> {
+                List<Long> ids = findIds.apply(page);
+                return ids.isEmpty() ? 0 : refreshTokenRepository.deleteAllByIdIn(ids);
+            });
+            if (deleted == null || deleted == 0) return new Deleted(total, chunks);
+            total += deleted;
+            chunks++;
+            if (deleted < batchSize) return new Deleted(total, chunks);
+        }
+    }
+
+    private record Deleted(long rows, int chunks) {
+    }
+
+    public record RunStats(
+            LocalDateTime startedAt,
+            long expiredDeleted,
+            long revokedDeleted,
+            int chunks,
+            long durationMillis
+    ) {
     }
 }
@@ -0,0 +1,152 @@
+package com.example.spring.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 키 하나짜리 값 캐시 (stale-while-revalidate).
+ *
+ * - refreshAfter 안: 캐시 값 반환
+ * - refreshAfter ~ expireAfter: 캐시 값을 바로 반환하고 백그라운드에서 한 번만 다시 로드
+ * - expireAfter 초과 / 키가 바뀜(예: 날짜) / 비어 있음: 호출 스레드에서 로드 (동시 호출은 한 번만 로드)
+ * - loader가 null을 반환하거나 예외를 던지면 기존 값 유지 (동기 로드면 예외는 그대로 전달)
+ */
+@Slf4j
+public class RefreshingValue<K, V> {
+
+    private final String name;
+    private final long refreshAfterMillis;
+    private final long expireAfterMillis;
+    private final Executor executor;
+
+    private volatile Slot<K, V> slot;
+    private final Object loadLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public RefreshingValue(String name, long refreshAfterMillis, long expireAfterMillis, Executor executor) {
+        if (refreshAfterMillis <= 0) throw new IllegalArgumentException("refreshAfterMillis must be positive");
+        if (expireAfterMillis < refreshAfterMillis) {
+            throw new IllegalArgumentException("expireAfterMillis must be >= refreshAfterMillis");
+        }
+        this.name = name;
+        this.refreshAfterMillis = refreshAfterMillis;
+        this.expireAfterMillis = expireAfterMillis;
+        this.executor = executor;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Slot<K, V> s = slot;
+        if (s != null && s.key().equals(key)) {
+            long age = System.currentTimeMillis() - s.loadedAt();
+            if (age < refreshAfterMillis) {
+                hits.increment();
+                return s.value();
+            }
+            if (age < expireAfterMillis) {
+                staleHits.increment();
+                refreshAsync(key, loader);
+                return s.value();
+            }
+        }
+
+        synchronized (loadLock) {
+            // 기다리는 동안 다른 스레드가 채웠으면 그 값 사용
+            s = slot;
+            if (s != null && s.key().equals(key)
+                    && System.currentTimeMillis() - s.loadedAt() < refreshAfterMillis) {
+                hits.increment();
+                return s.value();
+            }
+
+            loads.increment();
+            V value = loader.apply(key);
+            if (value != null) {
+                slot = new Slot<>(key, value, System.currentTimeMillis());
+            }
+            return value;
+        }
+    }
+
+    public void invalidate() {
+        slot = null;
+    }
+
+    public Stats stats() {
+        Slot<K, V> s = slot;
+        return new Stats(
+                name,
+                refreshAfterMillis,
+                expireAfterMillis,
+                hits.sum(),
+                staleHits.sum(),
+                loads.sum(),
+                refreshes.sum(),
+                failures.sum(),
+                s == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(s.loadedAt()), ZoneId.systemDefault())
+        );
+    }
+
+    // =========================================================
+    // 내부
+    // =========================================================
+
+    private void refreshAsync(K key, Function<? super K, ? extends V> loader) {
+        if (!refreshing.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    V value = loader.apply(key);
+                    if (value != null) {
+                        synchronized (loadLock) {
+                            // 그사이 키가 바뀌었으면(날짜 변경 등) 덮어쓰지 않음
+                            Slot<K, V> current = slot;
+                            if (current == null || Objects.equals(current.key(), key)) {
+                                slot = new Slot<>(key, value, System.currentTimeMillis());
+                            }
+                        }
+                    }
+                    refreshes.increment();
+                } catch (Exception e) {
+                    failures.increment();
+                    log.warn("background refresh failed: cache={}", name, e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 다음 조회에서 다시 시도
+            refreshing.set(false);
+        }
+    }
+
+    private record Slot<K, V>(K key, V value, long loadedAt) {
+    }
+
+    public record Stats(
+            String name,
+            long refreshAfterMillis,
+            long expireAfterMillis,
+            long hits,
+            long staleHits,
+            long loads,
+            long refreshes,
+            long failures,
+            LocalDateTime loadedAt
+    ) {
+    }
+}
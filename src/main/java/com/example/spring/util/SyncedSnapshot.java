@@ -0,0 +1,108 @@
+package com.example.spring.util;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * DB 테이블을 메모리 구조(검색 색인, bloom filter 등)로 들고 있으면서
+ * 주기적으로 새로 만들어 교체하고, 그 사이에는 변경 시각(updated_at 등) 기준으로 따라잡는다.
+ *
+ * - rebuild: 빈 구조 생성 → 전체 적재 → 적재 시작 시각 이후 변경 반영 → 교체
+ *   (적재 중 apply로 들어온 이 인스턴스의 변경은 현재 구조와 새 구조 양쪽에 반영)
+ * - syncRecent: 마지막 동기화 시각 이후 변경을 현재 구조에 반영, 재생성 중에는 건너뜀
+ * - 변경 조회 구간은 SYNC_OVERLAP_SECONDS만큼 겹쳐 잡는다 (시계/커밋 지연 대비 → 반영은 멱등이어야 함)
+ * - 실패하면 예외를 그대로 전달하고 기존 구조를 유지 (첫 생성 전에는 current() == null)
+ * - 로그/지표는 사용하는 쪽에서
+ */
+public class SyncedSnapshot<T> {
+
+    /** 동기화 구간 겹침 (시계/커밋 지연 대비) */
+    private static final long SYNC_OVERLAP_SECONDS = 10;
+
+    public interface Source<T> {
+
+        /** 빈 구조 (now = 재생성 시작 시각) */
+        T create(LocalDateTime now);
+
+        /** 전체 적재 */
+        void load(T target, LocalDateTime now);
+
+        /** since 이후 바뀐 행 반영 */
+        void syncSince(T target, LocalDateTime since);
+    }
+
+    private final Source<T> source;
+
+    private volatile T current;
+
+    /** 재생성 중인 새 구조 (그동안의 변경도 함께 반영) */
+    private volatile T building;
+
+    private volatile LocalDateTime lastSyncAt;
+    private volatile LocalDateTime lastRebuiltAt;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public SyncedSnapshot(Source<T> source) {
+        this.source = source;
+    }
+
+    /** 현재 구조 (생성 전이면 null) */
+    public T current() {
+        return current;
+    }
+
+    /** 이 인스턴스의 변경을 현재 구조와 재생성 중인 구조에 반영 */
+    public void apply(Consumer<T> change) {
+        T c = current;
+        if (c != null) change.accept(c);
+        T b = building;
+        if (b != null) change.accept(b);
+    }
+
+    /** @return 새로 만든 구조, 이미 다른 스레드가 재생성 중이면 null */
+    public T rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) return null;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            T next = source.create(now);
+            building = next;
+
+            source.load(next, now);
+
+            // 적재 중 다른 인스턴스가 바꾼 것까지 반영 후 교체
+            source.syncSince(next, now.minusSeconds(SYNC_OVERLAP_SECONDS));
+            current = next;
+            lastSyncAt = now;
+            lastRebuiltAt = now;
+            return next;
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    /** @return 반영했으면 true, 생성 전이거나 재생성 중이면 false */
+    public boolean syncRecent() {
+        T c = current;
+        LocalDateTime since = lastSyncAt;
+        if (c == null || since == null || rebuilding.get()) return false;
+
+        LocalDateTime now = LocalDateTime.now();
+        source.syncSince(c, since.minusSeconds(SYNC_OVERLAP_SECONDS));
+        lastSyncAt = now;
+        return true;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    public LocalDateTime lastSyncAt() {
+        return lastSyncAt;
+    }
+
+    public LocalDateTime lastRebuiltAt() {
+        return lastRebuiltAt;
+    }
+}
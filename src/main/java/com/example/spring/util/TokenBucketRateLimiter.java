@@ -0,0 +1,114 @@
+package com.example.spring.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 키(IP, 이메일 등)별 token bucket 속도 제한.
+ *
+ * - 버킷 하나 = long 하나 (GCRA: 다음 토큰이 "이론상" 생기는 시각), CAS로 갱신 → lock-free
+ * - capacity개까지 연속 허용, 이후 refillPerMinute 속도로 회복
+ * - 키 수 상한(maxKeys): 가득 찬(=새 키와 같은) 버킷은 주기적으로 제거하고,
+ *   그래도 넘치면 새 키는 공용 overflow 버킷을 함께 쓴다 (메모리 고정, 공격 시 더 엄격해짐)
+ */
+public final class TokenBucketRateLimiter {
+
+    private static final String OVERFLOW_KEY = "\u0000overflow";
+    private static final long SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final String name;
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucketRateLimiter(String name, int capacity, int refillPerMinute, int maxKeys) {
+        this(name, capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(String name, int capacity, int refillPerMinute, int maxKeys, LongSupplier clock) {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("capacity/refillPerMinute must be positive");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.intervalNanos = 60_000_000_000L / refillPerMinute;
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = Math.max(16, maxKeys);
+        this.clock = clock;
+        this.lastSweep.set(clock.getAsLong());
+    }
+
+    /**
+     * 토큰 하나 사용 시도
+     *
+     * @return 0이면 허용, 양수면 거부 (다음 토큰까지 남은 nanos)
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = bucketFor(key, now);
+
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                rejected.increment();
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(name, buckets.size(), maxKeys, capacity,
+                (int) (60_000_000_000L / intervalNanos), allowed.sum(), rejected.sum());
+    }
+
+    // =========================================================
+    // 내부
+    // =========================================================
+
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) return bucket;
+
+        if (buckets.size() >= maxKeys) {
+            sweep(now);
+            if (buckets.size() >= maxKeys) {
+                return buckets.computeIfAbsent(OVERFLOW_KEY, k -> new AtomicLong(now));
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /** 가득 찬 버킷(tat <= now)은 새 버킷과 같으므로 제거해도 동작이 같다 (1초에 한 번만) */
+    private void sweep(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) return;
+        buckets.entrySet().removeIf(e -> e.getValue().get() <= now);
+    }
+
+    public record Stats(
+            String name,
+            int keys,
+            int maxKeys,
+            int capacity,
+            int refillPerMinute,
+            long allowed,
+            long rejected
+    ) {
+    }
+}
@@ -1,20 +1,98 @@
 package com.example.spring.util;
 
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
+/**
+ * 토큰 SHA-256 해시 (소문자 hex 64자)
+ *
+ * 로그인/재발급/로그아웃/폐기와 JWT claims 캐시 키 계산마다 호출된다.
+ * - MessageDigest는 스레드별로 재사용 (getInstance 반복 없음)
+ * - digest 결과/입력 버퍼도 스레드별로 재사용, 결과 문자열 외 할당 없음
+ * - hex 변환은 미리 만든 테이블 사용 (String.format 미사용)
+ */
 public class TokenHash {
 
+    private static final int DIGEST_LENGTH = 32;
+
+    /** 이보다 긴 입력은 버퍼를 키우지 않고 그때만 getBytes */
+    private static final int MAX_SCRATCH = 4096;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
     public static String sha256Hex(String raw) {
+        State s = STATE.get();
+        int len = raw.length();
+
+        // JWT/refresh 토큰은 ASCII라 UTF-8 인코딩 없이 스레드 버퍼에 바로 복사
+        if (len <= MAX_SCRATCH && isAscii(raw, len)) {
+            byte[] buf = s.scratch(len);
+            for (int i = 0; i < len; i++) buf[i] = (byte) raw.charAt(i);
+            return digestHex(s, buf, 0, len);
+        }
+
+        byte[] bytes = raw.getBytes(StandardCharsets.UTF_8);
+        return digestHex(s, bytes, 0, bytes.length);
+    }
+
+    public static String sha256Hex(byte[] raw) {
+        return sha256Hex(raw, 0, raw.length);
+    }
+
+    public static String sha256Hex(byte[] raw, int offset, int length) {
+        return digestHex(STATE.get(), raw, offset, length);
+    }
+
+    private static String digestHex(State s, byte[] input, int offset, int length) {
+        MessageDigest md = s.md;
+        md.update(input, offset, length);
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] dig = md.digest(raw.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder();
-            for (byte b : dig) sb.append(String.format("%02x", b));
-            return sb.toString();
-        } catch (Exception e) {
+            md.digest(s.out, 0, DIGEST_LENGTH);
+        } catch (DigestException e) {
+            md.reset();
             throw new RuntimeException("hash error", e);
         }
+
+        char[] hex = s.hex;
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            int b = s.out[i] & 0xFF;
+            hex[i * 2] = HEX[b >>> 4];
+            hex[i * 2 + 1] = HEX[b & 0x0F];
+        }
+        return new String(hex);
+    }
+
+    private static boolean isAscii(String raw, int len) {
+        for (int i = 0; i < len; i++) {
+            if (raw.charAt(i) >= 0x80) return false;
+        }
+        return true;
     }
-}
 
+    /** 스레드별 digest/버퍼 */
+    private static final class State {
+        final MessageDigest md;
+        final byte[] out = new byte[DIGEST_LENGTH];
+        final char[] hex = new char[DIGEST_LENGTH * 2];
+        byte[] scratch = new byte[256];
+
+        State() {
+            try {
+                this.md = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("hash error", e);
+            }
+        }
+
+        byte[] scratch(int len) {
+            if (scratch.length < len) {
+                scratch = new byte[Math.min(MAX_SCRATCH, Math.max(len, scratch.length * 2))];
+            }
+            return scratch;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.spring.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 프로세스 내부용 간단 TTL 캐시.
+ *
+ * - 항목마다 만료 시각을 들고 있고, 조회 시 만료됐으면 다시 로드한다.
+ * - 항목마다 버전을 두고, invalidate(key)는 항목 대신 버전만 올린 표식(tombstone)을 남긴다.
+ *   로드 결과는 로드 시작 시점과 버전이 같을 때만 저장 → invalidate 이전에 시작한 로드(변경 전 값)는 버려진다.
+ *   (invalidateAll/invalidateIf는 캐시 전체 세대를 올려 같은 효과)
+ * - maxSize를 넘으면 한 스레드만 정리: 만료 항목 → (그래도 넘치면) 만료가 임박한 항목 순으로 maxSize의 90%까지.
+ *   여유분만큼 다시 넘칠 때까지 정리하지 않으므로 put당 평균 비용은 일정하다.
+ * - loader가 null을 반환하거나 예외를 던지면 캐시에 넣지 않는다.
+ * - 적중/미스/정리 횟수는 운영 확인용으로 stats()에서 조회.
+ */
+public class TtlCache<K, V> {
+
+    /** 넘쳤을 때 정리 후 목표 크기 (maxSize 대비) */
+    private static final double SWEEP_TARGET_RATIO = 0.9;
+
+    private final String name;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+
+    /** 항목 버전 (put/invalidate마다 증가) */
+    private final AtomicLong versions = new AtomicLong();
+
+    /** invalidateAll/invalidateIf 세대 */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(String name, long ttlMillis, int maxSize) {
+        if (ttlMillis <= 0) throw new IllegalArgumentException("ttlMillis must be positive");
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be positive");
+        this.name = name;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /** 캐시 조회, 없거나 만료됐으면 loader로 채운다. */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = System.currentTimeMillis();
+
+        Entry<V> observed = map.get(key);
+        if (observed != null && observed.isLive(now)) {
+            hits.increment();
+            return observed.value();
+        }
+
+        misses.increment();
+        long observedVersion = observed == null ? 0 : observed.version();
+        long observedGeneration = generation.get();
+
+        V value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+
+        store(key, value, System.currentTimeMillis() + ttlMillis, observedVersion, observedGeneration);
+        return value;
+    }
+
+    /** 캐시에 있는 값만 조회 (로드하지 않음) */
+    public V getIfPresent(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry != null && entry.isLive(System.currentTimeMillis())) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    /** 항목별 만료 시각 지정 (ttl보다 길게는 잡지 않음) */
+    public void put(K key, V value, long expiresAtMillis) {
+        long cap = System.currentTimeMillis() + ttlMillis;
+        map.put(key, new Entry<>(value, Math.min(expiresAtMillis, cap), versions.incrementAndGet()));
+        if (map.size() > maxSize) {
+            evictOverflow();
+        }
+    }
+
+    /** 항목 제거 + 진행 중인 로드 결과도 저장되지 않게 표식을 남김 (ttl 뒤 정리) */
+    public void invalidate(K key) {
+        map.put(key, new Entry<>(null, System.currentTimeMillis() + ttlMillis, versions.incrementAndGet()));
+        if (map.size() > maxSize) {
+            evictOverflow();
+        }
+    }
+
+    public void invalidateIf(Predicate<? super K> keyPredicate) {
+        generation.incrementAndGet();
+        map.keySet().removeIf(keyPredicate);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        map.clear();
+    }
+
+    /** 표식(tombstone) 포함 항목 수 */
+    public int size() {
+        return map.size();
+    }
+
+    public Stats stats() {
+        return new Stats(name, map.size(), maxSize, ttlMillis, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    // =========================================================
+    // 내부
+    // =========================================================
+
+    /** 로드 시작 이후 같은 키가 바뀌었거나(버전) 전체 무효화가 있었으면(세대) 저장하지 않는다 */
+    private void store(K key, V value, long expiresAt, long observedVersion, long observedGeneration) {
+        map.compute(key, (k, current) -> {
+            long currentVersion = current == null ? 0 : current.version();
+            if (currentVersion != observedVersion || generation.get() != observedGeneration) {
+                return current;
+            }
+            return new Entry<>(value, expiresAt, versions.incrementAndGet());
+        });
+        if (map.size() > maxSize) {
+            evictOverflow();
+        }
+    }
+
+    private void evictOverflow() {
+        // 동시에 넘친 다른 스레드는 정리를 기다리지 않고 진행 (잠시 maxSize를 조금 넘을 수 있음)
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            long now = System.currentTimeMillis();
+            int target = Math.max(1, (int) (maxSize * SWEEP_TARGET_RATIO));
+
+            // 1) 만료 항목/표식 정리
+            map.values().removeIf(e -> {
+                if (e.expiresAt() > now) return false;
+                evictions.increment();
+                return true;
+            });
+            if (map.size() <= target) return;
+
+            // 2) 그래도 많으면 만료가 임박한 항목부터 target까지 (대략적인 LRU 대용)
+            //    표식은 남긴다 - 지우면 진행 중인 로드가 변경 전 값을 저장할 수 있음
+            long[] expiries = map.values().stream()
+                    .filter(e -> e.value() != null)
+                    .mapToLong(Entry::expiresAt)
+                    .toArray();
+            int excess = map.size() - target;
+            if (expiries.length == 0 || excess <= 0) return;
+
+            Arrays.sort(expiries);
+            long threshold = expiries[Math.min(excess, expiries.length) - 1];
+            map.values().removeIf(e -> {
+                if (e.value() == null || e.expiresAt() > threshold) return false;
+                evictions.increment();
+                return true;
+            });
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /** value == null이면 invalidate 표식 */
+    private record Entry<V>(V value, long expiresAt, long version) {
+        boolean isLive(long now) {
+            return value != null && expiresAt > now;
+        }
+    }
+
+    public record Stats(
+            String name,
+            int size,
+            int maxSize,
+            long ttlMillis,
+            long hits,
+            long misses,
+            long evictions
+    ) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.spring.mail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 로컬 SMTP 수신기
+ *
+ * - EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP, QUIT만 처리 (인증/TLS 없음)
+ * - 받은 메일을 메모리에 보관, 연결 수를 세어 batch 발송 여부 확인
+ * - rejectRecipient로 지정한 주소는 RCPT 단계에서 550 응답
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Thread acceptThread;
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    FakeSmtpServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.acceptThread = new Thread(this::acceptLoop, "fake-smtp");
+        this.acceptThread.setDaemon(true);
+        this.acceptThread.start();
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    void rejectRecipient(String address) {
+        rejected.add(address.toLowerCase(Locale.ROOT));
+    }
+
+    List<Received> received() {
+        return List.copyOf(received);
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                Thread t = new Thread(() -> handle(socket), "fake-smtp-session");
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+             OutputStream out = socket.getOutputStream()) {
+
+            reply(out, "220 fake-smtp ESMTP");
+
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String upper = line.toUpperCase(Locale.ROOT);
+
+                if (upper.startsWith("EHLO") || upper.startsWith("HELO")) {
+                    reply(out, "250 fake-smtp");
+                } else if (upper.startsWith("MAIL FROM:")) {
+                    from = address(line);
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (upper.startsWith("RCPT TO:")) {
+                    String to = address(line);
+                    if (rejected.contains(to.toLowerCase(Locale.ROOT))) {
+                        reply(out, "550 5.1.1 mailbox unavailable");
+                    } else {
+                        recipients.add(to);
+                        reply(out, "250 OK");
+                    }
+                } else if (upper.equals("DATA")) {
+                    if (recipients.isEmpty()) {
+                        reply(out, "503 no valid recipients");
+                        continue;
+                    }
+                    reply(out, "354 end with <CRLF>.<CRLF>");
+                    StringBuilder data = new StringBuilder();
+                    String dataLine;
+                    while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+                        // dot-stuffing 해제
+                        data.append(dataLine.startsWith("..") ? dataLine.substring(1) : dataLine).append("\r\n");
+                    }
+                    received.add(new Received(from, List.copyOf(recipients), data.toString()));
+                    recipients.clear();
+                    reply(out, "250 OK queued");
+                } else if (upper.equals("RSET")) {
+                    from = null;
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (upper.equals("NOOP")) {
+                    reply(out, "250 OK");
+                } else if (upper.equals("QUIT")) {
+                    reply(out, "221 bye");
+                    return;
+                } else {
+                    reply(out, "502 command not implemented");
+                }
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static String address(String line) {
+        int lt = line.indexOf('<');
+        int gt = line.indexOf('>', lt + 1);
+        if (lt >= 0 && gt > lt) return line.substring(lt + 1, gt);
+        return line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    record Received(String from, List<String> recipients, String data) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.spring.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MailBatchSender 테스트 (FakeSmtpServer로 실제 SMTP 대화)
+ *
+ * - batch 전체가 연결 하나로 나가는지
+ * - 거부된 수신자만 실패로 보고되는지
+ * - 연결 실패 시 batch 전체가 실패로 보고되는지
+ */
+class MailBatchSenderTest {
+
+    private FakeSmtpServer smtp;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new FakeSmtpServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    @Test
+    void sendsBatchOverSingleConnection() {
+        Map<Long, String> failures = MailBatchSender.send(sender(smtp.port()), List.of(
+                mail(1L, "a@example.com"),
+                mail(2L, "b@example.com"),
+                mail(3L, "c@example.com")
+        ));
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(1, smtp.connections());
+        assertEquals(
+                List.of("a@example.com", "b@example.com", "c@example.com"),
+                smtp.received().stream().map(r -> r.recipients().get(0)).toList()
+        );
+        assertTrue(smtp.received().get(0).data().contains("code 1"));
+    }
+
+    @Test
+    void reportsOnlyRejectedRecipient() {
+        smtp.rejectRecipient("b@example.com");
+
+        Map<Long, String> failures = MailBatchSender.send(sender(smtp.port()), List.of(
+                mail(1L, "a@example.com"),
+                mail(2L, "b@example.com"),
+                mail(3L, "c@example.com")
+        ));
+
+        assertEquals(Set.of(2L), failures.keySet());
+        assertEquals(2, smtp.received().size());
+        assertEquals(1, smtp.connections());
+    }
+
+    @Test
+    void connectionFailureFailsWholeBatch() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        Map<Long, String> failures = MailBatchSender.send(sender(closedPort), List.of(
+                mail(1L, "a@example.com"),
+                mail(2L, "b@example.com")
+        ));
+
+        assertEquals(Set.of(1L, 2L), failures.keySet());
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+
+        Properties props = new Properties();
+        props.setProperty("mail.smtp.from", "noreply@example.com");
+        props.setProperty("mail.smtp.connectiontimeout", "2000");
+        props.setProperty("mail.smtp.timeout", "2000");
+        sender.setJavaMailProperties(props);
+        return sender;
+    }
+
+    private static MailBatchSender.OutgoingMail mail(Long id, String to) {
+        return new MailBatchSender.OutgoingMail(id, to, "verification", "code " + id);
+    }
+}
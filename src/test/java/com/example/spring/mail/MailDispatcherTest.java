@@ -0,0 +1,292 @@
+package com.example.spring.mail;
+
+import com.example.spring.config.AppProperties;
+import com.example.spring.entity.MailOutbox;
+import com.example.spring.entity.MailOutboxStatus;
+import com.example.spring.repository.MailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MailDispatcher 테스트 (FakeSmtpServer + 메모리 outbox)
+ *
+ * - 거부된 수신자는 backoff(base, 2*base ...)로 재시도되고 maxAttempts에서 FAILED
+ * - 다른 작업이 점유한 행은 보내지 않고, 동시에 kick해도 한 행은 한 번만 발송
+ * - 점유 시간이 batch 최악 발송 시간보다 짧으면 기동 실패
+ *
+ * outbox는 MailOutboxRepository 쿼리(findDueIds/claim)와 같은 조건으로 동작하는 메모리 구현.
+ * 재시도 대기는 기다리지 않고 nextAttemptAt을 과거로 당겨 다음 시도를 진행한다.
+ */
+class MailDispatcherTest {
+
+    private static final long RETRY_BASE_SECONDS = 10;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private FakeSmtpServer smtp;
+    private InMemoryOutbox outbox;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new FakeSmtpServer();
+        outbox = new InMemoryOutbox();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (dispatcher != null) dispatcher.shutdown();
+        smtp.close();
+    }
+
+    @Test
+    void rejectedRecipientIsRetriedWithBackoffThenFailed() {
+        dispatcher = dispatcher(1, 20, 120);
+        smtp.rejectRecipient("bad@example.com");
+        MailOutbox good = outbox.add("good@example.com");
+        MailOutbox bad = outbox.add("bad@example.com");
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            int expected = attempt;
+            boolean last = attempt == MAX_ATTEMPTS;
+            // 이번 실패 전 시도 횟수(attempt - 1)만큼 2배씩
+            long backoff = RETRY_BASE_SECONDS << (attempt - 1);
+
+            LocalDateTime before = LocalDateTime.now();
+            dispatcher.kick();
+            // 기록이 끝날 때까지 (발송 중에는 nextAttemptAt = 점유 만료 시각 120초 뒤)
+            await(() -> bad.getAttempts() == expected && (last
+                    ? bad.getStatus() == MailOutboxStatus.FAILED
+                    : bad.getNextAttemptAt().isBefore(LocalDateTime.now().plusSeconds(backoff + 5))),
+                    "attempt " + expected);
+            LocalDateTime after = LocalDateTime.now();
+
+            assertNotNull(bad.getLastError());
+            if (!last) {
+                assertEquals(MailOutboxStatus.PENDING, bad.getStatus());
+                assertFalse(bad.getNextAttemptAt().isBefore(before.plusSeconds(backoff)), "backoff " + backoff);
+                assertFalse(bad.getNextAttemptAt().isAfter(after.plusSeconds(backoff)), "backoff " + backoff);
+
+                // 재시도 대기 중에는 다시 집지 않음
+                assertTrue(outbox.repository().findDueIds(after, Pageable.ofSize(10)).isEmpty());
+                outbox.rewind(bad);
+            }
+        }
+        assertEquals(MailOutboxStatus.FAILED, bad.getStatus());
+
+        // FAILED 이후에는 발송 대상이 아님 (다음 발송 작업이 끝난 시점에 확인)
+        outbox.rewind(bad);
+        MailOutbox marker = outbox.add("marker@example.com");
+        dispatcher.kick();
+        await(() -> marker.getStatus() == MailOutboxStatus.SENT && marker.getAttempts() == 1, "marker sent");
+
+        assertEquals(MAX_ATTEMPTS, bad.getAttempts());
+        assertEquals(MailOutboxStatus.SENT, good.getStatus());
+        assertEquals(1, good.getAttempts());
+        assertEquals(List.of("good@example.com", "marker@example.com"), recipients());
+    }
+
+    @Test
+    void claimedRowIsNotSentTwice() throws InterruptedException {
+        dispatcher = dispatcher(2, 5, 120);
+        List<MailOutbox> rows = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            rows.add(outbox.add("user" + i + "@example.com"));
+        }
+
+        // 다른 인스턴스가 점유 중인 행
+        MailOutbox leased = outbox.add("leased@example.com");
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, outbox.repository().claim(leased.getId(), now, now.plusSeconds(120)));
+        assertEquals(0, outbox.repository().claim(leased.getId(), now, now.plusSeconds(120)));
+
+        // 스레드 수보다 많은 kick이 동시에 들어와도 (requested → 끝나는 작업이 이어받음)
+        List<Thread> kickers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Thread t = new Thread(dispatcher::kick);
+            kickers.add(t);
+            t.start();
+        }
+        for (Thread t : kickers) t.join();
+
+        await(() -> rows.stream().allMatch(r -> r.getStatus() == MailOutboxStatus.SENT && r.getAttempts() == 1),
+                "all sent");
+
+        List<String> received = recipients();
+        assertEquals(rows.size(), received.size(), received.toString());
+        assertEquals(rows.size(), received.stream().distinct().count());
+        assertFalse(received.contains("leased@example.com"));
+        assertEquals(MailOutboxStatus.PENDING, leased.getStatus());
+        assertEquals(0, leased.getAttempts());
+    }
+
+    @Test
+    void rejectsLeaseShorterThanWorstCaseBatch() {
+        // 연결 2s + 20건 x 2s = 42s
+        assertThrows(IllegalStateException.class, () -> dispatcher(1, 20, 40));
+        assertThrows(IllegalStateException.class, () ->
+                MailDispatcher.requireLeaseCoversBatch(new JavaMailSenderImpl(), 20, 120));
+
+        MailDispatcher.requireLeaseCoversBatch(sender(smtp.port()), 20, 43);
+    }
+
+    // =========================================================
+    // 헬퍼
+    // =========================================================
+
+    private MailDispatcher dispatcher(int threads, int batchSize, long leaseSeconds) {
+        AppProperties props = new AppProperties();
+        AppProperties.Mail mail = props.getMail();
+        mail.setDispatcherThreads(threads);
+        mail.setBatchSize(batchSize);
+        mail.setMaxAttempts(MAX_ATTEMPTS);
+        mail.setRetryBaseSeconds(RETRY_BASE_SECONDS);
+        mail.setRetryMaxSeconds(900);
+        mail.setLeaseSeconds(leaseSeconds);
+        return new MailDispatcher(outbox.repository(), sender(smtp.port()), new NoTransactionManager(), props);
+    }
+
+    private List<String> recipients() {
+        return smtp.received().stream().map(r -> r.recipients().get(0)).toList();
+    }
+
+    private static void await(BooleanSupplier condition, String what) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("timed out waiting for " + what);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+
+        Properties props = new Properties();
+        props.setProperty("mail.smtp.from", "noreply@example.com");
+        props.setProperty("mail.smtp.connectiontimeout", "2000");
+        props.setProperty("mail.smtp.timeout", "2000");
+        sender.setJavaMailProperties(props);
+        return sender;
+    }
+
+    /** 트랜잭션 없이 콜백만 실행 (outbox가 메모리라 커밋/롤백할 것이 없음) */
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+
+    /**
+     * 메모리 outbox (MailOutboxRepository 중 MailDispatcher가 쓰는 메서드만)
+     * - findDueIds/claim은 JPQL과 같은 조건, claim은 행 단위 원자적 update처럼 동기화
+     * - findAllById는 같은 인스턴스를 돌려줌 (영속 엔티티 변경 = 저장)
+     */
+    private static final class InMemoryOutbox {
+
+        private final Map<Long, MailOutbox> rows = new ConcurrentSkipListMap<>();
+        private final AtomicLong ids = new AtomicLong();
+        private final MailOutboxRepository repository = (MailOutboxRepository) Proxy.newProxyInstance(
+                MailOutboxRepository.class.getClassLoader(),
+                new Class<?>[]{MailOutboxRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findDueIds" -> findDueIds((LocalDateTime) args[0], (Pageable) args[1]);
+                    case "claim" -> claim((Long) args[0], (LocalDateTime) args[1], (LocalDateTime) args[2]);
+                    case "findAllById" -> findAllById((Iterable<?>) args[0]);
+                    case "toString" -> "InMemoryOutbox";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        MailOutboxRepository repository() {
+            return repository;
+        }
+
+        MailOutbox add(String recipient) {
+            MailOutbox m = MailOutbox.builder().recipient(recipient).subject("verification").body("code").build();
+            long id = ids.incrementAndGet();
+            set(m, "id", id);
+            set(m, "createdAt", LocalDateTime.now());
+            set(m, "nextAttemptAt", LocalDateTime.now());
+            rows.put(id, m);
+            return m;
+        }
+
+        /** 재시도 대기를 건너뜀 */
+        void rewind(MailOutbox m) {
+            set(m, "nextAttemptAt", LocalDateTime.now().minusSeconds(1));
+        }
+
+        private List<Long> findDueIds(LocalDateTime now, Pageable pageable) {
+            return rows.values().stream()
+                    .filter(m -> m.getStatus() == MailOutboxStatus.PENDING && !m.getNextAttemptAt().isAfter(now))
+                    .map(MailOutbox::getId)
+                    .limit(pageable.getPageSize())
+                    .toList();
+        }
+
+        private synchronized int claim(Long id, LocalDateTime now, LocalDateTime leaseUntil) {
+            MailOutbox m = rows.get(id);
+            if (m == null || m.getStatus() != MailOutboxStatus.PENDING || m.getNextAttemptAt().isAfter(now)) {
+                return 0;
+            }
+            set(m, "nextAttemptAt", leaseUntil);
+            return 1;
+        }
+
+        private List<MailOutbox> findAllById(Iterable<?> idList) {
+            List<MailOutbox> result = new ArrayList<>();
+            for (Object id : idList) {
+                MailOutbox m = rows.get((Long) id);
+                if (m != null) result.add(m);
+            }
+            return result;
+        }
+
+        private static void set(MailOutbox m, String field, Object value) {
+            try {
+                Field f = MailOutbox.class.getDeclaredField(field);
+                f.setAccessible(true);
+                f.set(m, value);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
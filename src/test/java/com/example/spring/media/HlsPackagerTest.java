@@ -0,0 +1,397 @@
+package com.example.spring.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HlsPackager 테스트 (합성 MP4 코퍼스)
+ *
+ * - 비디오(1초 x 12, 키프레임 1/4/7/10) + 오디오(0.5초 x 24) 트랙을 청크 단위로 섞은 [ftyp][mdat][moov] 파일
+ * - 2초 목표로 나누면 키프레임 기준 3초짜리 세그먼트 4개
+ * - 세그먼트의 moof(tfhd/tfdt/trun)를 직접 읽어 decode time/샘플 값/data_offset을 확인하고,
+ *   data_offset이 가리키는 바이트를 이어 붙이면 원본 샘플이 그대로 나오는지 확인
+ */
+class HlsPackagerTest {
+
+    private static final int VIDEO_TRACK = 1;
+    private static final int AUDIO_TRACK = 2;
+
+    private static final int VIDEO_TIMESCALE = 1000;
+    private static final int VIDEO_SAMPLES = 12;
+    private static final int VIDEO_DELTA = 1000;
+    private static final int VIDEO_PER_CHUNK = 3;
+    private static final int[] VIDEO_KEYFRAMES = {1, 4, 7, 10};
+
+    private static final int AUDIO_TIMESCALE = 48_000;
+    private static final int AUDIO_SAMPLES = 24;
+    private static final int AUDIO_DELTA = 24_000;
+    private static final int AUDIO_PER_CHUNK = 6;
+
+    private static final int SEGMENT_SECONDS = 2;
+    private static final int SEGMENT_COUNT = 4;
+    private static final String URI_PREFIX = "/hls/token/";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesPlaylistWithKeyframeAlignedDurations() throws IOException {
+        Path out = pack();
+
+        List<String> lines = Files.readAllLines(out.resolve(HlsPackager.PLAYLIST));
+        assertEquals("#EXTM3U", lines.get(0));
+        assertTrue(lines.contains("#EXT-X-TARGETDURATION:3"));
+        assertTrue(lines.contains("#EXT-X-MAP:URI=\"" + URI_PREFIX + HlsPackager.INIT_SEGMENT + "\""));
+        assertEquals("#EXT-X-ENDLIST", lines.get(lines.size() - 1));
+
+        List<String> extinf = new ArrayList<>();
+        List<String> uris = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).startsWith("#EXTINF:")) {
+                extinf.add(lines.get(i));
+                uris.add(lines.get(i + 1));
+            }
+        }
+        assertEquals(SEGMENT_COUNT, extinf.size());
+        for (int k = 0; k < SEGMENT_COUNT; k++) {
+            assertEquals("#EXTINF:3.000,", extinf.get(k));
+            assertEquals(URI_PREFIX + HlsPackager.segmentName(k), uris.get(k));
+            assertTrue(Files.exists(out.resolve(HlsPackager.segmentName(k))));
+        }
+
+        byte[] init = Files.readAllBytes(out.resolve(HlsPackager.INIT_SEGMENT));
+        assertEquals("ftyp", new String(init, 4, 4, StandardCharsets.US_ASCII));
+        assertTrue(indexOf(init, "mvex") > 0);
+        assertTrue(indexOf(init, "trex") > 0);
+    }
+
+    @Test
+    void segmentFragmentsCarryDecodeTimesAndSampleTables() throws IOException {
+        Path out = pack();
+
+        for (int k = 0; k < SEGMENT_COUNT; k++) {
+            byte[] seg = Files.readAllBytes(out.resolve(HlsPackager.segmentName(k)));
+            ByteBuffer buf = ByteBuffer.wrap(seg);
+
+            assertEquals("moof", fourCc(seg, 4));
+            assertEquals("mfhd", fourCc(seg, 12));
+            assertEquals(k + 1, buf.getInt(20), "sequence number");
+
+            List<Traf> trafs = trafs(seg);
+            assertEquals(2, trafs.size());
+
+            Traf video = trafs.get(0);
+            assertEquals(VIDEO_TRACK, video.trackId());
+            assertEquals((long) k * VIDEO_PER_CHUNK * VIDEO_DELTA, video.baseDecodeTime());
+            assertEquals(VIDEO_PER_CHUNK, video.sizes().length);
+            for (int i = 0; i < VIDEO_PER_CHUNK; i++) {
+                int sample = k * VIDEO_PER_CHUNK + i;
+                assertEquals(VIDEO_DELTA, video.durations()[i]);
+                assertEquals(videoSize(sample), video.sizes()[i]);
+                assertEquals(videoCts(sample), video.cts()[i]);
+                // 세그먼트마다 첫 비디오 샘플만 키프레임
+                assertEquals(i == 0 ? 0x02000000 : 0x01010000, video.flags()[i]);
+            }
+
+            Traf audio = trafs.get(1);
+            assertEquals(AUDIO_TRACK, audio.trackId());
+            assertEquals((long) k * AUDIO_PER_CHUNK * AUDIO_DELTA, audio.baseDecodeTime());
+            assertEquals(AUDIO_PER_CHUNK, audio.sizes().length);
+            for (int i = 0; i < AUDIO_PER_CHUNK; i++) {
+                assertEquals(AUDIO_DELTA, audio.durations()[i]);
+                assertEquals(audioSize(k * AUDIO_PER_CHUNK + i), audio.sizes()[i]);
+                assertEquals(0x02000000, audio.flags()[i]);
+            }
+
+            // mdat은 moof 바로 뒤, 첫 트랙 데이터는 mdat 헤더 바로 뒤 / 트랙 데이터는 이어서
+            int moofSize = buf.getInt(0);
+            assertEquals("mdat", fourCc(seg, moofSize + 4));
+            long payload = sum(video.sizes()) + sum(audio.sizes());
+            assertEquals(8 + payload, buf.getInt(moofSize));
+            assertEquals(seg.length, moofSize + 8 + payload);
+            assertEquals(moofSize + 8, video.dataOffset());
+            assertEquals(video.dataOffset() + sum(video.sizes()), audio.dataOffset());
+        }
+    }
+
+    @Test
+    void concatenatedSegmentsReproduceSamples() throws IOException {
+        Path out = pack();
+
+        ByteArrayOutputStream video = new ByteArrayOutputStream();
+        ByteArrayOutputStream audio = new ByteArrayOutputStream();
+        for (int k = 0; k < SEGMENT_COUNT; k++) {
+            byte[] seg = Files.readAllBytes(out.resolve(HlsPackager.segmentName(k)));
+            for (Traf traf : trafs(seg)) {
+                // default-base-is-moof: data_offset은 세그먼트(moof) 시작 기준
+                int start = traf.dataOffset();
+                int length = (int) sum(traf.sizes());
+                (traf.trackId() == VIDEO_TRACK ? video : audio).write(seg, start, length);
+            }
+        }
+
+        assertArrayEquals(concatSamples(VIDEO_SAMPLES, true), video.toByteArray());
+        assertArrayEquals(concatSamples(AUDIO_SAMPLES, false), audio.toByteArray());
+    }
+
+    @Test
+    void skipsFileWithoutMoov() throws IOException {
+        Path source = dir.resolve("no-moov.mp4");
+        Files.write(source, concat(ftyp(), box("mdat", new byte[64])));
+        Path out = Files.createDirectories(dir.resolve("skip"));
+
+        assertFalse(HlsPackager.pack(source, out, URI_PREFIX, SEGMENT_SECONDS));
+        assertFalse(Files.exists(out.resolve(HlsPackager.PLAYLIST)));
+    }
+
+    private Path pack() throws IOException {
+        Path source = dir.resolve("source.mp4");
+        Files.write(source, buildMp4());
+        Path out = Files.createDirectories(dir.resolve("hls"));
+        assertTrue(HlsPackager.pack(source, out, URI_PREFIX, SEGMENT_SECONDS));
+        return out;
+    }
+
+    // =========================================================
+    // 세그먼트 읽기 (moof > traf > tfhd/tfdt/trun)
+    // =========================================================
+
+    private record Traf(int trackId, long baseDecodeTime, int dataOffset,
+                        int[] durations, int[] sizes, int[] flags, int[] cts) {
+    }
+
+    private static List<Traf> trafs(byte[] seg) {
+        ByteBuffer buf = ByteBuffer.wrap(seg);
+        int moofEnd = buf.getInt(0);
+        List<Traf> list = new ArrayList<>();
+
+        int pos = 8 + 16; // moof 헤더 + mfhd
+        while (pos < moofEnd) {
+            int size = buf.getInt(pos);
+            assertEquals("traf", fourCc(seg, pos + 4));
+
+            int tfhd = pos + 8;
+            assertEquals("tfhd", fourCc(seg, tfhd + 4));
+            assertEquals(0x020000, buf.getInt(tfhd + 8), "default-base-is-moof");
+            int trackId = buf.getInt(tfhd + 12);
+
+            int tfdt = tfhd + buf.getInt(tfhd);
+            assertEquals("tfdt", fourCc(seg, tfdt + 4));
+            assertEquals(1, seg[tfdt + 8], "tfdt version 1");
+            long baseDecodeTime = buf.getLong(tfdt + 12);
+
+            int trun = tfdt + buf.getInt(tfdt);
+            assertEquals("trun", fourCc(seg, trun + 4));
+            int count = buf.getInt(trun + 12);
+            int dataOffset = buf.getInt(trun + 16);
+            assertEquals(20 + 16 * count, buf.getInt(trun));
+
+            int[] durations = new int[count];
+            int[] sizes = new int[count];
+            int[] flags = new int[count];
+            int[] cts = new int[count];
+            for (int i = 0; i < count; i++) {
+                int p = trun + 20 + i * 16;
+                durations[i] = buf.getInt(p);
+                sizes[i] = buf.getInt(p + 4);
+                flags[i] = buf.getInt(p + 8);
+                cts[i] = buf.getInt(p + 12);
+            }
+            list.add(new Traf(trackId, baseDecodeTime, dataOffset, durations, sizes, flags, cts));
+            pos += size;
+        }
+        return list;
+    }
+
+    // =========================================================
+    // 합성 MP4 생성
+    // =========================================================
+
+    private static int videoSize(int sample) {
+        return 100 + 7 * sample;
+    }
+
+    private static int audioSize(int sample) {
+        return 40 + sample;
+    }
+
+    /** B-프레임 흉내 (0, 500, 1000 반복) */
+    private static int videoCts(int sample) {
+        return (sample % 3) * 500;
+    }
+
+    /** 샘플마다 다른 바이트 (트랙/번호/위치가 섞이면 비교에서 드러남) */
+    private static byte[] sample(boolean video, int index) {
+        int size = video ? videoSize(index) : audioSize(index);
+        byte[] b = new byte[size];
+        for (int i = 0; i < size; i++) {
+            b[i] = (byte) ((video ? 0 : 128) + index * 5 + i);
+        }
+        return b;
+    }
+
+    private static byte[] concatSamples(int count, boolean video) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < count; i++) out.writeBytes(sample(video, i));
+        return out.toByteArray();
+    }
+
+    /** [ftyp][mdat: v0 a0 v1 a1 ... (청크 교차)][moov] */
+    private static byte[] buildMp4() throws IOException {
+        byte[] ftyp = ftyp();
+        int chunks = VIDEO_SAMPLES / VIDEO_PER_CHUNK;
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        long base = ftyp.length + 8;
+        long[] videoChunks = new long[chunks];
+        long[] audioChunks = new long[chunks];
+        for (int c = 0; c < chunks; c++) {
+            videoChunks[c] = base + payload.size();
+            for (int i = 0; i < VIDEO_PER_CHUNK; i++) payload.write(sample(true, c * VIDEO_PER_CHUNK + i));
+            audioChunks[c] = base + payload.size();
+            for (int i = 0; i < AUDIO_PER_CHUNK; i++) payload.write(sample(false, c * AUDIO_PER_CHUNK + i));
+        }
+
+        // mvhd v0: version/flags, ctime, mtime, timescale, duration, 나머지 0
+        byte[] mvhd = box("mvhd", concat(u32(0), u32(0), u32(0), u32(1000), u32(12_000), new byte[80]));
+        byte[] moov = box("moov", concat(mvhd, videoTrak(videoChunks), audioTrak(audioChunks)));
+
+        return concat(ftyp, box("mdat", payload.toByteArray()), moov);
+    }
+
+    private static byte[] videoTrak(long[] chunkOffsets) {
+        int[] sizes = new int[VIDEO_SAMPLES];
+        int[] cts = new int[VIDEO_SAMPLES];
+        for (int i = 0; i < VIDEO_SAMPLES; i++) {
+            sizes[i] = videoSize(i);
+            cts[i] = videoCts(i);
+        }
+
+        ByteArrayOutputStream ctts = new ByteArrayOutputStream();
+        ctts.writeBytes(u32(0));
+        ctts.writeBytes(u32(VIDEO_SAMPLES));
+        for (int offset : cts) ctts.writeBytes(concat(u32(1), u32(offset)));
+
+        ByteArrayOutputStream stss = new ByteArrayOutputStream();
+        stss.writeBytes(u32(0));
+        stss.writeBytes(u32(VIDEO_KEYFRAMES.length));
+        for (int n : VIDEO_KEYFRAMES) stss.writeBytes(u32(n));
+
+        byte[] stbl = box("stbl", concat(
+                stsd("avc1", 78),
+                stts(VIDEO_SAMPLES, VIDEO_DELTA),
+                box("ctts", ctts.toByteArray()),
+                stsc(VIDEO_PER_CHUNK),
+                stsz(sizes),
+                stco(chunkOffsets),
+                box("stss", stss.toByteArray())
+        ));
+        byte[] vmhd = box("vmhd", concat(u32(1), new byte[8]));
+        return trak(VIDEO_TRACK, VIDEO_TIMESCALE, (long) VIDEO_SAMPLES * VIDEO_DELTA, "vide", vmhd, stbl);
+    }
+
+    private static byte[] audioTrak(long[] chunkOffsets) {
+        int[] sizes = new int[AUDIO_SAMPLES];
+        for (int i = 0; i < AUDIO_SAMPLES; i++) sizes[i] = audioSize(i);
+
+        // stss 없음 = 전부 키프레임
+        byte[] stbl = box("stbl", concat(
+                stsd("mp4a", 28),
+                stts(AUDIO_SAMPLES, AUDIO_DELTA),
+                stsc(AUDIO_PER_CHUNK),
+                stsz(sizes),
+                stco(chunkOffsets)
+        ));
+        byte[] smhd = box("smhd", concat(u32(0), new byte[4]));
+        return trak(AUDIO_TRACK, AUDIO_TIMESCALE, (long) AUDIO_SAMPLES * AUDIO_DELTA, "soun", smhd, stbl);
+    }
+
+    private static byte[] trak(int trackId, int timescale, long duration, String handler, byte[] mediaHeader, byte[] stbl) {
+        // tkhd v0: version/flags, ctime, mtime, track_ID, ..., width/height
+        byte[] tkhd = box("tkhd", concat(u32(3), u32(0), u32(0), u32(trackId), new byte[60], u32(0), u32(0)));
+        // mdhd v0: version/flags, ctime, mtime, timescale, duration, language
+        byte[] mdhd = box("mdhd", concat(u32(0), u32(0), u32(0), u32(timescale), u32((int) duration), u32(0)));
+        byte[] hdlr = box("hdlr", concat(u32(0), u32(0), ascii(handler), new byte[12], new byte[]{0}));
+        byte[] minf = box("minf", concat(mediaHeader, stbl));
+        return box("trak", concat(tkhd, box("mdia", concat(mdhd, hdlr, minf))));
+    }
+
+    private static byte[] stsd(String format, int entryBody) {
+        return box("stsd", concat(u32(0), u32(1), box(format, new byte[entryBody])));
+    }
+
+    private static byte[] stts(int count, int delta) {
+        return box("stts", concat(u32(0), u32(1), u32(count), u32(delta)));
+    }
+
+    private static byte[] stsc(int perChunk) {
+        return box("stsc", concat(u32(0), u32(1), u32(1), u32(perChunk), u32(1)));
+    }
+
+    private static byte[] stsz(int[] sizes) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(u32(0));
+        body.writeBytes(u32(0));
+        body.writeBytes(u32(sizes.length));
+        for (int s : sizes) body.writeBytes(u32(s));
+        return box("stsz", body.toByteArray());
+    }
+
+    private static byte[] stco(long[] offsets) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(u32(0));
+        body.writeBytes(u32(offsets.length));
+        for (long o : offsets) body.writeBytes(u32((int) o));
+        return box("stco", body.toByteArray());
+    }
+
+    private static byte[] ftyp() {
+        return box("ftyp", concat(ascii("isom"), u32(512), ascii("isomiso2avc1mp41")));
+    }
+
+    private static long sum(int[] values) {
+        return Arrays.stream(values).asLongStream().sum();
+    }
+
+    private static String fourCc(byte[] b, int pos) {
+        return new String(b, pos, 4, StandardCharsets.US_ASCII);
+    }
+
+    private static int indexOf(byte[] b, String type) {
+        byte[] t = ascii(type);
+        for (int i = 0; i + 4 <= b.length; i++) {
+            if (b[i] == t[0] && b[i + 1] == t[1] && b[i + 2] == t[2] && b[i + 3] == t[3]) return i;
+        }
+        return -1;
+    }
+
+    private static byte[] box(String type, byte[] body) {
+        return concat(u32(8 + body.length), ascii(type), body);
+    }
+
+    private static byte[] u32(int v) {
+        return ByteBuffer.allocate(4).putInt(v).array();
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] p : parts) out.writeBytes(p);
+        return out.toByteArray();
+    }
+}
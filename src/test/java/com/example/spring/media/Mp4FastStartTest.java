@@ -0,0 +1,254 @@
+package com.example.spring.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mp4FastStart 테스트 (합성 MP4 코퍼스)
+ *
+ * - ftyp + mdat + moov(끝) 구조의 작은 파일을 직접 만들어 재배치 결과를 검증
+ * - 청크 오프셋(stco/co64)이 재배치 후에도 같은 payload 바이트를 가리키는지 확인
+ * - 고정 크기 Range 요청으로 헤더를 찾는 플레이어를 흉내 내 첫 프레임까지의 요청 수 비교
+ */
+class Mp4FastStartTest {
+
+    private static final int CHUNK_COUNT = 8;
+    private static final int CHUNK_SIZE = 32 * 1024;
+
+    /** 플레이어가 한 번에 받는 Range 크기 */
+    private static final int PLAYER_WINDOW = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void relocatesMoovAndPatchesStco() throws IOException {
+        Path source = dir.resolve("tail.mp4");
+        Files.write(source, buildMp4(false, false));
+        Path target = dir.resolve("front.mp4");
+
+        assertTrue(Mp4FastStart.rewrite(source, target));
+
+        byte[] before = Files.readAllBytes(source);
+        byte[] after = Files.readAllBytes(target);
+        assertEquals(before.length, after.length);
+
+        MediaInfo info = MediaProbe.probe(target);
+        assertEquals(Boolean.TRUE, info.moovAtFront());
+
+        long[] oldOffsets = chunkOffsets(before);
+        long[] newOffsets = chunkOffsets(after);
+        assertEquals(CHUNK_COUNT, newOffsets.length);
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            assertNotEquals(oldOffsets[i], newOffsets[i]);
+            assertArrayEquals(
+                    Arrays.copyOfRange(before, (int) oldOffsets[i], (int) oldOffsets[i] + CHUNK_SIZE),
+                    Arrays.copyOfRange(after, (int) newOffsets[i], (int) newOffsets[i] + CHUNK_SIZE)
+            );
+        }
+    }
+
+    @Test
+    void relocatesMoovWithCo64() throws IOException {
+        Path source = dir.resolve("tail64.mp4");
+        Files.write(source, buildMp4(false, true));
+        Path target = dir.resolve("front64.mp4");
+
+        assertTrue(Mp4FastStart.rewrite(source, target));
+
+        byte[] before = Files.readAllBytes(source);
+        byte[] after = Files.readAllBytes(target);
+        long[] oldOffsets = chunkOffsets(before);
+        long[] newOffsets = chunkOffsets(after);
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            assertEquals(before[(int) oldOffsets[i]], after[(int) newOffsets[i]]);
+        }
+    }
+
+    @Test
+    void skipsAlreadyFastStart() throws IOException {
+        Path source = dir.resolve("front.mp4");
+        Files.write(source, buildMp4(true, false));
+        Path target = dir.resolve("out.mp4");
+
+        assertFalse(Mp4FastStart.rewrite(source, target));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void probeKeepsMetadataAfterRewrite() throws IOException {
+        Path source = dir.resolve("tail.mp4");
+        Files.write(source, buildMp4(false, false));
+        Path target = dir.resolve("front.mp4");
+        assertTrue(Mp4FastStart.rewrite(source, target));
+
+        MediaInfo before = MediaProbe.probe(source);
+        MediaInfo after = MediaProbe.probe(target);
+
+        assertEquals(Boolean.FALSE, before.moovAtFront());
+        assertEquals(12_345L, after.durationMillis());
+        assertEquals("avc1", after.videoCodec());
+        assertEquals(1280, after.width());
+        assertEquals(720, after.height());
+        assertEquals(before.durationMillis(), after.durationMillis());
+    }
+
+    @Test
+    void fastStartNeedsSingleRangeRequestBeforeFirstFrame() throws IOException {
+        Path source = dir.resolve("tail.mp4");
+        Files.write(source, buildMp4(false, false));
+        Path target = dir.resolve("front.mp4");
+        assertTrue(Mp4FastStart.rewrite(source, target));
+
+        int beforeRequests = rangeRequestsUntilMoov(Files.readAllBytes(source));
+        int afterRequests = rangeRequestsUntilMoov(Files.readAllBytes(target));
+
+        assertTrue(beforeRequests >= 2, "moov at tail needs an extra seek: " + beforeRequests);
+        assertEquals(1, afterRequests);
+    }
+
+    // =========================================================
+    // 플레이어 흉내 (Range 요청 수 측정)
+    // =========================================================
+
+    /**
+     * 브라우저처럼 PLAYER_WINDOW 크기로 Range 요청을 보내며 moov 전체를 받을 때까지의 요청 수.
+     * - 받은 구간 안에서 박스 헤더를 따라가고, 구간을 넘는 박스(mdat 등)는 건너뛰어 다음 요청
+     */
+    private static int rangeRequestsUntilMoov(byte[] file) {
+        int requests = 0;
+        long pos = 0;
+        long windowStart = -1;
+        long windowEnd = -1;
+
+        while (pos + 8 <= file.length) {
+            if (pos < windowStart || pos + 8 > windowEnd) {
+                requests++;
+                windowStart = pos;
+                windowEnd = Math.min(file.length, pos + PLAYER_WINDOW);
+            }
+            ByteBuffer buf = ByteBuffer.wrap(file);
+            long size = buf.getInt((int) pos) & 0xFFFFFFFFL;
+            String type = new String(file, (int) pos + 4, 4, StandardCharsets.US_ASCII);
+
+            if ("moov".equals(type)) {
+                // moov가 구간을 넘으면 나머지를 한 번 더 요청
+                if (pos + size > windowEnd) requests++;
+                return requests;
+            }
+            pos += size;
+        }
+        throw new AssertionError("moov not found");
+    }
+
+    // =========================================================
+    // 합성 MP4 생성
+    // =========================================================
+
+    /**
+     * [ftyp][mdat][moov] (moovFirst=false) 또는 [ftyp][moov][mdat] 구조의 파일.
+     * - mdat payload는 청크마다 다른 바이트 값으로 채움
+     */
+    private static byte[] buildMp4(boolean moovFirst, boolean co64) throws IOException {
+        byte[] ftyp = box("ftyp", concat(ascii("isom"), u32(512), ascii("isomiso2avc1mp41")));
+
+        byte[] payload = new byte[CHUNK_COUNT * CHUNK_SIZE];
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            Arrays.fill(payload, i * CHUNK_SIZE, (i + 1) * CHUNK_SIZE, (byte) (i + 1));
+        }
+        byte[] mdat = box("mdat", payload);
+
+        // moov 크기는 오프셋 값과 무관하므로 먼저 만들어 길이를 구한다
+        int moovSize = moov(new long[CHUNK_COUNT], co64).length;
+        long payloadStart = ftyp.length + (moovFirst ? moovSize : 0) + 8;
+
+        long[] offsets = new long[CHUNK_COUNT];
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            offsets[i] = payloadStart + (long) i * CHUNK_SIZE;
+        }
+        byte[] moov = moov(offsets, co64);
+
+        return moovFirst ? concat(ftyp, moov, mdat) : concat(ftyp, mdat, moov);
+    }
+
+    private static byte[] moov(long[] offsets, boolean co64) throws IOException {
+        // mvhd v0: version/flags, ctime, mtime, timescale, duration, 나머지 0
+        byte[] mvhd = box("mvhd", concat(u32(0), u32(0), u32(0), u32(1000), u32(12_345), new byte[80]));
+
+        // tkhd v0: 마지막 8 bytes가 width/height (16.16)
+        byte[] tkhd = box("tkhd", concat(u32(3), new byte[72], u32(1280 << 16), u32(720 << 16)));
+
+        byte[] hdlr = box("hdlr", concat(u32(0), u32(0), ascii("vide"), new byte[12], new byte[]{0}));
+
+        byte[] avc1 = box("avc1", new byte[78]);
+        byte[] stsd = box("stsd", concat(u32(0), u32(1), avc1));
+
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        table.write(u32(0));
+        table.write(u32(offsets.length));
+        for (long offset : offsets) {
+            table.write(co64 ? u64(offset) : u32((int) offset));
+        }
+        byte[] chunkOffsets = box(co64 ? "co64" : "stco", table.toByteArray());
+
+        byte[] stbl = box("stbl", concat(stsd, chunkOffsets));
+        byte[] minf = box("minf", stbl);
+        byte[] mdia = box("mdia", concat(hdlr, minf));
+        byte[] trak = box("trak", concat(tkhd, mdia));
+        return box("moov", concat(mvhd, trak));
+    }
+
+    /** moov 안의 stco/co64 값을 읽는다 */
+    private static long[] chunkOffsets(byte[] file) {
+        ByteBuffer buf = ByteBuffer.wrap(file);
+        for (int i = 0; i + 8 <= file.length; i++) {
+            String type = new String(file, i + 4, 4, StandardCharsets.US_ASCII);
+            boolean stco = "stco".equals(type);
+            if (!stco && !"co64".equals(type)) continue;
+            // mdat payload(1~8로 채움)와 겹치지 않게 박스 크기로 한 번 더 확인
+            int count = buf.getInt(i + 12);
+            if (buf.getInt(i) != 16 + count * (stco ? 4 : 8)) continue;
+
+            long[] offsets = new long[count];
+            for (int k = 0; k < count; k++) {
+                offsets[k] = stco
+                        ? buf.getInt(i + 16 + k * 4) & 0xFFFFFFFFL
+                        : buf.getLong(i + 16 + k * 8);
+            }
+            return offsets;
+        }
+        throw new AssertionError("chunk offset box not found");
+    }
+
+    private static byte[] box(String type, byte[] body) {
+        return concat(u32(8 + body.length), ascii(type), body);
+    }
+
+    private static byte[] u32(int v) {
+        return ByteBuffer.allocate(4).putInt(v).array();
+    }
+
+    private static byte[] u64(long v) {
+        return ByteBuffer.allocate(8).putLong(v).array();
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] p : parts) out.writeBytes(p);
+        return out.toByteArray();
+    }
+}
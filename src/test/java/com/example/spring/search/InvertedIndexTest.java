@@ -0,0 +1,88 @@
+package com.example.spring.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InvertedIndex / SearchTokenizer 테스트
+ */
+class InvertedIndexTest {
+
+    @Test
+    void tokenizesHangulAsBigramsAndLatinAsWords() {
+        assertEquals(List.of("spring", "스프", "프링", "링을", "을", "배운", "운다", "다"),
+                withoutDuplicates(SearchTokenizer.indexTerms("Spring 스프링을 배운다")));
+        assertEquals(List.of("boot", "부트"),
+                SearchTokenizer.indexTerms("boot부트").subList(0, 2));
+    }
+
+    @Test
+    void matchesKoreanWithParticlesAndLatinPrefix() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1, "스프링 입문", "스프링을 처음 배우는 강의", "ko");
+        index.upsert(2, "Java Basics", "variables and loops", "en");
+
+        assertEquals(List.of(1L), index.search("스프링", null, 10));
+        assertEquals(List.of(1L), index.search("입", null, 10));
+        assertEquals(List.of(2L), index.search("jav", null, 10));
+        assertEquals(List.of(), index.search("스프링 java", null, 10));
+    }
+
+    @Test
+    void ranksTitleMatchesFirstAndFiltersLanguage() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1, "Cooking", "a short note about spring onions", "en");
+        index.upsert(2, "Spring Boot", "web apps", "en");
+        index.upsert(3, "Spring 기초", "설명", "ko");
+
+        assertEquals(List.of(3L, 2L, 1L), index.search("spring", null, 10));
+        assertEquals(List.of(2L, 1L), index.search("spring", "EN", 10));
+        assertEquals(List.of(3L), index.search("spring", null, 1));
+    }
+
+    @Test
+    void filterAppliesBeforeLimit() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1, "Spring Data", "jpa", "en");
+        index.upsert(2, "Spring Boot", "web", "en");
+        index.upsert(3, "Spring MVC", "web", "en");
+
+        // limit 1이어도 걸러진 문서 자리를 다음 문서가 채운다
+        assertEquals(List.of(1L), index.search("spring", null, id -> id == 1, 1));
+        assertEquals(List.of(2L, 1L), index.search("spring", null, id -> id != 3, 10));
+    }
+
+    @Test
+    void matchesWordPrefixOnlyAndIgnoresPunctuation() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1, "JavaScript", "c++ and c#", "en");
+
+        // like '%script%'와 달리 단어 중간은 찾지 않음 (서비스가 like로 다시 찾는다)
+        assertEquals(List.of(), index.search("script", null, 10));
+        assertEquals(List.of(1L), index.search("javas", null, 10));
+        assertTrue(SearchTokenizer.queryTerms("++ #").isEmpty());
+        assertEquals(List.of(), index.search("++", null, 10));
+    }
+
+    @Test
+    void updateAndRemoveReplacePostings() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1, "Kotlin", "coroutines", "en");
+        index.upsert(1, "Scala", "actors", "en");
+
+        assertEquals(List.of(), index.search("kotlin", null, 10));
+        assertEquals(List.of(1L), index.search("actors", null, 10));
+
+        index.remove(1);
+        assertEquals(List.of(), index.search("scala", null, 10));
+        assertEquals(0, index.documents());
+        assertEquals(0, index.terms());
+    }
+
+    private static List<String> withoutDuplicates(List<String> terms) {
+        return terms.stream().distinct().toList();
+    }
+}
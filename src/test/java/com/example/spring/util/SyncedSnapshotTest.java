@@ -0,0 +1,97 @@
+package com.example.spring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SyncedSnapshot 테스트
+ */
+class SyncedSnapshotTest {
+
+    @Test
+    void changesDuringRebuildReachNewSnapshotAndSyncOverlaps() {
+        List<LocalDateTime> syncedSince = new ArrayList<>();
+        AtomicReference<SyncedSnapshot<Set<String>>> holder = new AtomicReference<>();
+        holder.set(new SyncedSnapshot<>(new SyncedSnapshot.Source<>() {
+            @Override
+            public Set<String> create(LocalDateTime now) {
+                return ConcurrentHashMap.newKeySet();
+            }
+
+            @Override
+            public void load(Set<String> target, LocalDateTime now) {
+                target.add("loaded");
+                // 적재 중 이 인스턴스의 변경
+                holder.get().apply(s -> s.add("during-load"));
+                assertTrue(holder.get().isRebuilding());
+            }
+
+            @Override
+            public void syncSince(Set<String> target, LocalDateTime since) {
+                syncedSince.add(since);
+                target.add("synced");
+            }
+        }));
+        SyncedSnapshot<Set<String>> snapshot = holder.get();
+
+        // 생성 전: 반영/동기화할 대상이 없음
+        snapshot.apply(s -> s.add("before"));
+        assertFalse(snapshot.syncRecent());
+        assertNull(snapshot.current());
+
+        Set<String> built = snapshot.rebuild();
+        assertSame(built, snapshot.current());
+        assertEquals(Set.of("loaded", "during-load", "synced"), built);
+        assertFalse(snapshot.isRebuilding());
+        assertEquals(snapshot.lastRebuiltAt(), snapshot.lastSyncAt());
+        // 적재 시작 시각보다 앞에서부터 다시 읽음
+        assertTrue(syncedSince.get(0).isBefore(snapshot.lastRebuiltAt()));
+
+        snapshot.apply(s -> s.add("after"));
+        assertTrue(snapshot.current().contains("after"));
+
+        LocalDateTime rebuiltAt = snapshot.lastRebuiltAt();
+        assertTrue(snapshot.syncRecent());
+        assertTrue(syncedSince.get(1).isBefore(rebuiltAt));
+        assertFalse(snapshot.lastSyncAt().isBefore(rebuiltAt));
+    }
+
+    @Test
+    void failedRebuildKeepsPreviousSnapshot() {
+        boolean[] fail = {false};
+        SyncedSnapshot<List<String>> snapshot = new SyncedSnapshot<>(new SyncedSnapshot.Source<>() {
+            @Override
+            public List<String> create(LocalDateTime now) {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public void load(List<String> target, LocalDateTime now) {
+                if (fail[0]) throw new IllegalStateException("db down");
+                target.add("row");
+            }
+
+            @Override
+            public void syncSince(List<String> target, LocalDateTime since) {
+            }
+        });
+
+        List<String> first = snapshot.rebuild();
+        fail[0] = true;
+        assertThrows(IllegalStateException.class, snapshot::rebuild);
+
+        assertSame(first, snapshot.current());
+        assertFalse(snapshot.isRebuilding());
+        // 실패한 재생성 중 반영 대상이 남아 있지 않음 (현재 구조에만)
+        snapshot.apply(l -> l.add("change"));
+        assertEquals(List.of("row", "change"), snapshot.current());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.spring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenBucketRateLimiter 테스트 (가짜 시계)
+ */
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void allowsBurstThenRejectsWithRetryAfter() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("t", 3, 6, 100, now::get);
+
+        for (int i = 0; i < 3; i++) assertEquals(0, limiter.tryAcquire("k"));
+
+        long wait = limiter.tryAcquire("k");
+        assertTrue(wait > 0);
+        assertTrue(wait <= 10 * SECOND, "6/min refill → at most 10s wait: " + wait);
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("t", 2, 60, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("k"));
+        assertEquals(0, limiter.tryAcquire("k"));
+        assertTrue(limiter.tryAcquire("k") > 0);
+
+        now.addAndGet(SECOND);
+        assertEquals(0, limiter.tryAcquire("k"));
+        assertTrue(limiter.tryAcquire("k") > 0);
+    }
+
+    @Test
+    void keysAreIndependent() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("t", 1, 1, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void boundsKeyCountWithOverflowBucket() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("t", 1, 1, 16, now::get);
+
+        for (int i = 0; i < 1_000; i++) limiter.tryAcquire("key-" + i);
+
+        assertTrue(limiter.stats().keys() <= 17, "keys=" + limiter.stats().keys());
+        assertTrue(limiter.stats().rejected() > 0);
+    }
+
+    @Test
+    void sweepsFullBucketsOnceIdle() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("t", 1, 60, 16, now::get);
+        for (int i = 0; i < 16; i++) limiter.tryAcquire("old-" + i);
+
+        now.addAndGet(10 * SECOND);
+        assertEquals(0, limiter.tryAcquire("new"));
+        assertTrue(limiter.stats().keys() <= 2, "keys=" + limiter.stats().keys());
+    }
+
+    @Test
+    void concurrentCallersNeverExceedCapacity() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("t", 50, 1, 100, now::get);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire("k") == 0) granted.incrementAndGet();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(50, granted.get());
+    }
+}
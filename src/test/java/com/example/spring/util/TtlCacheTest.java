@@ -0,0 +1,59 @@
+package com.example.spring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TtlCache 테스트 (invalidate와 겹친 로드, 넘침 정리)
+ */
+class TtlCacheTest {
+
+    @Test
+    void loadStartedBeforeInvalidateIsNotStored() {
+        TtlCache<Long, String> cache = new TtlCache<>("t", 60_000, 100);
+
+        // 로드 도중(DB에서 변경 전 값을 읽은 뒤) 다른 스레드가 변경 + invalidate
+        String loaded = cache.get(1L, id -> {
+            cache.invalidate(id);
+            return "ACTIVE";
+        });
+
+        assertEquals("ACTIVE", loaded, "호출자에게는 읽은 값 그대로");
+        assertNull(cache.getIfPresent(1L), "변경 전 값이 캐시에 남으면 안 됨");
+
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("BLOCKED", cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return "BLOCKED";
+        }));
+        assertEquals("BLOCKED", cache.get(1L, id -> "ACTIVE"), "invalidate 이후 로드는 저장됨");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadStartedBeforeInvalidateAllIsNotStored() {
+        TtlCache<Long, String> cache = new TtlCache<>("t", 60_000, 100);
+
+        cache.get(1L, id -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertNull(cache.getIfPresent(1L));
+    }
+
+    @Test
+    void overflowSweepsDownBelowMaxSize() {
+        TtlCache<Integer, Integer> cache = new TtlCache<>("t", 60_000, 100);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, i);
+            assertTrue(cache.size() <= 100, "size=" + cache.size());
+        }
+        assertTrue(cache.stats().evictions() >= 900);
+        assertEquals(999, cache.getIfPresent(999), "가장 최근 항목은 남음");
+    }
+}